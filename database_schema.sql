@@ -5,9 +5,9 @@
 -- 1. 사용자 테이블 (기본 정보)
 CREATE TABLE users (
     usr_id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    usr_login_id VARCHAR(50) NOT NULL UNIQUE,
+    usr_login_id VARCHAR(50) NOT NULL,
     usr_nm VARCHAR(100) NOT NULL,
-    email VARCHAR(100) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL,
     pwd VARCHAR(255) NOT NULL,
     usr_tp_cd VARCHAR(2) DEFAULT '02',
     phone_num VARCHAR(20),
@@ -15,9 +15,12 @@ CREATE TABLE users (
     cre_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     upd_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
+    -- 유니크 키 (회원가입 중복 판단, 이름에 컬럼명을 포함하여 중복 키 오류에서 구분)
+    -- 유니크 키가 조회 인덱스를 겸하므로 별도 idx_usr_login_id, idx_email은 두지 않음
+    CONSTRAINT uk_users_login_id UNIQUE (usr_login_id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    
     -- 인덱스
-    INDEX idx_usr_login_id (usr_login_id),
-    INDEX idx_email (email),
     INDEX idx_is_use (is_use)
 );
 
@@ -25,30 +28,46 @@ CREATE TABLE users (
 -- 기존 user_login_info, active_connections, refresh_tokens를 통합
 CREATE TABLE user_sessions (
     session_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sid CHAR(36) NOT NULL, -- 세션 식별자 (Redis 세션 저장소와 공유)
     usr_id BIGINT NOT NULL,
+    device_id VARCHAR(64) NULL, -- 기기 식별자 (같은 기기 재로그인 시 기존 세션 종료)
     conn_tp_cd VARCHAR(2) DEFAULT '02', -- 연결 타입 (01: REFRESH_TOKEN, 02: SESSION)
-    access_token TEXT,
-    refresh_token TEXT,
+    refresh_token_hash BINARY(32) NOT NULL, -- Refresh Token SHA-256 다이제스트 (토큰 원문은 저장하지 않음)
+    prev_refresh_token_hash BINARY(32) NULL, -- 직전 Refresh Token 다이제스트 (교체된 토큰 재사용 감지, session.store=jdbc)
     ip_addr VARCHAR(45),
     user_agent TEXT,
     login_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     logout_dt TIMESTAMP NULL,
-    last_act_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    last_act_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, -- 마지막 활동 일시 (SessionActivityService가 주기적으로 일괄 갱신)
     exp_dt TIMESTAMP NOT NULL,
     is_active BOOLEAN DEFAULT TRUE,
     session_dur_sec INT DEFAULT 0,
     cre_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    upd_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    upd_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    -- 세션 이력 보관 시 sid 기준으로 종료 처리
+    CONSTRAINT uk_user_sessions_sid UNIQUE (sid),
+    
+    -- 인덱스 (토큰 재발급 시 다이제스트로 조회)
+    INDEX idx_refresh_token_hash (refresh_token_hash),
+    INDEX idx_prev_refresh_token_hash (prev_refresh_token_hash),
+    -- 인덱스 (사용자별 활성 세션 목록/상한 확인/전체 종료, 로그인 일시 순 정렬까지 인덱스로 처리)
+    INDEX idx_user_sessions_usr_active_login (usr_id, is_active, login_dt),
+    -- 인덱스 (유휴 세션 조회)
+    INDEX idx_user_sessions_active_last_act (is_active, last_act_dt)
 );
 
--- 3. 로그인 이력 테이블 (성공/실패 통합)
+-- 3. 로그인 이력 테이블 (성공/실패 통합, 감사 로그 전용)
 -- 기존 conn_hist와 login_attempts를 통합
+-- login_dt 기준 월별 RANGE 파티션 (PartitionMaintenanceService가 미리 생성/보관 기간 지나면 DROP)
+-- 파티션 키는 모든 유니크 키에 포함되어야 하므로 기본 키는 (id, login_dt)
 CREATE TABLE login_history (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT AUTO_INCREMENT,
+    event_id CHAR(36) NULL, -- 감사 이벤트 식별자 (재시도/저널 재생 시 중복 저장 방지)
     usr_id BIGINT NULL, -- 실패 시에는 NULL
     usr_login_id VARCHAR(50), -- 실패 시에도 기록
     ip_addr VARCHAR(45) NOT NULL,
-    login_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    login_dt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     is_success BOOLEAN NOT NULL,
     fail_reason VARCHAR(255) NULL,
     user_agent TEXT,
@@ -58,16 +77,35 @@ CREATE TABLE login_history (
     cre_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     upd_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
-
+    PRIMARY KEY (id, login_dt),
+    -- 파티션 테이블의 유니크 키는 파티션 컬럼을 포함해야 함 (이벤트의 login_dt는 발생 시각으로 고정)
+    UNIQUE KEY uk_login_history_event (event_id, login_dt),
     
     -- 인덱스
     INDEX idx_usr_id (usr_id),
     INDEX idx_usr_login_id (usr_login_id),
     INDEX idx_ip_addr (ip_addr),
     INDEX idx_login_dt (login_dt),
-    INDEX idx_is_success (is_success),
-    INDEX idx_is_blocked (is_blocked),
-    INDEX idx_blocked_until (blocked_until_dt)
+    INDEX idx_is_success (is_success)
+    -- IP 실패 횟수/차단 상태는 Redis(login_fail:*, login_block:*)에서 관리하므로
+    -- is_blocked, blocked_until_dt는 감사 기록용 컬럼이며 인덱스를 두지 않음
+)
+PARTITION BY RANGE (UNIX_TIMESTAMP(login_dt)) (
+    -- 애플리케이션 시작 시 현재 월부터의 파티션을 p_future에서 분리하여 생성
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- 로그인 감사 이벤트 격리 테이블
+-- 일괄 저장이 계속 실패한 이벤트를 옮겨 두어 나머지 이벤트 저장이 막히지 않도록 함 (원인 확인 후 수동 재처리)
+CREATE TABLE login_audit_dead_letter (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_id CHAR(36) NOT NULL,
+    payload TEXT NOT NULL, -- 저널과 같은 JSON 형식
+    attempt_cnt INT NOT NULL,
+    last_error VARCHAR(500),
+    cre_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT uk_login_audit_dead_letter_event UNIQUE (event_id)
 );
 
 -- 4. 사용자 통계 테이블 (집계 정보)
@@ -84,6 +122,99 @@ CREATE TABLE user_stats (
     upd_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
 
+-- 회원가입 시 user_stats 행을 같은 INSERT 문장 안에서 생성 (별도 왕복 없음)
+DELIMITER //
+CREATE TRIGGER trg_users_after_insert
+AFTER INSERT ON users
+FOR EACH ROW
+BEGIN
+    INSERT INTO user_stats (usr_id, total_login_cnt, failed_login_cnt, is_locked, cre_dt, upd_dt)
+    VALUES (NEW.usr_id, 0, 0, FALSE, NOW(), NOW());
+END //
+DELIMITER ;
+
+-- 기존 DB에 적용 시 유니크 키 이름 변경 (필요시 주석 해제)
+-- ALTER TABLE users
+--     DROP INDEX usr_login_id, DROP INDEX email, DROP INDEX idx_usr_login_id, DROP INDEX idx_email,
+--     ADD CONSTRAINT uk_users_login_id UNIQUE (usr_login_id),
+--     ADD CONSTRAINT uk_users_email UNIQUE (email);
+
+-- 기존 DB에 적용 시 Refresh Token 다이제스트 컬럼 추가 및 백필 (필요시 주석 해제)
+-- 1) 컬럼/인덱스 추가 (배포 전, 구버전 애플리케이션과 함께 동작)
+-- ALTER TABLE user_sessions
+--     ADD COLUMN refresh_token_hash BINARY(32) NULL AFTER conn_tp_cd,
+--     ADD INDEX idx_refresh_token_hash (refresh_token_hash);
+--
+-- 2) session_id 구간별로 나누어 백필 (긴 트랜잭션/락 방지, UNHEX(SHA2(...))는 TokenHashUtil.sha256과 같은 값)
+-- DELIMITER //
+-- CREATE PROCEDURE backfill_refresh_token_hash(IN chunk_size INT)
+-- BEGIN
+--     DECLARE from_id BIGINT DEFAULT 0;
+--     DECLARE max_id BIGINT;
+--     SELECT COALESCE(MAX(session_id), 0) INTO max_id FROM user_sessions;
+--     WHILE from_id < max_id DO
+--         UPDATE user_sessions
+--         SET refresh_token_hash = UNHEX(SHA2(refresh_token, 256))
+--         WHERE session_id > from_id AND session_id <= from_id + chunk_size
+--         AND refresh_token_hash IS NULL AND refresh_token IS NOT NULL;
+--         SET from_id = from_id + chunk_size;
+--         DO SLEEP(0.01);
+--     END WHILE;
+-- END //
+-- DELIMITER ;
+-- CALL backfill_refresh_token_hash(10000);
+-- DROP PROCEDURE backfill_refresh_token_hash;
+--
+-- 3) 신규 애플리케이션 배포 후 토큰 원문 컬럼 삭제 (다이제스트가 없는 행은 재발급 불가이므로 함께 정리)
+-- DELETE FROM user_sessions WHERE refresh_token_hash IS NULL;
+-- ALTER TABLE user_sessions
+--     DROP COLUMN access_token, DROP COLUMN refresh_token,
+--     MODIFY refresh_token_hash BINARY(32) NOT NULL;
+
+-- 기존 DB에 적용 시 세션 식별자 컬럼 추가 (필요시 주석 해제)
+-- ALTER TABLE user_sessions ADD COLUMN sid CHAR(36) NULL AFTER session_id;
+-- UPDATE user_sessions SET sid = UUID() WHERE sid IS NULL;
+-- ALTER TABLE user_sessions
+--     MODIFY sid CHAR(36) NOT NULL,
+--     ADD CONSTRAINT uk_user_sessions_sid UNIQUE (sid);
+
+-- 기존 DB에 적용 시 기기 식별자 컬럼과 사용자별 세션 인덱스 추가 (필요시 주석 해제)
+-- ALTER TABLE user_sessions
+--     ADD COLUMN device_id VARCHAR(64) NULL AFTER usr_id,
+--     ADD INDEX idx_user_sessions_usr_active_login (usr_id, is_active, login_dt),
+--     ALGORITHM=INPLACE, LOCK=NONE;
+
+-- 기존 DB에 적용 시 last_act_dt 자동 갱신 해제 및 유휴 세션 인덱스 추가 (필요시 주석 해제)
+-- 종료/교체 등 다른 UPDATE가 last_act_dt를 덮어쓰지 않도록 ON UPDATE를 제거합니다.
+-- ALTER TABLE user_sessions
+--     MODIFY last_act_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+--     ADD INDEX idx_user_sessions_active_last_act (is_active, last_act_dt);
+
+-- 기존 DB에 적용 시 직전 Refresh Token 다이제스트 컬럼 추가 (필요시 주석 해제)
+-- ALTER TABLE user_sessions
+--     ADD COLUMN prev_refresh_token_hash BINARY(32) NULL AFTER refresh_token_hash,
+--     ADD INDEX idx_prev_refresh_token_hash (prev_refresh_token_hash);
+
+-- 기존 DB에 적용 시 이력 테이블 파티션 전환 (필요시 주석 해제)
+-- 테이블을 다시 쓰므로 점검 시간에 실행하거나 pt-online-schema-change 등으로 적용합니다.
+-- 이후 파티션 생성/삭제는 PartitionMaintenanceService가 수행합니다.
+-- ALTER TABLE login_history
+--     MODIFY login_dt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+--     DROP PRIMARY KEY, ADD PRIMARY KEY (id, login_dt);
+-- ALTER TABLE login_history
+--     PARTITION BY RANGE (UNIX_TIMESTAMP(login_dt)) (PARTITION p_future VALUES LESS THAN MAXVALUE);
+-- ALTER TABLE rate_limit_history
+--     DROP PRIMARY KEY, ADD PRIMARY KEY (id, block_dt),
+--     DROP INDEX idx_ip_addr, ADD INDEX idx_rate_limit_ip_block (ip_addr, block_dt);
+-- ALTER TABLE rate_limit_history
+--     PARTITION BY RANGE (UNIX_TIMESTAMP(block_dt)) (PARTITION p_future VALUES LESS THAN MAXVALUE);
+
+-- 기존 DB에 적용 시 로그인 감사 이벤트 식별자 컬럼 추가 (필요시 주석 해제)
+-- 기존 행은 event_id가 NULL이며 유니크 키에서 서로 충돌하지 않습니다.
+-- ALTER TABLE login_history
+--     ADD COLUMN event_id CHAR(36) NULL AFTER id,
+--     ADD UNIQUE KEY uk_login_history_event (event_id, login_dt);
+
 -- 기존 테이블 삭제를 위한 DROP 문 (필요시 주석 해제)
 -- DROP TABLE IF EXISTS user_login_info;
 -- DROP TABLE IF EXISTS conn_hist;
@@ -96,8 +227,9 @@ INSERT INTO users (usr_login_id, usr_nm, email, pwd, usr_tp_cd, phone_num) VALUE
 ('testuser', '테스트사용자', 'test@example.com', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVEFDi', '02', '010-1234-5678');
 
 -- 5. Rate-Limiting 이력 테이블
+-- block_dt 기준 일별 RANGE 파티션 (최근 24시간 통계 조회는 최근 파티션만 탐색)
 CREATE TABLE rate_limit_history (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT AUTO_INCREMENT,
     ip_addr VARCHAR(45) NOT NULL,
     limit_type VARCHAR(50) NOT NULL,
     reason VARCHAR(255),
@@ -105,10 +237,15 @@ CREATE TABLE rate_limit_history (
     cre_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     upd_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
-    -- 인덱스
-    INDEX idx_ip_addr (ip_addr),
+    PRIMARY KEY (id, block_dt),
+    
+    -- 인덱스 (IP별 최근 이력 조회)
+    INDEX idx_rate_limit_ip_block (ip_addr, block_dt),
     INDEX idx_limit_type (limit_type),
     INDEX idx_block_dt (block_dt)
+)
+PARTITION BY RANGE (UNIX_TIMESTAMP(block_dt)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
 );
 
 -- 6. 공통코드 그룹 테이블 (Redis 캐시 대상)
@@ -267,6 +404,8 @@ INSERT INTO msg_cd (msg_cd, msg_tp_cd, msg_nm, msg_cont, msg_desc) VALUES
 ('SERVICE_016', '04', '서버 오류', '서버 오류가 발생했습니다.', '서버 오류'),
 ('SERVICE_017', '01', '로그아웃 완료', '로그아웃되었습니다.', '로그아웃 성공'),
 ('SERVICE_018', '01', '사용자 정보 조회 성공', '사용자 정보를 조회했습니다.', '사용자 정보 조회 성공'),
+('SERVICE_019', '01', '세션 목록 조회 성공', '로그인된 기기 목록을 조회했습니다.', '세션 목록 조회 성공'),
+('SERVICE_020', '01', '세션 종료 완료', '선택한 기기에서 로그아웃되었습니다.', '세션 종료 성공'),
 
 -- Rate Limiting 관련 메시지
 ('RATE_001', '01', 'Rate-Limiting 캐시 초기화', 'IP {ip}의 Rate-Limiting 캐시가 초기화되었습니다.', 'Rate-Limiting 캐시 초기화'),
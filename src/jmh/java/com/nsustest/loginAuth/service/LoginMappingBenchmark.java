@@ -0,0 +1,273 @@
+package com.nsustest.loginAuth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.LoginRequest;
+import com.nsustest.loginAuth.dto.TokenResponse;
+import com.nsustest.loginAuth.dto.UserSummary;
+import com.nsustest.loginAuth.model.User;
+import com.nsustest.loginAuth.model.UserProfile;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 요청 매핑 경로 벤치마크 (기존 Map 경로 vs record 경로), 요청당 할당량은 -prof gc로 측정
+ *
+ * 로그인 한 번에서 DB/암호화를 뺀 데이터 처리만 비교합니다.
+ * - 요청 본문 JSON 역직렬화 (Map vs LoginRequest)
+ * - users 한 행 매핑 (MyBatis resultType="map" vs userResultMap 생성자 매핑, 실제 DefaultResultSetHandler 사용)
+ * - 응답 조립과 JSON 직렬화 (HashMap + Map.of vs TokenResponse/UserSummary)
+ * JDBC 행은 고정 값을 돌려주는 스텁이고, 토큰은 미리 만든 문자열을 사용합니다 (두 경로 동일).
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=LoginMappingBenchmark -PjmhProfilers=gc
+ *
+ * @author nsustest
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoginMappingBenchmark {
+
+    private static final byte[] REQUEST_BODY =
+            "{\"usrLoginId\":\"testuser01\",\"password\":\"Test123!@#\",\"deviceId\":\"device-1\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private static final String IP_ADDR = "192.168.0.10";
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64)";
+    private static final String ACCESS_TOKEN = "eyJhbGciOiJIUzI1NiJ9." + "a".repeat(180) + ".signature";
+    private static final String REFRESH_TOKEN = "eyJhbGciOiJIUzI1NiJ9." + "b".repeat(120) + ".signature";
+    private static final long EXPIRES_IN = 900L;
+
+    // users 조회 컬럼 (findByLoginId 순서)
+    private static final String[] COLUMNS = {
+            "usr_id", "usr_login_id", "usr_nm", "email", "pwd", "usr_tp_cd", "phone_num", "is_use", "cre_dt", "upd_dt"
+    };
+    private static final int[] COLUMN_TYPES = {
+            Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BIT, Types.TIMESTAMP, Types.TIMESTAMP
+    };
+    private static final String[] COLUMN_CLASSES = {
+            Long.class.getName(), String.class.getName(), String.class.getName(), String.class.getName(),
+            String.class.getName(), String.class.getName(), String.class.getName(), Boolean.class.getName(),
+            Timestamp.class.getName(), Timestamp.class.getName()
+    };
+    private static final Object[] ROW = {
+            1L, "testuser01", "테스트사용자", "test.user@example.com",
+            "$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01", "02", "010-0000-0000",
+            Boolean.TRUE, new Timestamp(1_700_000_000_000L), new Timestamp(1_700_000_000_000L)
+    };
+
+    private ObjectMapper objectMapper;
+    private MappedStatement recordStatement;
+    private MappedStatement mapStatement;
+    private StubRow row;
+    private Statement statement;
+
+    @Setup
+    public void setUp() throws Exception {
+        // 스프링 MVC와 같은 설정의 ObjectMapper (JavaTimeModule 등)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        // application.properties의 MyBatis 설정으로 실제 매퍼 XML 로드
+        Configuration configuration = new Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeAliasRegistry().registerAliases("com.nsustest.loginAuth.model");
+        configuration.getVariables().setProperty("sessionArchiveInlineTimeoutSec", "2");
+        String resource = "mapper/mapper-login.xml";
+        try (InputStream in = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(in, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        recordStatement = configuration.getMappedStatement("com.nsustest.loginAuth.dao.LoginDao.findByLoginId");
+
+        // 기존 매핑: 같은 SQL에 resultType="map"
+        ResultMap inlineMap = new ResultMap.Builder(configuration, "legacyFindByLoginId-Inline",
+                HashMap.class, new ArrayList<>()).build();
+        mapStatement = new MappedStatement.Builder(configuration, "legacyFindByLoginId",
+                recordStatement.getSqlSource(), recordStatement.getSqlCommandType())
+                .resultMaps(List.of(inlineMap))
+                .build();
+
+        row = new StubRow();
+        statement = row.statement();
+    }
+
+    @Benchmark
+    public byte[] mapPath() throws Exception {
+        // 컨트롤러: @RequestBody Map + 클라이언트 정보 추가
+        @SuppressWarnings("unchecked")
+        Map<String, Object> loginData = objectMapper.readValue(REQUEST_BODY, Map.class);
+        loginData.put("ipAddr", IP_ADDR);
+        loginData.put("userAgent", USER_AGENT);
+
+        // 서비스: 캐스팅으로 값 꺼내기
+        String usrLoginId = (String) loginData.get("usrLoginId");
+        String password = (String) loginData.get("password");
+        if (usrLoginId == null || password == null) {
+            return null;
+        }
+
+        // DAO: resultType="map"
+        Map<String, Object> user = selectOne(mapStatement);
+        Object isUseObj = user.get("is_use");
+        boolean isUse = isUseObj instanceof Boolean b ? b : isUseObj instanceof Number n && n.intValue() == 1;
+        String storedPassword = (String) user.get("pwd");
+        Long usrId = ((Number) user.get("usr_id")).longValue();
+        if (!isUse || storedPassword == null || usrId == null) {
+            return null;
+        }
+
+        // 응답
+        Map<String, Object> authData = new HashMap<>();
+        authData.put("accessToken", ACCESS_TOKEN);
+        authData.put("refreshToken", REFRESH_TOKEN);
+        authData.put("tokenType", "Bearer");
+        authData.put("expiresIn", EXPIRES_IN);
+        authData.put("user", Map.of(
+                "usrId", user.get("usr_id"),
+                "usrLoginId", user.get("usr_login_id"),
+                "usrNm", user.get("usr_nm"),
+                "email", user.get("email")
+        ));
+        return objectMapper.writeValueAsBytes(ApiResponse.success("로그인 성공", authData));
+    }
+
+    @Benchmark
+    public byte[] recordPath() throws Exception {
+        // 컨트롤러: @RequestBody LoginRequest + 클라이언트 정보
+        LoginRequest loginRequest = objectMapper.readValue(REQUEST_BODY, LoginRequest.class)
+                .withClient(IP_ADDR, USER_AGENT);
+        if (loginRequest.usrLoginId() == null || loginRequest.password() == null) {
+            return null;
+        }
+
+        // DAO: userResultMap 생성자 매핑
+        User user = selectOne(recordStatement);
+        if (!user.isUse() || user.pwd() == null) {
+            return null;
+        }
+
+        // 응답
+        UserProfile profile = UserProfile.of(user);
+        TokenResponse authData = TokenResponse.bearer(ACCESS_TOKEN, REFRESH_TOKEN, EXPIRES_IN, UserSummary.of(profile));
+        return objectMapper.writeValueAsBytes(ApiResponse.success("로그인 성공", authData));
+    }
+
+    // ==================== 내부 처리 ====================
+
+    @SuppressWarnings("unchecked")
+    private <T> T selectOne(MappedStatement ms) throws Exception {
+        row.reset();
+        DefaultResultSetHandler handler = new DefaultResultSetHandler(null, ms, null, null, null, RowBounds.DEFAULT);
+        List<Object> results = handler.handleResultSets(statement);
+        return (T) results.get(0);
+    }
+
+    /**
+     * 한 행만 돌려주는 JDBC 스텁 (ResultSet, 메타데이터, Statement, Connection을 하나의 핸들러로 처리)
+     */
+    private static final class StubRow {
+
+        private int cursor;
+        private int lastColumn;
+        private final ResultSet resultSet;
+        private final ResultSetMetaData metaData;
+        private final Statement statement;
+
+        StubRow() {
+            ClassLoader loader = LoginMappingBenchmark.class.getClassLoader();
+            metaData = (ResultSetMetaData) Proxy.newProxyInstance(loader, new Class<?>[]{ResultSetMetaData.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getColumnCount" -> COLUMNS.length;
+                        case "getColumnLabel", "getColumnName" -> COLUMNS[(int) args[0] - 1];
+                        case "getColumnType" -> COLUMN_TYPES[(int) args[0] - 1];
+                        case "getColumnClassName" -> COLUMN_CLASSES[(int) args[0] - 1];
+                        default -> defaultValue(method.getReturnType());
+                    });
+            DatabaseMetaData databaseMetaData = (DatabaseMetaData) Proxy.newProxyInstance(loader,
+                    new Class<?>[]{DatabaseMetaData.class}, (proxy, method, args) -> defaultValue(method.getReturnType()));
+            Connection connection = (Connection) Proxy.newProxyInstance(loader, new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> "getMetaData".equals(method.getName())
+                            ? databaseMetaData : defaultValue(method.getReturnType()));
+            resultSet = (ResultSet) Proxy.newProxyInstance(loader, new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "next" -> cursor++ == 0;
+                        case "getMetaData" -> metaData;
+                        case "getType" -> ResultSet.TYPE_FORWARD_ONLY;
+                        case "wasNull" -> ROW[lastColumn] == null;
+                        case "getObject", "getLong", "getString", "getBoolean", "getTimestamp" -> column(args[0]);
+                        default -> defaultValue(method.getReturnType());
+                    });
+            statement = (Statement) Proxy.newProxyInstance(loader, new Class<?>[]{Statement.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "getResultSet" -> resultSet;
+                        case "getConnection" -> connection;
+                        case "getUpdateCount" -> -1;
+                        default -> defaultValue(method.getReturnType());
+                    });
+        }
+
+        Statement statement() {
+            return statement;
+        }
+
+        void reset() {
+            cursor = 0;
+        }
+
+        private Object column(Object labelOrIndex) {
+            if (labelOrIndex instanceof Integer index) {
+                lastColumn = index - 1;
+            } else {
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    if (COLUMNS[i].equalsIgnoreCase((String) labelOrIndex)) {
+                        lastColumn = i;
+                        break;
+                    }
+                }
+            }
+            return ROW[lastColumn];
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == int.class) {
+                return 0;
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+}
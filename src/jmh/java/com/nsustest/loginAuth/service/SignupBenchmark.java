@@ -0,0 +1,222 @@
+package com.nsustest.loginAuth.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원가입 DB 처리 동시 부하 벤치마크 (기존 4회 왕복 vs 단일 INSERT + 트리거)
+ *
+ * legacy: 아이디 중복 SELECT, 이메일 중복 SELECT, users INSERT, user_stats INSERT (문장마다 자동 커밋, 기존 스키마 인덱스)
+ * singleInsert: users INSERT 한 번, user_stats는 AFTER INSERT 트리거 (유니크 키로 중복 판단, 현재 스키마 인덱스)
+ * BCrypt 해시는 두 경로가 같으므로 제외하고 DB 처리량만 비교합니다.
+ * 각 경로는 별도 bench_* 테이블을 만들어 측정하고 끝나면 삭제합니다.
+ *
+ * 실행 (MySQL 필요, 접속 정보는 애플리케이션과 같은 DB_URL/DB_USERNAME/DB_PASSWORD 환경변수):
+ * ./gradlew jmh -PjmhIncludes=SignupBenchmark
+ *
+ * @author nsustest
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class SignupBenchmark {
+
+    private static final String DB_URL = env("DB_URL",
+            "jdbc:mysql://localhost:3306/nsusTestDb?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=Asia/Seoul&characterEncoding=UTF-8");
+    private static final String DB_USERNAME = env("DB_USERNAME", "root");
+    private static final String DB_PASSWORD = env("DB_PASSWORD", "root1234");
+
+    // user_stats 컬럼 (두 경로 공통)
+    private static final String STATS_COLUMNS =
+            "usr_id BIGINT PRIMARY KEY," +
+            "total_login_cnt INT DEFAULT 0," +
+            "last_login_dt TIMESTAMP NULL," +
+            "last_login_ip VARCHAR(45)," +
+            "failed_login_cnt INT DEFAULT 0," +
+            "is_locked BOOLEAN DEFAULT FALSE," +
+            "locked_until_dt TIMESTAMP NULL," +
+            "cre_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "upd_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP";
+
+    // 기존 스키마: 유니크 제약 + 같은 컬럼의 중복 인덱스
+    private static final String[] LEGACY_DDL = {
+            "CREATE TABLE bench_legacy_users (" +
+            "  usr_id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+            "  usr_login_id VARCHAR(50) NOT NULL UNIQUE," +
+            "  usr_nm VARCHAR(100) NOT NULL," +
+            "  email VARCHAR(100) NOT NULL UNIQUE," +
+            "  pwd VARCHAR(255) NOT NULL," +
+            "  usr_tp_cd VARCHAR(2) DEFAULT '02'," +
+            "  phone_num VARCHAR(20)," +
+            "  is_use BOOLEAN DEFAULT TRUE," +
+            "  cre_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "  upd_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
+            "  INDEX idx_usr_login_id (usr_login_id)," +
+            "  INDEX idx_email (email)," +
+            "  INDEX idx_is_use (is_use))",
+            "CREATE TABLE bench_legacy_user_stats (" + STATS_COLUMNS + ")"
+    };
+
+    // 현재 스키마: 이름 있는 유니크 키만, user_stats는 트리거로 생성
+    private static final String[] SINGLE_INSERT_DDL = {
+            "CREATE TABLE bench_users (" +
+            "  usr_id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+            "  usr_login_id VARCHAR(50) NOT NULL," +
+            "  usr_nm VARCHAR(100) NOT NULL," +
+            "  email VARCHAR(100) NOT NULL," +
+            "  pwd VARCHAR(255) NOT NULL," +
+            "  usr_tp_cd VARCHAR(2) DEFAULT '02'," +
+            "  phone_num VARCHAR(20)," +
+            "  is_use BOOLEAN DEFAULT TRUE," +
+            "  cre_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "  upd_dt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
+            "  CONSTRAINT uk_bench_users_login_id UNIQUE (usr_login_id)," +
+            "  CONSTRAINT uk_bench_users_email UNIQUE (email)," +
+            "  INDEX idx_is_use (is_use))",
+            "CREATE TABLE bench_user_stats (" + STATS_COLUMNS + ")",
+            "CREATE TRIGGER trg_bench_users_after_insert AFTER INSERT ON bench_users FOR EACH ROW " +
+            "  INSERT INTO bench_user_stats (usr_id, total_login_cnt, failed_login_cnt, is_locked, cre_dt, upd_dt) " +
+            "  VALUES (NEW.usr_id, 0, 0, FALSE, NOW(), NOW())"
+    };
+
+    private static final String[] TABLES = {
+            "bench_legacy_users", "bench_legacy_user_stats", "bench_users", "bench_user_stats"
+    };
+
+    // 스레드 간 고유한 아이디/이메일 (전부 신규 가입 경로)
+    private final AtomicLong seq = new AtomicLong();
+
+    /**
+     * 스레드별 연결 (애플리케이션의 커넥션 풀 연결 하나에 해당)
+     */
+    @State(Scope.Thread)
+    public static class Session {
+
+        Connection connection;
+        PreparedStatement checkId;
+        PreparedStatement checkEmail;
+        PreparedStatement legacyInsertUser;
+        PreparedStatement legacyInsertStats;
+        PreparedStatement insertUser;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
+            checkId = connection.prepareStatement("SELECT COUNT(*) FROM bench_legacy_users WHERE usr_login_id = ?");
+            checkEmail = connection.prepareStatement("SELECT COUNT(*) FROM bench_legacy_users WHERE email = ?");
+            legacyInsertUser = connection.prepareStatement(
+                    "INSERT INTO bench_legacy_users (usr_login_id, usr_nm, email, pwd, usr_tp_cd, phone_num, is_use, cre_dt, upd_dt) " +
+                    "VALUES (?, ?, ?, ?, '02', ?, TRUE, NOW(), NOW())", Statement.RETURN_GENERATED_KEYS);
+            legacyInsertStats = connection.prepareStatement(
+                    "INSERT INTO bench_legacy_user_stats (usr_id, total_login_cnt, failed_login_cnt, is_locked, cre_dt, upd_dt) " +
+                    "VALUES (?, 0, 0, FALSE, NOW(), NOW())");
+            insertUser = connection.prepareStatement(
+                    "INSERT INTO bench_users (usr_login_id, usr_nm, email, pwd, usr_tp_cd, phone_num, is_use, cre_dt, upd_dt) " +
+                    "VALUES (?, ?, ?, ?, '02', ?, TRUE, NOW(), NOW())");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createTables() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
+             Statement statement = connection.createStatement()) {
+            dropTables(statement);
+            for (String ddl : LEGACY_DDL) {
+                statement.execute(ddl);
+            }
+            for (String ddl : SINGLE_INSERT_DDL) {
+                statement.execute(ddl);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTables() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
+             Statement statement = connection.createStatement()) {
+            dropTables(statement);
+        }
+    }
+
+    @Benchmark
+    public long legacy(Session session) throws SQLException {
+        long n = seq.incrementAndGet();
+        String loginId = "legacy" + n;
+        String email = loginId + "@example.com";
+
+        if (count(session.checkId, loginId) > 0 || count(session.checkEmail, email) > 0) {
+            return 0L;
+        }
+        bindUser(session.legacyInsertUser, loginId, email);
+        session.legacyInsertUser.executeUpdate();
+        long usrId;
+        try (ResultSet keys = session.legacyInsertUser.getGeneratedKeys()) {
+            keys.next();
+            usrId = keys.getLong(1);
+        }
+        session.legacyInsertStats.setLong(1, usrId);
+        session.legacyInsertStats.executeUpdate();
+        return usrId;
+    }
+
+    @Benchmark
+    public int singleInsert(Session session) throws SQLException {
+        long n = seq.incrementAndGet();
+        String loginId = "single" + n;
+        bindUser(session.insertUser, loginId, loginId + "@example.com");
+        return session.insertUser.executeUpdate();
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private static int count(PreparedStatement statement, String value) throws SQLException {
+        statement.setString(1, value);
+        try (ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void bindUser(PreparedStatement statement, String loginId, String email) throws SQLException {
+        statement.setString(1, loginId);
+        statement.setString(2, "벤치마크");
+        statement.setString(3, email);
+        // BCrypt 결과와 같은 길이의 고정 값
+        statement.setString(4, "$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+        statement.setString(5, "010-0000-0000");
+    }
+
+    private static void dropTables(Statement statement) throws SQLException {
+        for (String table : TABLES) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+}
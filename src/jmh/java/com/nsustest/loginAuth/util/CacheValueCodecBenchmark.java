@@ -0,0 +1,123 @@
+package com.nsustest.loginAuth.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시 값 코덱 벤치마크 (json vs smile, 압축 유무)
+ *
+ * database_schema.sql의 초기 데이터와 같은 컬럼 구성으로
+ * 코드 하나(해시 필드 값), 메시지 하나, 타입별 메시지 목록을 인코딩/디코딩합니다.
+ * 실행: ./gradlew jmh, 운영 데이터 기준 크기 비교는 GET /api/admin/cache/codec/report
+ *
+ * @author nsustest
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheValueCodecBenchmark {
+
+    private static final String[][] MESSAGES = {
+            {"SIGNUP_001", "01", "회원가입 성공", "회원가입이 완료되었습니다.", "회원가입 성공 메시지"},
+            {"SIGNUP_004", "04", "비밀번호 정책 오류", "비밀번호는 8자 이상, 영문+숫자+특수문자를 포함해야 합니다.", "비밀번호 정책 위반"},
+            {"LOGIN_002", "04", "로그인 실패", "아이디 또는 비밀번호가 올바르지 않습니다.", "로그인 실패"},
+            {"LOGIN_003", "04", "계정 잠금", "로그인 실패 횟수가 초과되어 계정이 잠겼습니다.", "계정 잠금 상태"},
+            {"TOKEN_002", "04", "토큰 만료", "토큰이 만료되었습니다.", "토큰 만료 오류"},
+            {"TOKEN_004", "04", "리프레시 토큰 만료", "리프레시 토큰이 만료되었습니다. 다시 로그인해주세요.", "리프레시 토큰 만료"},
+            {"PWD_003", "04", "이전 비밀번호 재사용", "이전에 사용했던 비밀번호는 사용할 수 없습니다.", "비밀번호 재사용 금지"},
+            {"COMMON_002", "04", "서버 오류", "서버에 일시적인 오류가 발생했습니다.", "서버 오류"},
+            {"COMMON_003", "04", "권한 없음", "해당 기능에 대한 권한이 없습니다.", "권한 부족"},
+            {"AUTH_001", "04", "인증 실패", "아이디 또는 비밀번호가 올바르지 않습니다.", "로그인 인증 실패"},
+            {"AUTH_002", "04", "계정 잠금", "로그인 실패 횟수가 초과되어 계정이 잠겼습니다.", "계정 잠금 상태"},
+            {"AUTH_007", "04", "리프레시 토큰 무효", "유효하지 않은 리프레시 토큰입니다.", "리프레시 토큰 무효"}
+    };
+
+    /**
+     * json: 기존 형식, smile: 바이너리, +deflate: 기준 크기(1024) 이상 압축
+     */
+    @Param({"json", "json+deflate", "smile", "smile+deflate"})
+    private String codecName;
+
+    /**
+     * code: 공통코드 하나, message: 메시지 하나, messageList: 오류 타입 메시지 목록
+     */
+    @Param({"code", "message", "messageList"})
+    private String dataset;
+
+    private CacheValueCodec codec;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        String[] parts = codecName.split("\\+");
+        codec = CacheValueCodec.of(parts[0], parts.length > 1 ? 1024 : 0);
+
+        List<Object> messages = new ArrayList<>();
+        for (String[] row : MESSAGES) {
+            messages.add(message(row));
+        }
+        value = switch (dataset) {
+            case "code" -> code();
+            case "message" -> messages.get(1);
+            default -> messages;
+        };
+        encoded = codec.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return codec.deserialize(encoded);
+    }
+
+    private static Map<String, Object> code() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("grp_cd", "MSG_TP");
+        row.put("cd", "04");
+        row.put("cd_nm", "오류");
+        row.put("cd_eng_nm", "ERROR");
+        row.put("cd_desc", "오류 메시지");
+        row.put("sort_ord", 4);
+        row.put("is_use", true);
+        audit(row);
+        return row;
+    }
+
+    private static Map<String, Object> message(String[] values) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("msg_cd", values[0]);
+        row.put("msg_tp_cd", values[1]);
+        row.put("msg_nm", values[2]);
+        row.put("msg_cont", values[3]);
+        row.put("msg_desc", values[4]);
+        row.put("is_use", true);
+        audit(row);
+        return row;
+    }
+
+    private static void audit(Map<String, Object> row) {
+        Timestamp now = new Timestamp(1_700_000_000_000L);
+        row.put("upd_dt", now);
+        row.put("upd_id", null);
+        row.put("cre_dt", now);
+        row.put("cre_id", null);
+    }
+}
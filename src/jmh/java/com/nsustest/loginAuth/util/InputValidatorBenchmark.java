@@ -0,0 +1,86 @@
+package com.nsustest.loginAuth.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 입력값 검증 벤치마크 (기존 String.matches vs InputValidator)
+ *
+ * 일반 입력과 백트래킹을 유발하는 긴 입력을 함께 측정합니다.
+ * 실행: ./gradlew jmh
+ *
+ * @author nsustest
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InputValidatorBenchmark {
+
+    private static final String LOGIN_ID_REGEX = "^[a-zA-Z0-9]{4,20}$";
+    private static final String EMAIL_REGEX = "^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$";
+    private static final String PASSWORD_REGEX = "^(?=.*[a-zA-Z])(?=.*\\d)(?=.*[!@#$%^&*(),.?\":{}|<>]).{8,}$";
+
+    /**
+     * normal: 일반 가입 입력, adversarial: 도메인에 .이 없는 긴 이메일 / 특수문자가 없는 긴 비밀번호
+     */
+    @Param({"normal", "adversarial"})
+    private String input;
+
+    @Param({"10000"})
+    private int adversarialLength;
+
+    private String loginId;
+    private String email;
+    private String password;
+
+    @Setup
+    public void setUp() {
+        if ("normal".equals(input)) {
+            loginId = "testuser01";
+            email = "test.user@example.com";
+            password = "Test123!@#";
+        } else {
+            loginId = "a".repeat(adversarialLength);
+            email = "a@" + "b".repeat(adversarialLength);
+            password = "Aa1" + "b".repeat(adversarialLength);
+        }
+    }
+
+    @Benchmark
+    public boolean regexLoginId() {
+        return loginId.matches(LOGIN_ID_REGEX);
+    }
+
+    @Benchmark
+    public boolean scannerLoginId() {
+        return InputValidator.isValidLoginId(loginId);
+    }
+
+    @Benchmark
+    public boolean regexEmail() {
+        return email.matches(EMAIL_REGEX);
+    }
+
+    @Benchmark
+    public boolean scannerEmail() {
+        return email.length() <= InputValidator.EMAIL_MAX_LENGTH && InputValidator.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean regexPassword() {
+        return password.matches(PASSWORD_REGEX);
+    }
+
+    @Benchmark
+    public boolean scannerPassword() {
+        return InputValidator.isPasswordWithinLimit(password) && InputValidator.isStrongPassword(password);
+    }
+}
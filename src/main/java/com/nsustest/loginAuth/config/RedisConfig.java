@@ -7,6 +7,7 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -27,6 +28,9 @@ public class RedisConfig {
     @Value("${spring.data.redis.password:}")
     private String redisPassword;
     
+    @Value("${redis.listener.recovery-interval-ms:5000}")
+    private long recoveryIntervalMs;
+    
     /**
      * Redis 연결 팩토리 설정
      * 
@@ -67,4 +71,24 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+    
+    /**
+     * Redis pub/sub 리스너 컨테이너 (캐시 무효화 메시지 수신)
+     * Redis 장애 중에도 애플리케이션이 기동되도록 자동 시작하지 않으며, RedisListenerScheduler가 시작과 재시도를 담당
+     * 
+     * @param connectionFactory Redis 연결 팩토리
+     * @return RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false;
+            }
+        };
+        container.setConnectionFactory(connectionFactory);
+        container.setRecoveryInterval(recoveryIntervalMs);
+        return container;
+    }
 }
@@ -0,0 +1,79 @@
+package com.nsustest.loginAuth.controller;
+
+import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.service.LoginHistoryArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Date;
+
+/**
+ * 로그인 이력 아카이브 조회 컨트롤러 (관리자 전용, 감사/조사용)
+ *
+ * @author nsustest
+ */
+@RestController
+@RequestMapping("/api/admin/archive/login-history")
+public class AdminArchiveController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminArchiveController.class);
+
+    private static final int MAX_SEARCH_LIMIT = 10000;
+
+    @Autowired
+    private LoginHistoryArchiveService loginHistoryArchiveService;
+
+    /**
+     * 아카이브 파일 목록 조회
+     *
+     * @return 파티션별 파일 크기/행 수
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<Object>> listArchives() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("아카이브 목록 조회 성공",
+                    loginHistoryArchiveService.listArchives()));
+        } catch (Exception e) {
+            logger.error("아카이브 목록 조회 실패: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("아카이브 목록 조회에 실패했습니다.", "ARCHIVE_001"));
+        }
+    }
+
+    /**
+     * 아카이브 검색
+     *
+     * @param partition 파티션 이름 (없으면 전체 아카이브)
+     * @param ipAddr IP 주소
+     * @param usrId 사용자 ID
+     * @param from 시작 일시 (ISO-8601, 포함)
+     * @param to 끝 일시 (ISO-8601, 제외)
+     * @param limit 최대 행 수
+     * @return 조건에 맞는 로그인 이력
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<Object>> search(
+            @RequestParam(required = false) String partition,
+            @RequestParam(required = false) String ipAddr,
+            @RequestParam(required = false) Long usrId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("아카이브 검색 성공",
+                    loginHistoryArchiveService.search(partition, ipAddr, usrId, from, to,
+                            Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage(), "ARCHIVE_002"));
+        } catch (Exception e) {
+            logger.error("아카이브 검색 실패: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("아카이브 검색에 실패했습니다.", "ARCHIVE_003"));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.nsustest.loginAuth.controller;
+
+import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.service.DataPurgeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 데이터 정리 작업 관리 컨트롤러 (관리자 전용)
+ *
+ * @author nsustest
+ */
+@RestController
+@RequestMapping("/api/admin/purge")
+public class AdminPurgeController {
+
+    @Autowired
+    private DataPurgeService dataPurgeService;
+
+    /**
+     * 정리 작업 상태 조회 (일시 정지 여부, 작업별 마지막 실행 결과)
+     *
+     * @return 정리 작업 상태
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<Object>> getStats() {
+        return ResponseEntity.ok(ApiResponse.success("정리 작업 상태 조회 성공", dataPurgeService.getStats()));
+    }
+
+    /**
+     * 정리 작업 일시 정지 (진행 중인 작업은 현재 청크 후 중단)
+     *
+     * @return 정리 작업 상태
+     */
+    @PostMapping("/pause")
+    public ResponseEntity<ApiResponse<Object>> pause() {
+        dataPurgeService.pause();
+        return ResponseEntity.ok(ApiResponse.success("정리 작업 일시 정지", dataPurgeService.getStats()));
+    }
+
+    /**
+     * 정리 작업 재개 (다음 예약 실행부터 남은 구간을 이어서 처리)
+     *
+     * @return 정리 작업 상태
+     */
+    @PostMapping("/resume")
+    public ResponseEntity<ApiResponse<Object>> resume() {
+        dataPurgeService.resume();
+        return ResponseEntity.ok(ApiResponse.success("정리 작업 재개", dataPurgeService.getStats()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.nsustest.loginAuth.controller;
+
+import com.nsustest.loginAuth.service.UserImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 사용자 관리 컨트롤러 (관리자 전용)
+ * 
+ * @author nsustest
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+public class AdminUserController {
+    
+    private static final String CONTENT_TYPE_CSV = "text/csv";
+    private static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+    
+    @Autowired
+    private UserImportService userImportService;
+    
+    /**
+     * 사용자 일괄 등록 API
+     * 요청 본문을 스트리밍으로 읽으면서 행별 결과를 NDJSON으로 바로 응답함
+     * 
+     * CSV: 첫 줄은 헤더 (usrLoginId,usrNm,email,password,phoneNum)
+     * NDJSON: 한 줄에 {"usrLoginId":...,"usrNm":...,"email":...,"password":...,"phoneNum":...}
+     * 
+     * @param request 요청 (Content-Type: text/csv 또는 application/x-ndjson)
+     * @param response 응답 (행별 결과 + 마지막 요약)
+     */
+    @PostMapping(value = "/import", consumes = {CONTENT_TYPE_CSV, CONTENT_TYPE_NDJSON})
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String format = request.getContentType().startsWith(CONTENT_TYPE_CSV)
+                ? UserImportService.FORMAT_CSV
+                : UserImportService.FORMAT_NDJSON;
+        
+        response.setContentType(CONTENT_TYPE_NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        userImportService.importUsers(request.getInputStream(), format, response.getOutputStream());
+    }
+}
@@ -1,7 +1,10 @@
 package com.nsustest.loginAuth.controller;
 
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.service.CacheCodecReportService;
+import com.nsustest.loginAuth.service.ClientSideCacheService;
 import com.nsustest.loginAuth.service.CommonCodeService;
+import com.nsustest.loginAuth.service.UserProfileCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +29,15 @@ public class CacheController {
     @Autowired
     private CommonCodeService commonCodeService;
     
+    @Autowired
+    private UserProfileCacheService userProfileCacheService;
+    
+    @Autowired
+    private CacheCodecReportService cacheCodecReportService;
+    
+    @Autowired
+    private ClientSideCacheService clientSideCacheService;
+    
     /**
      * 공통코드 캐시 초기화
      * 
@@ -137,4 +149,77 @@ public class CacheController {
                 .body(ApiResponse.error("메시지 코드 조회에 실패했습니다.", "CACHE_005"));
         }
     }
+    
+    /**
+     * 공통코드/메시지 코드 L1 캐시 통계 조회 (크기, 적중률)
+     * 
+     * @return 캐시 통계
+     */
+    @GetMapping("/common-code/stats")
+    public ResponseEntity<ApiResponse<Object>> getCommonCodeCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("공통코드 캐시 통계 조회 성공",
+                commonCodeService.getStats()));
+    }
+    
+    /**
+     * 캐시 값 코덱 크기 비교 (실제 공통코드/메시지 코드를 형식별로 인코딩)
+     * 
+     * @return 데이터셋별, 형식별 값 크기
+     */
+    @GetMapping("/codec/report")
+    public ResponseEntity<ApiResponse<Object>> getCodecReport() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("캐시 코덱 보고서 조회 성공",
+                    cacheCodecReportService.buildReport()));
+        } catch (Exception e) {
+            logger.error("캐시 코덱 보고서 조회 실패: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("캐시 코덱 보고서 조회에 실패했습니다.", "CACHE_007"));
+        }
+    }
+    
+    /**
+     * 클라이언트 캐시 추적 통계 조회 (추적 상태, 적중률, 무효화 수)
+     * 
+     * @return 캐시 통계
+     */
+    @GetMapping("/client-tracking/stats")
+    public ResponseEntity<ApiResponse<Object>> getClientTrackingStats() {
+        return ResponseEntity.ok(ApiResponse.success("클라이언트 캐시 통계 조회 성공",
+                clientSideCacheService.getStats()));
+    }
+    
+    /**
+     * 사용자 프로필 캐시 통계 조회 (적중률, DB 조회 지연)
+     * 
+     * @return 캐시 통계
+     */
+    @GetMapping("/user-profile/stats")
+    public ResponseEntity<ApiResponse<Object>> getUserProfileCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("사용자 프로필 캐시 통계 조회 성공",
+                userProfileCacheService.getStats()));
+    }
+    
+    /**
+     * 사용자 프로필 캐시 무효화 (모든 노드에 전파)
+     * 
+     * @param usrId 사용자 ID
+     * @return 무효화 결과
+     */
+    @PostMapping("/user-profile/{usrId}/evict")
+    public ResponseEntity<ApiResponse<Object>> evictUserProfile(@PathVariable Long usrId) {
+        try {
+            userProfileCacheService.evict(usrId);
+            
+            Map<String, Object> data = new HashMap<>();
+            data.put("usrId", usrId);
+            data.put("timestamp", System.currentTimeMillis());
+            
+            return ResponseEntity.ok(ApiResponse.success("사용자 프로필 캐시 무효화 완료", data));
+        } catch (Exception e) {
+            logger.error("사용자 프로필 캐시 무효화 실패: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("사용자 프로필 캐시 무효화에 실패했습니다.", "CACHE_006"));
+        }
+    }
 }
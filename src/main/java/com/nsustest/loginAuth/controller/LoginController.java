@@ -1,6 +1,14 @@
 package com.nsustest.loginAuth.controller;
 
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.IdCheckResponse;
+import com.nsustest.loginAuth.dto.LoginRequest;
+import com.nsustest.loginAuth.dto.RefreshRequest;
+import com.nsustest.loginAuth.dto.SessionInfo;
+import com.nsustest.loginAuth.dto.SignupRequest;
+import com.nsustest.loginAuth.dto.SignupResponse;
+import com.nsustest.loginAuth.dto.TokenResponse;
+import com.nsustest.loginAuth.dto.UserInfoResponse;
 import com.nsustest.loginAuth.service.LoginService;
 import com.nsustest.loginAuth.util.IpAddressUtil;
 import com.nsustest.loginAuth.util.SecurityContextUtil;
@@ -9,7 +17,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.Map;
+
+import java.util.List;
 
 /**
  * 로그인 및 회원가입 관련 요청을 처리하는 컨트롤러
@@ -37,8 +46,8 @@ public class LoginController {
      * @return 중복 확인 결과
      */
     @GetMapping("/check-id")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> checkIdDuplicate(@RequestParam("usrLoginId") String usrLoginId) {
-        ApiResponse<Map<String, Object>> response = loginService.checkIdDuplicate(usrLoginId);
+    public ResponseEntity<ApiResponse<IdCheckResponse>> checkIdDuplicate(@RequestParam("usrLoginId") String usrLoginId) {
+        ApiResponse<IdCheckResponse> response = loginService.checkIdDuplicate(usrLoginId);
         
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -50,12 +59,12 @@ public class LoginController {
     /**
      * 회원가입 API
      * 
-     * @param signupData 회원가입 데이터
+     * @param signupRequest 회원가입 요청
      * @return 회원가입 결과
      */
     @PostMapping("/signup")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> signup(@RequestBody Map<String, Object> signupData) {
-        ApiResponse<Map<String, Object>> response = loginService.signup(signupData);
+    public ResponseEntity<ApiResponse<SignupResponse>> signup(@RequestBody SignupRequest signupRequest) {
+        ApiResponse<SignupResponse> response = loginService.signup(signupRequest);
         
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -67,18 +76,17 @@ public class LoginController {
     /**
      * 로그인 API
      * 
-     * @param loginData 로그인 데이터
+     * @param loginRequest 로그인 요청
      * @param request HTTP 요청 (IP 주소 추출용)
      * @return 로그인 결과
      */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> login(@RequestBody Map<String, Object> loginData, HttpServletRequest request) {
+    public ResponseEntity<ApiResponse<TokenResponse>> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         // 클라이언트 IP 주소 추출
         String clientIp = IpAddressUtil.getClientIpAddress(request);
-        loginData.put("ipAddr", clientIp);
-        loginData.put("userAgent", request.getHeader("User-Agent"));
         
-        ApiResponse<Map<String, Object>> response = loginService.login(loginData);
+        ApiResponse<TokenResponse> response = loginService.login(
+                loginRequest.withClient(clientIp, request.getHeader("User-Agent")));
         
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -95,18 +103,18 @@ public class LoginController {
      * @return 새로운 Access Token
      */
     @PostMapping("/refresh")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> refreshToken(@RequestBody Map<String, Object> request) {
-        String refreshToken = (String) request.get("refreshToken");
+    public ResponseEntity<ApiResponse<TokenResponse>> refreshToken(@RequestBody RefreshRequest request) {
+        String refreshToken = request.refreshToken();
         
         if (refreshToken == null || refreshToken.trim().isEmpty()) {
-            ApiResponse<Map<String, Object>> errorResponse = ApiResponse.error(
+            ApiResponse<TokenResponse> errorResponse = ApiResponse.error(
                 "Refresh Token이 필요합니다.", 
                 "AUTH_005"
             );
             return ResponseEntity.badRequest().body(errorResponse);
         }
         
-        ApiResponse<Map<String, Object>> response = loginService.refreshAccessToken(refreshToken);
+        ApiResponse<TokenResponse> response = loginService.refreshAccessToken(refreshToken);
         
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -133,7 +141,43 @@ public class LoginController {
                 return ResponseEntity.status(401).body(errorResponse);
             }
             
-            ApiResponse<Object> response = loginService.logout(usrId);
+            // 현재 세션(sid 클레임)만 종료
+            ApiResponse<Object> response = loginService.logout(usrId, securityContextUtil.getCurrentSessionId());
+            
+            if (response.isSuccess()) {
+                return ResponseEntity.ok(response);
+            } else {
+                return ResponseEntity.badRequest().body(response);
+            }
+            
+        } catch (Exception e) {
+            ApiResponse<Object> errorResponse = ApiResponse.error(
+                "서버 오류가 발생했습니다.", 
+                "SRV_001"
+            );
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+    
+    /**
+     * 로그인된 기기(세션) 목록 조회 API
+     * 
+     * @return 세션 목록 (현재 세션은 current=true)
+     */
+    @GetMapping("/sessions")
+    public ResponseEntity<ApiResponse<List<SessionInfo>>> getSessions() {
+        try {
+            Long usrId = securityContextUtil.getCurrentUserId();
+            if (usrId == null) {
+                ApiResponse<List<SessionInfo>> errorResponse = ApiResponse.error(
+                    "인증이 필요합니다.", 
+                    "AUTH_008"
+                );
+                return ResponseEntity.status(401).body(errorResponse);
+            }
+            
+            ApiResponse<List<SessionInfo>> response = loginService.listSessions(
+                    usrId, securityContextUtil.getCurrentSessionId());
             
             if (response.isSuccess()) {
                 return ResponseEntity.ok(response);
@@ -141,6 +185,41 @@ public class LoginController {
                 return ResponseEntity.badRequest().body(response);
             }
             
+        } catch (Exception e) {
+            ApiResponse<List<SessionInfo>> errorResponse = ApiResponse.error(
+                "서버 오류가 발생했습니다.", 
+                "SRV_001"
+            );
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+    
+    /**
+     * 세션 하나 종료 API (다른 기기 로그아웃)
+     * 
+     * @param sid 종료할 세션 식별자
+     * @return 종료 결과
+     */
+    @DeleteMapping("/sessions/{sid}")
+    public ResponseEntity<ApiResponse<Object>> revokeSession(@PathVariable("sid") String sid) {
+        try {
+            Long usrId = securityContextUtil.getCurrentUserId();
+            if (usrId == null) {
+                ApiResponse<Object> errorResponse = ApiResponse.error(
+                    "인증이 필요합니다.", 
+                    "AUTH_008"
+                );
+                return ResponseEntity.status(401).body(errorResponse);
+            }
+            
+            ApiResponse<Object> response = loginService.revokeSession(usrId, sid);
+            
+            if (response.isSuccess()) {
+                return ResponseEntity.ok(response);
+            } else {
+                return ResponseEntity.status(404).body(response);
+            }
+            
         } catch (Exception e) {
             ApiResponse<Object> errorResponse = ApiResponse.error(
                 "서버 오류가 발생했습니다.", 
@@ -156,12 +235,12 @@ public class LoginController {
      * @return 사용자 정보
      */
     @GetMapping("/user")
-    public ResponseEntity<ApiResponse<Map<String, Object>>> getUserInfo() {
+    public ResponseEntity<ApiResponse<UserInfoResponse>> getUserInfo() {
         try {
             // SecurityContext에서 사용자 ID 추출
             Long usrId = securityContextUtil.getCurrentUserId();
             if (usrId == null) {
-                ApiResponse<Map<String, Object>> errorResponse = ApiResponse.error(
+                ApiResponse<UserInfoResponse> errorResponse = ApiResponse.error(
                     "인증이 필요합니다.", 
                     "AUTH_008"
                 );
@@ -169,7 +248,7 @@ public class LoginController {
             }
             
             // 사용자 정보 조회
-            ApiResponse<Map<String, Object>> response = loginService.getUserInfo(usrId);
+            ApiResponse<UserInfoResponse> response = loginService.getUserInfo(usrId);
             
             if (response.isSuccess()) {
                 return ResponseEntity.ok(response);
@@ -178,7 +257,7 @@ public class LoginController {
             }
             
         } catch (Exception e) {
-            ApiResponse<Map<String, Object>> errorResponse = ApiResponse.error(
+            ApiResponse<UserInfoResponse> errorResponse = ApiResponse.error(
                 "서버 오류가 발생했습니다.", 
                 "SRV_001"
             );
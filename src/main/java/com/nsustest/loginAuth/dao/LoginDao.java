@@ -1,7 +1,22 @@
 package com.nsustest.loginAuth.dao;
 
+import com.nsustest.loginAuth.model.KeyRange;
+import com.nsustest.loginAuth.model.LoginAuditEvent;
+import com.nsustest.loginAuth.model.LoginHistoryRecord;
+import com.nsustest.loginAuth.model.LoginIdEntry;
+import com.nsustest.loginAuth.model.NewUser;
+import com.nsustest.loginAuth.model.SessionActivity;
+import com.nsustest.loginAuth.model.SessionEnd;
+import com.nsustest.loginAuth.model.SessionRotation;
+import com.nsustest.loginAuth.model.TablePartition;
+import com.nsustest.loginAuth.model.User;
+import com.nsustest.loginAuth.model.UserSession;
+import com.nsustest.loginAuth.model.UserStatsDelta;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -24,21 +39,14 @@ public interface LoginDao {
      */
     int checkIdDuplicate(String usrLoginId);
     
-    /**
-     * 이메일로 사용자 존재 여부 확인
-     * 
-     * @param email 확인할 이메일
-     * @return 해당 이메일을 가진 사용자 수 (0 또는 1)
-     */
-    int checkEmailDuplicate(String email);
-    
     /**
      * 사용자 정보 저장
+     * 아이디/이메일 중복 시 DuplicateKeyException, user_stats는 INSERT 트리거로 함께 생성
      * 
-     * @param userData 저장할 사용자 정보
+     * @param user 저장할 사용자 정보
      * @return 저장된 행 수
      */
-    int insertUser(Map<String, Object> userData);
+    int insertUser(NewUser user);
     
     /**
      * 로그인 아이디로 사용자 정보 조회
@@ -46,7 +54,7 @@ public interface LoginDao {
      * @param usrLoginId 조회할 로그인 아이디
      * @return 사용자 정보 (없으면 null)
      */
-    Map<String, Object> findByLoginId(String usrLoginId);
+    User findByLoginId(String usrLoginId);
     
     /**
      * 사용자 ID로 사용자 정보 조회
@@ -54,110 +62,263 @@ public interface LoginDao {
      * @param usrId 사용자 ID
      * @return 사용자 정보 (없으면 null)
      */
-    Map<String, Object> findById(Long usrId);
+    User findById(Long usrId);
     
-    // ==================== 사용자 통계 관련 ====================
+    /**
+     * 모든 로그인 아이디 스트리밍 조회 (로그인 아이디 필터 구성용)
+     * 커서가 열려 있는 동안 트랜잭션(세션)이 유지되어야 함
+     * 
+     * @return 로그인 아이디 커서
+     */
+    Cursor<String> selectAllLoginIds();
     
     /**
-     * 사용자 통계 정보 초기화 (회원가입 시)
+     * 모든 사용자 ID/로그인 아이디 스트리밍 조회 (아이디 인덱스 구성용)
+     * 커서가 열려 있는 동안 트랜잭션(세션)이 유지되어야 함
      * 
-     * @param userStats 사용자 통계 정보
-     * @return 저장된 행 수
+     * @return 사용자 ID/로그인 아이디 커서
      */
-    int insertUserStats(Map<String, Object> userStats);
+    Cursor<LoginIdEntry> selectLoginIdEntries();
     
     /**
-     * 사용자 통계 정보 업데이트 (로그인 성공 시)
+     * 지정한 사용자 ID 이후에 가입한 사용자의 로그인 아이디 조회 (아이디 인덱스 증분 갱신용)
      * 
-     * @param statsData 업데이트할 통계 데이터
-     * @return 업데이트된 행 수
+     * @param usrId 마지막으로 반영한 사용자 ID
+     * @param limit 최대 조회 건수
+     * @return 사용자 ID/로그인 아이디 목록 (usr_id 오름차순)
+     */
+    List<LoginIdEntry> selectLoginIdsAfter(Long usrId, int limit);
+    
+    /**
+     * 목록 중 이미 사용 중인 로그인 아이디 조회 (일괄 등록 사전 확인용)
+     * 
+     * @param loginIds 확인할 로그인 아이디 목록
+     * @return 이미 존재하는 로그인 아이디 목록
      */
-    int updateUserStats(Map<String, Object> statsData);
+    List<String> selectExistingLoginIds(List<String> loginIds);
+    
+    /**
+     * 목록 중 이미 사용 중인 이메일 조회 (일괄 등록 사전 확인용)
+     * 
+     * @param emails 확인할 이메일 목록
+     * @return 이미 존재하는 이메일 목록
+     */
+    List<String> selectExistingEmails(List<String> emails);
+    
+    // ==================== 사용자 통계 관련 ====================
+    
+    /**
+     * 사용자별로 병합된 통계 증분 일괄 반영 (로그인 성공 시, write-behind)
+     * 
+     * @param deltas 사용자별 통계 증분 목록
+     * @return 영향받은 행 수
+     */
+    int incrementUserStatsBatch(List<UserStatsDelta> deltas);
     
     // ==================== 세션 관련 ====================
     
     /**
      * 사용자 세션 저장 (로그인 시)
      * 
-     * @param sessionData 세션 데이터
+     * @param session 세션 정보
      * @return 저장된 행 수
      */
-    int insertUserSession(Map<String, Object> sessionData);
+    int insertUserSession(UserSession session);
     
     /**
-     * 기존 활성 세션 삭제 (다중 로그인 방지)
+     * 세션 시작 이력 일괄 저장 (다중 행 INSERT, 이미 저장된 sid는 무시)
+     * 
+     * @param sessions 세션 목록
+     * @return 저장된 행 수
+     */
+    int insertUserSessionBatch(List<UserSession> sessions);
+    
+    /**
+     * 세션 종료 이력 일괄 저장 (sid 기준 다중 행 UPDATE)
+     * 
+     * @param ends 세션 종료 목록
+     * @return 업데이트된 행 수
+     */
+    int endUserSessionsBatch(List<SessionEnd> ends);
+    
+    /**
+     * 세션 종료 이력 단건 저장 (이력 큐가 가득 찼을 때 요청 스레드에서 사용, 문장 타임아웃 적용)
+     * 
+     * @param end 세션 종료
+     * @return 업데이트된 행 수 (시작 이력이 아직 없거나 이미 종료된 세션이면 0)
+     */
+    int endUserSession(SessionEnd end);
+    
+    /**
+     * 세션 만료 일시 일괄 연장 (Refresh Token 교체 이력, sid 기준 다중 행 UPDATE)
+     * 
+     * @param rotations 세션 교체 목록 (sid별 하나)
+     * @return 업데이트된 행 수
+     */
+    int extendUserSessionsBatch(List<SessionRotation> rotations);
+    
+    /**
+     * 사용자의 활성 세션 잠금 조회 (로그인 일시 오름차순, SELECT ... FOR UPDATE)
      * 
      * @param usrId 사용자 ID
-     * @return 삭제된 행 수
+     * @return 활성 세션 목록
+     */
+    List<UserSession> lockActiveSessionsByUsrId(Long usrId);
+    
+    /**
+     * 사용자의 활성 세션 조회 (로그인 일시 오름차순)
+     * 
+     * @param usrId 사용자 ID
+     * @return 활성 세션 목록
+     */
+    List<UserSession> findActiveSessionsByUsrId(Long usrId);
+    
+    /**
+     * 세션의 Refresh Token 교체 (저장된 다이제스트가 일치할 때만, 기존 다이제스트는 직전 값으로 보관)
+     * 
+     * @param session 새 다이제스트/만료 일시가 반영된 세션
+     * @param oldRefreshTokenHash 기존 Refresh Token 다이제스트
+     * @return 업데이트된 행 수
+     */
+    int updateSessionRefreshToken(@Param("session") UserSession session,
+                                  @Param("oldRefreshTokenHash") byte[] oldRefreshTokenHash);
+    
+    /**
+     * 세션 하나 종료
+     * 
+     * @param usrId 사용자 ID
+     * @param sid 세션 식별자
+     * @return 업데이트된 행 수
+     */
+    int endSessionBySid(@Param("usrId") Long usrId, @Param("sid") String sid);
+    
+    /**
+     * 직전 Refresh Token 다이제스트로 세션 종료 (교체된 토큰 재사용 감지)
+     * 
+     * @param refreshTokenHash 제시된 Refresh Token 다이제스트
+     * @return 업데이트된 행 수
+     */
+    int endSessionsByPrevRefreshTokenHash(byte[] refreshTokenHash);
+    
+    /**
+     * 사용자의 모든 활성 세션 종료 (로그아웃)
+     * 
+     * @param usrId 사용자 ID
+     * @return 업데이트된 행 수
      */
-    int deleteActiveSessions(Long usrId);
+    int endActiveSessions(Long usrId);
     
     /**
-     * 세션 로그아웃 처리 (로그아웃 시)
+     * 세션 마지막 활동 일시 일괄 저장 (sid 기준 다중 행 UPDATE, 더 최근 값만 반영)
      * 
-     * @param logoutData 로그아웃 데이터 (usrId 포함)
+     * @param activities 세션 활동 목록
      * @return 업데이트된 행 수
      */
-    int updateSessionLogout(Map<String, Object> logoutData);
+    int updateSessionActivityBatch(List<SessionActivity> activities);
     
     /**
-     * Refresh Token으로 세션 조회
+     * 유휴 활성 세션 조회 (마지막 활동 일시 오름차순)
      * 
-     * @param refreshToken 조회할 Refresh Token
+     * @param cutoff 이 일시 이전에 마지막으로 활동한 세션
+     * @param limit 최대 조회 수
+     * @return 유휴 세션 목록
+     */
+    List<UserSession> findIdleSessions(@Param("cutoff") Date cutoff, @Param("limit") int limit);
+    
+    /**
+     * Refresh Token 다이제스트로 세션 조회
+     * 
+     * @param refreshTokenHash 조회할 Refresh Token의 SHA-256 다이제스트
      * @return 세션 정보 (없으면 null)
      */
-    Map<String, Object> findSessionByRefreshToken(String refreshToken);
+    UserSession findSessionByRefreshTokenHash(byte[] refreshTokenHash);
     
     
     // ==================== 로그인 이력 관련 ====================
     
     /**
-     * 로그인 이력 저장 (성공/실패 통합)
+     * 로그인 이력 일괄 저장 (성공/실패 통합, 다중 행 INSERT)
      * 
-     * @param historyData 로그인 이력 데이터
+     * @param events 로그인 감사 이벤트 목록
      * @return 저장된 행 수
      */
-    int insertLoginHistory(Map<String, Object> historyData);
+    int insertLoginHistoryBatch(List<LoginAuditEvent> events);
     
     /**
-     * IP별 로그인 시도 횟수 조회
+     * 이미 저장된 감사 이벤트 식별자 조회
      * 
-     * @param ipAddr IP 주소
-     * @return 시도 횟수
+     * @param eventIds 조회할 이벤트 식별자 목록
+     * @param fromDt 이벤트 발생 시각 하한 (파티션 제한)
+     * @param toDt 이벤트 발생 시각 상한 (파티션 제한)
+     * @return 저장된 이벤트 식별자 목록
      */
-    int getLoginAttemptCount(String ipAddr);
+    List<String> selectWrittenAuditEventIds(@Param("eventIds") List<String> eventIds,
+                                            @Param("fromDt") Date fromDt, @Param("toDt") Date toDt);
     
     /**
-     * IP 차단 상태 확인
+     * 저장에 계속 실패한 감사 이벤트 격리
      * 
-     * @param ipAddr IP 주소
-     * @return 차단 정보 (차단되지 않았으면 null)
+     * @param eventId 이벤트 식별자
+     * @param payload 이벤트 JSON
+     * @param attemptCnt 시도 횟수
+     * @param lastError 마지막 오류 메시지
+     * @return 저장된 행 수
      */
-    Map<String, Object> checkIpBlocked(String ipAddr);
+    int insertLoginAuditDeadLetter(@Param("eventId") String eventId, @Param("payload") String payload,
+                                   @Param("attemptCnt") int attemptCnt, @Param("lastError") String lastError);
+    
+    // ==================== 정리 작업 ====================
     
     /**
-     * 로그인 성공 시 IP 차단 해제
+     * 세션 기본 키 범위 조회
      * 
-     * @param ipAddr IP 주소
-     * @return 업데이트된 행 수
+     * @return 최소/최대 session_id (행이 없으면 null)
      */
-    int resetIpBlock(String ipAddr);
-    
-    // ==================== 정리 작업 ====================
+    KeyRange selectSessionKeyRange();
     
     /**
-     * 만료된 세션 정리
+     * 기본 키 구간의 만료/종료 세션 삭제
      * 
+     * @param fromKey 시작 키 (제외)
+     * @param toKey 끝 키 (포함)
+     * @param logoutCutoff 이 일시 이전에 종료된 세션 삭제
      * @return 삭제된 행 수
      */
-    int cleanupExpiredSessions();
+    int purgeSessionsInRange(@Param("fromKey") long fromKey, @Param("toKey") long toKey,
+                             @Param("logoutCutoff") Date logoutCutoff);
     
     /**
-     * 오래된 로그인 이력 삭제
+     * 테이블 RANGE 파티션 목록 조회
      * 
-     * @return 삭제된 행 수
+     * @param table 테이블 이름 (login_history, rate_limit_history)
+     * @return 파티션 목록 (정의 순서)
+     */
+    List<TablePartition> selectPartitions(@Param("table") String table);
+    
+    /**
+     * 로그인 이력 파티션 하나의 전체 행 스트리밍 조회 (아카이브 내보내기용)
+     * 반환된 커서는 트랜잭션 안에서 사용하고 닫아야 함
+     * 
+     * @param partition 파티션 이름
+     * @return 이력 커서 (id 오름차순)
+     */
+    Cursor<LoginHistoryRecord> selectLoginHistoryPartition(@Param("partition") String partition);
+    
+    /**
+     * p_future 파티션에서 파티션 분리 추가
+     * 
+     * @param table 테이블 이름 (login_history, rate_limit_history)
+     * @param partitions 추가할 파티션 (상한 오름차순)
+     */
+    void addPartitions(@Param("table") String table, @Param("partitions") List<TablePartition> partitions);
+    
+    /**
+     * 파티션 삭제
+     * 
+     * @param table 테이블 이름 (login_history, rate_limit_history)
+     * @param names 삭제할 파티션 이름
      */
-    int cleanupOldLoginHistory();
+    void dropPartitions(@Param("table") String table, @Param("names") List<String> names);
     
     // ==================== Rate-Limiting 관련 ====================
     
@@ -177,13 +338,6 @@ public interface LoginDao {
      */
     Map<String, Object> getRateLimitStats(String ipAddr);
     
-    /**
-     * 오래된 Rate-Limit 이력 삭제
-     * 
-     * @return 삭제된 행 수
-     */
-    int cleanupOldRateLimitHistory();
-    
     // ==================== 공통코드 관련 ====================
     
     /**
@@ -240,4 +394,19 @@ public interface LoginDao {
      * @return 모든 메시지 목록
      */
     List<Map<String, Object>> selectAllMessageCodes();
+    
+    /**
+     * 모든 공통코드 조회 (캐시 초기화용)
+     * 
+     * @return 모든 공통코드 목록 (그룹, 정렬 순서)
+     */
+    List<Map<String, Object>> selectAllCommonCodes();
+    
+    /**
+     * 공통코드/메시지 코드 버전 표식 조회
+     * 테이블별 최종 수정 일시와 행 수를 이어 붙인 값으로, 값이 바뀌면 데이터가 바뀐 것
+     * 
+     * @return 버전 표식
+     */
+    String selectCodeVersion();
 }
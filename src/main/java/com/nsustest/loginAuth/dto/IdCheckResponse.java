@@ -0,0 +1,20 @@
+package com.nsustest.loginAuth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 아이디 중복 확인 응답
+ * 
+ * @param duplicate 중복 여부
+ * @param usrLoginId 확인한 로그인 아이디
+ * @param suggestions 사용 가능한 추천 아이디 (중복일 때만)
+ * @author nsustest
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IdCheckResponse(
+        boolean duplicate,
+        String usrLoginId,
+        List<String> suggestions) {
+}
@@ -0,0 +1,28 @@
+package com.nsustest.loginAuth.dto;
+
+/**
+ * 로그인 요청
+ * 
+ * ipAddr, userAgent는 본문 값이 아닌 컨트롤러에서 HTTP 요청으로부터 채웁니다.
+ * 
+ * @param usrLoginId 로그인 아이디
+ * @param password 비밀번호
+ * @param deviceId 기기 식별자 (선택, 같은 기기의 재로그인은 기존 세션을 대체)
+ * @param ipAddr 클라이언트 IP 주소
+ * @param userAgent 사용자 에이전트
+ * @author nsustest
+ */
+public record LoginRequest(
+        String usrLoginId,
+        String password,
+        String deviceId,
+        String ipAddr,
+        String userAgent) {
+    
+    /**
+     * 클라이언트 정보를 채운 요청 생성
+     */
+    public LoginRequest withClient(String ipAddr, String userAgent) {
+        return new LoginRequest(usrLoginId, password, deviceId, ipAddr, userAgent);
+    }
+}
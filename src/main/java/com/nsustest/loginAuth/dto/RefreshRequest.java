@@ -0,0 +1,10 @@
+package com.nsustest.loginAuth.dto;
+
+/**
+ * 토큰 재발급 요청
+ * 
+ * @param refreshToken Refresh Token
+ * @author nsustest
+ */
+public record RefreshRequest(String refreshToken) {
+}
@@ -0,0 +1,32 @@
+package com.nsustest.loginAuth.dto;
+
+import com.nsustest.loginAuth.model.UserSession;
+
+import java.util.Date;
+
+/**
+ * 로그인된 기기(세션) 목록 응답 항목
+ * 
+ * @param sid 세션 식별자 (세션 종료 API에 사용)
+ * @param deviceId 기기 식별자
+ * @param ipAddr 로그인 IP 주소
+ * @param userAgent 사용자 에이전트
+ * @param loginDt 로그인 일시
+ * @param expDt 만료 일시
+ * @param current 현재 요청의 세션 여부
+ * @author nsustest
+ */
+public record SessionInfo(
+        String sid,
+        String deviceId,
+        String ipAddr,
+        String userAgent,
+        Date loginDt,
+        Date expDt,
+        boolean current) {
+    
+    public static SessionInfo of(UserSession session, String currentSid) {
+        return new SessionInfo(session.sid(), session.deviceId(), session.ipAddr(), session.userAgent(),
+                session.loginDt(), session.expDt(), session.sid().equals(currentSid));
+    }
+}
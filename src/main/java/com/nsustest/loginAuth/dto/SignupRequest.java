@@ -0,0 +1,19 @@
+package com.nsustest.loginAuth.dto;
+
+/**
+ * 회원가입 요청
+ * 
+ * @param usrLoginId 로그인 아이디 (필수, 4-20자 영문/숫자)
+ * @param usrNm 사용자 이름 (필수)
+ * @param email 이메일 (필수)
+ * @param password 비밀번호 (필수)
+ * @param phoneNum 전화번호 (선택)
+ * @author nsustest
+ */
+public record SignupRequest(
+        String usrLoginId,
+        String usrNm,
+        String email,
+        String password,
+        String phoneNum) {
+}
@@ -0,0 +1,13 @@
+package com.nsustest.loginAuth.dto;
+
+/**
+ * 회원가입 응답
+ * 
+ * @param usrLoginId 로그인 아이디
+ * @param email 이메일
+ * @author nsustest
+ */
+public record SignupResponse(
+        String usrLoginId,
+        String email) {
+}
@@ -0,0 +1,28 @@
+package com.nsustest.loginAuth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 토큰 발급 응답 (로그인, 토큰 재발급)
+ * 
+ * @param accessToken Access Token
+ * @param refreshToken Refresh Token
+ * @param tokenType 토큰 타입 (Bearer)
+ * @param expiresIn Access Token 만료 시간 (초)
+ * @param user 사용자 요약 정보 (토큰 재발급 시 null)
+ * @author nsustest
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenResponse(
+        String accessToken,
+        String refreshToken,
+        String tokenType,
+        long expiresIn,
+        UserSummary user) {
+    
+    private static final String BEARER = "Bearer";
+    
+    public static TokenResponse bearer(String accessToken, String refreshToken, long expiresIn, UserSummary user) {
+        return new TokenResponse(accessToken, refreshToken, BEARER, expiresIn, user);
+    }
+}
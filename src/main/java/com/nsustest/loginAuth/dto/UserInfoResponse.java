@@ -0,0 +1,37 @@
+package com.nsustest.loginAuth.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nsustest.loginAuth.model.UserProfile;
+
+import java.util.Date;
+
+/**
+ * 사용자 정보 조회 응답 (비밀번호 제외)
+ * 
+ * @param usrId 사용자 ID
+ * @param usrLoginId 로그인 아이디
+ * @param usrNm 사용자 이름
+ * @param email 이메일
+ * @param usrTpCd 사용자 타입 코드
+ * @param phoneNum 전화번호
+ * @param isUse 사용 여부
+ * @param creDt 생성 일시
+ * @param updDt 수정 일시
+ * @author nsustest
+ */
+public record UserInfoResponse(
+        Long usrId,
+        String usrLoginId,
+        String usrNm,
+        String email,
+        String usrTpCd,
+        String phoneNum,
+        @JsonProperty("isUse") boolean isUse,
+        Date creDt,
+        Date updDt) {
+    
+    public static UserInfoResponse of(UserProfile user) {
+        return new UserInfoResponse(user.usrId(), user.usrLoginId(), user.usrNm(), user.email(),
+                user.usrTpCd(), user.phoneNum(), user.isUse(), user.creDt(), user.updDt());
+    }
+}
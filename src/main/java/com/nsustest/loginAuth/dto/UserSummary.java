@@ -0,0 +1,23 @@
+package com.nsustest.loginAuth.dto;
+
+import com.nsustest.loginAuth.model.UserProfile;
+
+/**
+ * 로그인 응답에 포함되는 사용자 요약 정보
+ * 
+ * @param usrId 사용자 ID
+ * @param usrLoginId 로그인 아이디
+ * @param usrNm 사용자 이름
+ * @param email 이메일
+ * @author nsustest
+ */
+public record UserSummary(
+        Long usrId,
+        String usrLoginId,
+        String usrNm,
+        String email) {
+    
+    public static UserSummary of(UserProfile user) {
+        return new UserSummary(user.usrId(), user.usrLoginId(), user.usrNm(), user.email());
+    }
+}
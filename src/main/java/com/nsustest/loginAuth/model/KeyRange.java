@@ -0,0 +1,15 @@
+package com.nsustest.loginAuth.model;
+
+/**
+ * 기본 키 범위 (청크 단위 정리 작업의 탐색 구간)
+ * 
+ * @param minKey 최소 키 (대상이 없으면 null)
+ * @param maxKey 최대 키 (대상이 없으면 null)
+ * @author nsustest
+ */
+public record KeyRange(Long minKey, Long maxKey) {
+    
+    public boolean isEmpty() {
+        return minKey == null || maxKey == null || minKey > maxKey;
+    }
+}
@@ -0,0 +1,63 @@
+package com.nsustest.loginAuth.model;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * 로그인 감사 이벤트 (login_history 한 행에 대응)
+ * 
+ * 요청 스레드에서 생성되어 저널에 기록된 뒤 백그라운드에서 일괄 저장됩니다.
+ * 지연 저장되므로 login_dt는 저장 시점이 아닌 이벤트 발생 시점을 그대로 사용합니다.
+ * event_id는 재시도나 저널 재생으로 같은 이벤트를 다시 저장할 때 중복 행과 통계 중복 반영을 막습니다.
+ * 
+ * @param eventId 이벤트 식별자 (UUID)
+ * @param usrId 사용자 ID (실패 시 null)
+ * @param usrLoginId 로그인 아이디
+ * @param ipAddr IP 주소
+ * @param success 성공 여부
+ * @param failReason 실패 사유
+ * @param userAgent 사용자 에이전트
+ * @param attemptCnt IP별 시도 횟수
+ * @param blocked 차단 여부
+ * @param blockedUntilDt 차단 해제 시각
+ * @param loginDt 이벤트 발생 시각
+ * @author nsustest
+ */
+public record LoginAuditEvent(
+        String eventId,
+        Long usrId,
+        String usrLoginId,
+        String ipAddr,
+        boolean success,
+        String failReason,
+        String userAgent,
+        int attemptCnt,
+        boolean blocked,
+        Date blockedUntilDt,
+        Date loginDt) {
+    
+    /**
+     * 로그인 성공 이벤트 생성
+     */
+    public static LoginAuditEvent success(Long usrId, String usrLoginId, String ipAddr, String userAgent) {
+        return new LoginAuditEvent(UUID.randomUUID().toString(), usrId, usrLoginId, ipAddr, true, null, userAgent,
+                1, false, null, new Date());
+    }
+    
+    /**
+     * 로그인 실패 이벤트 생성
+     */
+    public static LoginAuditEvent failure(String usrLoginId, String ipAddr, String failReason,
+                                          int attemptCnt, boolean blocked, Date blockedUntilDt) {
+        return new LoginAuditEvent(UUID.randomUUID().toString(), null, usrLoginId, ipAddr, false, failReason, null,
+                attemptCnt, blocked, blockedUntilDt, new Date());
+    }
+    
+    /**
+     * 식별자만 바꾼 이벤트 반환 (식별자 없이 기록된 이전 저널 레코드 재생용)
+     */
+    public LoginAuditEvent withEventId(String eventId) {
+        return new LoginAuditEvent(eventId, usrId, usrLoginId, ipAddr, success, failReason, userAgent,
+                attemptCnt, blocked, blockedUntilDt, loginDt);
+    }
+}
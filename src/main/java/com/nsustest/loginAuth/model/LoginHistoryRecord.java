@@ -0,0 +1,33 @@
+package com.nsustest.loginAuth.model;
+
+import java.util.Date;
+
+/**
+ * 로그인 이력 행 (login_history 아카이브 내보내기/조회용)
+ * 
+ * @param id 이력 ID
+ * @param usrId 사용자 ID (실패 시 null)
+ * @param usrLoginId 로그인 아이디
+ * @param ipAddr IP 주소
+ * @param loginDt 로그인 시도 일시
+ * @param success 성공 여부
+ * @param failReason 실패 사유
+ * @param userAgent 사용자 에이전트
+ * @param attemptCnt IP별 시도 횟수
+ * @param blocked 차단 여부
+ * @param blockedUntilDt 차단 해제 시각
+ * @author nsustest
+ */
+public record LoginHistoryRecord(
+        long id,
+        Long usrId,
+        String usrLoginId,
+        String ipAddr,
+        Date loginDt,
+        boolean success,
+        String failReason,
+        String userAgent,
+        int attemptCnt,
+        boolean blocked,
+        Date blockedUntilDt) {
+}
@@ -0,0 +1,11 @@
+package com.nsustest.loginAuth.model;
+
+/**
+ * 사용자 ID와 로그인 아이디 쌍 (아이디 인덱스 구성용)
+ * 
+ * @param usrId 사용자 ID
+ * @param usrLoginId 로그인 아이디
+ * @author nsustest
+ */
+public record LoginIdEntry(Long usrId, String usrLoginId) {
+}
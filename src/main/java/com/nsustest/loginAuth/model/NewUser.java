@@ -0,0 +1,19 @@
+package com.nsustest.loginAuth.model;
+
+/**
+ * 신규 사용자 (users INSERT 파라미터)
+ * 
+ * @param usrLoginId 로그인 아이디
+ * @param usrNm 사용자 이름
+ * @param email 이메일
+ * @param pwd 암호화된 비밀번호
+ * @param phoneNum 전화번호
+ * @author nsustest
+ */
+public record NewUser(
+        String usrLoginId,
+        String usrNm,
+        String email,
+        String pwd,
+        String phoneNum) {
+}
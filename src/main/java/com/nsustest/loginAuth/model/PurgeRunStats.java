@@ -0,0 +1,27 @@
+package com.nsustest.loginAuth.model;
+
+import java.util.Date;
+
+/**
+ * 정리 작업 1회 실행 결과
+ * 
+ * @param job 작업 이름
+ * @param startDt 시작 일시
+ * @param durationMs 소요 시간(ms)
+ * @param chunks 실행한 청크 수
+ * @param deletedRows 삭제한 행 수
+ * @param lastKey 마지막으로 처리한 키 (다음 실행은 이 키 다음부터)
+ * @param completed 범위 끝까지 처리했는지 여부
+ * @param stopReason 중단 사유 (COMPLETED, TIME_LIMIT, OUTSIDE_WINDOW, PAUSED, LEASE_LOST, ERROR)
+ * @author nsustest
+ */
+public record PurgeRunStats(
+        String job,
+        Date startDt,
+        long durationMs,
+        int chunks,
+        long deletedRows,
+        long lastKey,
+        boolean completed,
+        String stopReason) {
+}
@@ -0,0 +1,13 @@
+package com.nsustest.loginAuth.model;
+
+import java.util.Date;
+
+/**
+ * 세션 활동 기록 (마지막 요청 일시)
+ * 
+ * @param sid 세션 식별자
+ * @param lastActDt 마지막 활동 일시
+ * @author nsustest
+ */
+public record SessionActivity(String sid, Date lastActDt) {
+}
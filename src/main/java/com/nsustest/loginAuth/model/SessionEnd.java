@@ -0,0 +1,13 @@
+package com.nsustest.loginAuth.model;
+
+import java.util.Date;
+
+/**
+ * 세션 종료 기록 (로그아웃 또는 새 로그인으로 대체된 세션)
+ * 
+ * @param sid 세션 식별자
+ * @param logoutDt 종료 일시
+ * @author nsustest
+ */
+public record SessionEnd(String sid, Date logoutDt) {
+}
@@ -0,0 +1,13 @@
+package com.nsustest.loginAuth.model;
+
+import java.util.Date;
+
+/**
+ * 세션 Refresh Token 교체 기록 (교체 시 연장된 만료 일시)
+ * 
+ * @param sid 세션 식별자
+ * @param expDt 새 만료 일시
+ * @author nsustest
+ */
+public record SessionRotation(String sid, Date expDt) {
+}
@@ -0,0 +1,11 @@
+package com.nsustest.loginAuth.model;
+
+/**
+ * RANGE 파티션 정의 (information_schema.PARTITIONS 조회 결과 / 추가할 파티션)
+ * 
+ * @param name 파티션 이름
+ * @param lessThan 상한 값 (UNIX_TIMESTAMP, 이 값 미만이 속함 / MAXVALUE 파티션은 null)
+ * @author nsustest
+ */
+public record TablePartition(String name, Long lessThan) {
+}
@@ -0,0 +1,33 @@
+package com.nsustest.loginAuth.model;
+
+import java.util.Date;
+
+/**
+ * 사용자 (users 한 행에 대응)
+ * 
+ * MyBatis resultMap(userResultMap) 생성자 매핑으로 조회됩니다.
+ * 
+ * @param usrId 사용자 ID
+ * @param usrLoginId 로그인 아이디
+ * @param usrNm 사용자 이름
+ * @param email 이메일
+ * @param pwd 암호화된 비밀번호
+ * @param usrTpCd 사용자 타입 코드
+ * @param phoneNum 전화번호
+ * @param isUse 사용 여부
+ * @param creDt 생성 일시
+ * @param updDt 수정 일시
+ * @author nsustest
+ */
+public record User(
+        Long usrId,
+        String usrLoginId,
+        String usrNm,
+        String email,
+        String pwd,
+        String usrTpCd,
+        String phoneNum,
+        boolean isUse,
+        Date creDt,
+        Date updDt) {
+}
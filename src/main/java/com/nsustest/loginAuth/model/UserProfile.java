@@ -0,0 +1,41 @@
+package com.nsustest.loginAuth.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Date;
+
+/**
+ * 사용자 프로필 (비밀번호를 제외한 users 한 행)
+ * 
+ * 사용자 프로필 캐시(L1 메모리, L2 Redis)에 저장되는 형태이므로 pwd 컬럼을 갖지 않습니다.
+ * 
+ * @param usrId 사용자 ID
+ * @param usrLoginId 로그인 아이디
+ * @param usrNm 사용자 이름
+ * @param email 이메일
+ * @param usrTpCd 사용자 타입 코드
+ * @param phoneNum 전화번호
+ * @param isUse 사용 여부
+ * @param creDt 생성 일시
+ * @param updDt 수정 일시
+ * @author nsustest
+ */
+public record UserProfile(
+        Long usrId,
+        String usrLoginId,
+        String usrNm,
+        String email,
+        String usrTpCd,
+        String phoneNum,
+        @JsonProperty("isUse") boolean isUse,
+        Date creDt,
+        Date updDt) {
+    
+    /**
+     * 사용자 행에서 비밀번호를 제외한 프로필 생성
+     */
+    public static UserProfile of(User user) {
+        return new UserProfile(user.usrId(), user.usrLoginId(), user.usrNm(), user.email(),
+                user.usrTpCd(), user.phoneNum(), user.isUse(), user.creDt(), user.updDt());
+    }
+}
@@ -0,0 +1,52 @@
+package com.nsustest.loginAuth.model;
+
+import java.util.Date;
+
+/**
+ * 사용자 세션 (user_sessions 한 행에 대응)
+ * 
+ * 토큰 원문은 저장하지 않고 Refresh Token의 SHA-256 다이제스트만 보관합니다.
+ * 세션 저장소(Redis)와 MySQL 보관 이력은 sid로 같은 세션을 식별합니다.
+ * sid는 JWT의 sid 클레임에도 담겨 현재 요청이 어느 세션인지 구분합니다.
+ * 
+ * @param sessionId 세션 ID (MySQL 행 ID, 저장 전이나 Redis에서 조회한 경우 null)
+ * @param sid 세션 식별자 (UUID)
+ * @param usrId 사용자 ID
+ * @param deviceId 기기 식별자 (클라이언트가 보내지 않으면 null)
+ * @param refreshTokenHash Refresh Token SHA-256 다이제스트 (32바이트)
+ * @param ipAddr IP 주소
+ * @param userAgent 사용자 에이전트
+ * @param loginDt 로그인 일시
+ * @param expDt 만료 일시
+ * @param active 활성 여부
+ * @author nsustest
+ */
+public record UserSession(
+        Long sessionId,
+        String sid,
+        Long usrId,
+        String deviceId,
+        byte[] refreshTokenHash,
+        String ipAddr,
+        String userAgent,
+        Date loginDt,
+        Date expDt,
+        boolean active) {
+    
+    /**
+     * 저장할 신규 세션 생성 (로그인 일시는 현재 시각)
+     */
+    public static UserSession create(String sid, Long usrId, String deviceId, byte[] refreshTokenHash,
+                                     String ipAddr, String userAgent, Date expDt) {
+        return new UserSession(null, sid, usrId, deviceId, refreshTokenHash,
+                ipAddr, userAgent, new Date(), expDt, true);
+    }
+    
+    /**
+     * Refresh Token 교체 후 세션 (sid, 기기, 로그인 일시는 유지)
+     */
+    public UserSession withRefreshToken(byte[] newRefreshTokenHash, Date newExpDt) {
+        return new UserSession(sessionId, sid, usrId, deviceId, newRefreshTokenHash,
+                ipAddr, userAgent, loginDt, newExpDt, active);
+    }
+}
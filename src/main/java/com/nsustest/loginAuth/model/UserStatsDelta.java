@@ -0,0 +1,34 @@
+package com.nsustest.loginAuth.model;
+
+import java.util.Date;
+
+/**
+ * 사용자별로 병합된 user_stats 증분
+ * 
+ * 한 번의 flush 주기 안에서 같은 사용자의 로그인 성공 이벤트를 하나로 합친 값입니다.
+ * 
+ * @param usrId 사용자 ID
+ * @param loginCnt 증가시킬 로그인 횟수
+ * @param lastLoginDt 마지막 로그인 시각
+ * @param lastLoginIp 마지막 로그인 IP
+ * @author nsustest
+ */
+public record UserStatsDelta(Long usrId, int loginCnt, Date lastLoginDt, String lastLoginIp) {
+    
+    /**
+     * 다른 이벤트를 병합한 새 증분 반환
+     */
+    public UserStatsDelta merge(LoginAuditEvent event) {
+        boolean newer = lastLoginDt == null || !event.loginDt().before(lastLoginDt);
+        return new UserStatsDelta(usrId, loginCnt + 1,
+                newer ? event.loginDt() : lastLoginDt,
+                newer ? event.ipAddr() : lastLoginIp);
+    }
+    
+    /**
+     * 로그인 성공 이벤트로부터 증분 생성
+     */
+    public static UserStatsDelta of(LoginAuditEvent event) {
+        return new UserStatsDelta(event.usrId(), 1, event.loginDt(), event.ipAddr());
+    }
+}
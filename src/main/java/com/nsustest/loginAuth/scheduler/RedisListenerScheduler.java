@@ -0,0 +1,47 @@
+package com.nsustest.loginAuth.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis pub/sub 리스너 컨테이너를 시작하는 스케줄러
+ * 컨테이너는 자동 시작하지 않으므로(RedisConfig) Redis에 연결할 수 없어도 애플리케이션은 기동됩니다.
+ * 시작에 실패하면 경고만 남기고 다음 주기에 다시 시도하며, 그동안 캐시 무효화 메시지를 받지 못한 L1 값은 L1 TTL이 지나면 갱신됩니다.
+ * 시작된 뒤 연결이 끊기면 컨테이너가 복구 주기마다 다시 구독합니다.
+ * 
+ * @author nsustest
+ */
+@Component
+public class RedisListenerScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RedisListenerScheduler.class);
+    
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+    
+    @Value("${redis.listener.start-retry-interval-ms:5000}")
+    private long startRetryIntervalMs;
+    
+    /**
+     * 컨테이너가 실행 중이 아니면 시작
+     */
+    @Scheduled(fixedDelayString = "${redis.listener.start-retry-interval-ms:5000}")
+    public void ensureStarted() {
+        if (redisMessageListenerContainer.isRunning()) {
+            return;
+        }
+        try {
+            redisMessageListenerContainer.start();
+            logger.info("Redis pub/sub 리스너 시작");
+        } catch (Exception e) {
+            // 실패한 시작 상태를 정리해야 다음 주기에 다시 시작할 수 있음
+            redisMessageListenerContainer.stop();
+            logger.warn("Redis pub/sub 리스너 시작 실패, {}ms 후 재시도: {}", startRetryIntervalMs, e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.nsustest.loginAuth.scheduler;
 
-import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.service.ClusterLeaseService;
+import com.nsustest.loginAuth.service.DataPurgeService;
+import com.nsustest.loginAuth.service.PartitionMaintenanceService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -9,7 +11,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * 만료된 세션과 오래된 로그인 이력을 정리하는 스케줄러
- * 최적화된 스키마에 맞춰 업데이트
+ * 세션은 DataPurgeService가 기본 키 구간 단위로 나누어 삭제하고(중단 시 다음 실행에서 이어서 처리),
+ * 로그인/Rate-Limit 이력은 파티션 DROP으로 정리합니다.
+ * 여러 인스턴스에서 동시에 실행되어 같은 행을 두고 교착되지 않도록, 각 작업은 클러스터 임대를 얻은 인스턴스에서만 실행됩니다.
  * 
  * @author nsustest
  */
@@ -19,20 +23,24 @@ public class TokenCleanupScheduler {
     private static final Logger logger = LoggerFactory.getLogger(TokenCleanupScheduler.class);
     
     @Autowired
-    private LoginDao loginDao;
+    private DataPurgeService dataPurgeService;
+    
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+    
+    @Autowired
+    private ClusterLeaseService clusterLeaseService;
     
     /**
-     * 만료된 세션 정리
-     * 매일 새벽 2시에 실행
+     * 만료된 세션 정리 (임대는 DataPurgeService가 슬라이스별로 획득)
+     * 기본값: 매일 새벽 2시에 실행
      */
-    @Scheduled(cron = "0 0 2 * * ?")
+    @Scheduled(cron = "${cleanup.session.cron:0 0 2 * * ?}")
     public void cleanupExpiredSessions() {
         try {
             logger.info("=== 만료된 세션 정리 시작 ===");
             
-            int deletedCount = loginDao.cleanupExpiredSessions();
-            
-            logger.info("만료된 세션 정리 완료 - 삭제된 세션 수: {}", deletedCount);
+            dataPurgeService.purgeExpiredSessions();
             
         } catch (Exception e) {
             logger.error("만료된 세션 정리 중 오류 발생: {}", e.getMessage(), e);
@@ -40,38 +48,22 @@ public class TokenCleanupScheduler {
     }
     
     /**
-     * 오래된 로그인 이력 정리
-     * 매주 일요일 새벽 3시에 실행
+     * 이력 테이블 파티션 관리 (login_history 월별, rate_limit_history 일별)
+     * 앞으로 쓰일 파티션을 미리 만들고 보관 기간이 지난 파티션을 DROP
+     * 기본값: 매일 0시 30분에 실행
      */
-    @Scheduled(cron = "0 0 3 * * SUN")
-    public void cleanupOldLoginHistory() {
-        try {
-            logger.info("=== 오래된 로그인 이력 정리 시작 ===");
-            
-            int deletedCount = loginDao.cleanupOldLoginHistory();
-            
-            logger.info("오래된 로그인 이력 정리 완료 - 삭제된 이력 수: {}", deletedCount);
-            
-        } catch (Exception e) {
-            logger.error("오래된 로그인 이력 정리 중 오류 발생: {}", e.getMessage(), e);
-        }
-    }
-    
-    /**
-     * 오래된 Rate-Limit 이력 정리
-     * 매주 일요일 새벽 4시에 실행
-     */
-    @Scheduled(cron = "0 0 4 * * SUN")
-    public void cleanupOldRateLimitHistory() {
-        try {
-            logger.info("=== 오래된 Rate-Limit 이력 정리 시작 ===");
-            
-            int deletedCount = loginDao.cleanupOldRateLimitHistory();
+    @Scheduled(cron = "${cleanup.partition.cron:0 30 0 * * ?}")
+    public void maintainHistoryPartitions() {
+        try (ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire(PartitionMaintenanceService.LEASE_NAME)) {
+            if (lease == null) {
+                return;
+            }
+            logger.info("=== 이력 테이블 파티션 관리 시작 ===");
             
-            logger.info("오래된 Rate-Limit 이력 정리 완료 - 삭제된 이력 수: {}", deletedCount);
+            partitionMaintenanceService.maintain();
             
         } catch (Exception e) {
-            logger.error("오래된 Rate-Limit 이력 정리 중 오류 발생: {}", e.getMessage(), e);
+            logger.error("이력 테이블 파티션 관리 중 오류 발생: {}", e.getMessage(), e);
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.nsustest.loginAuth.security;
 
+import com.nsustest.loginAuth.service.SessionActivityService;
 import com.nsustest.loginAuth.util.IpAddressUtil;
 import com.nsustest.loginAuth.util.JwtUtil;
 import jakarta.servlet.FilterChain;
@@ -34,6 +35,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private SessionActivityService sessionActivityService;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
@@ -69,11 +73,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         userDetailsMap.put("usrLoginId", userInfo.get("usrLoginId"));
                         userDetailsMap.put("usrNm", userInfo.get("usrNm"));
                         userDetailsMap.put("email", userInfo.get("email"));
+                        userDetailsMap.put("sid", userInfo.get("sid"));
                         authentication.setDetails(userDetailsMap);
                         
                         // SecurityContext에 인증 정보 설정
                         SecurityContextHolder.getContext().setAuthentication(authentication);
                         
+                        // 세션 활동 기록 (메모리에만 기록, DB에는 주기적으로 일괄 반영)
+                        Object sid = userInfo.get("sid");
+                        if (sid instanceof String) {
+                            sessionActivityService.touch((String) sid);
+                        }
+                        
                         // 보안 로깅
                         logSecurityEvent("JWT_AUTH_SUCCESS", userInfo.get("usrId"), request);
                     }
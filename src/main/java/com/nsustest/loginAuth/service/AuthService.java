@@ -2,6 +2,13 @@ package com.nsustest.loginAuth.service;
 
 import com.nsustest.loginAuth.dao.LoginDao;
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.LoginRequest;
+import com.nsustest.loginAuth.dto.TokenResponse;
+import com.nsustest.loginAuth.dto.UserSummary;
+import com.nsustest.loginAuth.model.User;
+import com.nsustest.loginAuth.model.UserProfile;
+import com.nsustest.loginAuth.model.UserSession;
+import com.nsustest.loginAuth.util.InputValidator;
 import com.nsustest.loginAuth.util.JwtUtil;
 import com.nsustest.loginAuth.util.MessageUtil;
 import org.slf4j.Logger;
@@ -10,9 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
 
 /**
  * 인증 관련 비즈니스 로직을 처리하는 서비스 클래스
@@ -42,36 +47,58 @@ public class AuthService {
     @Autowired
     private MessageUtil messageUtil;
     
+    @Autowired
+    private LoginAuditService loginAuditService;
+    
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+    
+    @Autowired
+    private LoginIdFilterService loginIdFilterService;
+    
+    @Autowired
+    private UserProfileCacheService userProfileCacheService;
+    
+    // 존재하지 않는 아이디에도 같은 비용의 비밀번호 비교를 수행하기 위한 더미 해시
+    private volatile String dummyPasswordHash;
+    
     /**
      * 로그인 처리
      * 
-     * @param loginData 로그인 데이터
+     * @param loginRequest 로그인 요청
      * @return 로그인 결과 ApiResponse
      */
-    public ApiResponse<Map<String, Object>> login(Map<String, Object> loginData) {
+    public ApiResponse<TokenResponse> login(LoginRequest loginRequest) {
         try {
             
             // 필수 필드 검증
-            ApiResponse<Map<String, Object>> validationResult = validateLoginData(loginData);
+            ApiResponse<TokenResponse> validationResult = validateLoginData(loginRequest);
             if (!validationResult.isSuccess()) {
                 return validationResult;
             }
             
-            String usrLoginId = (String) loginData.get("usrLoginId");
-            String password = (String) loginData.get("password");
-            String ipAddr = (String) loginData.get("ipAddr");
+            String usrLoginId = loginRequest.usrLoginId();
+            String password = loginRequest.password();
+            String ipAddr = loginRequest.ipAddr();
             
-            // IP 차단 상태 확인
-            if (ipAddr != null) {
-                Map<String, Object> blockedInfo = loginDao.checkIpBlocked(ipAddr);
-                if (blockedInfo != null) {
-                    return ApiResponse.error(messageUtil.getMessage("SERVICE_004"), "AUTH_003");
+            // IP 차단 상태 확인 (Redis)
+            if (ipAddr != null && loginAttemptService.isBlocked(ipAddr)) {
+                return ApiResponse.error(messageUtil.getMessage("SERVICE_004"), "AUTH_003");
+            }
+            
+            // 존재하지 않는 아이디는 DB 조회 없이 거절 (응답 시간은 동일하게 유지)
+            if (!loginIdFilterService.mightExist(usrLoginId)) {
+                passwordEncoder.matches(password, getDummyPasswordHash());
+                if (ipAddr != null) {
+                    recordLoginFailure(usrLoginId, ipAddr, "사용자 없음");
                 }
+                return ApiResponse.error(messageUtil.getMessage("AUTH_001"), "AUTH_001");
             }
             
             // 사용자 정보 조회 및 검증
-            Map<String, Object> user = loginDao.findByLoginId(usrLoginId);
+            User user = loginDao.findByLoginId(usrLoginId);
             if (user == null) {
+                passwordEncoder.matches(password, getDummyPasswordHash());
                 // 로그인 실패 시도 기록
                 if (ipAddr != null) {
                     recordLoginFailure(usrLoginId, ipAddr, "사용자 없음");
@@ -80,7 +107,7 @@ public class AuthService {
             }
             
             // 계정 상태 및 비밀번호 검증
-            ApiResponse<Map<String, Object>> authResult = authenticateUser(user, password);
+            ApiResponse<TokenResponse> authResult = authenticateUser(user, password);
             if (!authResult.isSuccess()) {
                 // 로그인 실패 시도 기록
                 if (ipAddr != null) {
@@ -90,34 +117,28 @@ public class AuthService {
             }
             
             
-            // 로그인 성공 시 IP 차단 해제
+            // 로그인 성공 시 IP 실패 카운터 및 차단 해제
             if (ipAddr != null) {
-                loginDao.resetIpBlock(ipAddr);
+                loginAttemptService.reset(ipAddr);
             }
             
-            // JWT 토큰 생성 (Access Token + Refresh Token)
-            String accessToken = jwtUtil.generateAccessToken(user);
-            String refreshToken = jwtUtil.generateRefreshToken(user);
+            // JWT 토큰 생성 (Access Token + Refresh Token, 세션 식별자 포함)
+            UserProfile profile = UserProfile.of(user);
+            String sid = UUID.randomUUID().toString();
+            String accessToken = jwtUtil.generateAccessToken(profile, sid);
+            String refreshToken = jwtUtil.generateRefreshToken(profile, sid);
             
             // 로그인 성공 시 처리 (통계 업데이트 + 이력 저장)
-            Long usrId = ((Number) user.get("usr_id")).longValue();
-            sessionService.saveLoginSuccess(usrId, usrLoginId, ipAddr, loginData);
+            Long usrId = user.usrId();
+            sessionService.saveLoginSuccess(usrId, usrLoginId, ipAddr, loginRequest.userAgent());
             
-            // 세션 저장 (토큰 포함)
-            sessionService.saveUserSession(usrId, accessToken, refreshToken, ipAddr, loginData);
+            // 세션 저장 (기기별 세션, Refresh Token 다이제스트)
+            sessionService.saveUserSession(usrId, sid, loginRequest.deviceId(), refreshToken,
+                    ipAddr, loginRequest.userAgent());
             
             // 로그인 성공 응답 데이터 생성
-            Map<String, Object> authData = new HashMap<>();
-            authData.put("accessToken", accessToken);
-            authData.put("refreshToken", refreshToken);
-            authData.put("tokenType", "Bearer");
-            authData.put("expiresIn", jwtUtil.getAccessTokenExpirationInSeconds());
-            authData.put("user", Map.of(
-                "usrId", user.get("usr_id"),
-                "usrLoginId", user.get("usr_login_id"),
-                "usrNm", user.get("usr_nm"),
-                "email", user.get("email")
-            ));
+            TokenResponse authData = TokenResponse.bearer(accessToken, refreshToken,
+                    jwtUtil.getAccessTokenExpirationInSeconds(), UserSummary.of(profile));
             
             return ApiResponse.success(messageUtil.getMessage("SERVICE_005"), authData);
             
@@ -133,37 +154,36 @@ public class AuthService {
      * @param refreshToken Refresh Token
      * @return 새로운 Access Token 및 Refresh Token
      */
-    public ApiResponse<Map<String, Object>> refreshAccessToken(String refreshToken) {
+    public ApiResponse<TokenResponse> refreshAccessToken(String refreshToken) {
         try {
             
-            // Refresh Token으로 세션 검증
-            Map<String, Object> sessionInfo = loginDao.findSessionByRefreshToken(refreshToken);
-            if (sessionInfo == null) {
+            // Refresh Token으로 세션 검증 (세션 저장소)
+            UserSession session = sessionService.findActiveSession(refreshToken);
+            if (session == null) {
                 return ApiResponse.error(messageUtil.getMessage("SERVICE_013"), "AUTH_007");
             }
             
-            // 사용자 정보 조회
-            Long usrId = ((Number) sessionInfo.get("usr_id")).longValue();
-            Map<String, Object> user = loginDao.findById(usrId);
+            // 사용자 정보 조회 (프로필 캐시)
+            Long usrId = session.usrId();
+            UserProfile user = userProfileCacheService.getProfile(usrId);
             if (user == null) {
                 return ApiResponse.error(messageUtil.getMessage("SERVICE_014"), "USER_001");
             }
             
-            // 새로운 Access Token 생성
-            String newAccessToken = jwtUtil.generateAccessToken(user);
+            // 새로운 Access Token 생성 (같은 세션 유지)
+            String newAccessToken = jwtUtil.generateAccessToken(user, session.sid());
             
             // 보안을 위해 Refresh Token도 재발급
-            String newRefreshToken = jwtUtil.generateRefreshToken(user);
+            String newRefreshToken = jwtUtil.generateRefreshToken(user, session.sid());
             
-            // 기존 세션 삭제 후 새 세션 저장
-            sessionService.saveUserSession(usrId, newAccessToken, newRefreshToken, null, null);
+            // 세션의 Refresh Token 교체 (조건부 교체 한 번, 이미 교체된 토큰이면 세션 종료 후 거절)
+            if (!sessionService.rotateSession(session, newRefreshToken)) {
+                return ApiResponse.error(messageUtil.getMessage("SERVICE_013"), "AUTH_007");
+            }
             
             // 성공 응답 데이터 생성
-            Map<String, Object> tokenData = new HashMap<>();
-            tokenData.put("accessToken", newAccessToken);
-            tokenData.put("refreshToken", newRefreshToken);
-            tokenData.put("tokenType", "Bearer");
-            tokenData.put("expiresIn", jwtUtil.getAccessTokenExpirationInSeconds());
+            TokenResponse tokenData = TokenResponse.bearer(newAccessToken, newRefreshToken,
+                    jwtUtil.getAccessTokenExpirationInSeconds(), null);
             
             return ApiResponse.success(messageUtil.getMessage("SERVICE_015"), tokenData);
             
@@ -178,71 +198,65 @@ public class AuthService {
     /**
      * 로그인 데이터 유효성 검사
      */
-    private ApiResponse<Map<String, Object>> validateLoginData(Map<String, Object> loginData) {
-        String usrLoginId = (String) loginData.get("usrLoginId");
-        String password = (String) loginData.get("password");
+    private <T> ApiResponse<T> validateLoginData(LoginRequest loginRequest) {
+        String usrLoginId = loginRequest.usrLoginId();
+        String password = loginRequest.password();
         
-        if (usrLoginId == null || usrLoginId.trim().isEmpty()) {
+        if (InputValidator.isBlank(usrLoginId) || InputValidator.isBlank(password)) {
             return ApiResponse.error(messageUtil.getMessage("VAL_001"), "VAL_001");
         }
         
-        if (password == null || password.trim().isEmpty()) {
-            return ApiResponse.error(messageUtil.getMessage("VAL_001"), "VAL_001");
+        // 비정상적으로 긴 입력은 DB 조회/비밀번호 비교 전에 거절
+        if (usrLoginId.length() > InputValidator.LOGIN_INPUT_MAX_LENGTH
+                || password.length() > InputValidator.LOGIN_INPUT_MAX_LENGTH
+                || (loginRequest.deviceId() != null
+                        && loginRequest.deviceId().length() > InputValidator.DEVICE_ID_MAX_LENGTH)) {
+            return ApiResponse.error(messageUtil.getMessage("VAL_003"), "VAL_003");
         }
         
-        return ApiResponse.success(messageUtil.getMessage("SERVICE_010"), null);
+        return ApiResponse.success(null);
     }
     
     /**
      * 사용자 인증
      */
-    private ApiResponse<Map<String, Object>> authenticateUser(Map<String, Object> user, String password) {
+    private <T> ApiResponse<T> authenticateUser(User user, String password) {
         // 계정 활성화 상태 확인
-        Object isUseObj = user.get("is_use");
-        boolean isUse = false;
-        
-        if (isUseObj instanceof Boolean) {
-            isUse = (Boolean) isUseObj;
-        } else if (isUseObj instanceof Number) {
-            isUse = ((Number) isUseObj).intValue() == 1;
-        }
-        
-        if (!isUse) {
+        if (!user.isUse()) {
             return ApiResponse.error(messageUtil.getMessage("AUTH_003"), "AUTH_003");
         }
         
         // 비밀번호 확인
-        String storedPassword = (String) user.get("pwd");
-        if (!passwordEncoder.matches(password, storedPassword)) {
+        if (!passwordEncoder.matches(password, user.pwd())) {
             return ApiResponse.error(messageUtil.getMessage("AUTH_001"), "AUTH_001");
         }
         
         return ApiResponse.success(messageUtil.getMessage("SERVICE_012"), null);
     }
     
+    /**
+     * 더미 비밀번호 해시 (최초 사용 시 한 번만 생성)
+     * 현재 PasswordEncoder 설정과 같은 비용으로 비교되도록 직접 인코딩함
+     */
+    private String getDummyPasswordHash() {
+        String hash = dummyPasswordHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyPasswordHash = hash;
+        }
+        return hash;
+    }
+    
     /**
      * 로그인 실패 시도 기록
+     * 실패 횟수/차단은 Redis에서 원자적으로 처리하고, 결과는 감사 이력으로 남김
      */
     private void recordLoginFailure(String usrLoginId, String ipAddr, String reason) {
         try {
-            int attemptCount = loginDao.getLoginAttemptCount(ipAddr);
-            int newAttemptCount = attemptCount + 1;
-            
-            boolean isBlocked = newAttemptCount >= 5;
-            Date blockedUntil = isBlocked ? new Date(System.currentTimeMillis() + 30 * 60 * 1000) : null;
-            
-            Map<String, Object> historyData = new HashMap<>();
-            historyData.put("usrId", null);
-            historyData.put("usrLoginId", usrLoginId);
-            historyData.put("ipAddr", ipAddr);
-            historyData.put("isSuccess", false);
-            historyData.put("failReason", reason);
-            historyData.put("userAgent", null);
-            historyData.put("attemptCnt", newAttemptCount);
-            historyData.put("isBlocked", isBlocked);
-            historyData.put("blockedUntilDt", blockedUntil);
-            
-            loginDao.insertLoginHistory(historyData);
+            LoginAttemptService.FailureResult result = loginAttemptService.recordFailure(ipAddr);
+            
+            loginAuditService.recordLoginFailure(usrLoginId, ipAddr, reason,
+                    result.attemptCnt(), result.blocked(), result.blockedUntilDt());
             
         } catch (Exception e) {
             logger.warn("로그인 실패 시도 기록 중 오류: {}", e.getMessage(), e);
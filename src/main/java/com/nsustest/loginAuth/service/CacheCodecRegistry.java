@@ -0,0 +1,101 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.util.CacheValueCodec;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 캐시 네임스페이스별 값 코덱 등록
+ *
+ * 네임스페이스마다 설정된 코덱(CacheValueCodec)으로 값을 직렬화하는 RedisTemplate을 만들어 둡니다.
+ * 등록되지 않은 네임스페이스는 기본 redisTemplate(JSON)을 사용합니다.
+ *
+ * @author nsustest
+ */
+@Component
+public class CacheCodecRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheCodecRegistry.class);
+
+    // 기본 redisTemplate과 같은 형식
+    private static final CacheValueCodec DEFAULT_CODEC = new CacheValueCodec(CacheValueCodec.Format.JSON, 0);
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${cache.codec.common-code:smile}")
+    private String commonCodeFormat;
+
+    @Value("${cache.codec.message:smile}")
+    private String messageFormat;
+
+    @Value("${cache.codec.compress-threshold-bytes:1024}")
+    private int compressThreshold;
+
+    private final Map<String, RedisTemplate<String, Object>> templates = new LinkedHashMap<>();
+    private final Map<String, CacheValueCodec> codecs = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        register(CacheService.NS_COMMON_CODE, CacheValueCodec.of(commonCodeFormat, compressThreshold));
+        register(CacheService.NS_MESSAGE, CacheValueCodec.of(messageFormat, compressThreshold));
+    }
+
+    /**
+     * 네임스페이스의 RedisTemplate (등록되지 않았으면 기본 템플릿)
+     *
+     * @param namespace 캐시 네임스페이스
+     * @return RedisTemplate
+     */
+    public RedisTemplate<String, Object> template(String namespace) {
+        return templates.getOrDefault(namespace, redisTemplate);
+    }
+
+    /**
+     * 네임스페이스의 값 코덱 (등록되지 않았으면 JSON)
+     *
+     * @param namespace 캐시 네임스페이스
+     * @return 코덱
+     */
+    public CacheValueCodec codec(String namespace) {
+        return codecs.getOrDefault(namespace, DEFAULT_CODEC);
+    }
+
+    /**
+     * 네임스페이스별 코덱 이름 (예: common:code → smile+deflate)
+     */
+    public Map<String, String> getFormats() {
+        Map<String, String> formats = new LinkedHashMap<>();
+        codecs.forEach((namespace, codec) -> formats.put(namespace, codec.getName()));
+        return formats;
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private void register(String namespace, CacheValueCodec codec) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(codec);
+        template.setHashValueSerializer(codec);
+        template.afterPropertiesSet();
+
+        templates.put(namespace, template);
+        codecs.put(namespace, codec);
+        logger.info("캐시 값 코덱 등록 - namespace: {}, codec: {}", namespace, codec.getName());
+    }
+}
@@ -0,0 +1,98 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.util.CacheValueCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캐시 값 코덱 크기 비교 보고서
+ *
+ * 실제 공통코드/메시지 코드를 CacheService가 저장하는 단위(코드 하나, 메시지 하나, 타입별 메시지 목록)로
+ * 형식별로 인코딩하여 Redis에 저장될 값 크기를 비교합니다. (키 이름/TTL 등 키별 고정 비용은 제외)
+ *
+ * @author nsustest
+ */
+@Service
+public class CacheCodecReportService {
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private CacheCodecRegistry cacheCodecRegistry;
+
+    @Value("${cache.codec.compress-threshold-bytes:1024}")
+    private int compressThreshold;
+
+    /**
+     * 데이터셋별, 형식별 값 크기 보고서
+     *
+     * @return 현재 설정된 코덱과 데이터셋별 형식 비교 결과
+     */
+    public Map<String, Object> buildReport() {
+        List<Map<String, Object>> codes = loginDao.selectAllCommonCodes();
+        List<Map<String, Object>> messages = loginDao.selectAllMessageCodes();
+
+        Map<String, List<Object>> datasets = new LinkedHashMap<>();
+        datasets.put("common:code", new ArrayList<>(codes));
+        datasets.put("message:code", new ArrayList<>(messages));
+        datasets.put("message:type", groupByType(messages));
+
+        List<CacheValueCodec> formats = List.of(
+                CacheValueCodec.of("json", 0),
+                CacheValueCodec.of("json", compressThreshold),
+                CacheValueCodec.of("smile", 0),
+                CacheValueCodec.of("smile", compressThreshold));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("configured", cacheCodecRegistry.getFormats());
+        report.put("compressThresholdBytes", compressThreshold);
+        Map<String, Object> results = new LinkedHashMap<>();
+        datasets.forEach((name, values) -> results.put(name, compare(values, formats)));
+        report.put("datasets", results);
+        return report;
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private Map<String, Object> compare(List<Object> values, List<CacheValueCodec> formats) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        long jsonTotal = 0;
+        for (CacheValueCodec codec : formats) {
+            long total = 0;
+            long max = 0;
+            for (Object value : values) {
+                int size = codec.serialize(value).length;
+                total += size;
+                max = Math.max(max, size);
+            }
+            if (jsonTotal == 0) {
+                jsonTotal = total;
+            }
+
+            Map<String, Object> sizes = new LinkedHashMap<>();
+            sizes.put("values", values.size());
+            sizes.put("totalBytes", total);
+            sizes.put("avgBytes", values.isEmpty() ? 0 : total / values.size());
+            sizes.put("maxBytes", max);
+            sizes.put("ratioToJson", jsonTotal > 0 ? (double) total / jsonTotal : 1.0);
+            result.put(codec.getName(), sizes);
+        }
+        return result;
+    }
+
+    private List<Object> groupByType(List<Map<String, Object>> messages) {
+        Map<Object, List<Object>> byType = new LinkedHashMap<>();
+        for (Map<String, Object> message : messages) {
+            byType.computeIfAbsent(message.get("msg_tp_cd"), k -> new ArrayList<>()).add(message);
+        }
+        return new ArrayList<>(byType.values());
+    }
+}
@@ -3,18 +3,37 @@ package com.nsustest.loginAuth.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Redis 캐시 서비스
  * 공통코드, 메시지 코드 등을 캐시로 관리
  * 
+ * 키는 네임스페이스별 세대 번호를 포함합니다 (예: common:code:v{gen}:group:{grpCd}).
+ * 캐시 초기화는 세대 카운터(cache_gen:{namespace})를 INCR 한 번으로 올리는 것으로 끝나고,
+ * 이전 세대의 키는 더 이상 읽히지 않다가 TTL로 사라집니다.
+ * KEYS/FLUSHALL을 쓰지 않으므로 Redis를 막지 않고, rate limit/세션 등 다른 데이터에 영향이 없습니다.
+ * 
+ * 값은 네임스페이스별 코덱(CacheCodecRegistry, 기본 Smile)으로 저장합니다.
+ * 
+ * 세대 번호는 노드 메모리에 짧게(기본 1초) 보관하며, 다른 노드의 초기화는
+ * 공통코드 무효화 메시지를 받을 때 forgetGenerations()로 바로 반영합니다.
+ * 
+ * 클라이언트 캐시 추적(ClientSideCacheService)이 켜져 있으면 단건 조회(GET/HGET)는
+ * 노드 메모리에서 먼저 찾고, 추적이 끊긴 동안에는 일반 조회를 사용합니다.
+ * 
  * @author nsustest
  */
 @Service
@@ -22,18 +41,42 @@ public class CacheService {
     
     private static final Logger logger = LoggerFactory.getLogger(CacheService.class);
     
-    // 캐시 키 접두사
-    private static final String COMMON_CODE_GROUP_PREFIX = "common:code:group:";
-    private static final String COMMON_CODE_LIST_PREFIX = "common:code:list:";
-    private static final String MESSAGE_CODE_PREFIX = "message:code:";
-    private static final String MESSAGE_TYPE_PREFIX = "message:type:";
+    // 캐시 네임스페이스 (세대 번호 단위)
+    static final String NS_COMMON_CODE = "common:code";
+    static final String NS_MESSAGE = "message";
+    private static final String GENERATION_KEY_PREFIX = "cache_gen:";
+    
+    // 캐시 키 접두사 (네임스페이스:v{gen}: 뒤에 붙음)
+    private static final String COMMON_CODE_GROUP_PREFIX = "group:";
+    private static final String COMMON_CODE_HASH_PREFIX = "hash:";
+    private static final String MESSAGE_CODE_PREFIX = "code:";
+    private static final String MESSAGE_TYPE_PREFIX = "type:";
     
     // TTL 설정 (초)
     private static final long COMMON_CODE_TTL = 3600; // 1시간
     private static final long MESSAGE_CODE_TTL = 1800; // 30분
     
     @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    private CacheCodecRegistry cacheCodecRegistry;
+    
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+    
+    @Autowired
+    private ClientSideCacheService clientSideCacheService;
+    
+    @Value("${cache.generation.local-ttl-ms:1000}")
+    private long generationLocalTtlMs;
+    
+    // 네임스페이스별 세대 번호 (노드 메모리)
+    private final Map<String, Generation> generations = new ConcurrentHashMap<>();
+    
+    /**
+     * @param value 세대 번호
+     * @param expiresAtNanos 다시 읽을 시각 (System.nanoTime 기준)
+     */
+    private record Generation(long value, long expiresAtNanos) {
+    }
     
     /**
      * 공통코드 그룹 정보를 캐시에 저장
@@ -43,8 +86,8 @@ public class CacheService {
      */
     public void setCommonCodeGroup(String grpCd, Object groupInfo) {
         try {
-            String key = COMMON_CODE_GROUP_PREFIX + grpCd;
-            redisTemplate.opsForValue().set(key, groupInfo, COMMON_CODE_TTL, TimeUnit.SECONDS);
+            String key = key(NS_COMMON_CODE, COMMON_CODE_GROUP_PREFIX + grpCd);
+            template(NS_COMMON_CODE).opsForValue().set(key, groupInfo, COMMON_CODE_TTL, TimeUnit.SECONDS);
         } catch (Exception e) {
             logger.error("공통코드 그룹 캐시 저장 실패: {}", e.getMessage(), e);
         }
@@ -58,8 +101,8 @@ public class CacheService {
      */
     public Object getCommonCodeGroup(String grpCd) {
         try {
-            String key = COMMON_CODE_GROUP_PREFIX + grpCd;
-            return redisTemplate.opsForValue().get(key);
+            String key = key(NS_COMMON_CODE, COMMON_CODE_GROUP_PREFIX + grpCd);
+            return readValue(NS_COMMON_CODE, key);
         } catch (Exception e) {
             logger.error("공통코드 그룹 캐시 조회 실패: {}", e.getMessage(), e);
             return null;
@@ -69,36 +112,73 @@ public class CacheService {
     
     /**
      * 그룹별 공통코드 목록을 캐시에 저장
+     * 그룹 하나를 해시 하나로 저장 (필드: 코드, 값: 코드 정보)하여 코드 단건은 HGET으로 조회합니다.
+     * 목록에서 빠진 코드가 남지 않도록 기존 해시를 지운 뒤 다시 씁니다.
+     * DEL/HSET/EXPIRE는 MULTI/EXEC 한 번으로 보내 다른 노드가 반쯤 채워진 해시를 읽거나
+     * TTL 없는 해시가 남지 않도록 합니다.
      * 
      * @param grpCd 그룹 코드
      * @param codeList 코드 목록
      */
     public void setCommonCodeList(String grpCd, List<Object> codeList) {
         try {
-            String key = COMMON_CODE_LIST_PREFIX + grpCd;
-            redisTemplate.opsForValue().set(key, codeList, COMMON_CODE_TTL, TimeUnit.SECONDS);
+            String key = key(NS_COMMON_CODE, COMMON_CODE_HASH_PREFIX + grpCd);
+            Map<String, Object> fields = new HashMap<>();
+            for (Object code : codeList) {
+                fields.put(String.valueOf(((Map<?, ?>) code).get("cd")), code);
+            }
+            template(NS_COMMON_CODE).execute(new SessionCallback<List<Object>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> List<Object> execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.multi();
+                    ops.delete(key);
+                    ops.opsForHash().putAll(key, fields);
+                    ops.expire(key, COMMON_CODE_TTL, TimeUnit.SECONDS);
+                    return ops.exec();
+                }
+            });
         } catch (Exception e) {
             logger.error("공통코드 목록 캐시 저장 실패: {}", e.getMessage(), e);
         }
     }
     
     /**
-     * 그룹별 공통코드 목록을 캐시에서 조회
+     * 그룹별 공통코드 목록을 캐시에서 조회 (HGETALL)
+     * 해시는 순서가 없으므로 정렬은 호출 측(CodeGroup)에서 합니다.
      * 
      * @param grpCd 그룹 코드
-     * @return 코드 목록
+     * @return 코드 목록 (순서 없음, 없으면 null)
      */
-    @SuppressWarnings("unchecked")
     public List<Object> getCommonCodeList(String grpCd) {
         try {
-            String key = COMMON_CODE_LIST_PREFIX + grpCd;
-            return (List<Object>) redisTemplate.opsForValue().get(key);
+            String key = key(NS_COMMON_CODE, COMMON_CODE_HASH_PREFIX + grpCd);
+            Map<Object, Object> entries = template(NS_COMMON_CODE).opsForHash().entries(key);
+            return entries.isEmpty() ? null : new ArrayList<>(entries.values());
         } catch (Exception e) {
             logger.error("공통코드 목록 캐시 조회 실패: {}", e.getMessage(), e);
             return null;
         }
     }
     
+    /**
+     * 특정 공통코드를 캐시에서 조회 (HGET)
+     * 
+     * @param grpCd 그룹 코드
+     * @param cd 코드
+     * @return 코드 정보 (그룹이 캐시에 없거나 코드가 없으면 null)
+     */
+    public Object getCommonCode(String grpCd, String cd) {
+        try {
+            String key = key(NS_COMMON_CODE, COMMON_CODE_HASH_PREFIX + grpCd);
+            return readField(NS_COMMON_CODE, key, cd);
+        } catch (Exception e) {
+            logger.error("공통코드 캐시 조회 실패: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+    
     /**
      * 메시지 코드를 캐시에 저장
      * 
@@ -107,8 +187,8 @@ public class CacheService {
      */
     public void setMessageCode(String msgCd, Object messageInfo) {
         try {
-            String key = MESSAGE_CODE_PREFIX + msgCd;
-            redisTemplate.opsForValue().set(key, messageInfo, MESSAGE_CODE_TTL, TimeUnit.SECONDS);
+            String key = key(NS_MESSAGE, MESSAGE_CODE_PREFIX + msgCd);
+            template(NS_MESSAGE).opsForValue().set(key, messageInfo, MESSAGE_CODE_TTL, TimeUnit.SECONDS);
         } catch (Exception e) {
             logger.error("메시지 코드 캐시 저장 실패: {}", e.getMessage(), e);
         }
@@ -122,8 +202,8 @@ public class CacheService {
      */
     public Object getMessageCode(String msgCd) {
         try {
-            String key = MESSAGE_CODE_PREFIX + msgCd;
-            return redisTemplate.opsForValue().get(key);
+            String key = key(NS_MESSAGE, MESSAGE_CODE_PREFIX + msgCd);
+            return readValue(NS_MESSAGE, key);
         } catch (Exception e) {
             logger.error("메시지 코드 캐시 조회 실패: {}", e.getMessage(), e);
             return null;
@@ -138,8 +218,8 @@ public class CacheService {
      */
     public void setMessageListByType(String msgTpCd, List<Object> messageList) {
         try {
-            String key = MESSAGE_TYPE_PREFIX + msgTpCd;
-            redisTemplate.opsForValue().set(key, messageList, MESSAGE_CODE_TTL, TimeUnit.SECONDS);
+            String key = key(NS_MESSAGE, MESSAGE_TYPE_PREFIX + msgTpCd);
+            template(NS_MESSAGE).opsForValue().set(key, messageList, MESSAGE_CODE_TTL, TimeUnit.SECONDS);
         } catch (Exception e) {
             logger.error("타입별 메시지 목록 캐시 저장 실패: {}", e.getMessage(), e);
         }
@@ -154,8 +234,8 @@ public class CacheService {
     @SuppressWarnings("unchecked")
     public List<Object> getMessageListByType(String msgTpCd) {
         try {
-            String key = MESSAGE_TYPE_PREFIX + msgTpCd;
-            return (List<Object>) redisTemplate.opsForValue().get(key);
+            String key = key(NS_MESSAGE, MESSAGE_TYPE_PREFIX + msgTpCd);
+            return (List<Object>) readValue(NS_MESSAGE, key);
         } catch (Exception e) {
             logger.error("타입별 메시지 목록 캐시 조회 실패: {}", e.getMessage(), e);
             return null;
@@ -163,53 +243,107 @@ public class CacheService {
     }
     
     /**
-     * 특정 패턴의 캐시 키들을 삭제
-     * 
-     * @param pattern 패턴
-     * @return 삭제된 키 개수
+     * 공통코드 관련 캐시 전체 삭제 (세대 번호 증가)
      */
-    public long deleteKeysByPattern(String pattern) {
-        try {
-            Set<String> keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                Long deletedCount = redisTemplate.delete(keys);
-                logger.info("패턴 '{}'에 해당하는 캐시 {}개 삭제", pattern, deletedCount);
-                return deletedCount != null ? deletedCount : 0;
+    public void clearCommonCodeCache() {
+        long generation = nextGeneration(NS_COMMON_CODE);
+        clientSideCacheService.clear();
+        logger.info("공통코드 캐시 전체 삭제 완료 - 세대: {}", generation);
+    }
+    
+    /**
+     * 메시지 코드 관련 캐시 전체 삭제 (세대 번호 증가)
+     */
+    public void clearMessageCodeCache() {
+        long generation = nextGeneration(NS_MESSAGE);
+        clientSideCacheService.clear();
+        logger.info("메시지 코드 캐시 전체 삭제 완료 - 세대: {}", generation);
+    }
+    
+    /**
+     * 전체 캐시 삭제 (캐시 네임스페이스만, 다른 Redis 데이터는 유지)
+     */
+    public void clearAllCache() {
+        clearCommonCodeCache();
+        clearMessageCodeCache();
+        logger.info("전체 캐시 삭제 완료");
+    }
+    
+    /**
+     * 노드 메모리의 세대 번호를 버리고 다음 조회 시 Redis에서 다시 읽음
+     * (다른 노드에서 캐시를 초기화했을 때)
+     */
+    public void forgetGenerations() {
+        generations.clear();
+        clientSideCacheService.clear();
+    }
+    
+    // ==================== 내부 처리 ====================
+    
+    /**
+     * 네임스페이스별 코덱이 적용된 RedisTemplate
+     */
+    private RedisTemplate<String, Object> template(String namespace) {
+        return cacheCodecRegistry.template(namespace);
+    }
+    
+    /**
+     * 값 조회 (클라이언트 캐시 추적 중이면 노드 메모리 → GET, 실패 시 일반 GET)
+     */
+    private Object readValue(String namespace, String key) {
+        if (clientSideCacheService.isActive()) {
+            try {
+                return clientSideCacheService.get(namespace, key);
+            } catch (Exception e) {
+                logger.warn("클라이언트 캐시 조회 실패, 일반 조회 사용 - key: {}, {}", key, e.getMessage());
             }
-            return 0;
-        } catch (Exception e) {
-            logger.error("패턴별 캐시 삭제 실패: {}", e.getMessage(), e);
-            return 0;
         }
+        return template(namespace).opsForValue().get(key);
     }
     
     /**
-     * 공통코드 관련 캐시 전체 삭제
+     * 해시 필드 조회 (클라이언트 캐시 추적 중이면 노드 메모리 → HGET, 실패 시 일반 HGET)
      */
-    public void clearCommonCodeCache() {
-        deleteKeysByPattern(COMMON_CODE_GROUP_PREFIX + "*");
-        deleteKeysByPattern(COMMON_CODE_LIST_PREFIX + "*");
-        logger.info("공통코드 캐시 전체 삭제 완료");
+    private Object readField(String namespace, String key, String field) {
+        if (clientSideCacheService.isActive()) {
+            try {
+                return clientSideCacheService.getField(namespace, key, field);
+            } catch (Exception e) {
+                logger.warn("클라이언트 캐시 조회 실패, 일반 조회 사용 - key: {}, {}", key, e.getMessage());
+            }
+        }
+        return template(namespace).opsForHash().get(key, field);
+    }
+    
+    private String key(String namespace, String suffix) {
+        return namespace + ":v" + generation(namespace) + ":" + suffix;
     }
     
     /**
-     * 메시지 코드 관련 캐시 전체 삭제
+     * 네임스페이스의 현재 세대 번호 (카운터가 없으면 0)
      */
-    public void clearMessageCodeCache() {
-        deleteKeysByPattern(MESSAGE_CODE_PREFIX + "*");
-        deleteKeysByPattern(MESSAGE_TYPE_PREFIX + "*");
-        logger.info("메시지 코드 캐시 전체 삭제 완료");
+    private long generation(String namespace) {
+        long now = System.nanoTime();
+        Generation cached = generations.get(namespace);
+        if (cached != null && cached.expiresAtNanos() - now > 0) {
+            return cached.value();
+        }
+        String value = stringRedisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + namespace);
+        long generation = value != null ? Long.parseLong(value) : 0;
+        generations.put(namespace, new Generation(generation,
+                now + TimeUnit.MILLISECONDS.toNanos(generationLocalTtlMs)));
+        return generation;
     }
     
     /**
-     * 전체 캐시 삭제
+     * 세대 번호 증가 (이전 세대 키는 TTL로 만료)
+     * 실패하면 예외를 그대로 던져 초기화 API가 실패로 응답하도록 함
      */
-    public void clearAllCache() {
-        try {
-            redisTemplate.getConnectionFactory().getConnection().flushAll();
-            logger.info("전체 캐시 삭제 완료");
-        } catch (Exception e) {
-            logger.error("전체 캐시 삭제 실패: {}", e.getMessage(), e);
-        }
+    private long nextGeneration(String namespace) {
+        Long generation = stringRedisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + namespace);
+        long value = generation != null ? generation : 0;
+        generations.put(namespace, new Generation(value,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(generationLocalTtlMs)));
+        return value;
     }
 }
@@ -0,0 +1,295 @@
+package com.nsustest.loginAuth.service;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.RedisChannelHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 서버 지원 클라이언트 캐시 (RESP3 CLIENT TRACKING, 선택 사용)
+ *
+ * 공통코드/메시지 코드 키(common:code:*, message:*)를 노드 메모리에 두고, 키가 바뀌면
+ * Redis가 보내는 invalidate 푸시 메시지로 지웁니다. BCAST 모드라 읽은 키를 서버가 기억하지 않고
+ * 접두사에 해당하는 모든 쓰기에 대해 알림을 받습니다.
+ *
+ * - 별도 Lettuce 연결(RESP3, byte[] 값)을 사용하고, 값은 네임스페이스 코덱(CacheCodecRegistry)으로 읽음
+ * - 조회 도중 무효화가 오면 받은 값을 저장하지 않음 (오래된 값이 남지 않도록)
+ * - 연결이 끊기거나 명령이 실패하면 추적을 잃은 것으로 보고 로컬 값을 모두 버림,
+ *   그동안 CacheService는 일반 GET/HGET으로 조회하고, 재연결 후 주기 확인에서 추적을 다시 켬
+ *
+ * @author nsustest
+ */
+@Service
+public class ClientSideCacheService implements RedisConnectionStateListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientSideCacheService.class);
+
+    // 추적 대상 키 접두사
+    static final String[] TRACKED_PREFIXES = {CacheService.NS_COMMON_CODE + ":", CacheService.NS_MESSAGE + ":"};
+
+    // 일반 값(GET)의 필드 자리
+    private static final String VALUE_FIELD = "";
+
+    @Autowired
+    private CacheCodecRegistry cacheCodecRegistry;
+
+    @Value("${cache.client-tracking.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cache.client-tracking.max-keys:10000}")
+    private int maxKeys;
+
+    @Value("${spring.data.redis.host:localhost}")
+    private String redisHost;
+
+    @Value("${spring.data.redis.port:6379}")
+    private int redisPort;
+
+    @Value("${spring.data.redis.password:}")
+    private String redisPassword;
+
+    private RedisClient client;
+    private StatefulRedisConnection<byte[], byte[]> connection;
+    private RedisCommands<byte[], byte[]> commands;
+
+    // 추적이 켜져 있을 때만 로컬 값 사용
+    private volatile boolean active;
+
+    // 키 → (필드 → 인코딩된 값), 일반 값은 VALUE_FIELD
+    private final Map<String, Map<String, byte[]>> local = new ConcurrentHashMap<>();
+
+    // 무효화가 일어날 때마다 증가, 조회 도중 무효화된 값을 저장하지 않도록 비교
+    private final AtomicLong invalidationSeq = new AtomicLong();
+
+    // 통계
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder trackingLosses = new LongAdder();
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            RedisURI.Builder uri = RedisURI.builder().withHost(redisHost).withPort(redisPort);
+            if (redisPassword != null && !redisPassword.isEmpty()) {
+                uri.withPassword(redisPassword.toCharArray());
+            }
+            client = RedisClient.create(uri.build());
+            client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+            client.addListener(this);
+
+            connection = client.connect(ByteArrayCodec.INSTANCE);
+            connection.addListener(this::onPushMessage);
+            commands = connection.sync();
+            enableTracking();
+        } catch (Exception e) {
+            logger.warn("클라이언트 캐시 추적 시작 실패, 일반 조회 사용: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        active = false;
+        if (connection != null) {
+            connection.close();
+        }
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    /**
+     * 추적이 켜져 있어 로컬 값을 사용할 수 있는지
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * 일반 값 조회 (로컬 → GET)
+     *
+     * @param namespace 캐시 네임스페이스 (값 코덱 선택)
+     * @param key Redis 키
+     * @return 값 (없으면 null)
+     */
+    public Object get(String namespace, String key) {
+        return read(namespace, key, VALUE_FIELD);
+    }
+
+    /**
+     * 해시 필드 조회 (로컬 → HGET)
+     *
+     * @param namespace 캐시 네임스페이스 (값 코덱 선택)
+     * @param key Redis 키
+     * @param field 해시 필드
+     * @return 값 (없으면 null)
+     */
+    public Object getField(String namespace, String key, String field) {
+        return read(namespace, key, field);
+    }
+
+    /**
+     * 로컬 값 전체 삭제 (캐시 초기화 시)
+     */
+    public void clear() {
+        invalidationSeq.incrementAndGet();
+        local.clear();
+    }
+
+    /**
+     * 추적이 꺼져 있으면 다시 켜기 (재연결 후)
+     */
+    @Scheduled(fixedDelayString = "${cache.client-tracking.recheck-interval-ms:5000}")
+    public void recheckTracking() {
+        if (enabled && !active && connection != null && connection.isOpen()) {
+            enableTracking();
+        }
+    }
+
+    @Override
+    public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+        if (handler == connection) {
+            lose("연결 끊김");
+        }
+    }
+
+    /**
+     * 클라이언트 캐시 통계
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("active", active);
+        stats.put("keys", local.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+        stats.put("invalidations", invalidations.sum());
+        stats.put("trackingLosses", trackingLosses.sum());
+        return stats;
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private Object read(String namespace, String key, String field) {
+        Map<String, byte[]> fields = local.get(key);
+        byte[] bytes = fields != null ? fields.get(field) : null;
+        if (bytes != null) {
+            hits.increment();
+            return cacheCodecRegistry.codec(namespace).deserialize(bytes);
+        }
+
+        misses.increment();
+        long seq = invalidationSeq.get();
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        try {
+            bytes = VALUE_FIELD.equals(field)
+                    ? commands.get(rawKey)
+                    : commands.hget(rawKey, field.getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            lose(e.getMessage());
+            throw e;
+        }
+        if (bytes == null) {
+            return null;
+        }
+        put(key, field, bytes, seq);
+        return cacheCodecRegistry.codec(namespace).deserialize(bytes);
+    }
+
+    /**
+     * 로컬 저장 (추적 중이고 조회 시작 후 무효화가 없었을 때만)
+     * 최대 키 수를 넘으면 임의의 키를 제거
+     */
+    private void put(String key, String field, byte[] bytes, long seq) {
+        if (!active || invalidationSeq.get() != seq) {
+            return;
+        }
+        if (local.size() >= maxKeys) {
+            Iterator<String> it = local.keySet().iterator();
+            while (local.size() >= maxKeys && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        local.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(field, bytes);
+        if (invalidationSeq.get() != seq) {
+            local.remove(key);
+        }
+    }
+
+    /**
+     * invalidate 푸시 메시지: 키 목록이면 해당 키만, null이면(FLUSHDB 등) 전체 삭제
+     */
+    void onPushMessage(PushMessage message) {
+        if (!"invalidate".equals(message.getType())) {
+            return;
+        }
+        invalidationSeq.incrementAndGet();
+        invalidations.increment();
+
+        List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+        Object keys = content.size() > 1 ? content.get(1) : null;
+        if (keys instanceof List<?> list) {
+            for (Object key : list) {
+                local.remove(String.valueOf(key));
+            }
+        } else {
+            local.clear();
+        }
+    }
+
+    private void enableTracking() {
+        try {
+            commands.clientTracking(TrackingArgs.Builder.enabled().bcast().prefixes(TRACKED_PREFIXES));
+            clear();
+            active = true;
+            logger.info("클라이언트 캐시 추적 시작 - prefixes: {}", String.join(", ", TRACKED_PREFIXES));
+        } catch (Exception e) {
+            logger.warn("클라이언트 캐시 추적 설정 실패, 일반 조회 사용: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 추적을 잃음: 무효화 메시지를 놓쳤을 수 있으므로 로컬 값을 모두 버림
+     */
+    private void lose(String reason) {
+        if (active) {
+            trackingLosses.increment();
+            logger.warn("클라이언트 캐시 추적 중단, 일반 조회로 전환: {}", reason);
+        }
+        active = false;
+        clear();
+    }
+}
@@ -0,0 +1,362 @@
+package com.nsustest.loginAuth.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 클러스터 작업 임대(lease) 서비스 (Redis 기반)
+ *
+ * 여러 인스턴스에서 같은 예약 작업이 동시에 실행되지 않도록, 작업 이름별 Redis 키를 먼저 잡은 인스턴스만 실행합니다.
+ * - 획득: 키가 없을 때만 "인스턴스ID:임대 토큰" 값으로 PX TTL과 함께 저장 (토큰은 작업별 INCR로 단조 증가)
+ * - 갱신: 보유 중에는 TTL/3 주기로 값이 같을 때만 TTL 연장, 다른 값이면 임대를 잃은 것으로 표시
+ * - 반납: 값이 같을 때만 삭제, min-hold-ms가 지나지 않았으면 남은 시간만큼 유지하여
+ *   조금 늦게 시작한 다른 인스턴스가 같은 작업을 다시 실행하지 않도록 함
+ *
+ * 갱신/반납은 보유 값(토큰 포함)이 일치할 때만 적용되므로, 멈췄다 돌아온 이전 보유자가 새 보유자의 임대를 연장하거나 지울 수 없습니다.
+ *
+ * 이 임대는 TTL 기반이며 DB 쓰기를 막는 펜싱은 아닙니다. 토큰은 DELETE/ALTER 문에 전달되지 않으므로,
+ * 청크 도중 멈춘 보유자는 임대를 잃은 뒤에도 진행 중이던 청크 하나를 마저 실행할 수 있습니다.
+ * 작업은 청크마다 {@link Lease#isHeld()}를 확인하고 잃었으면 중단합니다. 남은 위험은 작업 쪽에서 줄입니다:
+ * 세션 정리 청크는 짧고(max-chunk-ms) 같은 구간을 다시 지워도 결과가 같으며,
+ * 파티션 DDL은 현재 파티션 목록을 읽고 실행하므로 이미 적용된 변경은 MySQL 오류로 실패할 뿐 겹쳐 적용되지 않습니다.
+ * Redis에 연결할 수 없으면 임대를 얻지 못한 것으로 보고 작업을 건너뜁니다 (단일 인스턴스는 enabled=false).
+ *
+ * @author nsustest
+ */
+@Service
+public class ClusterLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterLeaseService.class);
+
+    // Redis 키 접두사
+    private static final String LEASE_PREFIX = "lease:";
+    private static final String TOKEN_PREFIX = "lease_token:";
+    private static final String SHARED_PREFIX = "lease_shared:";
+
+    /**
+     * 획득 스크립트
+     * KEYS[1]: 임대 키, KEYS[2]: 임대 토큰 카운터
+     * ARGV[1]: 인스턴스 ID, ARGV[2]: TTL(ms)
+     * 반환: 임대 토큰 (이미 보유자가 있으면 0)
+     */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "local token = redis.call('INCR', KEYS[2]) " +
+            "redis.call('SET', KEYS[1], ARGV[1] .. ':' .. token, 'PX', ARGV[2]) " +
+            "return token",
+            Long.class);
+
+    /**
+     * 갱신 스크립트
+     * KEYS[1]: 임대 키, ARGV[1]: 보유 값, ARGV[2]: TTL(ms)
+     * 반환: 1 연장, 0 보유하지 않음
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    /**
+     * 반납 스크립트
+     * KEYS[1]: 임대 키, ARGV[1]: 보유 값, ARGV[2]: 더 유지할 시간(ms, 0이면 삭제)
+     * 반환: 1 반납, 0 보유하지 않음
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end " +
+            "if tonumber(ARGV[2]) > 0 then " +
+            "  redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "else " +
+            "  redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${scheduler.lease.enabled:true}")
+    private boolean enabled;
+
+    @Value("${scheduler.lease.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${scheduler.lease.min-hold-ms:3600000}")
+    private long minHoldMs;
+
+    @Value("${scheduler.lease.instance-id:}")
+    private String instanceId;
+
+    // 갱신 전용 스레드 (예약 작업 스레드 풀이 바빠도 갱신이 밀리지 않도록 분리)
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "lease-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 이 인스턴스가 보유 중인 임대 (작업 이름 → 임대)
+    private final Map<String, Lease> held = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (instanceId == null || instanceId.isBlank()) {
+            instanceId = UUID.randomUUID().toString();
+        }
+    }
+
+    /**
+     * 보유 중인 임대
+     * try-with-resources로 사용하면 작업이 끝날 때 반납됩니다.
+     */
+    public static class Lease implements AutoCloseable {
+
+        private final ClusterLeaseService owner;
+        private final String name;
+        private final String value;
+        private final long token;
+        private final long acquiredAt;
+        private long minHoldMs;
+        private volatile boolean lost;
+        private volatile long validUntil;
+        private volatile ScheduledFuture<?> renewal;
+
+        Lease(ClusterLeaseService owner, String name, String value, long token, long acquiredAt, long validUntil) {
+            this.owner = owner;
+            this.name = name;
+            this.value = value;
+            this.token = token;
+            this.acquiredAt = acquiredAt;
+            this.validUntil = validUntil;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 임대 토큰 (같은 작업에서 나중에 획득한 임대일수록 큼, Redis를 쓰지 않으면 0)
+         * 보유자 구분과 로그/상태 조회용이며 DB 쓰기에는 전달되지 않음
+         */
+        public long getToken() {
+            return token;
+        }
+
+        /**
+         * 아직 보유 중인지 여부 (다른 인스턴스에 넘어갔거나 마지막 갱신 후 TTL이 지났으면 false)
+         */
+        public boolean isHeld() {
+            return !lost && System.currentTimeMillis() < validUntil;
+        }
+
+        @Override
+        public void close() {
+            owner.release(this, true);
+        }
+    }
+
+    /**
+     * 임대 획득 시도 (반납 후 scheduler.lease.min-hold-ms까지 유지)
+     *
+     * @param name 작업 이름
+     * @return 획득한 임대 (다른 인스턴스가 보유 중이거나 Redis 오류면 null)
+     */
+    public Lease tryAcquire(String name) {
+        return tryAcquire(name, minHoldMs);
+    }
+
+    /**
+     * 임대 획득 시도 (최소 유지 시간 지정)
+     * 분 단위로 자주 도는 작업은 기본 min-hold-ms(1시간) 대신 실행 주기만큼만 유지하도록 사용합니다.
+     *
+     * @param name 작업 이름
+     * @param minHoldMs 획득 후 반납해도 키를 유지할 시간(ms)
+     * @return 획득한 임대 (다른 인스턴스가 보유 중이거나 Redis 오류면 null)
+     */
+    public Lease tryAcquire(String name, long minHoldMs) {
+        long now = System.currentTimeMillis();
+        if (!enabled) {
+            return new Lease(this, name, null, 0L, now, Long.MAX_VALUE);
+        }
+
+        String value;
+        long token;
+        try {
+            Long result = stringRedisTemplate.execute(ACQUIRE_SCRIPT,
+                    List.of(LEASE_PREFIX + name, TOKEN_PREFIX + name),
+                    instanceId, String.valueOf(ttlMs));
+            if (result == null || result == 0L) {
+                logger.info("다른 인스턴스가 실행 중인 작업, 건너뜀 - name: {}", name);
+                return null;
+            }
+            token = result;
+            value = instanceId + ":" + token;
+        } catch (Exception e) {
+            logger.warn("작업 임대 획득 실패, 실행 건너뜀 - name: {}, 원인: {}", name, e.getMessage());
+            return null;
+        }
+
+        Lease lease = new Lease(this, name, value, token, now, now + ttlMs);
+        lease.minHoldMs = minHoldMs;
+        long period = Math.max(1L, ttlMs / 3);
+        lease.renewal = renewer.scheduleAtFixedRate(() -> renew(lease), period, period, TimeUnit.MILLISECONDS);
+        held.put(name, lease);
+        logger.info("작업 임대 획득 - name: {}, token: {}", name, token);
+        return lease;
+    }
+
+    /**
+     * 인스턴스 간 공유 값 합의 (먼저 저장한 인스턴스의 값을 모두가 사용)
+     * 작업을 여러 임대로 나눌 때 나누는 기준(키 범위 등)을 인스턴스마다 다르게 계산하지 않도록 사용합니다.
+     *
+     * @param name 값 이름
+     * @param proposed 저장된 값이 없을 때 저장할 값
+     * @param keepMs 값 유지 시간(ms)
+     * @return 저장된 값 (임대를 사용하지 않거나 Redis 오류면 proposed)
+     */
+    public String share(String name, String proposed, long keepMs) {
+        if (!enabled) {
+            return proposed;
+        }
+        try {
+            String key = SHARED_PREFIX + name;
+            stringRedisTemplate.opsForValue().setIfAbsent(key, proposed, Duration.ofMillis(keepMs));
+            String agreed = stringRedisTemplate.opsForValue().get(key);
+            return agreed != null ? agreed : proposed;
+        } catch (Exception e) {
+            logger.warn("공유 값 합의 실패, 로컬 값 사용 - name: {}, 원인: {}", name, e.getMessage());
+            return proposed;
+        }
+    }
+
+    /**
+     * 인스턴스 간 공유 값 저장 (만료 없음, 값이 null이면 삭제)
+     * 작업 상태(일시 정지 여부, 이어서 처리할 키 등)를 어느 인스턴스에서 바꾸든 모든 인스턴스가 보도록 사용합니다.
+     *
+     * @param name 값 이름
+     * @param value 저장할 값 (null이면 삭제)
+     */
+    public void putShared(String name, String value) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String key = SHARED_PREFIX + name;
+            if (value == null) {
+                stringRedisTemplate.delete(key);
+            } else {
+                stringRedisTemplate.opsForValue().set(key, value);
+            }
+        } catch (Exception e) {
+            logger.warn("공유 값 저장 실패, 이 인스턴스에만 적용 - name: {}, 원인: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * 인스턴스 간 공유 값 조회
+     *
+     * @param name 값 이름
+     * @param fallback 임대를 사용하지 않거나 Redis 오류일 때 반환할 값 (이 인스턴스의 값)
+     * @return 저장된 값 (없으면 null)
+     */
+    public String getShared(String name, String fallback) {
+        if (!enabled) {
+            return fallback;
+        }
+        try {
+            return stringRedisTemplate.opsForValue().get(SHARED_PREFIX + name);
+        } catch (Exception e) {
+            logger.warn("공유 값 조회 실패, 로컬 값 사용 - name: {}, 원인: {}", name, e.getMessage());
+            return fallback;
+        }
+    }
+
+    /**
+     * 이 인스턴스가 보유 중인 임대
+     *
+     * @return 작업 이름 → 임대 토큰
+     */
+    public Map<String, Long> getHeldLeases() {
+        return held.values().stream().collect(Collectors.toMap(Lease::getName, Lease::getToken));
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @PreDestroy
+    public void stop() {
+        renewer.shutdownNow();
+        // 종료로 중단된 작업은 다른 인스턴스가 바로 이어받을 수 있도록 즉시 반납
+        for (Lease lease : held.values()) {
+            release(lease, false);
+        }
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private void renew(Lease lease) {
+        long sentAt = System.currentTimeMillis();
+        try {
+            Long result = stringRedisTemplate.execute(RENEW_SCRIPT,
+                    List.of(LEASE_PREFIX + lease.name), lease.value, String.valueOf(ttlMs));
+            if (result != null && result == 1L) {
+                lease.validUntil = sentAt + ttlMs;
+                return;
+            }
+            lease.lost = true;
+            if (lease.renewal != null) {
+                lease.renewal.cancel(false);
+            }
+            held.remove(lease.name, lease);
+            logger.warn("작업 임대 상실 - name: {}, token: {}", lease.name, lease.token);
+        } catch (Exception e) {
+            // 일시적 오류는 다음 주기에 재시도, 그 사이 TTL이 지나면 isHeld()가 false가 됨
+            logger.warn("작업 임대 갱신 실패 - name: {}, token: {}, 원인: {}", lease.name, lease.token, e.getMessage());
+        }
+    }
+
+    /**
+     * 임대 반납
+     *
+     * @param keepMinHold true면 획득 후 임대의 최소 유지 시간이 지날 때까지 키를 유지
+     */
+    void release(Lease lease, boolean keepMinHold) {
+        if (lease.value == null) {
+            return;
+        }
+        if (lease.renewal != null) {
+            lease.renewal.cancel(false);
+        }
+        held.remove(lease.name, lease);
+        if (lease.lost) {
+            return;
+        }
+
+        long holdMs = keepMinHold ? lease.minHoldMs - (System.currentTimeMillis() - lease.acquiredAt) : 0L;
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT,
+                    List.of(LEASE_PREFIX + lease.name), lease.value, String.valueOf(Math.max(0L, holdMs)));
+        } catch (Exception e) {
+            logger.warn("작업 임대 반납 실패, TTL 후 만료 - name: {}, 원인: {}", lease.name, e.getMessage());
+        }
+    }
+}
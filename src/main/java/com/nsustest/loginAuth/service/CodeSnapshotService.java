@@ -0,0 +1,102 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.util.CodeSnapshot;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+/**
+ * 공통코드/메시지 코드 스냅샷 서비스
+ *
+ * 시작 시 cm_cd_grp, cm_cd, msg_cd 전체를 읽어 읽기 전용 스냅샷(CodeSnapshot)을 만들고,
+ * volatile 참조로 교체하여 조회 스레드는 잠금 없이 읽습니다.
+ *
+ * - 웹 서버가 요청을 받기 전(빈 초기화 시점)에 로드하므로 배포 직후 첫 요청도 캐시 미스가 없음
+ * - 주기적으로 버전 표식(테이블별 MAX(upd_dt)와 행 수)만 조회하고, 바뀌었을 때만 다시 만듦
+ * - 로드에 실패하면 이전 스냅샷을 유지 (처음부터 실패하면 CommonCodeService가 캐시/DB 경로 사용)
+ *
+ * @author nsustest
+ */
+@Service
+public class CodeSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodeSnapshotService.class);
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Value("${common-code.snapshot.enabled:true}")
+    private boolean enabled;
+
+    private volatile CodeSnapshot snapshot = CodeSnapshot.empty();
+
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.error("공통코드 스냅샷 초기 로드 실패, 캐시/DB 조회 경로 사용: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 현재 스냅샷 (로드 전이거나 비활성화면 빈 스냅샷)
+     */
+    public CodeSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * 버전 표식이 바뀌었으면 스냅샷 다시 만들기
+     */
+    @Scheduled(fixedDelayString = "${common-code.snapshot.poll-interval-ms:30000}",
+               initialDelayString = "${common-code.snapshot.poll-interval-ms:30000}")
+    public void refreshIfChanged() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String version = loginDao.selectCodeVersion();
+            if (!Objects.equals(version, snapshot.getVersion())) {
+                load(version);
+            }
+        } catch (Exception e) {
+            logger.warn("공통코드 스냅샷 갱신 확인 실패, 이전 스냅샷 유지: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 버전과 관계없이 스냅샷 다시 만들기 (캐시 초기화 시)
+     */
+    public void reload() {
+        if (enabled) {
+            load(loginDao.selectCodeVersion());
+        }
+    }
+
+    // ==================== 내부 처리 ====================
+
+    /**
+     * 전체 데이터를 읽어 새 스냅샷으로 교체
+     * 버전을 데이터보다 먼저 읽으므로, 읽는 도중 바뀐 데이터는 다음 확인에서 다시 반영됩니다.
+     */
+    private synchronized void load(String version) {
+        long start = System.currentTimeMillis();
+        CodeSnapshot loaded = CodeSnapshot.build(version,
+                loginDao.selectAllCommonCodeGroups(),
+                loginDao.selectAllCommonCodes(),
+                loginDao.selectAllMessageCodes());
+        snapshot = loaded;
+        logger.info("공통코드 스냅샷 로드 완료 - {}, 소요: {}ms", loaded.getSummary(), System.currentTimeMillis() - start);
+    }
+}
@@ -1,38 +1,276 @@
 package com.nsustest.loginAuth.service;
 
 import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.util.CodeGroup;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 /**
  * 공통코드 및 메시지 코드 서비스
- * Redis 캐시를 활용한 공통코드 관리
+ * 
+ * 시작 시 로드한 전체 스냅샷(CodeSnapshotService)에서 먼저 조회하고,
+ * 스냅샷에 없으면(로드 실패, 로드 이후 추가된 코드) 2단계 캐시로 조회합니다.
+ * - 스냅샷: 읽기 전용 맵, volatile 참조 하나를 읽으므로 잠금 없음
+ * - L1: 노드별 메모리 맵 (최대 크기/TTL)
+ * - L2: Redis (CacheService)
+ * - 캐시 초기화 시 L2 세대 번호를 올리고 pub/sub으로 모든 노드의 L1과 세대 번호를 무효화, 스냅샷도 다시 로드
+ * 
+ * L1에 저장한 값은 여러 요청이 공유하므로 읽기 전용으로 반환합니다.
+ * 
+ * 캐시 초기화/만료 직후 같은 키를 동시에 조회해도 DB에 몰리지 않도록
+ * - 키별 단일 로드(single-flight): 한 요청만 L2 → DB를 읽고 나머지는 그 결과를 기다림
+ * - 조기 갱신(XFetch): 만료가 가까워질수록 높은 확률로 한 요청이 미리 다시 읽음 (로드가 오래 걸린 키일수록 일찍)
+ * - 없는 코드도 짧은 TTL로 L1에 저장 (반복되는 잘못된 코드 조회가 매번 DB로 가지 않음)
+ * 공통코드는 그룹 단위 인덱스(CodeGroup)로 저장하여 코드 단건을 목록 검색 없이 찾습니다.
  * 
  * @author nsustest
  */
 @Service
-public class CommonCodeService {
+public class CommonCodeService implements MessageListener {
     
     private static final Logger logger = LoggerFactory.getLogger(CommonCodeService.class);
     
+    static final String INVALIDATION_CHANNEL = "common:code:invalidate";
+    
+    // 무효화 범위 (pub/sub 메시지 본문)
+    static final String SCOPE_COMMON = "common";
+    static final String SCOPE_MESSAGE = "message";
+    static final String SCOPE_ALL = "all";
+    
+    // L1 키 접두사 (무효화 범위별)
+    private static final String L1_GROUP = "common:group:";
+    private static final String L1_LIST = "common:list:";
+    private static final String L1_CODE = "common:code:";
+    private static final String L1_MESSAGE = "message:code:";
+    private static final String L1_MESSAGE_TYPE = "message:type:";
+    
     @Autowired
     private CacheService cacheService;
     
     @Autowired
     private LoginDao loginDao;
     
+    @Autowired
+    private CodeSnapshotService codeSnapshotService;
+    
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+    
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+    
+    @Value("${common-code.l1.enabled:true}")
+    private boolean l1Enabled;
+    
+    @Value("${common-code.l1.max-size:5000}")
+    private int l1MaxSize;
+    
+    @Value("${common-code.l1.ttl-ms:300000}")
+    private long l1TtlMs;
+    
+    @Value("${common-code.l1.negative-ttl-ms:30000}")
+    private long l1NegativeTtlMs;
+    
+    @Value("${common-code.l1.xfetch-beta:1.0}")
+    private double xfetchBeta;
+    
+    @Value("${common-code.single-flight.wait-ms:3000}")
+    private long singleFlightWaitMs;
+    
+    // 없는 코드 표시 (L1 값으로 null 대신 저장)
+    private static final Object MISSING = new Object();
+    
+    private final Map<String, CachedCode> l1 = new ConcurrentHashMap<>();
+    
+    // 키별 진행 중인 로드
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    
+    // 무효화가 일어날 때마다 증가, 조회 도중 무효화된 값이 L1에 다시 들어가지 않도록 비교
+    private final AtomicLong invalidationSeq = new AtomicLong();
+    
+    // 통계
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l1Misses = new LongAdder();
+    private final LongAdder l1NegativeHits = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+    
+    /**
+     * L1 항목
+     * 
+     * @param value 읽기 전용 값 (없는 코드는 MISSING)
+     * @param expiresAtNanos 만료 시각 (System.nanoTime 기준)
+     * @param loadNanos 로드에 걸린 시간 (XFetch 조기 갱신 간격 계산용)
+     */
+    private record CachedCode(Object value, long expiresAtNanos, long loadNanos) {
+    }
+    
+    @PostConstruct
+    public void subscribe() {
+        if (l1Enabled) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        }
+    }
+    
     /**
-     * 공통코드 그룹 정보 조회 (캐시 우선)
+     * 공통코드 그룹 정보 조회 (L1 → L2 → DB)
      * 
      * @param grpCd 그룹 코드
-     * @return 그룹 정보
+     * @return 그룹 정보 (읽기 전용)
      */
     public Map<String, Object> getCommonCodeGroup(String grpCd) {
+        Map<String, Object> group = codeSnapshotService.current().getGroup(grpCd);
+        if (group != null) {
+            return group;
+        }
+        return cached(L1_GROUP + grpCd, () -> loadCommonCodeGroup(grpCd));
+    }
+    
+    /**
+     * 특정 공통코드 조회 (스냅샷/L1 그룹 인덱스 → L2 해시 필드 → 그룹 전체 로드)
+     * 
+     * @param grpCd 그룹 코드
+     * @param cd 코드
+     * @return 코드 정보 (읽기 전용)
+     */
+    public Map<String, Object> getCommonCode(String grpCd, String cd) {
+        Map<String, Object> code = codeSnapshotService.current().getCode(grpCd, cd);
+        if (code != null) {
+            return code;
+        }
+        CodeGroup group = peekL1(L1_LIST + grpCd);
+        if (group != null) {
+            return group.get(cd);
+        }
+        return cached(L1_CODE + grpCd + ":" + cd, () -> loadCommonCode(grpCd, cd));
+    }
+    
+    /**
+     * 그룹별 공통코드 목록 조회 (L1 → L2 → DB)
+     * 
+     * @param grpCd 그룹 코드
+     * @return 코드 목록, 정렬 순서 (읽기 전용)
+     */
+    public List<Map<String, Object>> getCommonCodeList(String grpCd) {
+        List<Map<String, Object>> codeList = codeSnapshotService.current().getCodeList(grpCd);
+        if (codeList != null) {
+            return codeList;
+        }
+        CodeGroup group = getCodeGroup(grpCd);
+        return group != null ? group.codes() : List.of();
+    }
+    
+    /**
+     * 메시지 코드 조회 (L1 → L2 → DB)
+     * 
+     * @param msgCd 메시지 코드
+     * @return 메시지 정보 (읽기 전용)
+     */
+    public Map<String, Object> getMessageCode(String msgCd) {
+        Map<String, Object> message = codeSnapshotService.current().getMessage(msgCd);
+        if (message != null) {
+            return message;
+        }
+        return cached(L1_MESSAGE + msgCd, () -> loadMessageCode(msgCd));
+    }
+    
+    /**
+     * 타입별 메시지 목록 조회 (L1 → L2 → DB)
+     * 
+     * @param msgTpCd 메시지 타입 코드
+     * @return 메시지 목록 (읽기 전용)
+     */
+    public List<Map<String, Object>> getMessageListByType(String msgTpCd) {
+        List<Map<String, Object>> messageList = codeSnapshotService.current().getMessagesByType(msgTpCd);
+        if (messageList != null) {
+            return messageList;
+        }
+        return cached(L1_MESSAGE_TYPE + msgTpCd, () -> loadMessageListByType(msgTpCd));
+    }
+    
+    /**
+     * 공통코드 캐시 초기화 (L2 세대 번호 증가 후 모든 노드의 L1 무효화)
+     */
+    public void refreshCommonCodeCache() {
+        cacheService.clearCommonCodeCache();
+        invalidate(SCOPE_COMMON);
+        logger.info("공통코드 캐시 초기화 완료");
+    }
+    
+    /**
+     * 메시지 코드 캐시 초기화 (L2 세대 번호 증가 후 모든 노드의 L1 무효화)
+     */
+    public void refreshMessageCodeCache() {
+        cacheService.clearMessageCodeCache();
+        invalidate(SCOPE_MESSAGE);
+        logger.info("메시지 코드 캐시 초기화 완료");
+    }
+    
+    /**
+     * 전체 캐시 초기화 (L2 세대 번호 증가 후 모든 노드의 L1 무효화)
+     */
+    public void refreshAllCache() {
+        cacheService.clearAllCache();
+        invalidate(SCOPE_ALL);
+        logger.info("전체 캐시 초기화 완료");
+    }
+    
+    /**
+     * 다른 노드의 L1 무효화 메시지 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 스냅샷 요약 및 L1 캐시 통계
+     */
+    public Map<String, Object> getStats() {
+        long hits = l1Hits.sum();
+        long misses = l1Misses.sum();
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("snapshot", codeSnapshotService.current().getSummary());
+        stats.put("l1Size", l1.size());
+        stats.put("l1Hits", hits);
+        stats.put("l1Misses", misses);
+        stats.put("l1HitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0.0);
+        stats.put("l1NegativeHits", l1NegativeHits.sum());
+        stats.put("coalescedLoads", coalescedLoads.sum());
+        stats.put("earlyRefreshes", earlyRefreshes.sum());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+    
+    // ==================== 내부 처리 ====================
+    
+    private Map<String, Object> loadCommonCodeGroup(String grpCd) {
         // 1. 캐시에서 조회
         Object cached = cacheService.getCommonCodeGroup(grpCd);
         if (cached != null) {
@@ -53,36 +291,18 @@ public class CommonCodeService {
     }
     
     /**
-     * 특정 공통코드 조회 (목록에서 필터링)
-     * 
-     * @param grpCd 그룹 코드
-     * @param cd 코드
-     * @return 코드 정보
+     * 그룹 인덱스 조회 (L1 → L2 → DB), 그룹 단위로 한 번만 만듦
      */
-    public Map<String, Object> getCommonCode(String grpCd, String cd) {
-        // 목록에서 해당 코드 검색
-        List<Map<String, Object>> codeList = getCommonCodeList(grpCd);
-        if (codeList != null) {
-            return codeList.stream()
-                    .filter(code -> cd.equals(code.get("cd")))
-                    .findFirst()
-                    .orElse(null);
-        }
-        return null;
+    private CodeGroup getCodeGroup(String grpCd) {
+        return cached(L1_LIST + grpCd, () -> loadCodeGroup(grpCd));
     }
     
-    /**
-     * 그룹별 공통코드 목록 조회 (캐시 우선)
-     * 
-     * @param grpCd 그룹 코드
-     * @return 코드 목록
-     */
-    public List<Map<String, Object>> getCommonCodeList(String grpCd) {
+    private CodeGroup loadCodeGroup(String grpCd) {
         // 1. 캐시에서 조회
         List<Object> cached = cacheService.getCommonCodeList(grpCd);
         if (cached != null) {
             logger.debug("공통코드 목록 캐시 HIT: {}", grpCd);
-            return (List<Map<String, Object>>) (List<?>) cached;
+            return CodeGroup.of((List<Map<String, Object>>) (List<?>) cached);
         }
         
         // 2. DB에서 조회
@@ -90,20 +310,28 @@ public class CommonCodeService {
         List<Map<String, Object>> codeList = loginDao.selectCommonCodeList(grpCd);
         
         // 3. 캐시에 저장
-        if (codeList != null && !codeList.isEmpty()) {
-            cacheService.setCommonCodeList(grpCd, (List<Object>) (List<?>) codeList);
+        if (codeList == null || codeList.isEmpty()) {
+            return null;
         }
-        
-        return codeList;
+        cacheService.setCommonCodeList(grpCd, (List<Object>) (List<?>) codeList);
+        return CodeGroup.of(codeList);
     }
     
     /**
-     * 메시지 코드 조회 (캐시 우선)
-     * 
-     * @param msgCd 메시지 코드
-     * @return 메시지 정보
+     * 코드 단건 로드: L2 해시에서 필드 하나만 읽고, 그룹이 캐시에 없으면 그룹 전체를 로드
+     * (L2 해시는 항상 그룹 전체로 저장하여 목록 조회 시 일부만 읽히지 않도록 함)
      */
-    public Map<String, Object> getMessageCode(String msgCd) {
+    private Map<String, Object> loadCommonCode(String grpCd, String cd) {
+        Object cached = cacheService.getCommonCode(grpCd, cd);
+        if (cached != null) {
+            logger.debug("공통코드 캐시 HIT: {}:{}", grpCd, cd);
+            return (Map<String, Object>) cached;
+        }
+        CodeGroup group = getCodeGroup(grpCd);
+        return group != null ? group.get(cd) : null;
+    }
+    
+    private Map<String, Object> loadMessageCode(String msgCd) {
         // 1. 캐시에서 조회
         Object cached = cacheService.getMessageCode(msgCd);
         if (cached != null) {
@@ -123,13 +351,7 @@ public class CommonCodeService {
         return messageInfo;
     }
     
-    /**
-     * 타입별 메시지 목록 조회 (캐시 우선)
-     * 
-     * @param msgTpCd 메시지 타입 코드
-     * @return 메시지 목록
-     */
-    public List<Map<String, Object>> getMessageListByType(String msgTpCd) {
+    private List<Map<String, Object>> loadMessageListByType(String msgTpCd) {
         // 1. 캐시에서 조회
         List<Object> cached = cacheService.getMessageListByType(msgTpCd);
         if (cached != null) {
@@ -150,26 +372,202 @@ public class CommonCodeService {
     }
     
     /**
-     * 공통코드 캐시 초기화
+     * L1 조회, 없거나 만료되었으면 loader(L2 → DB)로 읽어 저장
+     * 같은 키의 로드는 한 번만 실행하고, 만료 전이라도 XFetch 확률에 따라 한 요청이 미리 갱신
      */
-    public void refreshCommonCodeCache() {
-        cacheService.clearCommonCodeCache();
-        logger.info("공통코드 캐시 초기화 완료");
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> loader) {
+        if (!l1Enabled) {
+            return (T) load(key, loader);
+        }
+        
+        CachedCode cached = l1.get(key);
+        long now = System.nanoTime();
+        if (cached != null && cached.expiresAtNanos() - now > 0) {
+            l1Hits.increment();
+            if (cached.value() == MISSING) {
+                l1NegativeHits.increment();
+            } else if (shouldRefreshEarly(cached, now)) {
+                return (T) refreshEarly(key, loader, cached);
+            }
+            return (T) unwrap(cached.value());
+        }
+        
+        l1Misses.increment();
+        return (T) load(key, loader);
     }
     
     /**
-     * 메시지 코드 캐시 초기화
+     * L1에 있는 값만 조회 (없으면 로드하지 않고 null)
      */
-    public void refreshMessageCodeCache() {
-        cacheService.clearMessageCodeCache();
-        logger.info("메시지 코드 캐시 초기화 완료");
+    @SuppressWarnings("unchecked")
+    private <T> T peekL1(String key) {
+        if (!l1Enabled) {
+            return null;
+        }
+        CachedCode cached = l1.get(key);
+        if (cached != null && cached.expiresAtNanos() - System.nanoTime() > 0) {
+            l1Hits.increment();
+            return (T) unwrap(cached.value());
+        }
+        return null;
     }
     
     /**
-     * 전체 캐시 초기화
+     * 키별 단일 로드: 진행 중인 로드가 있으면 그 결과를 기다리고, 없으면 직접 로드
      */
-    public void refreshAllCache() {
-        cacheService.clearAllCache();
-        logger.info("전체 캐시 초기화 완료");
+    private Object load(String key, Supplier<?> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            return lead(key, loader, flight);
+        }
+        coalescedLoads.increment();
+        return await(key, loader, existing);
+    }
+    
+    /**
+     * XFetch 조기 갱신: 이미 다른 요청이 갱신 중이거나 갱신에 실패하면 현재 값을 그대로 반환
+     * (아직 만료되지 않은 값이 있으므로 조기 갱신 실패를 호출자에게 오류로 돌려주지 않음)
+     */
+    private Object refreshEarly(String key, Supplier<?> loader, CachedCode current) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, flight) != null) {
+            return unwrap(current.value());
+        }
+        earlyRefreshes.increment();
+        try {
+            return lead(key, loader, flight);
+        } catch (RuntimeException e) {
+            logger.warn("공통코드 조기 갱신 실패, 현재 값 사용 - key: {}, 원인: {}", key, e.getMessage());
+            return unwrap(current.value());
+        }
+    }
+    
+    /**
+     * 로드 실행 후 L1 저장, 기다리는 요청에 결과 전달
+     */
+    private Object lead(String key, Supplier<?> loader, CompletableFuture<Object> flight) {
+        try {
+            long seq = invalidationSeq.get();
+            long start = System.nanoTime();
+            Object value = readOnly(loader.get());
+            if (l1Enabled) {
+                putL1(key, value, System.nanoTime() - start, seq);
+            }
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    /**
+     * 진행 중인 로드 결과 대기, 제한 시간을 넘기면 직접 로드
+     */
+    private Object await(String key, Supplier<?> loader, CompletableFuture<Object> flight) {
+        try {
+            return flight.get(singleFlightWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("공통코드 로드 대기 시간 초과, 직접 조회 - key: {}", key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return readOnly(loader.get());
+    }
+    
+    /**
+     * XFetch: 남은 시간이 (로드 시간 × beta × 지수분포 난수)보다 짧으면 갱신
+     * 로드가 오래 걸린 키일수록, 만료가 가까울수록 갱신 확률이 높아져 동시에 만료되지 않음
+     */
+    private boolean shouldRefreshEarly(CachedCode cached, long now) {
+        if (xfetchBeta <= 0) {
+            return false;
+        }
+        double gap = cached.loadNanos() * xfetchBeta * -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return cached.expiresAtNanos() - now <= gap;
+    }
+    
+    private static Object unwrap(Object value) {
+        return value == MISSING ? null : value;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T readOnly(T value) {
+        if (value instanceof List<?> list) {
+            return (T) list.stream()
+                    .map(item -> item instanceof Map<?, ?> map ? Collections.unmodifiableMap(map) : item)
+                    .toList();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return (T) Collections.unmodifiableMap(map);
+        }
+        return value;
+    }
+    
+    /**
+     * L1 저장 (조회 시작 후 무효화가 있었으면 저장하지 않음)
+     * 없는 코드는 짧은 TTL로 저장, 최대 크기를 넘으면 임의의 항목을 제거 (만료된 항목 우선)
+     */
+    private void putL1(String key, Object value, long loadNanos, long seq) {
+        if (invalidationSeq.get() != seq) {
+            return;
+        }
+        if (l1.size() >= l1MaxSize) {
+            evictL1();
+        }
+        long ttlMs = value != null ? l1TtlMs : l1NegativeTtlMs;
+        l1.put(key, new CachedCode(value != null ? value : MISSING,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMs), loadNanos));
+    }
+    
+    private void evictL1() {
+        long now = System.nanoTime();
+        l1.values().removeIf(entry -> entry.expiresAtNanos() - now <= 0);
+        
+        Iterator<String> it = l1.keySet().iterator();
+        while (l1.size() >= l1MaxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+    
+    /**
+     * 이 노드의 L1을 비우고 다른 노드에 무효화 전파
+     */
+    private void invalidate(String scope) {
+        invalidateLocal(scope);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, scope);
+        } catch (Exception e) {
+            logger.warn("공통코드 L1 캐시 무효화 전파 실패 - scope: {}, {}", scope, e.getMessage());
+        }
+    }
+    
+    private void invalidateLocal(String scope) {
+        invalidationSeq.incrementAndGet();
+        switch (scope) {
+            case SCOPE_COMMON -> l1.keySet().removeIf(key -> key.startsWith("common:"));
+            case SCOPE_MESSAGE -> l1.keySet().removeIf(key -> key.startsWith("message:"));
+            case SCOPE_ALL -> l1.clear();
+            default -> {
+                logger.warn("잘못된 공통코드 캐시 무효화 메시지: {}", scope);
+                return;
+            }
+        }
+        cacheService.forgetGenerations();
+        try {
+            codeSnapshotService.reload();
+        } catch (Exception e) {
+            logger.warn("공통코드 스냅샷 다시 로드 실패, 다음 버전 확인 시 재시도: {}", e.getMessage());
+        }
     }
 }
@@ -0,0 +1,381 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.KeyRange;
+import com.nsustest.loginAuth.model.PurgeRunStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 대용량 테이블 정리 서비스
+ *
+ * 파티션 DROP으로 정리할 수 없는 테이블(user_sessions: 만료 시각이 행마다 다름)에 사용합니다.
+ * 한 번의 DELETE로 오래된 행을 지우면 잠금이 길어지고 undo 로그와 복제 지연이 커지므로,
+ * 기본 키 구간(batch-size)씩 나누어 짧은 DELETE를 반복합니다.
+ *
+ * - 속도 제한: 초당 삭제 행 수(max-rows-per-second)를 넘지 않도록 청크 사이에 대기
+ * - 시간 제한: 한 번 실행은 max-run-minutes까지, 남은 구간은 다음 실행에서 이어서 처리
+ * - 실행 시간대: window-start-hour ~ window-end-hour(서버 시간) 밖에서는 시작하지 않고, 진행 중이면 중단
+ * - 적응형 청크: 한 청크가 max-chunk-ms를 넘으면 다음 청크 구간을 절반으로 줄임
+ * - 일시 정지/재개, 작업별 마지막 실행 결과 조회 (관리자 API)
+ *   일시 정지 여부는 공유 값(ClusterLeaseService)이라 어느 인스턴스에 요청해도 실행 중인 인스턴스가 청크마다 확인
+ * - 클러스터 실행: 작업(슬라이스)별 임대(ClusterLeaseService)를 얻은 인스턴스만 실행, 임대를 잃으면 현재 청크 후 중단
+ * - 슬라이스 분할(slices > 1): 키 범위를 slices개로 나누어 인스턴스들이 빈 슬라이스를 하나씩 가져가 병렬 처리
+ *   (나누는 기준 범위는 먼저 시작한 인스턴스가 정한 값을 공유)
+ *
+ * 이어서 처리할 키도 공유 값으로 저장하므로, 다른 인스턴스가 다음 실행을 맡아도 남은 구간부터 이어서 처리합니다.
+ * Redis에 연결할 수 없으면 두 값 모두 이 인스턴스 메모리의 값을 사용합니다.
+ *
+ * @author nsustest
+ */
+@Service
+public class DataPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataPurgeService.class);
+
+    public static final String JOB_SESSIONS = "user_sessions";
+
+    private static final String LEASE_PREFIX = "purge:";
+
+    // 공유 값 이름 (일시 정지 여부, 작업별 이어서 처리할 키)
+    private static final String PAUSED_KEY = LEASE_PREFIX + "paused";
+    private static final String CURSOR_PREFIX = LEASE_PREFIX + "cursor:";
+
+    private static final int MIN_BATCH_SIZE = 100;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    /**
+     * 기본 키 구간 단위 삭제 작업
+     */
+    interface ChunkedDelete {
+
+        /**
+         * 이번 실행에서 탐색할 키 범위
+         */
+        KeyRange keyRange();
+
+        /**
+         * (fromKey, toKey] 구간에서 정리 대상 삭제
+         *
+         * @return 삭제된 행 수
+         */
+        int deleteRange(long fromKey, long toKey);
+    }
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private ClusterLeaseService clusterLeaseService;
+
+    @Value("${cleanup.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${cleanup.purge.max-rows-per-second:2000}")
+    private int maxRowsPerSecond;
+
+    @Value("${cleanup.purge.max-run-minutes:30}")
+    private long maxRunMinutes;
+
+    @Value("${cleanup.purge.max-chunk-ms:500}")
+    private long maxChunkMs;
+
+    @Value("${cleanup.purge.window-start-hour:1}")
+    private int windowStartHour;
+
+    @Value("${cleanup.purge.window-end-hour:6}")
+    private int windowEndHour;
+
+    @Value("${cleanup.purge.slices:1}")
+    private int slices;
+
+    @Value("${cleanup.session.retention-days:7}")
+    private int sessionRetentionDays;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    // 이 인스턴스에서 요청한 일시 정지 (공유 값을 읽을 수 없을 때 사용)
+    private final AtomicBoolean paused = new AtomicBoolean(false);
+
+    // 이 인스턴스가 마지막으로 남긴 작업별 이어서 처리할 키 (공유 값을 읽을 수 없을 때 사용)
+    private final Map<String, Long> cursors = new ConcurrentHashMap<>();
+
+    private final Map<String, PurgeRunStats> lastRuns = new ConcurrentHashMap<>();
+
+    /**
+     * 만료된 세션 및 종료 후 보관 기간이 지난 세션 정리
+     *
+     * @return 이 인스턴스가 실행한 슬라이스별 결과 (다른 인스턴스가 실행 중이면 비어 있음)
+     */
+    public List<PurgeRunStats> purgeExpiredSessions() {
+        Date logoutCutoff = new Date(clock.millis() - sessionRetentionDays * DAY_MS);
+        return runSliced(JOB_SESSIONS, new ChunkedDelete() {
+            @Override
+            public KeyRange keyRange() {
+                return loginDao.selectSessionKeyRange();
+            }
+
+            @Override
+            public int deleteRange(long fromKey, long toKey) {
+                return loginDao.purgeSessionsInRange(fromKey, toKey, logoutCutoff);
+            }
+        });
+    }
+
+    /**
+     * 정리 작업 일시 정지 (모든 인스턴스에 적용, 진행 중인 작업은 현재 청크 후 중단)
+     */
+    public void pause() {
+        paused.set(true);
+        clusterLeaseService.putShared(PAUSED_KEY, "1");
+        logger.info("데이터 정리 작업 일시 정지");
+    }
+
+    /**
+     * 정리 작업 재개 (다음 예약 실행부터 남은 구간을 이어서 처리)
+     */
+    public void resume() {
+        paused.set(false);
+        clusterLeaseService.putShared(PAUSED_KEY, null);
+        logger.info("데이터 정리 작업 재개");
+    }
+
+    public boolean isPaused() {
+        return "1".equals(clusterLeaseService.getShared(PAUSED_KEY, paused.get() ? "1" : null));
+    }
+
+    /**
+     * 정리 작업 상태 조회
+     *
+     * @return 일시 정지 여부, 작업별 이어서 처리할 키와 마지막 실행 결과
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("paused", isPaused());
+        stats.put("window", windowStartHour + "-" + windowEndHour);
+        stats.put("slices", Math.max(1, slices));
+        stats.put("instanceId", clusterLeaseService.getInstanceId());
+        stats.put("leases", clusterLeaseService.getHeldLeases());
+        stats.put("cursors", new LinkedHashMap<>(cursors));
+        stats.put("lastRuns", new LinkedHashMap<>(lastRuns));
+        return stats;
+    }
+
+    // ==================== 내부 처리 ====================
+
+    /**
+     * 임대를 얻은 슬라이스만 실행
+     * 슬라이스가 하나면 작업 이름으로 임대를 얻고, 여러 개면 공유한 키 범위를 나누어 슬라이스마다 임대를 시도합니다.
+     */
+    List<PurgeRunStats> runSliced(String job, ChunkedDelete delete) {
+        List<PurgeRunStats> results = new ArrayList<>();
+        if (slices <= 1) {
+            try (ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire(LEASE_PREFIX + job)) {
+                if (lease != null) {
+                    results.add(run(job, delete, lease));
+                }
+            }
+            return results;
+        }
+
+        KeyRange plan = planSlices(job, delete);
+        if (plan == null || plan.isEmpty()) {
+            return results;
+        }
+
+        long width = (plan.maxKey() - plan.minKey()) / slices + 1;
+        for (int i = 0; i < slices; i++) {
+            long from = plan.minKey() + i * width;
+            if (from > plan.maxKey()) {
+                break;
+            }
+            KeyRange sliceRange = new KeyRange(from, Math.min(plan.maxKey(), from + width - 1));
+            String name = job + "#" + i;
+            try (ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire(LEASE_PREFIX + name)) {
+                if (lease != null) {
+                    results.add(run(name, fixedRange(delete, sliceRange), lease));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 슬라이스로 나눌 키 범위 (먼저 시작한 인스턴스의 범위를 사용해 인스턴스마다 경계가 달라지지 않게 함)
+     */
+    private KeyRange planSlices(String job, ChunkedDelete delete) {
+        try {
+            KeyRange range = delete.keyRange();
+            if (range == null || range.isEmpty()) {
+                return null;
+            }
+            String agreed = clusterLeaseService.share(LEASE_PREFIX + job,
+                    range.minKey() + ":" + range.maxKey(), maxRunMinutes * slices * 60_000L);
+            int sep = agreed.indexOf(':');
+            return new KeyRange(Long.parseLong(agreed.substring(0, sep)), Long.parseLong(agreed.substring(sep + 1)));
+        } catch (Exception e) {
+            logger.error("데이터 정리 슬라이스 계획 실패 - job: {}, 원인: {}", job, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private static ChunkedDelete fixedRange(ChunkedDelete delete, KeyRange range) {
+        return new ChunkedDelete() {
+            @Override
+            public KeyRange keyRange() {
+                return range;
+            }
+
+            @Override
+            public int deleteRange(long fromKey, long toKey) {
+                return delete.deleteRange(fromKey, toKey);
+            }
+        };
+    }
+
+    synchronized PurgeRunStats run(String job, ChunkedDelete delete, ClusterLeaseService.Lease lease) {
+        long start = clock.millis();
+        long deadline = start + maxRunMinutes * 60_000L;
+        int chunks = 0;
+        long deleted = 0;
+        long lastKey = loadCursor(job);
+        String stopReason;
+
+        try {
+            KeyRange range = delete.keyRange();
+            if (range == null || range.isEmpty()) {
+                saveCursor(job, null);
+                return record(job, start, chunks, deleted, lastKey, "COMPLETED");
+            }
+
+            // 이전 실행에서 남은 키가 범위 안이면 그 키부터, 아니면 범위 처음부터
+            long fromKey = lastKey >= range.minKey() && lastKey < range.maxKey() ? lastKey : range.minKey() - 1;
+            int chunkSize = Math.max(MIN_BATCH_SIZE, batchSize);
+
+            while (true) {
+                if (fromKey >= range.maxKey()) {
+                    stopReason = "COMPLETED";
+                    break;
+                }
+                if (!lease.isHeld()) {
+                    stopReason = "LEASE_LOST";
+                    break;
+                }
+                if (isPaused()) {
+                    stopReason = "PAUSED";
+                    break;
+                }
+                if (!isInWindow()) {
+                    stopReason = "OUTSIDE_WINDOW";
+                    break;
+                }
+                if (clock.millis() >= deadline) {
+                    stopReason = "TIME_LIMIT";
+                    break;
+                }
+
+                long toKey = Math.min(fromKey + chunkSize, range.maxKey());
+                long chunkStart = clock.millis();
+                deleted += delete.deleteRange(fromKey, toKey);
+                long chunkMs = clock.millis() - chunkStart;
+                chunks++;
+                fromKey = toKey;
+                lastKey = toKey;
+
+                // 청크가 오래 걸리면 잠금 시간을 줄이기 위해 구간 축소, 빠르면 원래 크기로 회복
+                if (chunkMs > maxChunkMs) {
+                    chunkSize = Math.max(MIN_BATCH_SIZE, chunkSize / 2);
+                } else if (chunkSize < batchSize) {
+                    chunkSize = Math.min(batchSize, chunkSize * 2);
+                }
+
+                throttle(start, deleted);
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopReason = "INTERRUPTED";
+        } catch (Exception e) {
+            logger.error("데이터 정리 중 오류 - job: {}, lastKey: {}, 원인: {}", job, lastKey, e.getMessage(), e);
+            stopReason = "ERROR";
+        }
+
+        saveCursor(job, "COMPLETED".equals(stopReason) ? null : lastKey);
+        return record(job, start, chunks, deleted, lastKey, stopReason);
+    }
+
+    /**
+     * 이어서 처리할 키 (공유 값, 읽을 수 없으면 이 인스턴스가 남긴 값)
+     */
+    private long loadCursor(String job) {
+        Long local = cursors.get(job);
+        String shared = clusterLeaseService.getShared(CURSOR_PREFIX + job, local != null ? String.valueOf(local) : null);
+        try {
+            return shared != null ? Long.parseLong(shared) : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * 이어서 처리할 키 저장 (null이면 완료로 삭제)
+     */
+    private void saveCursor(String job, Long lastKey) {
+        if (lastKey == null) {
+            cursors.remove(job);
+        } else {
+            cursors.put(job, lastKey);
+        }
+        clusterLeaseService.putShared(CURSOR_PREFIX + job, lastKey != null ? String.valueOf(lastKey) : null);
+    }
+
+    /**
+     * 누적 삭제 행 수가 초당 상한을 넘지 않도록 대기
+     */
+    private void throttle(long start, long deleted) throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long expectedMs = deleted * 1000 / maxRowsPerSecond;
+        long waitMs = expectedMs - (clock.millis() - start);
+        if (waitMs > 0) {
+            Thread.sleep(waitMs);
+        }
+    }
+
+    /**
+     * 실행 시간대 확인 (종료 시각이 시작 시각보다 작으면 자정을 넘는 구간)
+     */
+    private boolean isInWindow() {
+        if (windowStartHour == windowEndHour) {
+            return true;
+        }
+        int hour = LocalTime.now(clock).getHour();
+        if (windowStartHour < windowEndHour) {
+            return hour >= windowStartHour && hour < windowEndHour;
+        }
+        return hour >= windowStartHour || hour < windowEndHour;
+    }
+
+    private PurgeRunStats record(String job, long start, int chunks, long deleted, long lastKey, String stopReason) {
+        PurgeRunStats stats = new PurgeRunStats(job, new Date(start), clock.millis() - start, chunks, deleted,
+                lastKey, "COMPLETED".equals(stopReason), stopReason);
+        lastRuns.put(job, stats);
+        logger.info("데이터 정리 - job: {}, 삭제: {}, 청크: {}, 소요: {}ms, 결과: {}",
+                job, deleted, chunks, stats.durationMs(), stopReason);
+        return stats;
+    }
+}
@@ -0,0 +1,111 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.SessionEnd;
+import com.nsustest.loginAuth.model.UserSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MySQL 세션 저장소 (session.store=jdbc)
+ * 
+ * user_sessions 테이블에 활성 세션을 직접 저장합니다.
+ * 사용자별 조회/종료는 idx_user_sessions_usr_active_login (usr_id, is_active, login_dt),
+ * 세션 단위 처리는 uk_user_sessions_sid를 사용합니다.
+ * 
+ * 재발급 시 직전 다이제스트를 prev_refresh_token_hash에 남겨, 직전 토큰이 다시 제시되면
+ * 재사용으로 보고 세션을 종료합니다. (Redis 저장소와 달리 직전 한 세대만 감지)
+ * 
+ * @author nsustest
+ */
+@Service
+@ConditionalOnProperty(name = "session.store", havingValue = "jdbc")
+public class JdbcSessionStore implements SessionStore {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JdbcSessionStore.class);
+    
+    @Autowired
+    private LoginDao loginDao;
+    
+    @Override
+    @Transactional
+    public void add(UserSession session, int maxSessions) {
+        // 같은 사용자의 동시 로그인은 활성 세션 잠금으로 직렬화 (로그인 일시 오름차순)
+        List<UserSession> active = loginDao.lockActiveSessionsByUsrId(session.usrId());
+        
+        // 같은 기기의 기존 세션, 그다음 상한을 넘는 만큼 가장 오래된 세션 종료
+        Set<String> endSids = new LinkedHashSet<>();
+        for (UserSession existing : active) {
+            if (session.deviceId() != null && session.deviceId().equals(existing.deviceId())) {
+                endSids.add(existing.sid());
+            }
+        }
+        int limit = Math.max(1, maxSessions);
+        for (UserSession existing : active) {
+            if (active.size() - endSids.size() < limit) {
+                break;
+            }
+            endSids.add(existing.sid());
+        }
+        
+        Date now = new Date();
+        List<SessionEnd> ends = new ArrayList<>(endSids.size());
+        for (String sid : endSids) {
+            ends.add(new SessionEnd(sid, now));
+        }
+        if (!ends.isEmpty()) {
+            loginDao.endUserSessionsBatch(ends);
+        }
+        loginDao.insertUserSession(session);
+    }
+    
+    @Override
+    public boolean rotate(UserSession session, byte[] newRefreshTokenHash, Date newExpDt) {
+        if (loginDao.updateSessionRefreshToken(session.withRefreshToken(newRefreshTokenHash, newExpDt),
+                session.refreshTokenHash()) > 0) {
+            return true;
+        }
+        // 동시 재발급 등으로 이미 교체된 토큰이면 세션 종료
+        revokeIfReused(session.refreshTokenHash());
+        return false;
+    }
+    
+    @Override
+    public boolean revokeIfReused(byte[] refreshTokenHash) {
+        if (loginDao.endSessionsByPrevRefreshTokenHash(refreshTokenHash) == 0) {
+            return false;
+        }
+        logger.warn("Refresh Token 재사용 감지 - 세션 종료");
+        return true;
+    }
+    
+    @Override
+    public UserSession findByRefreshTokenHash(byte[] refreshTokenHash) {
+        return loginDao.findSessionByRefreshTokenHash(refreshTokenHash);
+    }
+    
+    @Override
+    public List<UserSession> findByUsrId(Long usrId) {
+        return loginDao.findActiveSessionsByUsrId(usrId);
+    }
+    
+    @Override
+    public boolean revoke(Long usrId, String sid) {
+        return loginDao.endSessionBySid(usrId, sid) > 0;
+    }
+    
+    @Override
+    public void revokeAll(Long usrId) {
+        loginDao.endActiveSessions(usrId);
+    }
+}
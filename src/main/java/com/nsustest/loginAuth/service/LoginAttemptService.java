@@ -0,0 +1,130 @@
+package com.nsustest.loginAuth.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IP별 로그인 실패 횟수 및 차단 상태 관리 서비스 (Redis 기반)
+ *
+ * login_history 집계 쿼리 대신 Redis 카운터와 TTL로 실패 횟수와 차단 기한을 관리합니다.
+ * 실패 기록(차단 여부 확인 + 증가 + 차단 설정)은 Lua 스크립트 한 번의 왕복으로 원자적으로 처리됩니다.
+ * login_history는 감사 로그 용도로만 남습니다.
+ *
+ * @author nsustest
+ */
+@Service
+public class LoginAttemptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    // Redis 키 접두사
+    private static final String FAIL_COUNT_PREFIX = "login_fail:";
+    private static final String BLOCK_PREFIX = "login_block:";
+
+    /**
+     * 실패 기록 스크립트
+     * KEYS[1]: 실패 카운터, KEYS[2]: 차단 키
+     * ARGV[1]: 카운터 윈도우(ms), ARGV[2]: 차단 임계치, ARGV[3]: 차단 시간(ms)
+     * 반환: {시도 횟수, 차단 남은 시간(ms, 차단 아니면 0)}
+     */
+    private static final RedisScript<List> RECORD_FAILURE_SCRIPT = RedisScript.of(
+            "local blockTtl = redis.call('PTTL', KEYS[2]) " +
+            "if blockTtl > 0 then " +
+            "  return {tonumber(redis.call('GET', KEYS[1]) or ARGV[2]), blockTtl} " +
+            "end " +
+            "local count = redis.call('INCR', KEYS[1]) " +
+            "if count == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end " +
+            "if count >= tonumber(ARGV[2]) then " +
+            "  redis.call('SET', KEYS[2], count, 'PX', ARGV[3]) " +
+            "  return {count, tonumber(ARGV[3])} " +
+            "end " +
+            "return {count, 0}",
+            List.class);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Value("${login.attempt.max-failures:5}")
+    private int maxFailures;
+
+    @Value("${login.attempt.window-ms:3600000}")
+    private long windowMs;
+
+    @Value("${login.attempt.block-ms:1800000}")
+    private long blockMs;
+
+    /**
+     * 로그인 실패 기록 결과
+     *
+     * @param attemptCnt 윈도우 내 실패 횟수
+     * @param blocked 차단 여부
+     * @param blockedUntilDt 차단 해제 시각 (차단이 아니면 null)
+     */
+    public record FailureResult(int attemptCnt, boolean blocked, Date blockedUntilDt) {
+    }
+
+    /**
+     * IP 차단 여부 확인
+     *
+     * @param ipAddr IP 주소
+     * @return true: 차단 중, false: 허용
+     */
+    public boolean isBlocked(String ipAddr) {
+        try {
+            Long ttl = stringRedisTemplate.getExpire(BLOCK_PREFIX + ipAddr, TimeUnit.MILLISECONDS);
+            return ttl != null && ttl > 0;
+        } catch (Exception e) {
+            // Redis 오류 시 안전하게 허용
+            logger.error("IP 차단 상태 확인 중 오류: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 로그인 실패 기록 (한 번의 스크립트 왕복)
+     *
+     * @param ipAddr IP 주소
+     * @return 실패 기록 결과
+     */
+    public FailureResult recordFailure(String ipAddr) {
+        try {
+            List<?> result = stringRedisTemplate.execute(
+                    RECORD_FAILURE_SCRIPT,
+                    List.of(FAIL_COUNT_PREFIX + ipAddr, BLOCK_PREFIX + ipAddr),
+                    String.valueOf(windowMs), String.valueOf(maxFailures), String.valueOf(blockMs));
+
+            int attemptCnt = ((Number) result.get(0)).intValue();
+            long blockTtl = ((Number) result.get(1)).longValue();
+            boolean blocked = blockTtl > 0;
+            Date blockedUntil = blocked ? new Date(System.currentTimeMillis() + blockTtl) : null;
+
+            return new FailureResult(attemptCnt, blocked, blockedUntil);
+
+        } catch (Exception e) {
+            logger.error("로그인 실패 기록 중 오류: {}", e.getMessage(), e);
+            return new FailureResult(0, false, null);
+        }
+    }
+
+    /**
+     * 로그인 성공 시 실패 카운터 및 차단 해제
+     *
+     * @param ipAddr IP 주소
+     */
+    public void reset(String ipAddr) {
+        try {
+            stringRedisTemplate.delete(List.of(FAIL_COUNT_PREFIX + ipAddr, BLOCK_PREFIX + ipAddr));
+        } catch (Exception e) {
+            logger.error("IP 차단 해제 중 오류: {}", e.getMessage(), e);
+        }
+    }
+}
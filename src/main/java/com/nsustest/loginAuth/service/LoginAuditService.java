@@ -0,0 +1,485 @@
+package com.nsustest.loginAuth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.LoginAuditEvent;
+import com.nsustest.loginAuth.model.UserStatsDelta;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 로그인 감사 이력 write-behind 서비스
+ *
+ * login_history / user_stats 저장을 요청 스레드에서 분리합니다.
+ * 이벤트는 로컬 저널 파일에 먼저 append된 뒤 메모리 큐에 적재되고,
+ * 백그라운드 flush가 다중 행 INSERT와 사용자별로 병합된 user_stats 증분으로 일괄 저장합니다.
+ *
+ * 저널은 세그먼트 단위로 관리됩니다. flush 시 큐를 비우면서 현재 세그먼트를 봉인하고,
+ * 봉인된 세그먼트의 이벤트가 모두 저장된 뒤에만 파일을 삭제하므로 비정상 종료 시에도
+ * 재시작 시 남은 세그먼트를 재생(replay)하여 유실 없이 저장합니다.
+ *
+ * 배치마다 login_history INSERT와 user_stats 증분을 한 트랜잭션으로 저장하고, 커밋된 배치는
+ * 바로 대기 목록에서 빠지며 실패 시 세그먼트 파일도 남은 이벤트만으로 다시 씁니다.
+ * 이벤트마다 event_id가 있어 커밋 후 저널 정리 전에 종료되어 다시 재생되더라도
+ * 이미 저장된 이벤트는 건너뛰고 통계도 새로 저장된 이벤트만 반영합니다.
+ * 같은 배치가 max-attempts번 연속 실패하면 이벤트를 하나씩 저장하고, 그래도 실패하는 이벤트는
+ * login_audit_dead_letter로 옮겨 나머지 이벤트 저장이 막히지 않도록 합니다.
+ *
+ * 큐가 가득 차면 호출 스레드가 직접 저장하는 방식으로 역압(backpressure)을 겁니다.
+ *
+ * @author nsustest
+ */
+@Service
+public class LoginAuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAuditService.class);
+
+    private static final String SEGMENT_PREFIX = "login-audit-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${login.audit.journal-dir:./data/audit}")
+    private String journalDir;
+
+    @Value("${login.audit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${login.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${login.audit.fsync:false}")
+    private boolean fsync;
+
+    @Value("${login.audit.max-attempts:5}")
+    private int maxAttempts;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 저널 append와 큐 적재, 세그먼트 봉인을 원자적으로 묶기 위한 락
+    private final Object journalLock = new Object();
+
+    private BlockingQueue<LoginAuditEvent> queue;
+    private FileOutputStream journalOut;
+    private long currentSegment;
+
+    // 봉인되었으나 아직 저장되지 않은 세그먼트 (flush 스레드 전용, 봉인 순서)
+    private final Deque<PendingSegment> pending = new ArrayDeque<>();
+    private volatile int pendingEvents;
+
+    /**
+     * 봉인된 세그먼트와 아직 저장되지 않은 이벤트
+     */
+    private static final class PendingSegment {
+        private final Path path;
+        private final List<LoginAuditEvent> events;
+        // 세그먼트 파일에 기록된 이벤트 수 (남은 이벤트가 더 적으면 파일을 다시 씀)
+        private int journaled;
+        // 맨 앞 배치의 연속 실패 횟수
+        private int failures;
+
+        private PendingSegment(Path path, List<LoginAuditEvent> events) {
+            this.path = path;
+            this.events = events;
+            this.journaled = events.size();
+        }
+    }
+
+    /**
+     * 저널 디렉토리 준비 및 미처리 세그먼트 재생
+     *
+     * @throws IOException 저널 디렉토리 접근 실패 시
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        Path dir = Paths.get(journalDir);
+        Files.createDirectories(dir);
+
+        // 이전 실행에서 저장되지 못한 세그먼트 재생 (이미 저장된 이벤트는 event_id로 건너뜀)
+        List<Path> leftovers = listSegments(dir);
+        for (Path segment : leftovers) {
+            addPending(segment, readSegment(segment));
+            currentSegment = Math.max(currentSegment, segmentNumber(segment));
+        }
+        if (pendingEvents > 0) {
+            logger.info("로그인 감사 저널 재생 - 세그먼트 수: {}, 이벤트 수: {}", leftovers.size(), pendingEvents);
+        }
+
+        openNextSegment();
+    }
+
+    /**
+     * 종료 시 남은 이벤트 저장
+     */
+    @PreDestroy
+    public void stop() {
+        flush();
+        synchronized (journalLock) {
+            closeQuietly();
+        }
+    }
+
+    /**
+     * 로그인 성공 이력 기록
+     *
+     * @param usrId 사용자 ID
+     * @param usrLoginId 로그인 아이디
+     * @param ipAddr IP 주소
+     * @param userAgent 사용자 에이전트
+     */
+    public void recordLoginSuccess(Long usrId, String usrLoginId, String ipAddr, String userAgent) {
+        enqueue(LoginAuditEvent.success(usrId, usrLoginId, ipAddr != null ? ipAddr : "127.0.0.1", userAgent));
+    }
+
+    /**
+     * 로그인 실패 이력 기록
+     *
+     * @param usrLoginId 로그인 아이디
+     * @param ipAddr IP 주소
+     * @param reason 실패 사유
+     * @param attemptCnt IP별 시도 횟수
+     * @param blocked 차단 여부
+     * @param blockedUntilDt 차단 해제 시각
+     */
+    public void recordLoginFailure(String usrLoginId, String ipAddr, String reason,
+                                   int attemptCnt, boolean blocked, Date blockedUntilDt) {
+        enqueue(LoginAuditEvent.failure(usrLoginId, ipAddr, reason, attemptCnt, blocked, blockedUntilDt));
+    }
+
+    /**
+     * 이벤트를 저널에 기록하고 큐에 적재
+     * 큐가 가득 찬 경우 호출 스레드에서 바로 저장 (역압)
+     */
+    private void enqueue(LoginAuditEvent event) {
+        synchronized (journalLock) {
+            // 큐 적재는 이 락 안에서만 일어나므로 여유 공간 확인 후 offer는 항상 성공
+            if (journalOut != null && queue.remainingCapacity() > 0) {
+                try {
+                    appendToJournal(event);
+                    queue.offer(event);
+                    return;
+                } catch (IOException e) {
+                    logger.warn("로그인 감사 저널 기록 실패, 직접 저장으로 전환: {}", e.getMessage());
+                }
+            }
+        }
+
+        try {
+            writeBatch(List.of(event));
+        } catch (Exception e) {
+            logger.warn("로그인 감사 이력 직접 저장 중 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 큐에 쌓인 이벤트 일괄 저장
+     *
+     * 이전 주기에 실패한 세그먼트가 있어도 새 이벤트는 계속 꺼내되,
+     * 재시도 대기 이벤트가 큐 용량만큼 쌓이면 꺼내지 않아 메모리 사용을 제한합니다 (이후는 큐가 차서 역압).
+     */
+    @Scheduled(fixedDelayString = "${login.audit.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (queue == null) {
+            return;
+        }
+
+        synchronized (journalLock) {
+            if (!queue.isEmpty() && pendingEvents < queueCapacity) {
+                List<LoginAuditEvent> drained = new ArrayList<>();
+                queue.drainTo(drained);
+                addPending(sealCurrentSegment(), drained);
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            PendingSegment segment = pending.peek();
+            if (!writeSegment(segment)) {
+                compactSegment(segment);
+                return;
+            }
+            pending.poll();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                logger.warn("로그인 감사 저널 세그먼트 삭제 실패: {}", segment.path, e);
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 이벤트 수 (큐 + 재시도 대기)
+     *
+     * @return 대기 이벤트 수
+     */
+    public int getBacklogSize() {
+        return (queue != null ? queue.size() : 0) + pendingEvents;
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private void addPending(Path segment, List<LoginAuditEvent> events) {
+        pending.add(new PendingSegment(segment, events));
+        pendingEvents += events.size();
+    }
+
+    /**
+     * 세그먼트의 남은 이벤트를 배치 단위로 저장 (커밋된 배치는 바로 목록에서 제거)
+     *
+     * @return 모두 저장했으면 true, 다음 주기에 재시도해야 하면 false
+     */
+    private boolean writeSegment(PendingSegment segment) {
+        while (!segment.events.isEmpty()) {
+            List<LoginAuditEvent> batch = segment.events.subList(0, Math.min(batchSize, segment.events.size()));
+            try {
+                writeBatch(batch);
+            } catch (Exception e) {
+                segment.failures++;
+                if (segment.failures < maxAttempts) {
+                    logger.warn("로그인 감사 이력 일괄 저장 실패, 다음 주기에 재시도 - 대기 이벤트 수: {}, 시도: {}, 원인: {}",
+                            pendingEvents, segment.failures, e.getMessage());
+                    return false;
+                }
+                if (!writeEach(batch, segment.failures)) {
+                    return false;
+                }
+            }
+            segment.failures = 0;
+            pendingEvents -= batch.size();
+            batch.clear();
+        }
+        return true;
+    }
+
+    /**
+     * 계속 실패하는 배치를 이벤트 하나씩 저장하고, 그래도 실패하는 이벤트는 격리 테이블로 이동
+     * 처리된 이벤트는 배치에서 제거하며, 격리 저장까지 실패하면(DB 장애) 중단하고 다음 주기에 재시도
+     *
+     * @return 배치의 모든 이벤트를 처리했으면 true
+     */
+    private boolean writeEach(List<LoginAuditEvent> batch, int attempts) {
+        Iterator<LoginAuditEvent> it = batch.iterator();
+        while (it.hasNext()) {
+            LoginAuditEvent event = it.next();
+            try {
+                writeBatch(List.of(event));
+            } catch (Exception e) {
+                try {
+                    loginDao.insertLoginAuditDeadLetter(event.eventId(), objectMapper.writeValueAsString(event),
+                            attempts, truncate(e.getMessage()));
+                    logger.error("로그인 감사 이벤트 저장 실패, 격리 테이블로 이동 - eventId: {}, 원인: {}",
+                            event.eventId(), e.getMessage());
+                } catch (Exception deadLetterError) {
+                    logger.warn("로그인 감사 이벤트 격리 실패, 다음 주기에 재시도 - eventId: {}, 원인: {}",
+                            event.eventId(), deadLetterError.getMessage());
+                    return false;
+                }
+            }
+            it.remove();
+            pendingEvents--;
+        }
+        return true;
+    }
+
+    /**
+     * 이벤트 묶음을 한 트랜잭션에서 다중 행 INSERT와 병합된 통계 UPSERT로 저장
+     * 이미 저장된 이벤트(재시도/재생)는 건너뛰고 새로 저장하는 이벤트만 통계에 반영
+     */
+    private void writeBatch(List<LoginAuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.execute(status -> {
+            List<LoginAuditEvent> unwritten = withoutWritten(events);
+            if (unwritten.isEmpty()) {
+                return null;
+            }
+            loginDao.insertLoginHistoryBatch(unwritten);
+
+            Map<Long, UserStatsDelta> deltas = new LinkedHashMap<>();
+            for (LoginAuditEvent event : unwritten) {
+                if (event.success() && event.usrId() != null) {
+                    deltas.merge(event.usrId(), UserStatsDelta.of(event), (prev, ignored) -> prev.merge(event));
+                }
+            }
+            if (!deltas.isEmpty()) {
+                loginDao.incrementUserStatsBatch(new ArrayList<>(deltas.values()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 이미 login_history에 있는 이벤트 제외 (같은 트랜잭션에서 통계와 함께 커밋되었으므로 통계도 반영된 상태)
+     */
+    private List<LoginAuditEvent> withoutWritten(List<LoginAuditEvent> events) {
+        List<String> eventIds = new ArrayList<>(events.size());
+        Date from = null;
+        Date to = null;
+        for (LoginAuditEvent event : events) {
+            eventIds.add(event.eventId());
+            from = from == null || event.loginDt().before(from) ? event.loginDt() : from;
+            to = to == null || event.loginDt().after(to) ? event.loginDt() : to;
+        }
+
+        // 입력은 대기 목록의 일부(subList)이므로 항상 새 목록으로 반환
+        Set<String> written = new HashSet<>(loginDao.selectWrittenAuditEventIds(eventIds, from, to));
+        if (written.isEmpty()) {
+            return new ArrayList<>(events);
+        }
+        List<LoginAuditEvent> unwritten = new ArrayList<>(events.size());
+        for (LoginAuditEvent event : events) {
+            if (!written.contains(event.eventId())) {
+                unwritten.add(event);
+            }
+        }
+        return unwritten;
+    }
+
+    /**
+     * 남은 이벤트만으로 세그먼트 파일을 다시 씀 (커밋된 배치가 재시작 시 다시 재생되지 않도록)
+     * 실패해도 재생 시 event_id로 걸러지므로 경고만 남김
+     */
+    private void compactSegment(PendingSegment segment) {
+        if (segment.events.size() >= segment.journaled) {
+            return;
+        }
+        Path tmp = segment.path.resolveSibling(segment.path.getFileName() + ".tmp");
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (LoginAuditEvent event : segment.events) {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+            Files.writeString(tmp, lines, StandardCharsets.UTF_8);
+            Files.move(tmp, segment.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            segment.journaled = segment.events.size();
+        } catch (IOException e) {
+            logger.warn("로그인 감사 저널 세그먼트 정리 실패: {}", segment.path, e);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    private void appendToJournal(LoginAuditEvent event) throws IOException {
+        byte[] line = (objectMapper.writeValueAsString(event) + "\n").getBytes(StandardCharsets.UTF_8);
+        journalOut.write(line);
+        if (fsync) {
+            journalOut.getChannel().force(false);
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 봉인하고 새 세그먼트로 전환 (journalLock 보유 상태에서 호출)
+     *
+     * @return 봉인된 세그먼트 경로
+     */
+    private Path sealCurrentSegment() {
+        Path sealed = segmentPath(currentSegment);
+        closeQuietly();
+        try {
+            openNextSegment();
+        } catch (IOException e) {
+            // 새 세그먼트를 열지 못하면 이후 이벤트는 직접 저장 경로로 처리됨
+            logger.error("로그인 감사 저널 세그먼트 생성 실패: {}", e.getMessage(), e);
+        }
+        return sealed;
+    }
+
+    private void openNextSegment() throws IOException {
+        currentSegment++;
+        journalOut = new FileOutputStream(segmentPath(currentSegment).toFile(), true);
+    }
+
+    private void closeQuietly() {
+        if (journalOut != null) {
+            try {
+                journalOut.close();
+            } catch (IOException e) {
+                logger.warn("로그인 감사 저널 닫기 실패: {}", e.getMessage());
+            }
+            journalOut = null;
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return Paths.get(journalDir, String.format("%s%019d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private List<Path> listSegments(Path dir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * 세그먼트 파일 읽기 (비정상 종료로 잘린 마지막 줄은 건너뜀)
+     * event_id 없이 기록된 이전 형식 레코드는 줄 내용으로 만든 고정 식별자를 부여 (재생할 때마다 같은 값)
+     */
+    private List<LoginAuditEvent> readSegment(Path segment) throws IOException {
+        List<LoginAuditEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    LoginAuditEvent event = objectMapper.readValue(line, LoginAuditEvent.class);
+                    if (event.eventId() == null) {
+                        event = event.withEventId(UUID.nameUUIDFromBytes(line.getBytes(StandardCharsets.UTF_8)).toString());
+                    }
+                    events.add(event);
+                } catch (IOException e) {
+                    logger.warn("손상된 로그인 감사 저널 레코드 건너뜀: {}", segment.getFileName());
+                }
+            }
+        }
+        return events;
+    }
+}
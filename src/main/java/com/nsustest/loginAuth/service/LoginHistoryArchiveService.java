@@ -0,0 +1,176 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.LoginHistoryRecord;
+import com.nsustest.loginAuth.util.LoginHistoryArchive;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 로그인 이력 아카이브 서비스
+ *
+ * 보관 기간이 지나 DROP될 login_history 파티션을 커서로 스트리밍하여
+ * 열 지향 압축 파일(LoginHistoryArchive)로 내보냅니다. 감사/조사 시에는
+ * DB가 아닌 아카이브 파일을 메모리 매핑으로 읽어 검색합니다.
+ *
+ * 파일은 임시 이름으로 쓴 뒤 이동하므로, 내보내기 중 실패하면 완성된 파일이 남지 않고
+ * 파티션도 DROP되지 않습니다.
+ *
+ * @author nsustest
+ */
+@Service
+public class LoginHistoryArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginHistoryArchiveService.class);
+
+    private static final String FILE_PREFIX = "login_history-";
+    private static final String FILE_SUFFIX = ".lha";
+    private static final Pattern PARTITION_NAME = Pattern.compile("p\\d{6,8}");
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${archive.login-history.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.login-history.dir:./data/archive/login_history}")
+    private String archiveDir;
+
+    @Value("${archive.login-history.block-rows:65536}")
+    private int blockRows;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * login_history 파티션 하나를 아카이브 파일로 내보내기 (같은 파티션 파일이 있으면 덮어씀)
+     *
+     * @param partition 파티션 이름 (예: p202604)
+     * @return 내보낸 행 수
+     */
+    public long archivePartition(String partition) throws IOException {
+        Path target = resolve(partition);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        long rows;
+        try (LoginHistoryArchive.Writer writer = LoginHistoryArchive.create(temp, blockRows)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Cursor<LoginHistoryRecord> cursor = loginDao.selectLoginHistoryPartition(partition)) {
+                    for (LoginHistoryRecord row : cursor) {
+                        writer.append(row);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            rows = writer.getRowCount();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("로그인 이력 아카이브 완료 - partition: {}, 행 수: {}, 파일 크기: {} bytes",
+                partition, rows, Files.size(target));
+        return rows;
+    }
+
+    /**
+     * 아카이브 파일 목록
+     *
+     * @return 파티션 이름, 파일 크기, 행 수
+     */
+    public List<Map<String, Object>> listArchives() throws IOException {
+        List<Map<String, Object>> archives = new ArrayList<>();
+        for (Path file : archiveFiles()) {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("partition", partitionOf(file));
+            info.put("sizeBytes", Files.size(file));
+            try (LoginHistoryArchive.Reader reader = LoginHistoryArchive.open(file)) {
+                info.put("rows", reader.count());
+            }
+            archives.add(info);
+        }
+        return archives;
+    }
+
+    /**
+     * 아카이브 검색 (null인 조건은 무시)
+     *
+     * @param partition 파티션 이름 (null이면 모든 아카이브를 오래된 순으로 검색)
+     * @param ipAddr IP 주소
+     * @param usrId 사용자 ID
+     * @param from 시작 일시 (포함)
+     * @param to 끝 일시 (제외)
+     * @param limit 최대 행 수
+     * @return 조건에 맞는 이력
+     */
+    public List<LoginHistoryRecord> search(String partition, String ipAddr, Long usrId, Date from, Date to, int limit)
+            throws IOException {
+        List<Path> files = partition != null ? List.of(resolve(partition)) : archiveFiles();
+        List<LoginHistoryRecord> result = new ArrayList<>();
+        for (Path file : files) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!Files.exists(file)) {
+                continue;
+            }
+            try (LoginHistoryArchive.Reader reader = LoginHistoryArchive.open(file)) {
+                result.addAll(reader.search(ipAddr, usrId, from, to, limit - result.size()));
+            }
+        }
+        return result;
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private Path resolve(String partition) {
+        if (partition == null || !PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("잘못된 파티션 이름: " + partition);
+        }
+        return Paths.get(archiveDir).resolve(FILE_PREFIX + partition + FILE_SUFFIX);
+    }
+
+    private List<Path> archiveFiles() throws IOException {
+        Path dir = Paths.get(archiveDir);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(FILE_PREFIX)
+                            && f.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String partitionOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+    }
+}
@@ -0,0 +1,390 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.util.BloomFilter;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 존재하지 않는 로그인 아이디 필터 서비스
+ *
+ * 모든 usr_login_id를 담은 Bloom 필터로 존재하지 않는 아이디의 로그인 시도를
+ * DB 조회 없이 걸러냅니다 (크리덴셜 스터핑 대응).
+ *
+ * - 시작 시 Redis 비트맵 스냅샷을 읽고, 없으면 users 테이블을 커서로 스트리밍하여 구성
+ * - 회원가입 시 로컬 필터와 Redis 비트맵(SETBIT)을 함께 갱신
+ * - 주기적으로 Redis 비트맵을 로컬 필터에 합쳐 다른 노드의 가입을 반영
+ * - 로컬 필터에 없으면 Redis 비트맵을 한 번 더 확인한 뒤에만 거절 (동기화 지연으로 인한 오거절 방지)
+ *
+ * Redis 비트맵 갱신이 실패하면 다른 노드가 새 아이디를 거절하지 않도록 복구합니다.
+ * - 실패한 아이디는 보관했다가 동기화 주기마다 다시 기록하고, 복구 전까지 복구 표시 키(TTL)를 남겨
+ *   모든 노드가 비트맵에 없는 아이디도 "존재 가능"으로 처리 (비트 확인 스크립트가 함께 확인)
+ * - 주기적으로 각 노드의 로컬 필터를 Redis 비트맵에 OR로 합침
+ * - 주기적으로 한 노드(클러스터 임대)가 users 테이블로 필터를 다시 구성하여 합침
+ *   (다른 경로로 추가된 사용자나 놓친 갱신 반영, 스냅샷으로 시작한 경우도 포함)
+ *
+ * users 테이블은 대소문자 구분 없는 collation을 사용하므로 아이디는 소문자로 정규화합니다.
+ *
+ * @author nsustest
+ */
+@Service
+public class LoginIdFilterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginIdFilterService.class);
+
+    // Redis 키
+    private static final String BITMAP_KEY = "login_id:bloom";
+    private static final String BITMAP_META_KEY = "login_id:bloom:meta";
+    private static final String BITMAP_TMP_KEY = "login_id:bloom:tmp";
+    private static final String REPAIR_KEY = "login_id:bloom:repair";
+
+    // DB 재구성 작업 임대 이름
+    public static final String REBUILD_LEASE_NAME = "login-id-filter-rebuild";
+
+    /**
+     * 비트 확인 스크립트: ARGV의 모든 오프셋이 1이거나 복구 표시(KEYS[2])가 있으면 1, 그 외 0
+     */
+    private static final RedisScript<Long> CHECK_BITS_SCRIPT = RedisScript.of(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return 1 end " +
+            "for i = 1, #ARGV do " +
+            "  if redis.call('GETBIT', KEYS[1], ARGV[i]) == 0 then return 0 end " +
+            "end " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 비트 설정 스크립트: ARGV의 모든 오프셋을 1로 설정
+     */
+    private static final RedisScript<Long> SET_BITS_SCRIPT = RedisScript.of(
+            "for i = 1, #ARGV do redis.call('SETBIT', KEYS[1], ARGV[i], 1) end " +
+            "return #ARGV",
+            Long.class);
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ClusterLeaseService clusterLeaseService;
+
+    @Value("${login.id-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${login.id-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${login.id-filter.fpp:0.01}")
+    private double fpp;
+
+    @Value("${login.id-filter.sync-interval-ms:30000}")
+    private long syncIntervalMs;
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+
+    // Redis 비트맵에 기록하지 못한 아이디 (정규화된 값, 동기화 주기마다 재시도)
+    private final Set<String> unsyncedIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 애플리케이션 기동 후 필터 구성
+     * 구성 완료 전에는 모든 아이디를 "존재 가능"으로 처리하여 기존 DB 조회 경로를 사용
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            BloomFilter candidate = BloomFilter.create(expectedInsertions, fpp);
+            filter = candidate;
+
+            if (!loadSnapshot(candidate)) {
+                long count = streamAllLoginIds(candidate);
+                publishSnapshot(candidate);
+                logger.info("로그인 아이디 필터 구성 완료 (DB 스트리밍) - 아이디 수: {}, 비트 수: {}, 해시 수: {}",
+                        count, candidate.getBitSize(), candidate.getHashCount());
+            } else {
+                logger.info("로그인 아이디 필터 구성 완료 (Redis 스냅샷) - 비트 수: {}", candidate.getBitSize());
+            }
+            ready = true;
+
+        } catch (Exception e) {
+            logger.error("로그인 아이디 필터 구성 실패, DB 조회 경로 유지: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 로그인 아이디가 존재할 수 있는지 확인
+     *
+     * @param usrLoginId 로그인 아이디
+     * @return false: 확실히 존재하지 않음, true: 존재할 수 있음 (DB 확인 필요)
+     */
+    public boolean mightExist(String usrLoginId) {
+        BloomFilter current = filter;
+        if (!ready || current == null || usrLoginId == null) {
+            return true;
+        }
+
+        String key = normalize(usrLoginId);
+        if (current.mightContain(key)) {
+            return true;
+        }
+
+        // Redis 비트맵 갱신이 밀려 있는 동안에는 공유 비트맵이 불완전하므로 DB로 확인
+        if (!unsyncedIds.isEmpty()) {
+            return true;
+        }
+
+        // 다른 노드에서 방금 가입한 아이디일 수 있으므로 공유 비트맵 확인 (복구 표시가 있으면 존재 가능)
+        try {
+            Long result = stringRedisTemplate.execute(CHECK_BITS_SCRIPT, List.of(BITMAP_KEY, REPAIR_KEY),
+                    toArgs(current.bitIndexes(key)));
+            if (result != null && result == 1L) {
+                current.put(key);
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            logger.warn("로그인 아이디 공유 필터 확인 실패, DB 조회로 처리: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 신규 아이디 등록 (회원가입 시)
+     * Redis 비트맵 갱신에 실패하면 복구 표시를 남기고 동기화 주기에 다시 기록
+     *
+     * @param usrLoginId 로그인 아이디
+     */
+    public void add(String usrLoginId) {
+        BloomFilter current = filter;
+        if (current == null || usrLoginId == null) {
+            return;
+        }
+
+        String key = normalize(usrLoginId);
+        current.put(key);
+        try {
+            writeBits(current, key);
+        } catch (Exception e) {
+            unsyncedIds.add(key);
+            markRepairPending();
+            logger.warn("로그인 아이디 공유 필터 갱신 실패, 동기화 주기에 재시도: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Redis 비트맵을 로컬 필터에 주기적으로 합침 (기록하지 못한 아이디가 있으면 먼저 다시 기록)
+     */
+    @Scheduled(fixedDelayString = "${login.id-filter.sync-interval-ms:30000}")
+    public void syncFromSnapshot() {
+        BloomFilter current = filter;
+        if (!ready || current == null) {
+            return;
+        }
+        retryUnsynced(current);
+        try {
+            byte[] bitmap = readBitmap();
+            if (bitmap != null) {
+                current.mergeRedisBytes(bitmap);
+            }
+        } catch (Exception e) {
+            logger.warn("로그인 아이디 필터 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 로컬 필터를 Redis 비트맵에 주기적으로 OR로 합침 (놓친 비트 갱신 복구)
+     */
+    @Scheduled(fixedDelayString = "${login.id-filter.publish-interval-ms:300000}",
+            initialDelayString = "${login.id-filter.publish-interval-ms:300000}")
+    public void publishLocalFilter() {
+        BloomFilter current = filter;
+        if (!ready || current == null) {
+            return;
+        }
+        publishSnapshot(current);
+    }
+
+    /**
+     * users 테이블로 필터를 다시 구성하여 로컬 필터와 Redis 비트맵에 합침 (클러스터에서 한 노드만 실행)
+     * Bloom 필터는 제거가 없으므로 기존 비트는 유지하고 빠진 비트만 채웁니다.
+     */
+    @Scheduled(fixedDelayString = "${login.id-filter.rebuild-interval-ms:21600000}",
+            initialDelayString = "${login.id-filter.rebuild-interval-ms:21600000}")
+    public void rebuildFromDatabase() {
+        BloomFilter current = filter;
+        if (!ready || current == null) {
+            return;
+        }
+        try (ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire(REBUILD_LEASE_NAME)) {
+            if (lease == null) {
+                return;
+            }
+            BloomFilter rebuilt = BloomFilter.create(expectedInsertions, fpp);
+            long count = streamAllLoginIds(rebuilt);
+            current.mergeRedisBytes(rebuilt.toRedisBytes());
+            publishSnapshot(rebuilt);
+            logger.info("로그인 아이디 필터 재구성 완료 (DB 스트리밍) - 아이디 수: {}", count);
+        } catch (Exception e) {
+            logger.error("로그인 아이디 필터 재구성 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private void writeBits(BloomFilter target, String key) {
+        stringRedisTemplate.execute(SET_BITS_SCRIPT, List.of(BITMAP_KEY), toArgs(target.bitIndexes(key)));
+    }
+
+    /**
+     * 기록하지 못한 아이디를 다시 기록 (실패하면 복구 표시를 연장하고 다음 주기에 재시도)
+     */
+    private void retryUnsynced(BloomFilter current) {
+        Iterator<String> it = unsyncedIds.iterator();
+        while (it.hasNext()) {
+            String key = it.next();
+            try {
+                writeBits(current, key);
+                it.remove();
+            } catch (Exception e) {
+                markRepairPending();
+                logger.warn("로그인 아이디 공유 필터 재기록 실패 - 대기 아이디 수: {}, 원인: {}", unsyncedIds.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 복구 표시 키 설정 (동기화 주기 2번 동안 유지, 재시도가 실패할 때마다 연장)
+     * 이 값도 쓰지 못하면 Redis 장애로 다른 노드의 비트 확인도 실패하여 DB 조회 경로를 사용함
+     */
+    private void markRepairPending() {
+        try {
+            stringRedisTemplate.opsForValue().set(REPAIR_KEY, "1", Duration.ofMillis(Math.max(1L, syncIntervalMs * 2)));
+        } catch (Exception e) {
+            logger.warn("로그인 아이디 필터 복구 표시 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Redis 스냅샷 로드 (필터 파라미터가 같을 때만)
+     */
+    private boolean loadSnapshot(BloomFilter target) {
+        try {
+            String meta = stringRedisTemplate.opsForValue().get(BITMAP_META_KEY);
+            if (!metaOf(target).equals(meta)) {
+                return false;
+            }
+            byte[] bitmap = readBitmap();
+            if (bitmap == null) {
+                return false;
+            }
+            target.mergeRedisBytes(bitmap);
+            return true;
+        } catch (Exception e) {
+            logger.warn("로그인 아이디 필터 스냅샷 로드 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * users 테이블을 커서로 스트리밍하여 필터에 추가
+     */
+    private long streamAllLoginIds(BloomFilter target) {
+        Long count = transactionTemplate.execute(status -> {
+            long n = 0;
+            try (Cursor<String> cursor = loginDao.selectAllLoginIds()) {
+                for (String usrLoginId : cursor) {
+                    target.put(normalize(usrLoginId));
+                    n++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return n;
+        });
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 스냅샷 게시
+     * 파라미터가 같으면 BITOP OR로 합쳐 다른 노드가 그 사이에 설정한 비트를 잃지 않음
+     */
+    private void publishSnapshot(BloomFilter source) {
+        try {
+            String meta = metaOf(source);
+            boolean sameParams = meta.equals(stringRedisTemplate.opsForValue().get(BITMAP_META_KEY));
+            byte[] bitmap = source.toRedisBytes();
+
+            stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+                byte[] key = bytes(BITMAP_KEY);
+                if (sameParams) {
+                    byte[] tmp = bytes(BITMAP_TMP_KEY);
+                    connection.stringCommands().set(tmp, bitmap);
+                    connection.stringCommands().bitOp(RedisStringCommands.BitOperation.OR, key, key, tmp);
+                    connection.keyCommands().del(tmp);
+                } else {
+                    connection.stringCommands().set(key, bitmap);
+                }
+                return null;
+            });
+            stringRedisTemplate.opsForValue().set(BITMAP_META_KEY, meta);
+
+        } catch (Exception e) {
+            logger.warn("로그인 아이디 필터 스냅샷 게시 실패: {}", e.getMessage());
+        }
+    }
+
+    private byte[] readBitmap() {
+        return stringRedisTemplate.execute(
+                (RedisCallback<byte[]>) connection -> connection.stringCommands().get(bytes(BITMAP_KEY)));
+    }
+
+    private String metaOf(BloomFilter target) {
+        return target.getBitSize() + ":" + target.getHashCount();
+    }
+
+    private static String normalize(String usrLoginId) {
+        return usrLoginId.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Object[] toArgs(long[] indexes) {
+        Object[] args = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            args[i] = String.valueOf(indexes[i]);
+        }
+        return args;
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
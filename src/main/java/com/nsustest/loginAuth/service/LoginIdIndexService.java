@@ -0,0 +1,222 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.LoginIdEntry;
+import com.nsustest.loginAuth.util.LoginIdIndex;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로그인 아이디 사용 여부 인덱스 서비스
+ *
+ * 회원가입 화면의 아이디 중복 확인을 DB 조회 없이 메모리에서 처리합니다.
+ *
+ * - 기본 인덱스: 시작 시 users 테이블을 커서로 스트리밍하여 만든 압축 정렬 인덱스 (읽기 전용)
+ * - 증분 집합: 이후 가입한 아이디 (이 노드의 가입 + usr_id 기준 주기적 폴링)
+ * - 주기적으로 기본 인덱스를 다시 만들어 증분 집합을 비움
+ *
+ * 인덱스는 안내용이며, 최종 중복 판단은 INSERT 시 DB 유니크 제약이 담당합니다.
+ * users 테이블은 대소문자 구분 없는 collation을 사용하므로 아이디는 소문자로 정규화합니다.
+ *
+ * @author nsustest
+ */
+@Service
+public class LoginIdIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginIdIndexService.class);
+
+    private static final int MIN_LENGTH = 4;
+    private static final int MAX_LENGTH = 20;
+
+    // 추천 아이디 탐색 시 확인할 최대 후보 수
+    private static final int MAX_SUGGESTION_CANDIDATES = 200;
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${login.id-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${login.id-index.poll-batch-size:1000}")
+    private int pollBatchSize;
+
+    private volatile LoginIdIndex index = LoginIdIndex.empty();
+    private final Set<String> recentIds = ConcurrentHashMap.newKeySet();
+    private volatile long lastSeenUsrId;
+    private volatile boolean ready;
+
+    /**
+     * 애플리케이션 기동 후 인덱스 구성
+     * 구성 완료 전에는 isReady()가 false이므로 호출 측에서 DB로 확인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+            ready = true;
+            logger.info("로그인 아이디 인덱스 구성 완료 - 아이디 수: {}, 크기: {} bytes",
+                    index.size(), index.getDataBytes());
+        } catch (Exception e) {
+            logger.error("로그인 아이디 인덱스 구성 실패, DB 조회 경로 유지: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 인덱스 사용 가능 여부
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 로그인 아이디 사용 중 여부
+     *
+     * @param usrLoginId 로그인 아이디
+     * @return 사용 중이면 true
+     */
+    public boolean contains(String usrLoginId) {
+        String key = normalize(usrLoginId);
+        return recentIds.contains(key) || index.contains(key);
+    }
+
+    /**
+     * 사용 가능한 추천 아이디 조회
+     * 끝자리 숫자를 1씩 늘리거나(user12 → user13) 숫자를 붙여(user → user1) 가까운 순서로 탐색
+     *
+     * @param usrLoginId 사용 중인 로그인 아이디
+     * @param limit 최대 추천 수
+     * @return 추천 아이디 목록 (입력한 대소문자 유지)
+     */
+    public List<String> suggestAvailable(String usrLoginId, int limit) {
+        List<String> suggestions = new ArrayList<>(limit);
+        String input = usrLoginId.trim();
+
+        int digitStart = input.length();
+        while (digitStart > 0 && Character.isDigit(input.charAt(digitStart - 1))) {
+            digitStart--;
+        }
+        String stem = input.substring(0, digitStart);
+        // 너무 긴 숫자는 long 범위를 넘으므로 숫자를 새로 붙이는 방식으로 처리
+        long start = 1;
+        if (digitStart < input.length() && input.length() - digitStart <= 9) {
+            start = Long.parseLong(input.substring(digitStart)) + 1;
+        } else {
+            stem = input;
+        }
+
+        for (long n = start; n < start + MAX_SUGGESTION_CANDIDATES && suggestions.size() < limit; n++) {
+            String suffix = Long.toString(n);
+            String base = stem.length() + suffix.length() > MAX_LENGTH
+                    ? stem.substring(0, MAX_LENGTH - suffix.length())
+                    : stem;
+            String candidate = base + suffix;
+            if (candidate.length() >= MIN_LENGTH && !contains(candidate) && !suggestions.contains(candidate)) {
+                suggestions.add(candidate);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * 신규 아이디 등록 (회원가입 시)
+     *
+     * @param usrLoginId 로그인 아이디
+     */
+    public void add(String usrLoginId) {
+        if (usrLoginId != null) {
+            recentIds.add(normalize(usrLoginId));
+        }
+    }
+
+    /**
+     * 다른 노드에서 가입한 아이디를 usr_id 기준으로 증분 반영
+     */
+    @Scheduled(fixedDelayString = "${login.id-index.poll-interval-ms:5000}")
+    public synchronized void pollNewUsers() {
+        if (!ready) {
+            return;
+        }
+        try {
+            List<LoginIdEntry> rows;
+            do {
+                rows = loginDao.selectLoginIdsAfter(lastSeenUsrId, pollBatchSize);
+                for (LoginIdEntry row : rows) {
+                    recentIds.add(normalize(row.usrLoginId()));
+                    lastSeenUsrId = Math.max(lastSeenUsrId, row.usrId());
+                }
+            } while (rows.size() >= pollBatchSize);
+
+        } catch (Exception e) {
+            logger.warn("로그인 아이디 인덱스 증분 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 기본 인덱스 재구성 (증분 집합 압축)
+     */
+    @Scheduled(initialDelayString = "${login.id-index.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${login.id-index.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        if (!ready) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.warn("로그인 아이디 인덱스 재구성 실패: {}", e.getMessage());
+        }
+    }
+
+    // ==================== 내부 처리 ====================
+
+    /**
+     * users 테이블을 커서로 스트리밍하여 기본 인덱스 재구성
+     * 재구성 중에 추가된 증분 아이디는 새 인덱스에 없는 것만 남김
+     */
+    private synchronized void rebuild() {
+        List<String> loginIds = new ArrayList<>();
+        long[] maxUsrId = {lastSeenUsrId};
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Cursor<LoginIdEntry> cursor = loginDao.selectLoginIdEntries()) {
+                for (LoginIdEntry row : cursor) {
+                    loginIds.add(normalize(row.usrLoginId()));
+                    maxUsrId[0] = Math.max(maxUsrId[0], row.usrId());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        LoginIdIndex rebuilt = LoginIdIndex.build(loginIds);
+        index = rebuilt;
+        recentIds.removeIf(rebuilt::contains);
+        lastSeenUsrId = maxUsrId[0];
+    }
+
+    private static String normalize(String usrLoginId) {
+        return usrLoginId.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,12 +1,19 @@
 package com.nsustest.loginAuth.service;
 
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.IdCheckResponse;
+import com.nsustest.loginAuth.dto.LoginRequest;
+import com.nsustest.loginAuth.dto.SessionInfo;
+import com.nsustest.loginAuth.dto.SignupRequest;
+import com.nsustest.loginAuth.dto.SignupResponse;
+import com.nsustest.loginAuth.dto.TokenResponse;
+import com.nsustest.loginAuth.dto.UserInfoResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.util.List;
 
 /**
  * 로그인 관련 Facade 서비스 클래스
@@ -45,12 +52,12 @@ public class LoginService {
      * UserService에 위임하여 처리합니다.
      * 
      * @param usrLoginId 확인할 로그인 아이디 (4-20자 영문, 숫자)
-     * @return ApiResponse<Map<String, Object>> 중복 확인 결과
+     * @return ApiResponse<IdCheckResponse> 중복 확인 결과
      *         - success: true/false
-     *         - data: {"duplicate": boolean, "usrLoginId": string}
+     *         - data: {"duplicate": boolean, "usrLoginId": string, "suggestions": [string] (중복 시)}
      *         - message: 결과 메시지
      */
-    public ApiResponse<Map<String, Object>> checkIdDuplicate(String usrLoginId) {
+    public ApiResponse<IdCheckResponse> checkIdDuplicate(String usrLoginId) {
         logger.debug("아이디 중복 확인 요청: {}", usrLoginId);
         return userService.checkIdDuplicate(usrLoginId);
     }
@@ -61,20 +68,20 @@ public class LoginService {
      * UserService에 위임하여 처리합니다.
      * 새로운 사용자 계정을 생성합니다.
      * 
-     * @param signupData 회원가입 데이터 Map
+     * @param signupRequest 회원가입 요청
      *                   - usrLoginId: 로그인 아이디 (필수)
      *                   - usrNm: 사용자 이름 (필수)
      *                   - email: 이메일 주소 (필수)
      *                   - password: 비밀번호 (필수)
      *                   - phoneNum: 전화번호 (선택)
-     * @return ApiResponse<Map<String, Object>> 회원가입 결과
+     * @return ApiResponse<SignupResponse> 회원가입 결과
      *         - success: true/false
      *         - data: {"usrLoginId": string, "email": string}
      *         - message: 결과 메시지
      */
-    public ApiResponse<Map<String, Object>> signup(Map<String, Object> signupData) {
-        logger.debug("회원가입 요청: {}", signupData.get("usrLoginId"));
-        return userService.signup(signupData);
+    public ApiResponse<SignupResponse> signup(SignupRequest signupRequest) {
+        logger.debug("회원가입 요청: {}", signupRequest.usrLoginId());
+        return userService.signup(signupRequest);
     }
     
     /**
@@ -83,20 +90,20 @@ public class LoginService {
      * AuthService에 위임하여 처리합니다.
      * 사용자 인증을 수행하고 JWT 토큰을 발급합니다.
      * 
-     * @param loginData 로그인 데이터 Map
+     * @param loginRequest 로그인 요청
      *                  - usrLoginId: 로그인 아이디 (필수)
      *                  - password: 비밀번호 (필수)
      *                  - ipAddr: 클라이언트 IP 주소 (선택)
      *                  - userAgent: 사용자 에이전트 (선택)
-     * @return ApiResponse<Map<String, Object>> 로그인 결과
+     * @return ApiResponse<TokenResponse> 로그인 결과
      *         - success: true/false
      *         - data: {"accessToken": string, "refreshToken": string, "tokenType": "Bearer", 
      *                 "expiresIn": number, "user": object}
      *         - message: 결과 메시지
      */
-    public ApiResponse<Map<String, Object>> login(Map<String, Object> loginData) {
-        logger.debug("로그인 요청: {}", loginData.get("usrLoginId"));
-        return authService.login(loginData);
+    public ApiResponse<TokenResponse> login(LoginRequest loginRequest) {
+        logger.debug("로그인 요청: {}", loginRequest.usrLoginId());
+        return authService.login(loginRequest);
     }
     
     /**
@@ -106,12 +113,12 @@ public class LoginService {
      * Refresh Token을 검증하여 새로운 Access Token과 Refresh Token을 발급합니다.
      * 
      * @param refreshToken 검증할 Refresh Token
-     * @return ApiResponse<Map<String, Object>> 토큰 재발급 결과
+     * @return ApiResponse<TokenResponse> 토큰 재발급 결과
      *         - success: true/false
      *         - data: {"accessToken": string, "refreshToken": string, "tokenType": "Bearer", "expiresIn": number}
      *         - message: 결과 메시지
      */
-    public ApiResponse<Map<String, Object>> refreshAccessToken(String refreshToken) {
+    public ApiResponse<TokenResponse> refreshAccessToken(String refreshToken) {
         logger.debug("토큰 재발급 요청");
         return authService.refreshAccessToken(refreshToken);
     }
@@ -120,16 +127,45 @@ public class LoginService {
      * 로그아웃 처리
      * 
      * SessionService에 위임하여 처리합니다.
-     * 사용자의 활성 세션을 비활성화하고 로그아웃 시간을 기록합니다.
+     * 현재 기기의 세션을 종료하고 로그아웃 시간을 기록합니다.
      * 
      * @param usrId 로그아웃할 사용자 ID
+     * @param sid 현재 세션 식별자 (없으면 사용자의 모든 세션 종료)
      * @return ApiResponse<Object> 로그아웃 결과
      *         - success: true/false
      *         - message: 결과 메시지
      */
-    public ApiResponse<Object> logout(Long usrId) {
-        logger.debug("로그아웃 요청: usrId={}", usrId);
-        return sessionService.logout(usrId);
+    public ApiResponse<Object> logout(Long usrId, String sid) {
+        logger.debug("로그아웃 요청: usrId={}, sid={}", usrId, sid);
+        return sessionService.logout(usrId, sid);
+    }
+    
+    /**
+     * 로그인된 기기(세션) 목록 조회
+     * 
+     * SessionService에 위임하여 처리합니다.
+     * 
+     * @param usrId 사용자 ID
+     * @param currentSid 현재 세션 식별자 (목록에서 현재 기기 표시용)
+     * @return ApiResponse<List<SessionInfo>> 세션 목록 (로그인 일시 오름차순)
+     */
+    public ApiResponse<List<SessionInfo>> listSessions(Long usrId, String currentSid) {
+        logger.debug("세션 목록 조회 요청: usrId={}", usrId);
+        return sessionService.listSessions(usrId, currentSid);
+    }
+    
+    /**
+     * 세션 하나 종료 (다른 기기 로그아웃)
+     * 
+     * SessionService에 위임하여 처리합니다.
+     * 
+     * @param usrId 사용자 ID
+     * @param sid 종료할 세션 식별자
+     * @return ApiResponse<Object> 종료 결과
+     */
+    public ApiResponse<Object> revokeSession(Long usrId, String sid) {
+        logger.debug("세션 종료 요청: usrId={}, sid={}", usrId, sid);
+        return sessionService.revokeSession(usrId, sid);
     }
     
     /**
@@ -139,14 +175,14 @@ public class LoginService {
      * 사용자 ID로 사용자 정보를 조회합니다. 보안을 위해 비밀번호는 제외하고 반환합니다.
      * 
      * @param usrId 조회할 사용자 ID
-     * @return ApiResponse<Map<String, Object>> 사용자 정보 조회 결과
+     * @return ApiResponse<UserInfoResponse> 사용자 정보 조회 결과
      *         - success: true/false
      *         - data: {"usrId": number, "usrLoginId": string, "usrNm": string, 
      *                 "email": string, "usrTpCd": string, "phoneNum": string, 
      *                 "isUse": boolean, "creDt": date, "updDt": date}
      *         - message: 결과 메시지
      */
-    public ApiResponse<Map<String, Object>> getUserInfo(Long usrId) {
+    public ApiResponse<UserInfoResponse> getUserInfo(Long usrId) {
         logger.debug("사용자 정보 조회 요청: usrId={}", usrId);
         return userService.getUserInfo(usrId);
     }
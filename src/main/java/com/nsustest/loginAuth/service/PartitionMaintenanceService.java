@@ -0,0 +1,182 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.TablePartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 이력 테이블 파티션 관리 서비스
+ *
+ * login_history(월별), rate_limit_history(일별)는 시각 컬럼 기준 RANGE 파티션으로 관리합니다.
+ * 보관 기간이 지난 데이터는 행 단위 DELETE 대신 파티션 DROP으로 한 번에 제거하고
+ * (login_history는 DROP 전에 LoginHistoryArchiveService로 파일 보관),
+ * 앞으로 쓰일 파티션은 p_future(MAXVALUE)에서 미리 분리해 둡니다.
+ * 파티션 경계는 애플리케이션 시간대 기준이므로 DB 세션 시간대와 같아야 합니다.
+ *
+ * @author nsustest
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    public static final String TABLE_LOGIN_HISTORY = "login_history";
+    public static final String TABLE_RATE_LIMIT_HISTORY = "rate_limit_history";
+
+    // 파티션 변경(ALTER TABLE)은 클러스터에서 한 인스턴스만 실행
+    public static final String LEASE_NAME = "partition-maintenance";
+
+    private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter DAY_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private LoginHistoryArchiveService loginHistoryArchiveService;
+
+    @Autowired
+    private ClusterLeaseService clusterLeaseService;
+
+    @Value("${cleanup.partition.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cleanup.login-history.retention-days:180}")
+    private int loginHistoryRetentionDays;
+
+    @Value("${cleanup.login-history.months-ahead:3}")
+    private int loginHistoryMonthsAhead;
+
+    @Value("${cleanup.rate-limit-history.retention-days:7}")
+    private int rateLimitHistoryRetentionDays;
+
+    @Value("${cleanup.rate-limit-history.days-ahead:7}")
+    private int rateLimitHistoryDaysAhead;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * 애플리케이션 기동 후 파티션 준비 (현재 기간 파티션이 없으면 p_future에 쌓이지 않도록)
+     * 여러 인스턴스가 함께 기동해도 임대를 얻은 인스턴스만 실행합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try (ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire(LEASE_NAME)) {
+            if (lease != null) {
+                maintain();
+            }
+        } catch (Exception e) {
+            logger.error("파티션 초기 준비 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 모든 이력 테이블의 파티션 생성/삭제
+     *
+     * @return 테이블별 생성/삭제한 파티션 이름
+     */
+    public Map<String, Object> maintain() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!enabled) {
+            return result;
+        }
+        result.put(TABLE_LOGIN_HISTORY, maintain(TABLE_LOGIN_HISTORY, ChronoUnit.MONTHS, MONTH_NAME,
+                loginHistoryRetentionDays, loginHistoryMonthsAhead, this::archiveLoginHistory));
+        result.put(TABLE_RATE_LIMIT_HISTORY, maintain(TABLE_RATE_LIMIT_HISTORY, ChronoUnit.DAYS, DAY_NAME,
+                rateLimitHistoryRetentionDays, rateLimitHistoryDaysAhead, partition -> true));
+        return result;
+    }
+
+    /**
+     * 테이블 하나의 파티션 관리
+     * 보관 시작 기간부터 (현재 + ahead) 기간까지 없는 파티션을 만든 뒤, 상한이 보관 기준 이전인 파티션을 삭제합니다.
+     * beforeDrop이 false를 반환한 파티션은 삭제하지 않고 다음 실행에서 다시 시도합니다.
+     */
+    private Map<String, List<String>> maintain(String table, ChronoUnit unit, DateTimeFormatter nameFormat,
+                                               int retentionDays, int ahead, Predicate<String> beforeDrop) {
+        Map<String, List<String>> changes = new LinkedHashMap<>();
+        List<TablePartition> partitions = loginDao.selectPartitions(table);
+        if (partitions.isEmpty()) {
+            logger.warn("파티션이 없는 테이블, 관리 생략 - table: {}", table);
+            return changes;
+        }
+
+        long maxBound = partitions.stream()
+                .filter(p -> p.lessThan() != null)
+                .mapToLong(TablePartition::lessThan)
+                .max()
+                .orElse(Long.MIN_VALUE);
+
+        LocalDate today = LocalDate.now(clock);
+        LocalDate retentionStart = today.minusDays(retentionDays);
+        LocalDate last = periodStart(today, unit).plus(ahead, unit);
+
+        List<TablePartition> toAdd = new ArrayList<>();
+        for (LocalDate start = periodStart(retentionStart, unit); !start.isAfter(last); start = start.plus(1, unit)) {
+            long bound = epochSecond(start.plus(1, unit));
+            if (bound > maxBound) {
+                toAdd.add(new TablePartition(nameFormat.format(start), bound));
+            }
+        }
+        if (!toAdd.isEmpty()) {
+            loginDao.addPartitions(table, toAdd);
+        }
+
+        long cutoff = epochSecond(retentionStart);
+        List<String> toDrop = partitions.stream()
+                .filter(p -> p.lessThan() != null && p.lessThan() <= cutoff)
+                .map(TablePartition::name)
+                .filter(beforeDrop)
+                .toList();
+        if (!toDrop.isEmpty()) {
+            loginDao.dropPartitions(table, toDrop);
+        }
+
+        changes.put("added", toAdd.stream().map(TablePartition::name).toList());
+        changes.put("dropped", toDrop);
+        logger.info("파티션 관리 - table: {}, 생성: {}, 삭제: {}", table, changes.get("added"), toDrop);
+        return changes;
+    }
+
+    /**
+     * DROP 전에 로그인 이력 파티션을 아카이브 파일로 내보내기
+     *
+     * @return 내보내기에 성공했거나 아카이브를 사용하지 않으면 true
+     */
+    private boolean archiveLoginHistory(String partition) {
+        if (!loginHistoryArchiveService.isEnabled()) {
+            return true;
+        }
+        try {
+            loginHistoryArchiveService.archivePartition(partition);
+            return true;
+        } catch (Exception e) {
+            logger.error("로그인 이력 아카이브 실패, 파티션 유지 - partition: {}, 원인: {}", partition, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private static LocalDate periodStart(LocalDate date, ChronoUnit unit) {
+        return unit == ChronoUnit.MONTHS ? date.withDayOfMonth(1) : date;
+    }
+
+    private long epochSecond(LocalDate date) {
+        return date.atStartOfDay(clock.getZone()).toEpochSecond();
+    }
+}
@@ -0,0 +1,322 @@
+package com.nsustest.loginAuth.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nsustest.loginAuth.model.UserSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis 세션 저장소 (session.store=redis, 기본값)
+ *
+ * 활성 세션은 Redis에만 두고 MySQL에는 SessionArchiveService로 이력을 비동기 보관합니다.
+ *
+ * 키 구조 (모두 Refresh Token 만료 시간과 같은 TTL)
+ * - session:user:{usrId}        HASH  sid → "토큰 다이제스트(hex):기기 ID", 사용자별 세션 인덱스
+ * - session:user:{usrId}:login  ZSET  sid, 점수 = 로그인 시각(ms), 가장 오래된 세션 선택
+ * - session:user:{usrId}:exp    ZSET  sid, 점수 = 만료 시각(ms), 만료된 세션 정리
+ * - session:user:{usrId}:device HASH  기기 ID → sid, 같은 기기 재로그인 시 기존 세션 선택
+ * - session:token:{digest}      STRING 세션 JSON, 토큰 재발급 시 조회
+ * - session:used:{digest}       STRING "usrId:sid", 교체되어 더 이상 쓸 수 없는 Refresh Token (재사용 감지)
+ *
+ * 로그인/재발급/종료는 Lua 스크립트 한 번으로 처리하며, 세션 선택은 ZSET/HASH 조회라
+ * 사용자 세션 수 n에 대해 O(log n)입니다.
+ * 재발급은 저장된 다이제스트가 제시된 토큰과 같을 때만 교체(CAS)하고, 이미 교체된 토큰이 다시 제시되면
+ * 같은 세션(토큰 계열) 전체를 종료합니다.
+ * 스크립트가 토큰 키를 직접 계산하므로 단일 Redis(비클러스터) 구성을 전제로 합니다.
+ *
+ * @author nsustest
+ */
+@Service
+@ConditionalOnProperty(name = "session.store", havingValue = "redis", matchIfMissing = true)
+public class RedisSessionStore implements SessionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisSessionStore.class);
+
+    static final String USER_KEY_PREFIX = "session:user:";
+    static final String TOKEN_KEY_PREFIX = "session:token:";
+    static final String USED_KEY_PREFIX = "session:used:";
+
+    // 다이제스트(hex) 길이, 인덱스 값은 "다이제스트:기기 ID" 형식
+    private static final int DIGEST_HEX_LENGTH = 64;
+
+    /**
+     * 세션 하나 종료 (공통 Lua 함수)
+     * k: {세션 인덱스, 로그인 ZSET, 만료 ZSET, 기기 HASH}, 종료된 sid는 ended에 추가
+     */
+    private static final String END_SESSION_FN =
+            "local ended = {} " +
+            "local function endSession(k, sid, prefix) " +
+            "  local v = redis.call('HGET', k[1], sid) " +
+            "  if not v then return end " +
+            "  redis.call('DEL', prefix .. string.sub(v, 1, 64)) " +
+            "  local device = string.sub(v, 66) " +
+            "  if device ~= '' and redis.call('HGET', k[4], device) == sid then " +
+            "    redis.call('HDEL', k[4], device) " +
+            "  end " +
+            "  redis.call('HDEL', k[1], sid) " +
+            "  redis.call('ZREM', k[2], sid) " +
+            "  redis.call('ZREM', k[3], sid) " +
+            "  ended[#ended + 1] = sid " +
+            "end ";
+
+    /**
+     * 세션 추가 스크립트
+     * ARGV[1]: sid, ARGV[2]: 토큰 다이제스트, ARGV[3]: 기기 ID(없으면 빈 문자열), ARGV[4]: 세션 JSON,
+     * ARGV[5]: TTL(초), ARGV[6]: 토큰 키 접두사, ARGV[7]: 현재 시각(ms), ARGV[8]: 만료 시각(ms), ARGV[9]: 최대 세션 수
+     * 반환: 종료된 sid 목록 (만료, 같은 기기, 상한 초과 순)
+     */
+    private static final RedisScript<List> ADD_SCRIPT = RedisScript.of(
+            END_SESSION_FN +
+            "for _, sid in ipairs(redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', ARGV[7])) do " +
+            "  endSession(KEYS, sid, ARGV[6]) " +
+            "end " +
+            "if ARGV[3] ~= '' then " +
+            "  local prev = redis.call('HGET', KEYS[4], ARGV[3]) " +
+            "  if prev then endSession(KEYS, prev, ARGV[6]) end " +
+            "end " +
+            "local over = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[9]) + 1 " +
+            "if over > 0 then " +
+            "  for _, sid in ipairs(redis.call('ZRANGE', KEYS[2], 0, over - 1)) do " +
+            "    endSession(KEYS, sid, ARGV[6]) " +
+            "  end " +
+            "end " +
+            "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2] .. ':' .. ARGV[3]) " +
+            "redis.call('ZADD', KEYS[2], ARGV[7], ARGV[1]) " +
+            "redis.call('ZADD', KEYS[3], ARGV[8], ARGV[1]) " +
+            "if ARGV[3] ~= '' then redis.call('HSET', KEYS[4], ARGV[3], ARGV[1]) end " +
+            "redis.call('SET', ARGV[6] .. ARGV[2], ARGV[4], 'EX', ARGV[5]) " +
+            "for i = 1, 4 do redis.call('EXPIRE', KEYS[i], ARGV[5]) end " +
+            "return ended",
+            List.class);
+
+    /**
+     * Refresh Token 교체 스크립트 (저장된 다이제스트가 일치할 때만 교체, 불일치는 재사용으로 보고 세션 종료)
+     * ARGV[1]: sid, ARGV[2]: 기존 다이제스트, ARGV[3]: 새 다이제스트, ARGV[4]: 세션 JSON,
+     * ARGV[5]: TTL(초), ARGV[6]: 토큰 키 접두사, ARGV[7]: 만료 시각(ms), ARGV[8]: 사용된 토큰 키 접두사, ARGV[9]: usrId
+     * 반환: {"1"} 교체, {"0"} 세션 없음, {"-1", sid} 재사용 감지로 종료
+     */
+    private static final RedisScript<List> ROTATE_SCRIPT = RedisScript.of(
+            END_SESSION_FN +
+            "local v = redis.call('HGET', KEYS[1], ARGV[1]) " +
+            "if not v then return {'0'} end " +
+            "if string.sub(v, 1, 64) ~= ARGV[2] then " +
+            "  endSession(KEYS, ARGV[1], ARGV[6]) " +
+            "  return {'-1', ARGV[1]} " +
+            "end " +
+            "redis.call('DEL', ARGV[6] .. ARGV[2]) " +
+            "redis.call('SET', ARGV[8] .. ARGV[2], ARGV[9] .. ':' .. ARGV[1], 'EX', ARGV[5]) " +
+            "redis.call('HSET', KEYS[1], ARGV[1], ARGV[3] .. string.sub(v, 65)) " +
+            "redis.call('ZADD', KEYS[3], ARGV[7], ARGV[1]) " +
+            "redis.call('SET', ARGV[6] .. ARGV[3], ARGV[4], 'EX', ARGV[5]) " +
+            "for i = 1, 4 do redis.call('EXPIRE', KEYS[i], ARGV[5]) end " +
+            "return {'1'}",
+            List.class);
+
+    /**
+     * 재사용 감지 스크립트 (교체된 토큰이 제시되면 해당 세션 종료)
+     * KEYS[1]: 사용된 토큰 키
+     * ARGV[1]: 사용자 세션 키 접두사, ARGV[2]: 토큰 키 접두사
+     * 반환: 종료된 sid 목록
+     */
+    private static final RedisScript<List> REUSE_SCRIPT = RedisScript.of(
+            END_SESSION_FN +
+            "local v = redis.call('GET', KEYS[1]) " +
+            "if not v then return ended end " +
+            "local sep = string.find(v, ':', 1, true) " +
+            "local base = ARGV[1] .. string.sub(v, 1, sep - 1) " +
+            "endSession({base, base .. ':login', base .. ':exp', base .. ':device'}, string.sub(v, sep + 1), ARGV[2]) " +
+            "return ended",
+            List.class);
+
+    /**
+     * 세션 하나 종료 스크립트
+     * ARGV[1]: sid, ARGV[2]: 토큰 키 접두사
+     * 반환: 종료된 sid 목록 (0개 또는 1개)
+     */
+    private static final RedisScript<List> REVOKE_SCRIPT = RedisScript.of(
+            END_SESSION_FN +
+            "endSession(KEYS, ARGV[1], ARGV[2]) " +
+            "return ended",
+            List.class);
+
+    /**
+     * 전체 세션 종료 스크립트
+     * ARGV[1]: 토큰 키 접두사
+     * 반환: 종료된 sid 목록
+     */
+    private static final RedisScript<List> REVOKE_ALL_SCRIPT = RedisScript.of(
+            "local old = redis.call('HGETALL', KEYS[1]) " +
+            "local ended = {} " +
+            "for i = 1, #old, 2 do " +
+            "  redis.call('DEL', ARGV[1] .. string.sub(old[i + 1], 1, 64)) " +
+            "  ended[#ended + 1] = old[i] " +
+            "end " +
+            "redis.call('DEL', KEYS[1], KEYS[2], KEYS[3], KEYS[4]) " +
+            "return ended",
+            List.class);
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private SessionArchiveService sessionArchiveService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public void add(UserSession session, int maxSessions) {
+        long now = System.currentTimeMillis();
+
+        List<?> ended = stringRedisTemplate.execute(ADD_SCRIPT, userKeys(session.usrId()),
+                session.sid(), toHex(session.refreshTokenHash()),
+                session.deviceId() != null ? session.deviceId() : "", toJson(session),
+                String.valueOf(ttlSeconds(session.expDt())), TOKEN_KEY_PREFIX,
+                String.valueOf(now), String.valueOf(session.expDt().getTime()),
+                String.valueOf(Math.max(1, maxSessions)));
+
+        sessionArchiveService.recordStart(session);
+        archiveEnded(ended);
+    }
+
+    @Override
+    public boolean rotate(UserSession session, byte[] newRefreshTokenHash, Date newExpDt) {
+        UserSession rotated = session.withRefreshToken(newRefreshTokenHash, newExpDt);
+
+        List<?> result = stringRedisTemplate.execute(ROTATE_SCRIPT, userKeys(session.usrId()),
+                session.sid(), toHex(session.refreshTokenHash()), toHex(newRefreshTokenHash),
+                toJson(rotated), String.valueOf(ttlSeconds(newExpDt)), TOKEN_KEY_PREFIX,
+                String.valueOf(newExpDt.getTime()), USED_KEY_PREFIX, String.valueOf(session.usrId()));
+
+        String status = result != null && !result.isEmpty() ? String.valueOf(result.get(0)) : "0";
+        if ("-1".equals(status)) {
+            logger.warn("Refresh Token 재사용 감지 - 세션 종료: usrId={}, sid={}", session.usrId(), session.sid());
+            archiveEnded(result.subList(1, result.size()));
+        }
+        if ("1".equals(status)) {
+            // 이력의 exp_dt도 연장해야 만료 세션 정리가 아직 유효한 세션의 이력을 지우지 않음
+            sessionArchiveService.recordRotation(session.sid(), newExpDt);
+        }
+        return "1".equals(status);
+    }
+
+    @Override
+    public boolean revokeIfReused(byte[] refreshTokenHash) {
+        List<?> ended = stringRedisTemplate.execute(REUSE_SCRIPT,
+                List.of(USED_KEY_PREFIX + toHex(refreshTokenHash)), USER_KEY_PREFIX, TOKEN_KEY_PREFIX);
+        if (ended == null || ended.isEmpty()) {
+            return false;
+        }
+        logger.warn("Refresh Token 재사용 감지 - 세션 종료: sid={}", ended);
+        archiveEnded(ended);
+        return true;
+    }
+
+    @Override
+    public UserSession findByRefreshTokenHash(byte[] refreshTokenHash) {
+        return parse(stringRedisTemplate.opsForValue().get(TOKEN_KEY_PREFIX + toHex(refreshTokenHash)));
+    }
+
+    @Override
+    public List<UserSession> findByUsrId(Long usrId) {
+        Set<String> sids = stringRedisTemplate.opsForZSet().range(USER_KEY_PREFIX + usrId + ":login", 0, -1);
+        if (sids == null || sids.isEmpty()) {
+            return List.of();
+        }
+
+        // 인덱스 값에서 토큰 키를 구한 뒤 MGET 한 번으로 세션 조회
+        List<Object> values = stringRedisTemplate.opsForHash().multiGet(USER_KEY_PREFIX + usrId, new ArrayList<>(sids));
+        List<String> tokenKeys = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value != null) {
+                tokenKeys.add(TOKEN_KEY_PREFIX + value.toString().substring(0, DIGEST_HEX_LENGTH));
+            }
+        }
+        if (tokenKeys.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> jsons = stringRedisTemplate.opsForValue().multiGet(tokenKeys);
+        List<UserSession> sessions = new ArrayList<>(tokenKeys.size());
+        if (jsons != null) {
+            for (String json : jsons) {
+                UserSession session = parse(json);
+                if (session != null) {
+                    sessions.add(session);
+                }
+            }
+        }
+        return sessions;
+    }
+
+    @Override
+    public boolean revoke(Long usrId, String sid) {
+        List<?> ended = stringRedisTemplate.execute(REVOKE_SCRIPT, userKeys(usrId), sid, TOKEN_KEY_PREFIX);
+        archiveEnded(ended);
+        return ended != null && !ended.isEmpty();
+    }
+
+    @Override
+    public void revokeAll(Long usrId) {
+        List<?> ended = stringRedisTemplate.execute(REVOKE_ALL_SCRIPT, userKeys(usrId), TOKEN_KEY_PREFIX);
+        archiveEnded(ended);
+    }
+
+    // ==================== 내부 처리 ====================
+
+    static List<String> userKeys(Long usrId) {
+        String userKey = USER_KEY_PREFIX + usrId;
+        return List.of(userKey, userKey + ":login", userKey + ":exp", userKey + ":device");
+    }
+
+    private void archiveEnded(List<?> sids) {
+        if (sids == null || sids.isEmpty()) {
+            return;
+        }
+        Date now = new Date();
+        for (Object sid : sids) {
+            sessionArchiveService.recordEnd(String.valueOf(sid), now);
+        }
+    }
+
+    private UserSession parse(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            UserSession session = objectMapper.readValue(json, UserSession.class);
+            return session.expDt().after(new Date()) ? session : null;
+        } catch (JsonProcessingException e) {
+            logger.warn("손상된 세션 데이터: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String toJson(UserSession session) {
+        try {
+            return objectMapper.writeValueAsString(session);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long ttlSeconds(Date expDt) {
+        return Math.max(1, (expDt.getTime() - System.currentTimeMillis()) / 1000);
+    }
+
+    private static String toHex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+}
@@ -0,0 +1,168 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.SessionActivity;
+import com.nsustest.loginAuth.model.SessionEnd;
+import com.nsustest.loginAuth.model.UserSession;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션 활동 추적 서비스
+ *
+ * 인증된 요청마다 세션의 마지막 활동 시각을 메모리 맵에 덮어쓰고,
+ * 주기적으로 변경된 세션만 모아 user_sessions.last_act_dt를 일괄 UPDATE 합니다.
+ * 같은 세션의 요청은 한 주기 안에서 한 항목으로 합쳐지므로 DB 쓰기량은 요청 수가 아니라
+ * 주기당 활동 세션 수에 비례합니다.
+ *
+ * 유휴 세션 종료(session.idle-timeout-minutes > 0)는 DB에 반영된 last_act_dt를 기준으로 하므로,
+ * 여러 서버가 있으면 유휴 기준 시간은 flush 주기보다 충분히 길어야 합니다.
+ * 유휴 세션 종료는 임대(LEASE_NAME)를 얻은 인스턴스 하나만 실행하며, 임대는 종료 주기만큼만 유지합니다.
+ *
+ * @author nsustest
+ */
+@Service
+public class SessionActivityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionActivityService.class);
+
+    // 유휴 세션 종료 임대 이름
+    public static final String LEASE_NAME = "session-idle-sweep";
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private ClusterLeaseService clusterLeaseService;
+
+    @Autowired
+    private SessionStore sessionStore;
+
+    @Value("${session.activity.batch-size:500}")
+    private int batchSize;
+
+    @Value("${session.idle-timeout-minutes:0}")
+    private long idleTimeoutMinutes;
+
+    @Value("${session.idle-sweep-interval-ms:60000}")
+    private long idleSweepIntervalMs;
+
+    // sid → 마지막 활동 시각(ms), flush 전까지 덮어쓰기만 함
+    private final Map<String, Long> dirty = new ConcurrentHashMap<>();
+
+    /**
+     * 종료 시 남은 활동 기록 저장
+     */
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    /**
+     * 세션 활동 기록 (요청 스레드, 메모리 쓰기만 수행)
+     *
+     * @param sid 세션 식별자 (null이면 무시)
+     */
+    public void touch(String sid) {
+        if (sid != null) {
+            dirty.put(sid, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 변경된 활동 시각 일괄 저장
+     * 저장한 값과 같은 항목만 맵에서 제거하므로, 저장 중 들어온 새 활동은 다음 주기에 저장됩니다.
+     * 실패하면 항목이 맵에 남아 다음 주기에 다시 저장됩니다.
+     */
+    @Scheduled(fixedDelayString = "${session.activity.flush-interval-ms:30000}")
+    public synchronized void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        List<SessionActivity> activities = new ArrayList<>(dirty.size());
+        for (Map.Entry<String, Long> entry : dirty.entrySet()) {
+            activities.add(new SessionActivity(entry.getKey(), new Date(entry.getValue())));
+        }
+
+        try {
+            for (int from = 0; from < activities.size(); from += batchSize) {
+                List<SessionActivity> batch = new ArrayList<>(
+                        activities.subList(from, Math.min(from + batchSize, activities.size())));
+                loginDao.updateSessionActivityBatch(batch);
+                for (SessionActivity activity : batch) {
+                    dirty.remove(activity.sid(), activity.lastActDt().getTime());
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("세션 활동 일괄 저장 실패, 다음 주기에 재시도 - 대기: {}, 원인: {}",
+                    dirty.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 유휴 세션 종료
+     * last_act_dt가 기준 시간보다 오래된 활성 세션을 세션 저장소에서 종료하고 이력도 종료 처리합니다.
+     * 이미 저장소에서 만료된 세션도 이력이 종료되도록 종료 이력은 직접 저장합니다.
+     * 다른 인스턴스가 임대를 가지고 있으면 건너뜁니다.
+     *
+     * @return 종료한 세션 수 (건너뛰면 0)
+     */
+    @Scheduled(fixedDelayString = "${session.idle-sweep-interval-ms:60000}")
+    public int revokeIdleSessions() {
+        if (idleTimeoutMinutes <= 0) {
+            return 0;
+        }
+
+        // 여러 인스턴스가 같은 세션을 중복 종료하지 않도록 임대를 얻은 인스턴스만 실행 (임대는 한 주기만 유지)
+        try (ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire(LEASE_NAME, idleSweepIntervalMs)) {
+            if (lease == null) {
+                return 0;
+            }
+
+            Date cutoff = new Date(System.currentTimeMillis() - idleTimeoutMinutes * 60_000L);
+            List<UserSession> idle = loginDao.findIdleSessions(cutoff, batchSize);
+
+            Date now = new Date();
+            List<SessionEnd> ends = new ArrayList<>(idle.size());
+            for (UserSession session : idle) {
+                // 이 서버에서 아직 저장하지 않은 활동이 있으면 유휴가 아님
+                if (dirty.containsKey(session.sid())) {
+                    continue;
+                }
+                sessionStore.revoke(session.usrId(), session.sid());
+                ends.add(new SessionEnd(session.sid(), now));
+            }
+
+            if (!ends.isEmpty()) {
+                loginDao.endUserSessionsBatch(ends);
+                logger.info("유휴 세션 종료 - {}건", ends.size());
+            }
+            return ends.size();
+
+        } catch (Exception e) {
+            logger.warn("유휴 세션 종료 중 오류: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * 저장 대기 중인 세션 수
+     *
+     * @return 대기 세션 수
+     */
+    public int getPendingCount() {
+        return dirty.size();
+    }
+}
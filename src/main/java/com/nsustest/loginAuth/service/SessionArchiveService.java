@@ -0,0 +1,207 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.SessionEnd;
+import com.nsustest.loginAuth.model.SessionRotation;
+import com.nsustest.loginAuth.model.UserSession;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 세션 이력 비동기 보관 서비스
+ *
+ * Redis 세션 저장소의 세션 시작/종료를 user_sessions 테이블에 일괄 저장합니다.
+ * 활성 세션의 기준은 Redis이고, MySQL에는 조회/감사용 이력만 남습니다.
+ *
+ * - 시작: 다중 행 INSERT
+ * - 교체: sid 기준 다중 행 UPDATE (exp_dt 연장, 같은 sid는 마지막 교체만)
+ * - 종료: sid 기준 다중 행 UPDATE (is_active, logout_dt, session_dur_sec)
+ *
+ * 교체 이력이 exp_dt를 Redis 세션과 같이 연장하므로, 만료 세션 정리(exp_dt 기준)가
+ * 교체를 거쳐 계속 사용 중인 세션의 이력을 지우지 않습니다.
+ *
+ * flush 시 종료 → 교체 → 시작 큐 순서로 비운 뒤 시작 → 교체 → 종료 순서로 저장하므로,
+ * 교체/종료가 저장될 때 해당 세션의 시작 행은 항상 같은 배치 이전에 저장되어 있습니다.
+ * 큐가 가득 차면 호출 스레드가 해당 항목만 직접 저장하는 방식으로 역압을 겁니다.
+ * 이때 flush 락은 잡지 않으므로 재시도 중인 flush에 요청 스레드가 묶이지 않습니다.
+ * 시작 이력보다 먼저 직접 저장된 종료는 재적용 대기열(같은 queue-capacity)에 넣고,
+ * 이 대기열까지 가득 차면 버립니다 (메모리가 무한히 늘지 않도록).
+ *
+ * @author nsustest
+ */
+@Service
+public class SessionArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionArchiveService.class);
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Value("${session.archive.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${session.archive.batch-size:500}")
+    private int batchSize;
+
+    private BlockingQueue<UserSession> started;
+    private BlockingQueue<SessionRotation> rotated;
+    private BlockingQueue<SessionEnd> ended;
+
+    // 직접 저장했으나 시작 이력이 아직 없어 반영되지 않은 종료 (flush가 시작 이력 다음에 다시 적용)
+    private BlockingQueue<SessionEnd> lateEnded;
+
+    // 저장에 실패하여 재시도 대기 중인 항목 (flush 스레드 전용)
+    private final List<UserSession> pendingStarted = new ArrayList<>();
+    private final List<SessionRotation> pendingRotated = new ArrayList<>();
+    private final List<SessionEnd> pendingEnded = new ArrayList<>();
+
+    @PostConstruct
+    public void start() {
+        started = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        rotated = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        ended = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        lateEnded = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    /**
+     * 종료 시 남은 이력 저장
+     */
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    /**
+     * 세션 시작 기록
+     *
+     * @param session 새 세션
+     */
+    public void recordStart(UserSession session) {
+        if (!started.offer(session)) {
+            try {
+                loginDao.insertUserSessionBatch(List.of(session));
+            } catch (Exception e) {
+                logger.warn("세션 시작 이력 직접 저장 중 오류: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 세션 Refresh Token 교체 기록 (연장된 만료 일시)
+     *
+     * @param sid 세션 식별자
+     * @param expDt 새 만료 일시
+     */
+    public void recordRotation(String sid, Date expDt) {
+        SessionRotation rotation = new SessionRotation(sid, expDt);
+        if (!rotated.offer(rotation)) {
+            try {
+                loginDao.extendUserSessionsBatch(List.of(rotation));
+            } catch (Exception e) {
+                logger.warn("세션 교체 이력 직접 저장 중 오류: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 세션 종료 기록
+     *
+     * @param sid 세션 식별자
+     * @param logoutDt 종료 일시
+     */
+    public void recordEnd(String sid, Date logoutDt) {
+        SessionEnd end = new SessionEnd(sid, logoutDt);
+        if (!ended.offer(end)) {
+            // 이 항목만 직접 저장 (문장 타임아웃 적용), 시작 이력이 아직 큐에 있어 반영되지 않았으면 flush에서 다시 적용
+            try {
+                if (loginDao.endUserSession(end) == 0 && !lateEnded.offer(end)) {
+                    // 재적용 대기열도 가득 참: 이 종료는 버리고, 이력은 만료 세션 정리(exp_dt)로 정리됨
+                    logger.warn("세션 종료 이력 재적용 대기열 초과, 종료 이력 누락 - sid: {}", sid);
+                }
+            } catch (Exception e) {
+                logger.warn("세션 종료 이력 직접 저장 중 오류: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 큐에 쌓인 이력 일괄 저장
+     * 이전 주기에 실패한 항목이 있으면 새 항목을 꺼내지 않고 재시도만 수행합니다.
+     */
+    @Scheduled(fixedDelayString = "${session.archive.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (started == null) {
+            return;
+        }
+
+        if (pendingStarted.isEmpty() && pendingRotated.isEmpty() && pendingEnded.isEmpty()) {
+            ended.drainTo(pendingEnded);
+            lateEnded.drainTo(pendingEnded);
+            rotated.drainTo(pendingRotated);
+            started.drainTo(pendingStarted);
+        }
+
+        try {
+            for (int from = 0; from < pendingStarted.size(); from += batchSize) {
+                loginDao.insertUserSessionBatch(new ArrayList<>(
+                        pendingStarted.subList(from, Math.min(from + batchSize, pendingStarted.size()))));
+            }
+            pendingStarted.clear();
+
+            List<SessionRotation> latest = latestRotations(pendingRotated);
+            for (int from = 0; from < latest.size(); from += batchSize) {
+                loginDao.extendUserSessionsBatch(new ArrayList<>(
+                        latest.subList(from, Math.min(from + batchSize, latest.size()))));
+            }
+            pendingRotated.clear();
+
+            for (int from = 0; from < pendingEnded.size(); from += batchSize) {
+                loginDao.endUserSessionsBatch(new ArrayList<>(
+                        pendingEnded.subList(from, Math.min(from + batchSize, pendingEnded.size()))));
+            }
+            pendingEnded.clear();
+
+        } catch (Exception e) {
+            logger.warn("세션 이력 일괄 저장 실패, 다음 주기에 재시도 - 시작: {}, 교체: {}, 종료: {}, 원인: {}",
+                    pendingStarted.size(), pendingRotated.size(), pendingEnded.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 대기 중인 이력 수 (큐 + 재시도 대기)
+     *
+     * @return 대기 이력 수
+     */
+    public int getBacklogSize() {
+        return (started != null ? started.size() + rotated.size() + ended.size() + lateEnded.size() : 0)
+                + pendingStarted.size() + pendingRotated.size() + pendingEnded.size();
+    }
+
+    // ==================== 내부 처리 ====================
+
+    /**
+     * sid별 가장 늦은 만료 일시만 남김 (CASE sid는 처음 일치한 값만 사용하므로)
+     */
+    private static List<SessionRotation> latestRotations(List<SessionRotation> rotations) {
+        Map<String, SessionRotation> bySid = new LinkedHashMap<>();
+        for (SessionRotation rotation : rotations) {
+            bySid.merge(rotation.sid(), rotation,
+                    (prev, next) -> next.expDt().after(prev.expDt()) ? next : prev);
+        }
+        return new ArrayList<>(bySid.values());
+    }
+}
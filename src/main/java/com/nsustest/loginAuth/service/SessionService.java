@@ -1,17 +1,20 @@
 package com.nsustest.loginAuth.service;
 
-import com.nsustest.loginAuth.dao.LoginDao;
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.SessionInfo;
+import com.nsustest.loginAuth.model.UserSession;
 import com.nsustest.loginAuth.util.JwtUtil;
 import com.nsustest.loginAuth.util.MessageUtil;
+import com.nsustest.loginAuth.util.TokenHashUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 /**
  * 세션 관련 비즈니스 로직을 처리하는 서비스 클래스
@@ -24,7 +27,7 @@ public class SessionService {
     private static final Logger logger = LoggerFactory.getLogger(SessionService.class);
     
     @Autowired
-    private LoginDao loginDao;
+    private SessionStore sessionStore;
     
     @Autowired
     private JwtUtil jwtUtil;
@@ -35,19 +38,31 @@ public class SessionService {
     @Autowired
     private MessageUtil messageUtil;
     
+    @Autowired
+    private LoginAuditService loginAuditService;
+    
+    @Autowired
+    private SessionActivityService sessionActivityService;
+    
+    @Value("${session.max-per-user:5}")
+    private int maxSessionsPerUser;
+    
     /**
      * 로그아웃 처리
      * 
      * @param usrId 사용자 ID
+     * @param sid 현재 세션 식별자 (없으면 사용자의 모든 세션 종료)
      * @return 로그아웃 결과
      */
-    public ApiResponse<Object> logout(Long usrId) {
+    public ApiResponse<Object> logout(Long usrId, String sid) {
         try {
             
-            // 세션 로그아웃 처리 (로그아웃 시간 및 세션 지속시간 기록)
-            Map<String, Object> logoutData = new HashMap<>();
-            logoutData.put("usrId", usrId);
-            loginDao.updateSessionLogout(logoutData);
+            // 현재 기기의 세션만 종료 (sid 클레임이 없는 이전 토큰은 전체 종료)
+            if (sid != null) {
+                sessionStore.revoke(usrId, sid);
+            } else {
+                sessionStore.revokeAll(usrId);
+            }
             
             return ApiResponse.success(messageUtil.getMessage("SERVICE_017"), null);
             
@@ -58,69 +73,127 @@ public class SessionService {
     }
     
     /**
-     * 사용자 세션 저장 (토큰 포함)
+     * 로그인된 기기(세션) 목록 조회
+     * 
+     * @param usrId 사용자 ID
+     * @param currentSid 현재 세션 식별자
+     * @return 세션 목록 (로그인 일시 오름차순)
+     */
+    public ApiResponse<List<SessionInfo>> listSessions(Long usrId, String currentSid) {
+        try {
+            List<UserSession> sessions = sessionStore.findByUsrId(usrId);
+            List<SessionInfo> sessionInfos = new ArrayList<>(sessions.size());
+            for (UserSession session : sessions) {
+                sessionInfos.add(SessionInfo.of(session, currentSid));
+            }
+            
+            return ApiResponse.success(messageUtil.getMessage("SERVICE_019"), sessionInfos);
+            
+        } catch (Exception e) {
+            logger.error("세션 목록 조회 중 예외 발생: {}", e.getMessage(), e);
+            return ApiResponse.error(messageUtil.getMessage("SERVICE_016"), "SRV_001");
+        }
+    }
+    
+    /**
+     * 세션 하나 종료 (다른 기기 로그아웃)
      * 
      * @param usrId 사용자 ID
-     * @param accessToken Access Token
+     * @param sid 종료할 세션 식별자
+     * @return 종료 결과
+     */
+    public ApiResponse<Object> revokeSession(Long usrId, String sid) {
+        try {
+            if (!sessionStore.revoke(usrId, sid)) {
+                return ApiResponse.error(messageUtil.getMessage("SES_002"), "SES_002");
+            }
+            
+            return ApiResponse.success(messageUtil.getMessage("SERVICE_020"), null);
+            
+        } catch (Exception e) {
+            logger.error("세션 종료 중 예외 발생: {}", e.getMessage(), e);
+            return ApiResponse.error(messageUtil.getMessage("SERVICE_016"), "SRV_001");
+        }
+    }
+    
+    /**
+     * 사용자 세션 저장 (Refresh Token은 다이제스트만 저장)
+     * 같은 기기의 기존 세션은 종료하고, 상한(session.max-per-user)을 넘으면 가장 오래된 세션을 종료합니다.
+     * 
+     * @param usrId 사용자 ID
+     * @param sid 세션 식별자 (토큰의 sid 클레임과 같은 값)
+     * @param deviceId 기기 식별자 (없으면 null)
      * @param refreshToken Refresh Token
      * @param ipAddr IP 주소
-     * @param loginData 로그인 데이터
+     * @param userAgent 사용자 에이전트
      */
-    public void saveUserSession(Long usrId, String accessToken, String refreshToken, String ipAddr, Map<String, Object> loginData) {
+    public void saveUserSession(Long usrId, String sid, String deviceId, String refreshToken,
+                                String ipAddr, String userAgent) {
         try {
-            // 기존 활성 세션 삭제 (다중 로그인 방지)
-            loginDao.deleteActiveSessions(usrId);
-            
-            // 새 세션 저장
-            Map<String, Object> sessionData = new HashMap<>();
-            sessionData.put("usrId", usrId);
-            sessionData.put("accessToken", accessToken);
-            sessionData.put("refreshToken", refreshToken);
-            sessionData.put("ipAddr", ipAddr != null ? ipAddr : "127.0.0.1");
-            sessionData.put("userAgent", loginData != null ? loginData.get("userAgent") : null);
-            sessionData.put("expDt", new Date(System.currentTimeMillis() + jwtUtil.getRefreshTokenExpirationInSeconds() * 1000));
-            sessionData.put("blockedUntilDt", null);
+            UserSession session = UserSession.create(sid, usrId, deviceId, TokenHashUtil.sha256(refreshToken),
+                    ipAddr != null ? ipAddr : "127.0.0.1", userAgent, newExpirationDate());
             
-            loginDao.insertUserSession(sessionData);
+            sessionStore.add(session, maxSessionsPerUser);
             
         } catch (Exception e) {
             logger.warn("사용자 세션 저장 중 오류: {}", e.getMessage(), e);
         }
     }
     
+    /**
+     * 세션의 Refresh Token 교체 (토큰 재발급 시)
+     * 
+     * @param session 현재 세션
+     * @param newRefreshToken 새 Refresh Token
+     * @return 교체 여부 (같은 토큰으로 이미 재발급되었거나 종료된 세션이면 false)
+     */
+    public boolean rotateSession(UserSession session, String newRefreshToken) {
+        boolean rotated = sessionStore.rotate(session, TokenHashUtil.sha256(newRefreshToken), newExpirationDate());
+        if (rotated) {
+            // 토큰 재발급도 세션 활동으로 기록
+            sessionActivityService.touch(session.sid());
+        }
+        return rotated;
+    }
+    
+    /**
+     * Refresh Token으로 활성 세션 조회
+     * 세션이 없으면 이미 교체된 토큰인지 확인하여, 재사용이면 해당 세션(토큰 계열)을 종료합니다.
+     * 
+     * @param refreshToken Refresh Token
+     * @return 활성 세션 (없으면 null)
+     */
+    public UserSession findActiveSession(String refreshToken) {
+        if (refreshToken == null) {
+            return null;
+        }
+        byte[] refreshTokenHash = TokenHashUtil.sha256(refreshToken);
+        UserSession session = sessionStore.findByRefreshTokenHash(refreshTokenHash);
+        if (session == null) {
+            sessionStore.revokeIfReused(refreshTokenHash);
+        }
+        return session;
+    }
+    
     /**
      * 로그인 성공 시 처리 (통계 업데이트 + 이력 저장)
      * 
+     * 응답에 필요하지 않은 쓰기이므로 write-behind 감사 파이프라인에 위임합니다.
+     * 
      * @param usrId 사용자 ID
      * @param usrLoginId 사용자 로그인 ID
      * @param ipAddr IP 주소
-     * @param loginData 로그인 데이터
+     * @param userAgent 사용자 에이전트
      */
-    public void saveLoginSuccess(Long usrId, String usrLoginId, String ipAddr, Map<String, Object> loginData) {
+    public void saveLoginSuccess(Long usrId, String usrLoginId, String ipAddr, String userAgent) {
         try {
-            // 사용자 통계 업데이트
-            Map<String, Object> statsData = new HashMap<>();
-            statsData.put("usrId", usrId);
-            statsData.put("ipAddr", ipAddr != null ? ipAddr : "127.0.0.1");
-            
-            loginDao.updateUserStats(statsData);
-            
-            // 로그인 성공 이력 저장
-            Map<String, Object> historyData = new HashMap<>();
-            historyData.put("usrId", usrId);
-            historyData.put("usrLoginId", usrLoginId);
-            historyData.put("ipAddr", ipAddr != null ? ipAddr : "127.0.0.1");
-            historyData.put("isSuccess", true);
-            historyData.put("failReason", null);
-            historyData.put("userAgent", loginData.get("userAgent"));
-            historyData.put("attemptCnt", 1);
-            historyData.put("isBlocked", false);
-            historyData.put("blockedUntilDt", null);
-            
-            loginDao.insertLoginHistory(historyData);
-            
+            loginAuditService.recordLoginSuccess(usrId, usrLoginId, ipAddr, userAgent);
         } catch (Exception e) {
             logger.warn("로그인 성공 처리 중 오류: {}", e.getMessage(), e);
         }
     }
+    
+    private Date newExpirationDate() {
+        return new Date(System.currentTimeMillis() + jwtUtil.getRefreshTokenExpirationInSeconds() * 1000);
+    }
 }
@@ -0,0 +1,81 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.model.UserSession;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 활성 세션 저장소
+ * 
+ * 로그인/토큰 재발급/로그아웃이 사용하는 활성 세션의 저장 위치를 추상화합니다.
+ * 사용자는 기기별로 여러 세션을 가질 수 있고, 세션은 sid로 식별합니다.
+ * session.store 설정으로 구현체를 선택합니다.
+ * - redis (기본): RedisSessionStore, MySQL에는 비동기로 이력만 보관
+ * - jdbc: JdbcSessionStore, user_sessions 테이블에 직접 저장
+ * 
+ * @author nsustest
+ */
+public interface SessionStore {
+    
+    /**
+     * 새 세션 저장
+     * 같은 기기의 기존 세션은 종료하고, 세션 수가 상한을 넘으면 가장 오래된 세션부터 종료합니다.
+     * 
+     * @param session 새 세션
+     * @param maxSessions 사용자별 최대 활성 세션 수
+     */
+    void add(UserSession session, int maxSessions);
+    
+    /**
+     * 세션의 Refresh Token 교체 (토큰 재발급, 쓰기 왕복 한 번)
+     * 저장된 다이제스트가 session의 다이제스트와 같을 때만 교체합니다.
+     * 이미 교체된 토큰이면 재사용으로 보고 세션(토큰 계열) 전체를 종료합니다.
+     * 
+     * @param session 현재 세션
+     * @param newRefreshTokenHash 새 Refresh Token 다이제스트
+     * @param newExpDt 새 만료 일시
+     * @return 교체 여부 (이미 교체되었거나 종료된 세션이면 false)
+     */
+    boolean rotate(UserSession session, byte[] newRefreshTokenHash, Date newExpDt);
+    
+    /**
+     * 교체되어 더 이상 유효하지 않은 Refresh Token이 제시되면 해당 세션(토큰 계열) 종료
+     * 
+     * @param refreshTokenHash 제시된 Refresh Token 다이제스트
+     * @return 재사용 감지 여부
+     */
+    boolean revokeIfReused(byte[] refreshTokenHash);
+    
+    /**
+     * Refresh Token 다이제스트로 활성 세션 조회
+     * 
+     * @param refreshTokenHash Refresh Token SHA-256 다이제스트
+     * @return 활성 세션 (없거나 만료되었으면 null)
+     */
+    UserSession findByRefreshTokenHash(byte[] refreshTokenHash);
+    
+    /**
+     * 사용자의 활성 세션 목록 (로그인 일시 오름차순)
+     * 
+     * @param usrId 사용자 ID
+     * @return 활성 세션 목록
+     */
+    List<UserSession> findByUsrId(Long usrId);
+    
+    /**
+     * 세션 하나 종료
+     * 
+     * @param usrId 사용자 ID (다른 사용자의 세션은 종료하지 않음)
+     * @param sid 세션 식별자
+     * @return 종료 여부 (없거나 이미 종료된 세션이면 false)
+     */
+    boolean revoke(Long usrId, String sid);
+    
+    /**
+     * 사용자의 모든 활성 세션 종료
+     * 
+     * @param usrId 사용자 ID
+     */
+    void revokeAll(Long usrId);
+}
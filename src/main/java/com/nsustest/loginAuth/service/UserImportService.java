@@ -0,0 +1,406 @@
+package com.nsustest.loginAuth.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.SignupRequest;
+import com.nsustest.loginAuth.model.NewUser;
+import com.nsustest.loginAuth.util.MessageUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 사용자 일괄 등록 서비스 (관리자 전용)
+ *
+ * CSV 또는 NDJSON 본문을 한 줄씩 읽어 청크 단위로 처리하고, 행별 결과를 NDJSON으로 바로 응답합니다.
+ * 메모리에는 현재 청크만 유지하므로 파일 크기와 무관하게 사용량이 일정합니다.
+ *
+ * 청크 처리 순서
+ * 1. UserService와 같은 규칙으로 검증, 파일 내/DB 기존 아이디·이메일 중복 제외
+ * 2. 전용 ForkJoinPool에서 BCrypt 해시 병렬 계산
+ * 3. MyBatis BATCH 실행기로 users INSERT를 JDBC 배치 전송 (user_stats는 INSERT 트리거가 생성)
+ * 4. 배치가 중복 키로 실패하면(동시 가입 경합) 청크를 롤백하고 행 단위로 재시도하여 행별 결과 보고
+ *
+ * @author nsustest
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final List<String> CSV_COLUMNS = List.of("usrLoginId", "usrNm", "email", "password", "phoneNum");
+
+    private static final String STATUS_CREATED = "CREATED";
+    private static final String STATUS_FAILED = "FAILED";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MessageUtil messageUtil;
+
+    @Autowired
+    private LoginIdFilterService loginIdFilterService;
+
+    @Autowired
+    private LoginIdIndexService loginIdIndexService;
+
+    @Value("${user.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${user.import.hash-parallelism:0}")
+    private int hashParallelism;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private ForkJoinPool hashPool;
+
+    /**
+     * 일괄 등록 행
+     *
+     * @param lineNo 원본 줄 번호 (1부터)
+     * @param request 행 데이터
+     */
+    private record ImportRow(long lineNo, SignupRequest request) {
+    }
+
+    @PostConstruct
+    public void start() {
+        int parallelism = hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+        hashPool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (hashPool != null) {
+            hashPool.shutdown();
+        }
+    }
+
+    /**
+     * 일괄 등록 실행
+     *
+     * @param in 요청 본문 (CSV: 헤더 포함, NDJSON: 한 줄에 JSON 객체 하나)
+     * @param format csv 또는 ndjson
+     * @param out 결과 출력 (행별 NDJSON + 마지막 요약 한 줄)
+     */
+    public void importUsers(InputStream in, String format, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+
+        List<String> columns = CSV_COLUMNS;
+        boolean csv = FORMAT_CSV.equals(format);
+        boolean headerRead = !csv;
+        long lineNo = 0;
+        int[] counts = new int[2]; // 0: 생성, 1: 실패
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!headerRead) {
+                // 헤더로 컬럼 순서 결정 (BOM 제거)
+                columns = parseCsvLine(line.replace("\uFEFF", ""));
+                headerRead = true;
+                continue;
+            }
+
+            try {
+                SignupRequest request = csv
+                        ? toRequest(columns, parseCsvLine(line))
+                        : objectMapper.readValue(line, SignupRequest.class);
+                chunk.add(new ImportRow(lineNo, request));
+            } catch (Exception e) {
+                writeResult(writer, lineNo, null, STATUS_FAILED, "VAL_002", "행 형식이 올바르지 않습니다.", counts);
+            }
+
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, writer, counts);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, writer, counts);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("summary", true);
+        summary.put("total", counts[0] + counts[1]);
+        summary.put("created", counts[0]);
+        summary.put("failed", counts[1]);
+        writer.write(objectMapper.writeValueAsString(summary));
+        writer.write('\n');
+        writer.flush();
+
+        logger.info("사용자 일괄 등록 완료 - 생성: {}, 실패: {}", counts[0], counts[1]);
+    }
+
+    // ==================== 청크 처리 ====================
+
+    private void processChunk(List<ImportRow> chunk, Writer writer, int[] counts) throws IOException {
+        // 1. 검증 및 중복 제외
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        Set<String> seenLoginIds = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        for (ImportRow row : chunk) {
+            ApiResponse<Object> validation = userService.validateSignupData(row.request());
+            if (!validation.isSuccess()) {
+                writeResult(writer, row, STATUS_FAILED, validation.getErrorCode(), validation.getMessage(), counts);
+                continue;
+            }
+            String loginIdKey = loginIdOf(row).toLowerCase(Locale.ROOT);
+            String emailKey = emailOf(row).toLowerCase(Locale.ROOT);
+            if (!seenLoginIds.add(loginIdKey) || (loginIdIndexService.isReady() && loginIdIndexService.contains(loginIdKey))) {
+                writeResult(writer, row, STATUS_FAILED, "USER_003", messageUtil.getMessage("USER_003"), counts);
+                continue;
+            }
+            if (!seenEmails.add(emailKey)) {
+                writeResult(writer, row, STATUS_FAILED, "USER_004", messageUtil.getMessage("USER_004"), counts);
+                continue;
+            }
+            valid.add(row);
+        }
+        valid = excludeExisting(valid, writer, counts);
+        if (valid.isEmpty()) {
+            writer.flush();
+            return;
+        }
+
+        // 2. 비밀번호 병렬 해시
+        List<NewUser> users = hashPasswords(valid);
+
+        // 3. JDBC 배치 INSERT (실패 시 행 단위 재시도)
+        if (insertBatch(users)) {
+            for (ImportRow row : valid) {
+                onCreated(row);
+                writeResult(writer, row, STATUS_CREATED, null, null, counts);
+            }
+        } else {
+            for (int i = 0; i < valid.size(); i++) {
+                insertOne(valid.get(i), users.get(i), writer, counts);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * DB에 이미 있는 아이디/이메일 제외 (청크당 조회 2회)
+     */
+    private List<ImportRow> excludeExisting(List<ImportRow> rows, Writer writer, int[] counts) throws IOException {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        List<String> loginIds = new ArrayList<>(rows.size());
+        List<String> emails = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            loginIds.add(loginIdOf(row));
+            emails.add(emailOf(row));
+        }
+
+        Set<String> existingLoginIds = toLowerSet(loginDao.selectExistingLoginIds(loginIds));
+        Set<String> existingEmails = toLowerSet(loginDao.selectExistingEmails(emails));
+
+        List<ImportRow> remaining = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existingLoginIds.contains(loginIdOf(row).toLowerCase(Locale.ROOT))) {
+                writeResult(writer, row, STATUS_FAILED, "USER_003", messageUtil.getMessage("USER_003"), counts);
+            } else if (existingEmails.contains(emailOf(row).toLowerCase(Locale.ROOT))) {
+                writeResult(writer, row, STATUS_FAILED, "USER_004", messageUtil.getMessage("USER_004"), counts);
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * 전용 ForkJoinPool에서 BCrypt 해시 병렬 계산 (입력 순서 유지)
+     */
+    private List<NewUser> hashPasswords(List<ImportRow> rows) throws IOException {
+        try {
+            return hashPool.submit(() -> rows.parallelStream()
+                    .map(row -> {
+                        SignupRequest request = row.request();
+                        return new NewUser(request.usrLoginId(), request.usrNm(), request.email(),
+                                passwordEncoder.encode(request.password()), request.phoneNum());
+                    })
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("비밀번호 해시 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("비밀번호 해시 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+
+    /**
+     * users INSERT를 한 트랜잭션의 JDBC 배치로 전송
+     *
+     * @return 성공 여부 (false면 롤백됨)
+     */
+    private boolean insertBatch(List<NewUser> users) {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            try {
+                LoginDao batchDao = session.getMapper(LoginDao.class);
+                for (NewUser user : users) {
+                    batchDao.insertUser(user);
+                }
+                session.flushStatements();
+                session.commit();
+                return true;
+            } catch (Exception e) {
+                session.rollback();
+                logger.warn("일괄 등록 배치 실패, 행 단위로 재시도: {}", e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 행 단위 INSERT (배치 실패 시)
+     */
+    private void insertOne(ImportRow row, NewUser user, Writer writer, int[] counts) throws IOException {
+        try {
+            loginDao.insertUser(user);
+            onCreated(row);
+            writeResult(writer, row, STATUS_CREATED, null, null, counts);
+        } catch (DuplicateKeyException e) {
+            ApiResponse<Object> duplicate = userService.duplicateKeyResponse(e);
+            writeResult(writer, row, STATUS_FAILED, duplicate.getErrorCode(), duplicate.getMessage(), counts);
+        } catch (Exception e) {
+            logger.error("일괄 등록 행 저장 실패 - line {}: {}", row.lineNo(), e.getMessage());
+            writeResult(writer, row, STATUS_FAILED, "SRV_001", "서버 오류가 발생했습니다.", counts);
+        }
+    }
+
+    private void onCreated(ImportRow row) {
+        loginIdFilterService.add(loginIdOf(row));
+        loginIdIndexService.add(loginIdOf(row));
+    }
+
+    // ==================== 입출력 ====================
+
+    private void writeResult(Writer writer, ImportRow row, String status, String errorCode, String message, int[] counts) throws IOException {
+        writeResult(writer, row.lineNo(), loginIdOf(row), status, errorCode, message, counts);
+    }
+
+    private void writeResult(Writer writer, long lineNo, String usrLoginId, String status,
+                             String errorCode, String message, int[] counts) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("line", lineNo);
+        result.put("usrLoginId", usrLoginId);
+        result.put("status", status);
+        if (errorCode != null) {
+            result.put("errorCode", errorCode);
+            result.put("message", message);
+        }
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.write('\n');
+        counts[STATUS_CREATED.equals(status) ? 0 : 1]++;
+    }
+
+    private static SignupRequest toRequest(List<String> columns, List<String> values) {
+        Map<String, String> data = new HashMap<>();
+        for (int i = 0; i < columns.size() && i < values.size(); i++) {
+            String value = values.get(i);
+            data.put(columns.get(i).trim(), value.isEmpty() ? null : value);
+        }
+        return new SignupRequest(data.get("usrLoginId"), data.get("usrNm"), data.get("email"),
+                data.get("password"), data.get("phoneNum"));
+    }
+
+    /**
+     * CSV 한 줄 분리 (큰따옴표 감싸기, "" 이스케이프 지원)
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String loginIdOf(ImportRow row) {
+        return row.request().usrLoginId();
+    }
+
+    private static String emailOf(ImportRow row) {
+        return row.request().email();
+    }
+
+    private static Set<String> toLowerSet(List<String> values) {
+        Set<String> set = new HashSet<>();
+        for (String value : values) {
+            set.add(value.toLowerCase(Locale.ROOT));
+        }
+        return set;
+    }
+}
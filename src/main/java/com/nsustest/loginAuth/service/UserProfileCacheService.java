@@ -0,0 +1,243 @@
+package com.nsustest.loginAuth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.User;
+import com.nsustest.loginAuth.model.UserProfile;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 사용자 프로필 캐시 서비스 (usr_id 기준 조회)
+ *
+ * 대시보드(/api/user)와 토큰 재발급에서 매 요청마다 하던 users 조회를 2단계 캐시로 대체합니다.
+ *
+ * - L1: 노드별 메모리 맵 (최대 크기/짧은 TTL)
+ * - L2: Redis (user:profile:{usrId}, TTL)
+ * - 사용자 정보가 바뀌면 evict()로 L2를 지우고 pub/sub으로 모든 노드의 L1을 무효화
+ *
+ * 비밀번호는 캐시하지 않습니다 (UserProfile에는 pwd가 없음).
+ *
+ * @author nsustest
+ */
+@Service
+public class UserProfileCacheService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProfileCacheService.class);
+
+    private static final String KEY_PREFIX = "user:profile:";
+    static final String INVALIDATION_CHANNEL = "user:profile:invalidate";
+
+    @Autowired
+    private LoginDao loginDao;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${user.profile-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user.profile-cache.l1-max-size:10000}")
+    private int l1MaxSize;
+
+    @Value("${user.profile-cache.l1-ttl-ms:60000}")
+    private long l1TtlMs;
+
+    @Value("${user.profile-cache.l2-ttl-seconds:300}")
+    private long l2TtlSeconds;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Long, CachedProfile> l1 = new ConcurrentHashMap<>();
+
+    // 무효화가 일어날 때마다 증가, 조회 도중 무효화된 값이 L1에 다시 들어가지 않도록 비교
+    private final AtomicLong invalidationSeq = new AtomicLong();
+
+    // 통계
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    /**
+     * L1 항목
+     *
+     * @param profile 사용자 프로필
+     * @param expiresAtNanos 만료 시각 (System.nanoTime 기준)
+     */
+    private record CachedProfile(UserProfile profile, long expiresAtNanos) {
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (enabled) {
+            redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        }
+    }
+
+    /**
+     * 사용자 프로필 조회 (L1 → L2 → DB)
+     *
+     * @param usrId 사용자 ID
+     * @return 사용자 프로필 (없으면 null, 없는 사용자는 캐시하지 않음)
+     */
+    public UserProfile getProfile(Long usrId) {
+        if (!enabled) {
+            return load(usrId);
+        }
+
+        CachedProfile cached = l1.get(usrId);
+        if (cached != null && cached.expiresAtNanos() - System.nanoTime() > 0) {
+            l1Hits.increment();
+            return cached.profile();
+        }
+
+        long seq = invalidationSeq.get();
+        UserProfile profile = readL2(usrId);
+        if (profile != null) {
+            l2Hits.increment();
+        } else {
+            misses.increment();
+            profile = load(usrId);
+            if (profile == null) {
+                return null;
+            }
+            writeL2(profile);
+        }
+        putL1(profile, seq);
+        return profile;
+    }
+
+    /**
+     * 사용자 프로필 무효화 (사용자 정보 변경 시 호출)
+     * L2를 지우고 모든 노드에 L1 무효화를 알림
+     *
+     * @param usrId 사용자 ID
+     */
+    public void evict(Long usrId) {
+        invalidateLocal(usrId);
+        try {
+            stringRedisTemplate.delete(KEY_PREFIX + usrId);
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.valueOf(usrId));
+        } catch (Exception e) {
+            logger.warn("사용자 프로필 캐시 무효화 전파 실패 - usrId: {}, {}", usrId, e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            invalidateLocal(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            logger.warn("잘못된 사용자 프로필 무효화 메시지: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 통계 (적중률, DB 조회 지연)
+     */
+    public Map<String, Object> getStats() {
+        long hitsL1 = l1Hits.sum();
+        long hitsL2 = l2Hits.sum();
+        long missCount = misses.sum();
+        long total = hitsL1 + hitsL2 + missCount;
+        long loads = loadCount.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("l1Size", l1.size());
+        stats.put("l1Hits", hitsL1);
+        stats.put("l2Hits", hitsL2);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total > 0 ? (double) (hitsL1 + hitsL2) / total : 0.0);
+        stats.put("loadCount", loads);
+        stats.put("avgLoadMillis", loads > 0 ? loadNanos.sum() / 1_000_000.0 / loads : 0.0);
+        return stats;
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private UserProfile load(Long usrId) {
+        long start = System.nanoTime();
+        try {
+            User user = loginDao.findById(usrId);
+            return user != null ? UserProfile.of(user) : null;
+        } finally {
+            loadCount.increment();
+            loadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private UserProfile readL2(Long usrId) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(KEY_PREFIX + usrId);
+            return json != null ? objectMapper.readValue(json, UserProfile.class) : null;
+        } catch (Exception e) {
+            logger.warn("사용자 프로필 L2 캐시 조회 실패 - usrId: {}, {}", usrId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeL2(UserProfile profile) {
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + profile.usrId(),
+                    objectMapper.writeValueAsString(profile), l2TtlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.warn("사용자 프로필 L2 캐시 저장 실패 - usrId: {}, {}", profile.usrId(), e.getMessage());
+        }
+    }
+
+    /**
+     * L1 저장 (조회 시작 후 무효화가 있었으면 저장하지 않음)
+     * 최대 크기를 넘으면 임의의 항목을 제거 (만료된 항목 우선)
+     */
+    private void putL1(UserProfile profile, long seq) {
+        if (invalidationSeq.get() != seq) {
+            return;
+        }
+        if (l1.size() >= l1MaxSize) {
+            evictL1();
+        }
+        l1.put(profile.usrId(), new CachedProfile(profile, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(l1TtlMs)));
+    }
+
+    private void evictL1() {
+        long now = System.nanoTime();
+        l1.values().removeIf(entry -> entry.expiresAtNanos() - now <= 0);
+
+        Iterator<Long> it = l1.keySet().iterator();
+        while (l1.size() >= l1MaxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private void invalidateLocal(Long usrId) {
+        invalidationSeq.incrementAndGet();
+        l1.remove(usrId);
+    }
+}
@@ -2,16 +2,21 @@ package com.nsustest.loginAuth.service;
 
 import com.nsustest.loginAuth.dao.LoginDao;
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.IdCheckResponse;
+import com.nsustest.loginAuth.dto.SignupRequest;
+import com.nsustest.loginAuth.dto.SignupResponse;
+import com.nsustest.loginAuth.dto.UserInfoResponse;
+import com.nsustest.loginAuth.model.NewUser;
+import com.nsustest.loginAuth.model.UserProfile;
+import com.nsustest.loginAuth.util.InputValidator;
 import com.nsustest.loginAuth.util.MessageUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * 사용자 관련 비즈니스 로직을 처리하는 서비스 클래스
  * 
@@ -22,6 +27,9 @@ public class UserService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     
+    // 중복 아이디일 때 안내할 추천 아이디 수
+    private static final int ID_SUGGESTION_COUNT = 3;
+    
     @Autowired
     private LoginDao loginDao;
     
@@ -34,32 +42,46 @@ public class UserService {
     @Autowired
     private MessageUtil messageUtil;
     
+    @Autowired
+    private LoginIdFilterService loginIdFilterService;
+    
+    @Autowired
+    private LoginIdIndexService loginIdIndexService;
+    
+    @Autowired
+    private UserProfileCacheService userProfileCacheService;
+    
     /**
      * 아이디 중복 확인
      * 
      * @param usrLoginId 확인할 로그인 아이디
      * @return 중복 확인 결과 ApiResponse
      */
-    public ApiResponse<Map<String, Object>> checkIdDuplicate(String usrLoginId) {
+    public ApiResponse<IdCheckResponse> checkIdDuplicate(String usrLoginId) {
         try {
             // 아이디 유효성 검사
-            ApiResponse<Map<String, Object>> validationResult = validateLoginId(usrLoginId);
+            ApiResponse<IdCheckResponse> validationResult = validateLoginId(usrLoginId);
             if (!validationResult.isSuccess()) {
                 return validationResult;
             }
             
-            // 중복 확인 (0보다 크면 중복)
-            int count = loginDao.checkIdDuplicate(usrLoginId);
-            boolean isDuplicate = count > 0;
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("duplicate", isDuplicate);
-            data.put("usrLoginId", usrLoginId);
+            // 중복 확인 (메모리 인덱스 우선, 구성 전이면 DB 조회)
+            boolean isDuplicate;
+            if (loginIdIndexService.isReady()) {
+                isDuplicate = loginIdIndexService.contains(usrLoginId);
+            } else {
+                isDuplicate = loginDao.checkIdDuplicate(usrLoginId) > 0;
+            }
             
             if (isDuplicate) {
-                return ApiResponse.error(messageUtil.getMessage("USER_003"), "USER_003");
+                ApiResponse<IdCheckResponse> response = ApiResponse.error(messageUtil.getMessage("USER_003"), "USER_003");
+                if (loginIdIndexService.isReady()) {
+                    response.setData(new IdCheckResponse(true, usrLoginId,
+                            loginIdIndexService.suggestAvailable(usrLoginId, ID_SUGGESTION_COUNT)));
+                }
+                return response;
             } else {
-                return ApiResponse.success(messageUtil.getMessage("SERVICE_001"), data);
+                return ApiResponse.success(messageUtil.getMessage("SERVICE_001"), new IdCheckResponse(false, usrLoginId, null));
             }
             
         } catch (Exception e) {
@@ -71,50 +93,45 @@ public class UserService {
     /**
      * 회원가입 처리
      * 
-     * @param signupData 회원가입 데이터
+     * @param signupRequest 회원가입 요청
      * @return 회원가입 결과 ApiResponse
      */
-    public ApiResponse<Map<String, Object>> signup(Map<String, Object> signupData) {
-        String usrLoginId = null;
+    public ApiResponse<SignupResponse> signup(SignupRequest signupRequest) {
         try {
             
             // 필수 필드 검증
-            ApiResponse<Map<String, Object>> validationResult = validateSignupData(signupData);
+            ApiResponse<SignupResponse> validationResult = validateSignupData(signupRequest);
             if (!validationResult.isSuccess()) {
                 return validationResult;
             }
             
-            usrLoginId = (String) signupData.get("usrLoginId");
-            String email = (String) signupData.get("email");
-            String password = (String) signupData.get("password");
+            String usrLoginId = signupRequest.usrLoginId();
             
-            // 중복 확인
-            ApiResponse<Map<String, Object>> duplicateCheck = checkDuplicates(usrLoginId, email);
-            if (!duplicateCheck.isSuccess()) {
-                return duplicateCheck;
+            // 메모리 인덱스로 이미 사용 중인 아이디는 비밀번호 암호화 전에 거절 (DB 조회 없음)
+            if (loginIdIndexService.isReady() && loginIdIndexService.contains(usrLoginId)) {
+                return ApiResponse.error(messageUtil.getMessage("USER_003"), "USER_003");
             }
             
             // 비밀번호 암호화 및 저장
-            String encodedPassword = passwordEncoder.encode(password);
-            Map<String, Object> userData = createUserData(signupData, encodedPassword);
+            // 중복 여부는 users 유니크 키로 판단하고, user_stats는 INSERT 트리거가 같은 문장에서 생성
+            String encodedPassword = passwordEncoder.encode(signupRequest.password());
+            NewUser newUser = new NewUser(usrLoginId, signupRequest.usrNm(), signupRequest.email(),
+                    encodedPassword, signupRequest.phoneNum());
             
-            int result = loginDao.insertUser(userData);
+            int result;
+            try {
+                result = loginDao.insertUser(newUser);
+            } catch (DuplicateKeyException e) {
+                return duplicateKeyResponse(e);
+            }
             
             if (result > 0) {
-                // 생성된 사용자 ID 가져오기
-                Long usrId = ((Number) userData.get("usrId")).longValue();
+                // 로그인 아이디 필터/인덱스에 등록
+                loginIdFilterService.add(usrLoginId);
+                loginIdIndexService.add(usrLoginId);
                 
-                // 신규 사용자 통계 정보 초기화
-                Map<String, Object> userStats = new HashMap<>();
-                userStats.put("usrId", usrId);
-                
-                loginDao.insertUserStats(userStats);
-                
-                Map<String, Object> responseData = new HashMap<>();
-                responseData.put("usrLoginId", usrLoginId);
-                responseData.put("email", email);
-                
-                return ApiResponse.success(messageUtil.getMessage("SERVICE_002"), responseData);
+                return ApiResponse.success(messageUtil.getMessage("SERVICE_002"),
+                        new SignupResponse(usrLoginId, signupRequest.email()));
             } else {
                 return ApiResponse.error(messageUtil.getMessage("SERVICE_003"), "SRV_001");
             }
@@ -131,27 +148,16 @@ public class UserService {
      * @param usrId 사용자 ID
      * @return 사용자 정보
      */
-    public ApiResponse<Map<String, Object>> getUserInfo(Long usrId) {
+    public ApiResponse<UserInfoResponse> getUserInfo(Long usrId) {
         try {
             
-            Map<String, Object> user = loginDao.findById(usrId);
-            if (user == null) {
+            // 프로필 캐시 조회 (비밀번호 제외)
+            UserProfile profile = userProfileCacheService.getProfile(usrId);
+            if (profile == null) {
                 return ApiResponse.error(messageUtil.getMessage("SERVICE_014"), "USER_001");
             }
             
-            // 비밀번호 제외한 사용자 정보 반환
-            Map<String, Object> userInfo = new HashMap<>();
-            userInfo.put("usrId", user.get("usr_id"));
-            userInfo.put("usrLoginId", user.get("usr_login_id"));
-            userInfo.put("usrNm", user.get("usr_nm"));
-            userInfo.put("email", user.get("email"));
-            userInfo.put("usrTpCd", user.get("usr_tp_cd"));
-            userInfo.put("phoneNum", user.get("phone_num"));
-            userInfo.put("isUse", user.get("is_use"));
-            userInfo.put("creDt", user.get("cre_dt"));
-            userInfo.put("updDt", user.get("upd_dt"));
-            
-            return ApiResponse.success(messageUtil.getMessage("SERVICE_018"), userInfo);
+            return ApiResponse.success(messageUtil.getMessage("SERVICE_018"), UserInfoResponse.of(profile));
             
         } catch (Exception e) {
             logger.error("사용자 정보 조회 중 예외 발생: {}", e.getMessage(), e);
@@ -163,93 +169,75 @@ public class UserService {
     
     /**
      * 로그인 아이디 유효성 검사
+     * 성공 응답은 호출 측에서 결과 여부만 확인하므로 메시지를 조회하지 않음
      */
-    private ApiResponse<Map<String, Object>> validateLoginId(String usrLoginId) {
-        if (usrLoginId == null || usrLoginId.trim().isEmpty()) {
+    private <T> ApiResponse<T> validateLoginId(String usrLoginId) {
+        if (InputValidator.isBlank(usrLoginId)) {
             return ApiResponse.error(messageUtil.getMessage("VAL_001"), "VAL_001");
         }
         
-        if (!usrLoginId.matches("^[a-zA-Z0-9]{4,20}$")) {
+        if (!InputValidator.isValidLoginId(usrLoginId)) {
             return ApiResponse.error(messageUtil.getMessage("SERVICE_006"), "VAL_002");
         }
         
-        return ApiResponse.success(messageUtil.getMessage("SERVICE_007"), null);
+        return ApiResponse.success(null);
     }
     
     /**
-     * 회원가입 데이터 유효성 검사
+     * 회원가입 데이터 유효성 검사 (일괄 등록에서도 같은 규칙 사용)
+     * 필수 항목 → 길이 상한 → 형식 순서로 확인하여 비용이 큰 검사를 뒤로 미룸
      */
-    private ApiResponse<Map<String, Object>> validateSignupData(Map<String, Object> signupData) {
-        String usrLoginId = (String) signupData.get("usrLoginId");
-        String usrNm = (String) signupData.get("usrNm");
-        String email = (String) signupData.get("email");
-        String password = (String) signupData.get("password");
+    <T> ApiResponse<T> validateSignupData(SignupRequest signupRequest) {
+        String usrLoginId = signupRequest.usrLoginId();
+        String usrNm = signupRequest.usrNm();
+        String email = signupRequest.email();
+        String password = signupRequest.password();
         
         // 아이디 검증
-        ApiResponse<Map<String, Object>> idValidation = validateLoginId(usrLoginId);
+        ApiResponse<T> idValidation = validateLoginId(usrLoginId);
         if (!idValidation.isSuccess()) {
             return idValidation;
         }
         
-        // 이름 검증
-        if (usrNm == null || usrNm.trim().isEmpty()) {
+        // 필수 항목 검증
+        if (InputValidator.isBlank(usrNm) || InputValidator.isBlank(email) || InputValidator.isBlank(password)) {
             return ApiResponse.error(messageUtil.getMessage("VAL_001"), "VAL_001");
         }
         
-        // 이메일 검증
-        if (email == null || email.trim().isEmpty()) {
-            return ApiResponse.error(messageUtil.getMessage("VAL_001"), "VAL_001");
+        // 길이 상한 검증 (형식 검사 전에 긴 입력 거절)
+        if (usrNm.length() > InputValidator.NAME_MAX_LENGTH
+                || email.length() > InputValidator.EMAIL_MAX_LENGTH
+                || !InputValidator.isPasswordWithinLimit(password)) {
+            return ApiResponse.error(messageUtil.getMessage("VAL_003"), "VAL_003");
         }
         
-        if (!email.matches("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$")) {
+        // 이메일 형식 검증
+        if (!InputValidator.isValidEmail(email)) {
             return ApiResponse.error(messageUtil.getMessage("SERVICE_008"), "VAL_002");
         }
         
-        // 비밀번호 검증
-        if (password == null || password.trim().isEmpty()) {
-            return ApiResponse.error(messageUtil.getMessage("VAL_001"), "VAL_001");
-        }
-        
-        if (!password.matches("^(?=.*[a-zA-Z])(?=.*\\d)(?=.*[!@#$%^&*(),.?\":{}|<>]).{8,}$")) {
+        // 비밀번호 강도 검증
+        if (!InputValidator.isStrongPassword(password)) {
             return ApiResponse.error(messageUtil.getMessage("PWD_005"), "PWD_002");
         }
         
-        return ApiResponse.success(messageUtil.getMessage("SERVICE_009"), null);
+        return ApiResponse.success(null);
     }
     
     /**
-     * 중복 확인
+     * 유니크 키 위반을 중복 응답으로 변환
+     * 위반한 키 이름에 email이 포함되면 이메일 중복, 그 외는 아이디 중복
      */
-    private ApiResponse<Map<String, Object>> checkDuplicates(String usrLoginId, String email) {
-        // 아이디 중복 확인
-        int idCount = loginDao.checkIdDuplicate(usrLoginId);
-        if (idCount > 0) {
-            return ApiResponse.error(messageUtil.getMessage("USER_003"), "USER_003");
-        }
+    <T> ApiResponse<T> duplicateKeyResponse(DuplicateKeyException e) {
+        // MySQL 메시지 형식: Duplicate entry '값' for key 'users.uk_users_email'
+        // 중복된 값 자체에 email이 들어갈 수 있으므로 키 이름 부분만 확인
+        String detail = e.getMostSpecificCause().getMessage();
+        int keyStart = detail != null ? detail.lastIndexOf("for key ") : -1;
+        String keyName = keyStart >= 0 ? detail.substring(keyStart) : "";
         
-        // 이메일 중복 확인
-        int emailCount = loginDao.checkEmailDuplicate(email);
-        if (emailCount > 0) {
+        if (keyName.contains("email")) {
             return ApiResponse.error(messageUtil.getMessage("USER_004"), "USER_004");
         }
-        
-        // 성공 응답
-        Map<String, Object> data = new HashMap<>();
-        data.put("usrLoginId", usrLoginId);
-        data.put("email", email);
-        return ApiResponse.success(messageUtil.getMessage("SERVICE_011"), data);
-    }
-    
-    /**
-     * 사용자 데이터 생성
-     */
-    private Map<String, Object> createUserData(Map<String, Object> signupData, String encodedPassword) {
-        Map<String, Object> userData = new HashMap<>();
-        userData.put("usrLoginId", signupData.get("usrLoginId"));
-        userData.put("usrNm", signupData.get("usrNm"));
-        userData.put("email", signupData.get("email"));
-        userData.put("password", encodedPassword);
-        userData.put("phoneNum", signupData.get("phoneNum"));
-        return userData;
+        return ApiResponse.error(messageUtil.getMessage("USER_003"), "USER_003");
     }
 }
@@ -0,0 +1,165 @@
+package com.nsustest.loginAuth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열용 Bloom 필터
+ *
+ * 존재하지 않는 값은 확실히 걸러내고(false negative 없음), 존재한다고 판단한 값은
+ * 설정한 확률(fpp) 이하로만 오판합니다. 비트 배열은 락 없이 동시에 추가/조회할 수 있습니다.
+ *
+ * 비트 번호 i는 Redis 비트맵의 오프셋 i와 같은 위치로 직렬화되므로
+ * SETBIT/GETBIT로 다른 노드와 공유할 수 있습니다.
+ *
+ * @author nsustest
+ */
+public class BloomFilter {
+
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLongArray words;
+
+    /**
+     * 비트 수와 해시 함수 수를 직접 지정하여 생성
+     *
+     * @param bitSize 비트 수 (64의 배수로 올림)
+     * @param hashCount 해시 함수 수
+     */
+    public BloomFilter(long bitSize, int hashCount) {
+        long words = Math.max(1, (bitSize + 63) / 64);
+        this.bitSize = words * 64;
+        this.hashCount = Math.max(1, hashCount);
+        this.words = new AtomicLongArray(Math.toIntExact(words));
+    }
+
+    /**
+     * 예상 원소 수와 허용 오탐률로 생성
+     *
+     * @param expectedInsertions 예상 원소 수
+     * @param fpp 허용 오탐률 (0 ~ 1)
+     * @return Bloom 필터
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k);
+    }
+
+    /**
+     * 값 추가
+     *
+     * @param value 추가할 값
+     */
+    public void put(String value) {
+        for (long index : bitIndexes(value)) {
+            int word = (int) (index >>> 6);
+            long mask = 1L << (index & 63);
+            words.getAndAccumulate(word, mask, (prev, bit) -> prev | bit);
+        }
+    }
+
+    /**
+     * 값이 존재할 수 있는지 확인
+     *
+     * @param value 확인할 값
+     * @return false: 확실히 없음, true: 있을 수 있음
+     */
+    public boolean mightContain(String value) {
+        for (long index : bitIndexes(value)) {
+            if ((words.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 값에 해당하는 비트 번호 목록 (double hashing)
+     *
+     * @param value 값
+     * @return 비트 번호 배열
+     */
+    public long[] bitIndexes(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long h1 = hash(bytes, 0x9E3779B97F4A7C15L);
+        long h2 = hash(bytes, 0xC2B2AE3D27D4EB4FL) | 1L;
+
+        long[] indexes = new long[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            indexes[i] = Math.floorMod(h1 + i * h2, bitSize);
+        }
+        return indexes;
+    }
+
+    /**
+     * 다른 노드의 비트맵을 현재 필터에 합침 (Redis 비트맵 바이트 순서)
+     *
+     * @param redisBytes Redis GET으로 읽은 비트맵
+     */
+    public void mergeRedisBytes(byte[] redisBytes) {
+        int limit = (int) Math.min(redisBytes.length, bitSize / 8);
+        for (int i = 0; i < limit; i++) {
+            int b = redisBytes[i] & 0xFF;
+            if (b == 0) {
+                continue;
+            }
+            // Redis는 바이트 내 최상위 비트가 오프셋 0
+            long bits = 0;
+            for (int bit = 0; bit < 8; bit++) {
+                if ((b & (0x80 >>> bit)) != 0) {
+                    bits |= 1L << (((i & 7) << 3) + bit);
+                }
+            }
+            words.getAndAccumulate(i >>> 3, bits, (prev, add) -> prev | add);
+        }
+    }
+
+    /**
+     * Redis 비트맵 바이트 순서로 직렬화
+     *
+     * @return 비트맵 바이트 배열
+     */
+    public byte[] toRedisBytes() {
+        byte[] bytes = new byte[(int) (bitSize / 8)];
+        for (int w = 0; w < words.length(); w++) {
+            long word = words.get(w);
+            if (word == 0) {
+                continue;
+            }
+            for (int bit = 0; bit < 64; bit++) {
+                if ((word & (1L << bit)) != 0) {
+                    int offset = (w << 6) + bit;
+                    bytes[offset >>> 3] |= (byte) (0x80 >>> (offset & 7));
+                }
+            }
+        }
+        return bytes;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * 64비트 해시 (FNV-1a 후 murmur3 finalizer로 섞음)
+     */
+    private static long hash(byte[] bytes, long seed) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (byte b : bytes) {
+            h ^= (b & 0xFF);
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,170 @@
+package com.nsustest.loginAuth.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 캐시 값 직렬화 (Redis 값 코덱)
+ *
+ * - json: 기존 형식 (GenericJackson2JsonRedisSerializer, 값마다 @class 타입 정보 포함)
+ * - smile: Jackson Smile 바이너리 JSON (타입 정보 없이 Map/List/기본형으로 복원, 반복되는 키/문자열은 참조로 저장)
+ * - 인코딩 결과가 기준 크기 이상이면 Deflate(BEST_SPEED)로 압축
+ *
+ * 읽을 때는 값의 첫 바이트로 형식을 판별하므로(zlib 0x78, Smile 헤더 ":)\n", 그 외 JSON)
+ * 형식을 바꿔도 이미 저장된 값을 그대로 읽을 수 있습니다.
+ * Smile로 저장한 날짜(upd_dt 등)는 epoch millis 숫자로 복원됩니다.
+ *
+ * @author nsustest
+ */
+public final class CacheValueCodec implements RedisSerializer<Object> {
+
+    public enum Format {
+        JSON, SMILE
+    }
+
+    private static final int ZLIB_MAGIC = 0x78;
+    private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+    private static final GenericJackson2JsonRedisSerializer JSON = new GenericJackson2JsonRedisSerializer();
+    private static final ObjectMapper SMILE = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build())
+            .registerModule(new JavaTimeModule());
+
+    private final Format format;
+    private final int compressThreshold;
+
+    /**
+     * @param format 저장 형식
+     * @param compressThreshold 압축 기준 크기 (바이트, 0 이하면 압축 안 함)
+     */
+    public CacheValueCodec(Format format, int compressThreshold) {
+        this.format = format;
+        this.compressThreshold = compressThreshold;
+    }
+
+    /**
+     * 설정 값으로 코덱 생성
+     *
+     * @param format 형식 이름 (json, smile)
+     * @param compressThreshold 압축 기준 크기 (바이트, 0 이하면 압축 안 함)
+     * @return 코덱
+     */
+    public static CacheValueCodec of(String format, int compressThreshold) {
+        return new CacheValueCodec(Format.valueOf(format.trim().toUpperCase(Locale.ROOT)), compressThreshold);
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public int getCompressThreshold() {
+        return compressThreshold;
+    }
+
+    /**
+     * @return 형식 이름 (압축 사용 시 "+deflate")
+     */
+    public String getName() {
+        String name = format.name().toLowerCase(Locale.ROOT);
+        return compressThreshold > 0 ? name + "+deflate" : name;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] encoded = format == Format.SMILE ? writeSmile(value) : JSON.serialize(value);
+        if (compressThreshold > 0 && encoded.length >= compressThreshold) {
+            return deflate(encoded);
+        }
+        return encoded;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        byte[] encoded = (bytes[0] & 0xFF) == ZLIB_MAGIC ? inflate(bytes) : bytes;
+        if (isSmile(encoded)) {
+            try {
+                return SMILE.readValue(encoded, Object.class);
+            } catch (Exception e) {
+                throw new SerializationException("Smile 캐시 값 읽기 실패", e);
+            }
+        }
+        return JSON.deserialize(encoded);
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private static byte[] writeSmile(Object value) {
+        try {
+            return SMILE.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("Smile 캐시 값 쓰기 실패", e);
+        }
+    }
+
+    private static boolean isSmile(byte[] bytes) {
+        if (bytes.length < SMILE_HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < SMILE_HEADER.length; i++) {
+            if (bytes[i] != SMILE_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new SerializationException("압축된 캐시 값이 손상되었습니다.");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SerializationException("압축된 캐시 값 해제 실패", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
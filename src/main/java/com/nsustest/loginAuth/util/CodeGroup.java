@@ -0,0 +1,73 @@
+package com.nsustest.loginAuth.util;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 공통코드 그룹 인덱스 (읽기 전용)
+ *
+ * 그룹의 코드를 한 번만 정리해 두고 코드 단건은 맵으로, 목록은 정렬된 리스트로 조회합니다.
+ * 목록에서 코드를 찾을 때마다 전체를 훑지 않도록 로드할 때 한 번 만듭니다.
+ *
+ * @author nsustest
+ */
+public final class CodeGroup {
+
+    // 화면 표시 순서 (selectCommonCodeList와 같은 sort_ord, cd 순)
+    private static final Comparator<Map<String, Object>> SORT_ORDER =
+            Comparator.<Map<String, Object>>comparingInt(code -> sortOrd(code.get("sort_ord")))
+                    .thenComparing(code -> String.valueOf(code.get("cd")));
+
+    private final Map<String, Map<String, Object>> byCode;
+    private final List<Map<String, Object>> codes;
+
+    private CodeGroup(Map<String, Map<String, Object>> byCode, List<Map<String, Object>> codes) {
+        this.byCode = byCode;
+        this.codes = codes;
+    }
+
+    /**
+     * 코드 행으로 인덱스 생성 (입력 순서와 관계없이 정렬)
+     *
+     * @param rows 같은 그룹의 코드 행
+     * @return 그룹 인덱스
+     */
+    public static CodeGroup of(List<? extends Map<String, Object>> rows) {
+        Map<String, Map<String, Object>> byCode = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            byCode.put(String.valueOf(row.get("cd")), Collections.unmodifiableMap(new LinkedHashMap<>(row)));
+        }
+        List<Map<String, Object>> codes = byCode.values().stream().sorted(SORT_ORDER).toList();
+        return new CodeGroup(Collections.unmodifiableMap(byCode), codes);
+    }
+
+    /**
+     * @param cd 코드
+     * @return 코드 정보 (없으면 null)
+     */
+    public Map<String, Object> get(String cd) {
+        return byCode.get(cd);
+    }
+
+    /**
+     * @return 정렬된 코드 목록
+     */
+    public List<Map<String, Object>> codes() {
+        return codes;
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    private static int sortOrd(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        return value != null ? Integer.parseInt(value.toString()) : 0;
+    }
+}
@@ -0,0 +1,169 @@
+package com.nsustest.loginAuth.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 공통코드/메시지 코드 전체 스냅샷 (읽기 전용)
+ *
+ * cm_cd_grp, cm_cd, msg_cd의 사용 중인 행 전체를 한 번에 읽어 조회 키별 맵으로 만들어 둡니다.
+ * 만든 뒤에는 바뀌지 않으므로 여러 스레드가 잠금 없이 읽을 수 있고,
+ * 데이터가 바뀌면 새 스냅샷을 만들어 참조를 통째로 교체합니다.
+ *
+ * @author nsustest
+ */
+public final class CodeSnapshot {
+
+    private final String version;
+    private final Date loadedDt;
+    private final Map<String, Map<String, Object>> groups;
+    private final Map<String, CodeGroup> codeGroups;
+    private final Map<String, Map<String, Object>> messages;
+    private final Map<String, List<Map<String, Object>>> messagesByType;
+    private final int codeCount;
+
+    private CodeSnapshot(String version, Date loadedDt,
+                         Map<String, Map<String, Object>> groups,
+                         Map<String, CodeGroup> codeGroups,
+                         Map<String, Map<String, Object>> messages,
+                         Map<String, List<Map<String, Object>>> messagesByType,
+                         int codeCount) {
+        this.version = version;
+        this.loadedDt = loadedDt;
+        this.groups = groups;
+        this.codeGroups = codeGroups;
+        this.messages = messages;
+        this.messagesByType = messagesByType;
+        this.codeCount = codeCount;
+    }
+
+    /**
+     * 조회 결과로 스냅샷 생성
+     *
+     * @param version 버전 표식 (데이터가 바뀌었는지 비교용)
+     * @param groupRows 공통코드 그룹 (grp_cd 순)
+     * @param codeRows 공통코드 (grp_cd, sort_ord, cd 순)
+     * @param messageRows 메시지 코드 (msg_tp_cd, msg_cd 순)
+     * @return 스냅샷
+     */
+    public static CodeSnapshot build(String version, List<Map<String, Object>> groupRows,
+                                     List<Map<String, Object>> codeRows, List<Map<String, Object>> messageRows) {
+        Map<String, Map<String, Object>> groups = new HashMap<>();
+        for (Map<String, Object> row : groupRows) {
+            groups.put((String) row.get("grp_cd"), readOnly(row));
+        }
+
+        Map<String, CodeGroup> codeGroups = new HashMap<>();
+        groupBy(codeRows, "grp_cd").forEach((grpCd, rows) -> codeGroups.put(grpCd, CodeGroup.of(rows)));
+
+        Map<String, Map<String, Object>> messages = new HashMap<>();
+        for (Map<String, Object> row : messageRows) {
+            messages.put((String) row.get("msg_cd"), readOnly(row));
+        }
+
+        return new CodeSnapshot(version, new Date(),
+                Collections.unmodifiableMap(groups),
+                Collections.unmodifiableMap(codeGroups),
+                Collections.unmodifiableMap(messages),
+                groupBy(messageRows, "msg_tp_cd"),
+                codeRows.size());
+    }
+
+    /**
+     * 빈 스냅샷 (로드 전)
+     */
+    public static CodeSnapshot empty() {
+        return new CodeSnapshot(null, null, Map.of(), Map.of(), Map.of(), Map.of(), 0);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public Date getLoadedDt() {
+        return loadedDt;
+    }
+
+    public boolean isEmpty() {
+        return version == null;
+    }
+
+    /**
+     * @param grpCd 그룹 코드
+     * @return 그룹 정보 (없으면 null)
+     */
+    public Map<String, Object> getGroup(String grpCd) {
+        return groups.get(grpCd);
+    }
+
+    /**
+     * @param grpCd 그룹 코드
+     * @return 그룹의 코드 목록, 정렬 순서 (없으면 null)
+     */
+    public List<Map<String, Object>> getCodeList(String grpCd) {
+        CodeGroup group = codeGroups.get(grpCd);
+        return group != null ? group.codes() : null;
+    }
+
+    /**
+     * @param grpCd 그룹 코드
+     * @param cd 코드
+     * @return 코드 정보 (없으면 null)
+     */
+    public Map<String, Object> getCode(String grpCd, String cd) {
+        CodeGroup group = codeGroups.get(grpCd);
+        return group != null ? group.get(cd) : null;
+    }
+
+    /**
+     * @param msgCd 메시지 코드
+     * @return 메시지 정보 (없으면 null)
+     */
+    public Map<String, Object> getMessage(String msgCd) {
+        return messages.get(msgCd);
+    }
+
+    /**
+     * @param msgTpCd 메시지 타입 코드
+     * @return 타입별 메시지 목록 (없으면 null)
+     */
+    public List<Map<String, Object>> getMessagesByType(String msgTpCd) {
+        return messagesByType.get(msgTpCd);
+    }
+
+    /**
+     * 스냅샷 요약 (버전, 로드 시각, 항목 수)
+     */
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("version", version);
+        summary.put("loadedDt", loadedDt);
+        summary.put("groups", groups.size());
+        summary.put("codes", codeCount);
+        summary.put("messages", messages.size());
+        return summary;
+    }
+
+    // ==================== 내부 처리 ====================
+
+    /**
+     * 조회 순서를 유지한 채 컬럼 값별로 묶음
+     */
+    private static Map<String, List<Map<String, Object>>> groupBy(List<Map<String, Object>> rows, String column) {
+        Map<String, List<Map<String, Object>>> grouped = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            grouped.computeIfAbsent((String) row.get(column), k -> new ArrayList<>()).add(readOnly(row));
+        }
+        grouped.replaceAll((k, list) -> Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(grouped);
+    }
+
+    private static Map<String, Object> readOnly(Map<String, Object> row) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(row));
+    }
+}
@@ -0,0 +1,179 @@
+package com.nsustest.loginAuth.util;
+
+/**
+ * 회원가입/로그인 입력값 검증기
+ *
+ * 정규식 대신 문자열을 한 번만 훑는 스캐너로 검증합니다.
+ * - 매 요청마다 Pattern을 컴파일하지 않음 (String.matches 제거)
+ * - 길이 상한을 가장 먼저 확인하여 긴 입력은 스캔 없이 거절
+ * - 백트래킹이 없으므로 입력 길이에 대해 항상 선형 시간 (ReDoS 방지)
+ *
+ * 각 검증은 기존 정규식과 같은 입력을 허용합니다 (길이 상한 제외).
+ * - 아이디: ^[a-zA-Z0-9]{4,20}$
+ * - 이메일: ^[^\s@]+@[^\s@]+\.[^\s@]+$
+ * - 비밀번호: ^(?=.*[a-zA-Z])(?=.*\d)(?=.*[!@#$%^&*(),.?":{}|<>]).{8,}$
+ *
+ * @author nsustest
+ */
+public final class InputValidator {
+
+    public static final int LOGIN_ID_MIN_LENGTH = 4;
+    public static final int LOGIN_ID_MAX_LENGTH = 20;
+
+    // users.usr_nm, users.email 컬럼 길이
+    public static final int NAME_MAX_LENGTH = 100;
+    public static final int EMAIL_MAX_LENGTH = 100;
+
+    public static final int PASSWORD_MIN_LENGTH = 8;
+    // BCrypt는 72바이트까지만 사용하므로 그 이상은 받지 않음
+    public static final int PASSWORD_MAX_BYTES = 72;
+
+    // 로그인 입력 상한 (DB 조회/비밀번호 비교 전에 확인)
+    public static final int LOGIN_INPUT_MAX_LENGTH = 256;
+    
+    // user_sessions.device_id 컬럼 길이
+    public static final int DEVICE_ID_MAX_LENGTH = 64;
+
+    private static final String PASSWORD_SPECIAL_CHARS = "!@#$%^&*(),.?\":{}|<>";
+
+    private InputValidator() {
+    }
+
+    /**
+     * null이거나 공백 문자만 있는지 확인 (String.trim() 기준, 복사 없음)
+     */
+    public static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 로그인 아이디 형식 (영문/숫자 4-20자)
+     */
+    public static boolean isValidLoginId(String usrLoginId) {
+        int length = usrLoginId.length();
+        if (length < LOGIN_ID_MIN_LENGTH || length > LOGIN_ID_MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isAsciiLetter(usrLoginId.charAt(i)) && !isAsciiDigit(usrLoginId.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 이메일 형식
+     * 공백/@가 없는 로컬 파트, @ 한 개, 처음과 끝이 아닌 위치에 .이 있는 도메인
+     */
+    public static boolean isValidEmail(String email) {
+        int length = email.length();
+        int at = -1;
+        boolean innerDot = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (isRegexWhitespace(c)) {
+                return false;
+            }
+            if (c == '@') {
+                if (at >= 0 || i == 0) {
+                    return false;
+                }
+                at = i;
+            } else if (c == '.' && at >= 0 && i > at + 1 && i < length - 1) {
+                innerDot = true;
+            }
+        }
+        return at >= 0 && innerDot;
+    }
+
+    /**
+     * 비밀번호 강도 (8자 이상, 영문/숫자/특수문자 각각 1개 이상, 줄바꿈 문자 없음)
+     */
+    public static boolean isStrongPassword(String password) {
+        int length = password.length();
+        if (length < PASSWORD_MIN_LENGTH) {
+            return false;
+        }
+        boolean letter = false;
+        boolean digit = false;
+        boolean special = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (isLineTerminator(c)) {
+                return false;
+            }
+            if (isAsciiLetter(c)) {
+                letter = true;
+            } else if (isAsciiDigit(c)) {
+                digit = true;
+            } else if (PASSWORD_SPECIAL_CHARS.indexOf(c) >= 0) {
+                special = true;
+            }
+        }
+        return letter && digit && special;
+    }
+
+    /**
+     * 비밀번호 UTF-8 바이트 길이가 상한 이하인지 확인 (인코딩 없이 계산)
+     */
+    public static boolean isPasswordWithinLimit(String password) {
+        // 한 글자는 최대 3바이트(서로게이트 쌍은 2글자에 4바이트)이므로 글자 수로 먼저 판단
+        if (password.length() > PASSWORD_MAX_BYTES) {
+            return false;
+        }
+        if (password.length() * 3 <= PASSWORD_MAX_BYTES) {
+            return true;
+        }
+        int bytes = 0;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < password.length()
+                    && Character.isLowSurrogate(password.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes <= PASSWORD_MAX_BYTES;
+    }
+
+    // ==================== 문자 분류 ====================
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 정규식 \s와 같은 문자 집합 ([ \t\n\x0B\f\r])
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * 정규식 .이 매칭하지 않는 줄바꿈 문자
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
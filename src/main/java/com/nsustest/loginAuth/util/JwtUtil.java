@@ -1,5 +1,6 @@
 package com.nsustest.loginAuth.util;
 
+import com.nsustest.loginAuth.model.UserProfile;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -92,17 +93,31 @@ public class JwtUtil {
      * @param expirationTimeMs 만료 시간 (밀리초)
      * @return 생성된 JWT 토큰
      */
-    public String generateToken(Map<String, Object> user, long expirationTimeMs) {
+    public String generateToken(UserProfile user, long expirationTimeMs) {
+        return generateToken(user, null, expirationTimeMs);
+    }
+    
+    /**
+     * 세션 식별자(sid)를 포함한 JWT 토큰 생성
+     * 같은 사용자가 같은 시각에 여러 기기에서 로그인해도 세션마다 토큰이 달라집니다.
+     * 
+     * @param user 사용자 정보
+     * @param sid 세션 식별자 (없으면 null)
+     * @param expirationTimeMs 만료 시간 (밀리초)
+     * @return 생성된 JWT 토큰
+     */
+    public String generateToken(UserProfile user, String sid, long expirationTimeMs) {
         try {
             Date now = new Date();
             Date expiration = new Date(now.getTime() + expirationTimeMs);
             
             return Jwts.builder()
-                    .subject((String) user.get("usr_login_id"))
-                    .claim("usrId", user.get("usr_id"))
-                    .claim("usrLoginId", user.get("usr_login_id"))
-                    .claim("usrNm", user.get("usr_nm"))
-                    .claim("email", user.get("email"))
+                    .subject(user.usrLoginId())
+                    .claim("usrId", user.usrId())
+                    .claim("usrLoginId", user.usrLoginId())
+                    .claim("usrNm", user.usrNm())
+                    .claim("email", user.email())
+                    .claim("sid", sid)
                     .issuedAt(now)
                     .expiration(expiration)
                     .signWith(getSigningKey(), Jwts.SIG.HS256)
@@ -120,20 +135,42 @@ public class JwtUtil {
      * @param user 사용자 정보
      * @return 생성된 Access Token
      */
-    public String generateAccessToken(Map<String, Object> user) {
+    public String generateAccessToken(UserProfile user) {
         return generateToken(user, accessTokenExpiration);
     }
     
+    /**
+     * 세션 식별자를 포함한 Access Token 생성
+     * 
+     * @param user 사용자 정보
+     * @param sid 세션 식별자
+     * @return 생성된 Access Token
+     */
+    public String generateAccessToken(UserProfile user, String sid) {
+        return generateToken(user, sid, accessTokenExpiration);
+    }
+    
     /**
      * Refresh Token 생성
      * 
      * @param user 사용자 정보
      * @return 생성된 Refresh Token
      */
-    public String generateRefreshToken(Map<String, Object> user) {
+    public String generateRefreshToken(UserProfile user) {
         return generateToken(user, refreshTokenExpiration);
     }
     
+    /**
+     * 세션 식별자를 포함한 Refresh Token 생성
+     * 
+     * @param user 사용자 정보
+     * @param sid 세션 식별자
+     * @return 생성된 Refresh Token
+     */
+    public String generateRefreshToken(UserProfile user, String sid) {
+        return generateToken(user, sid, refreshTokenExpiration);
+    }
+    
     /**
      * JWT 토큰 검증
      * 
@@ -213,6 +250,7 @@ public class JwtUtil {
             userInfo.put("usrLoginId", claims.get("usrLoginId"));
             userInfo.put("usrNm", claims.get("usrNm"));
             userInfo.put("email", claims.get("email"));
+            userInfo.put("sid", claims.get("sid"));
             userInfo.put("subject", claims.getSubject());
             userInfo.put("issuedAt", claims.getIssuedAt());
             userInfo.put("expiration", claims.getExpiration());
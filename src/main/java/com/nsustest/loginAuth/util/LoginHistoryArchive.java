@@ -0,0 +1,590 @@
+package com.nsustest.loginAuth.util;
+
+import com.nsustest.loginAuth.model.LoginHistoryRecord;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 로그인 이력 열 지향 압축 아카이브 파일 (쓰기/읽기)
+ *
+ * 행을 블록(기본 65,536행) 단위로 모아 컬럼별로 인코딩한 뒤 각각 Deflate 압축합니다.
+ * - id, login_dt: 이전 행과의 차이(delta) + zigzag varint
+ * - 로그인 아이디, IP, 실패 사유, 사용자 에이전트: 블록 단위 사전(dictionary) + 사전 번호 varint
+ * - 성공/차단 여부: 행당 1바이트 플래그, 차단 해제 시각: login_dt 기준 차이
+ *
+ * 파일 구조: MAGIC | 블록* | 0
+ * 블록: 행 수(int) | 최소/최대 login_dt(long) | 본문 길이(int) | 컬럼* (원본 길이(int) | 압축 길이(int) | 데이터)
+ *
+ * 읽기는 파일을 메모리 매핑하여 압축 데이터를 복사 없이 Inflater에 넘기고,
+ * 시각 범위가 겹치지 않거나 IP 사전에 찾는 IP가 없는 블록은 나머지 컬럼을 풀지 않고 건너뜁니다.
+ * 한 파일은 메모리 매핑 한도(2GB) 이내여야 합니다.
+ *
+ * @author nsustest
+ */
+public final class LoginHistoryArchive {
+
+    public static final int DEFAULT_BLOCK_ROWS = 65536;
+
+    private static final int MAGIC = 0x4C484131; // "LHA1"
+    private static final int BLOCK_HEADER_BYTES = 24;
+
+    // 컬럼 순서
+    private static final int COL_ID = 0;
+    private static final int COL_LOGIN_DT = 1;
+    private static final int COL_USR_ID = 2;
+    private static final int COL_LOGIN_ID = 3;
+    private static final int COL_IP = 4;
+    private static final int COL_FLAGS = 5;
+    private static final int COL_FAIL_REASON = 6;
+    private static final int COL_USER_AGENT = 7;
+    private static final int COL_ATTEMPT_CNT = 8;
+    private static final int COL_BLOCKED_UNTIL = 9;
+    private static final int COLUMN_COUNT = 10;
+
+    private static final int FLAG_SUCCESS = 1;
+    private static final int FLAG_BLOCKED = 2;
+
+    private LoginHistoryArchive() {
+    }
+
+    /**
+     * 아카이브 파일 생성 (기존 파일은 덮어씀)
+     *
+     * @param file 파일 경로
+     * @param blockRows 블록당 행 수
+     * @return 쓰기 객체
+     */
+    public static Writer create(Path file, int blockRows) throws IOException {
+        return new Writer(file, blockRows);
+    }
+
+    /**
+     * 아카이브 파일 열기 (메모리 매핑)
+     *
+     * @param file 파일 경로
+     * @return 읽기 객체
+     */
+    public static Reader open(Path file) throws IOException {
+        return new Reader(file);
+    }
+
+    // ==================== 쓰기 ====================
+
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private final int blockRows;
+        private final List<LoginHistoryRecord> rows;
+        private final Deflater deflater = new Deflater();
+        private byte[] compressBuffer = new byte[1 << 16];
+        private long rowCount;
+
+        private Writer(Path file, int blockRows) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+            this.blockRows = Math.max(1, blockRows);
+            this.rows = new ArrayList<>(this.blockRows);
+            out.writeInt(MAGIC);
+        }
+
+        /**
+         * 행 추가 (login_dt 순서일 필요는 없음)
+         */
+        public void append(LoginHistoryRecord row) throws IOException {
+            rows.add(row);
+            if (rows.size() >= blockRows) {
+                flushBlock();
+            }
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (!rows.isEmpty()) {
+                    flushBlock();
+                }
+                out.writeInt(0);
+            } finally {
+                deflater.end();
+                out.close();
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            ByteSink[] columns = new ByteSink[COLUMN_COUNT];
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                columns[c] = new ByteSink(rows.size() * 2);
+            }
+
+            long prevId = 0;
+            long prevLoginMs = 0;
+            long minLoginMs = Long.MAX_VALUE;
+            long maxLoginMs = Long.MIN_VALUE;
+            for (LoginHistoryRecord row : rows) {
+                long loginMs = row.loginDt().getTime();
+                minLoginMs = Math.min(minLoginMs, loginMs);
+                maxLoginMs = Math.max(maxLoginMs, loginMs);
+
+                columns[COL_ID].writeZigZag(row.id() - prevId);
+                columns[COL_LOGIN_DT].writeZigZag(loginMs - prevLoginMs);
+                columns[COL_USR_ID].writeVarLong(row.usrId() == null ? 0 : row.usrId() + 1);
+                columns[COL_FLAGS].write((row.success() ? FLAG_SUCCESS : 0) | (row.blocked() ? FLAG_BLOCKED : 0));
+                columns[COL_ATTEMPT_CNT].writeZigZag(row.attemptCnt());
+                columns[COL_BLOCKED_UNTIL].writeVarLong(row.blockedUntilDt() == null
+                        ? 0 : zigZag(row.blockedUntilDt().getTime() - loginMs) + 1);
+                prevId = row.id();
+                prevLoginMs = loginMs;
+            }
+            encodeDictionary(columns[COL_LOGIN_ID], LoginHistoryRecord::usrLoginId);
+            encodeDictionary(columns[COL_IP], LoginHistoryRecord::ipAddr);
+            encodeDictionary(columns[COL_FAIL_REASON], LoginHistoryRecord::failReason);
+            encodeDictionary(columns[COL_USER_AGENT], LoginHistoryRecord::userAgent);
+
+            byte[][] compressed = new byte[COLUMN_COUNT][];
+            int bodyLength = 0;
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                compressed[c] = compress(columns[c]);
+                bodyLength += 8 + compressed[c].length;
+            }
+
+            out.writeInt(rows.size());
+            out.writeLong(minLoginMs);
+            out.writeLong(maxLoginMs);
+            out.writeInt(bodyLength);
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                out.writeInt(columns[c].size());
+                out.writeInt(compressed[c].length);
+                out.write(compressed[c]);
+            }
+
+            rowCount += rows.size();
+            rows.clear();
+        }
+
+        /**
+         * 사전 인코딩: 사전 크기 | (길이 | UTF-8)* | 행별 사전 번호 (0은 null)
+         */
+        private void encodeDictionary(ByteSink sink, Function<LoginHistoryRecord, String> column) {
+            Map<String, Integer> dictionary = new HashMap<>();
+            List<String> entries = new ArrayList<>();
+            int[] codes = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                String value = column.apply(rows.get(i));
+                if (value != null) {
+                    codes[i] = dictionary.computeIfAbsent(value, v -> {
+                        entries.add(v);
+                        return entries.size();
+                    });
+                }
+            }
+
+            sink.writeVarLong(entries.size());
+            for (String entry : entries) {
+                byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                sink.writeVarLong(bytes.length);
+                sink.write(bytes);
+            }
+            for (int code : codes) {
+                sink.writeVarLong(code);
+            }
+        }
+
+        private byte[] compress(ByteSink column) {
+            deflater.reset();
+            deflater.setInput(column.array(), 0, column.size());
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressBuffer.length) {
+                    compressBuffer = Arrays.copyOf(compressBuffer, compressBuffer.length * 2);
+                }
+                length += deflater.deflate(compressBuffer, length, compressBuffer.length - length);
+            }
+            return Arrays.copyOf(compressBuffer, length);
+        }
+    }
+
+    // ==================== 읽기 ====================
+
+    public static final class Reader implements Closeable {
+
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final Inflater inflater = new Inflater();
+
+        private Reader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                channel.close();
+                throw new IOException("아카이브 파일이 너무 큽니다: " + file);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < 8 || buffer.getInt(0) != MAGIC) {
+                channel.close();
+                throw new IOException("로그인 이력 아카이브 파일이 아닙니다: " + file);
+            }
+        }
+
+        /**
+         * 전체 행 수 (블록 헤더만 읽음)
+         */
+        public long count() {
+            long count = 0;
+            for (int pos = 4; ; ) {
+                int rows = buffer.getInt(pos);
+                if (rows == 0) {
+                    return count;
+                }
+                count += rows;
+                pos += BLOCK_HEADER_BYTES + buffer.getInt(pos + 20);
+            }
+        }
+
+        /**
+         * 전체 행 순회
+         *
+         * @param consumer 행 처리
+         * @return 처리한 행 수
+         */
+        public long forEach(Consumer<LoginHistoryRecord> consumer) throws IOException {
+            return scan(null, null, null, null, Long.MAX_VALUE, consumer);
+        }
+
+        /**
+         * 조건 검색 (null인 조건은 무시)
+         *
+         * @param ipAddr IP 주소
+         * @param usrId 사용자 ID
+         * @param from 시작 일시 (포함)
+         * @param to 끝 일시 (제외)
+         * @param limit 최대 행 수
+         * @return 조건에 맞는 행 (파일 순서)
+         */
+        public List<LoginHistoryRecord> search(String ipAddr, Long usrId, Date from, Date to, int limit)
+                throws IOException {
+            List<LoginHistoryRecord> result = new ArrayList<>();
+            scan(ipAddr, usrId, from, to, limit, result::add);
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflater.end();
+            channel.close();
+        }
+
+        private long scan(String ipAddr, Long usrId, Date from, Date to, long limit,
+                          Consumer<LoginHistoryRecord> consumer) throws IOException {
+            long fromMs = from != null ? from.getTime() : Long.MIN_VALUE;
+            long toMs = to != null ? to.getTime() : Long.MAX_VALUE;
+            long matched = 0;
+            int[] offsets = new int[COLUMN_COUNT];
+
+            for (int pos = 4; matched < limit; ) {
+                int rows = buffer.getInt(pos);
+                if (rows == 0) {
+                    break;
+                }
+                long minMs = buffer.getLong(pos + 4);
+                long maxMs = buffer.getLong(pos + 12);
+                int next = pos + BLOCK_HEADER_BYTES + buffer.getInt(pos + 20);
+
+                if (maxMs >= fromMs && minMs < toMs) {
+                    int col = pos + BLOCK_HEADER_BYTES;
+                    for (int c = 0; c < COLUMN_COUNT; c++) {
+                        offsets[c] = col;
+                        col += 8 + buffer.getInt(col + 4);
+                    }
+                    matched += scanBlock(rows, offsets, ipAddr, usrId, fromMs, toMs, limit - matched, consumer);
+                }
+                pos = next;
+            }
+            return matched;
+        }
+
+        private long scanBlock(int rows, int[] offsets, String ipAddr, Long usrId, long fromMs, long toMs,
+                               long limit, Consumer<LoginHistoryRecord> consumer) throws IOException {
+            // 선택도가 높은 조건 컬럼부터 풀고, 맞는 행이 없으면 나머지 컬럼은 풀지 않음
+            Dictionary ips = decodeDictionary(offsets[COL_IP], rows);
+            int ipCode = 0;
+            if (ipAddr != null) {
+                ipCode = ips.codeOf(ipAddr);
+                if (ipCode == 0) {
+                    return 0;
+                }
+            }
+            long[] usrIds = decodeLongs(offsets[COL_USR_ID], rows, false);
+            long[] loginMs = decodeDeltas(offsets[COL_LOGIN_DT], rows);
+
+            boolean[] match = new boolean[rows];
+            int candidates = 0;
+            for (int i = 0; i < rows; i++) {
+                match[i] = (ipAddr == null || ips.codeAt(i) == ipCode)
+                        && (usrId == null || usrIds[i] == usrId + 1)
+                        && loginMs[i] >= fromMs && loginMs[i] < toMs;
+                if (match[i]) {
+                    candidates++;
+                }
+            }
+            if (candidates == 0) {
+                return 0;
+            }
+
+            long[] ids = decodeDeltas(offsets[COL_ID], rows);
+            Dictionary loginIds = decodeDictionary(offsets[COL_LOGIN_ID], rows);
+            byte[] flags = inflate(offsets[COL_FLAGS]);
+            Dictionary failReasons = decodeDictionary(offsets[COL_FAIL_REASON], rows);
+            Dictionary userAgents = decodeDictionary(offsets[COL_USER_AGENT], rows);
+            long[] attemptCnts = decodeLongs(offsets[COL_ATTEMPT_CNT], rows, true);
+            long[] blockedUntil = decodeLongs(offsets[COL_BLOCKED_UNTIL], rows, false);
+
+            long emitted = 0;
+            for (int i = 0; i < rows && emitted < limit; i++) {
+                if (!match[i]) {
+                    continue;
+                }
+                consumer.accept(new LoginHistoryRecord(
+                        ids[i],
+                        usrIds[i] == 0 ? null : usrIds[i] - 1,
+                        loginIds.valueAt(i),
+                        ips.valueAt(i),
+                        new Date(loginMs[i]),
+                        (flags[i] & FLAG_SUCCESS) != 0,
+                        failReasons.valueAt(i),
+                        userAgents.valueAt(i),
+                        (int) attemptCnts[i],
+                        (flags[i] & FLAG_BLOCKED) != 0,
+                        blockedUntil[i] == 0 ? null : new Date(loginMs[i] + unZigZag(blockedUntil[i] - 1))));
+                emitted++;
+            }
+            return emitted;
+        }
+
+        private long[] decodeDeltas(int offset, int rows) throws IOException {
+            ByteSource in = new ByteSource(inflate(offset));
+            long[] values = new long[rows];
+            long prev = 0;
+            for (int i = 0; i < rows; i++) {
+                prev += in.readZigZag();
+                values[i] = prev;
+            }
+            return values;
+        }
+
+        private long[] decodeLongs(int offset, int rows, boolean zigZag) throws IOException {
+            ByteSource in = new ByteSource(inflate(offset));
+            long[] values = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                values[i] = zigZag ? in.readZigZag() : in.readVarLong();
+            }
+            return values;
+        }
+
+        private Dictionary decodeDictionary(int offset, int rows) throws IOException {
+            byte[] raw = inflate(offset);
+            ByteSource in = new ByteSource(raw);
+            int size = (int) in.readVarLong();
+            int[] starts = new int[size];
+            int[] lengths = new int[size];
+            for (int i = 0; i < size; i++) {
+                lengths[i] = (int) in.readVarLong();
+                starts[i] = in.skip(lengths[i]);
+            }
+            int[] codes = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                codes[i] = (int) in.readVarLong();
+            }
+            return new Dictionary(raw, starts, lengths, codes);
+        }
+
+        private byte[] inflate(int offset) throws IOException {
+            int rawLength = buffer.getInt(offset);
+            int compressedLength = buffer.getInt(offset + 4);
+            byte[] raw = new byte[rawLength];
+            inflater.reset();
+            inflater.setInput(buffer.slice(offset + 8, compressedLength));
+            try {
+                int length = 0;
+                while (length < rawLength && !inflater.finished()) {
+                    int n = inflater.inflate(raw, length, rawLength - length);
+                    if (n == 0 && inflater.needsInput()) {
+                        break;
+                    }
+                    length += n;
+                }
+                if (length != rawLength) {
+                    throw new IOException("아카이브 컬럼 길이 불일치: " + length + " / " + rawLength);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("아카이브 컬럼 압축 해제 실패", e);
+            }
+            return raw;
+        }
+    }
+
+    // ==================== 인코딩 도구 ====================
+
+    /**
+     * 블록 사전 컬럼 (문자열은 실제로 꺼낼 때만 생성, 검색은 바이트 비교)
+     */
+    private static final class Dictionary {
+
+        private final byte[] data;
+        private final int[] starts;
+        private final int[] lengths;
+        private final int[] codes;
+        private final String[] values;
+
+        Dictionary(byte[] data, int[] starts, int[] lengths, int[] codes) {
+            this.data = data;
+            this.starts = starts;
+            this.lengths = lengths;
+            this.codes = codes;
+            this.values = new String[starts.length];
+        }
+
+        int codeOf(String value) {
+            byte[] target = value.getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < starts.length; i++) {
+                if (Arrays.equals(data, starts[i], starts[i] + lengths[i], target, 0, target.length)) {
+                    return i + 1;
+                }
+            }
+            return 0;
+        }
+
+        int codeAt(int row) {
+            return codes[row];
+        }
+
+        String valueAt(int row) {
+            int code = codes[row];
+            if (code == 0) {
+                return null;
+            }
+            String value = values[code - 1];
+            if (value == null) {
+                value = new String(data, starts[code - 1], lengths[code - 1], StandardCharsets.UTF_8);
+                values[code - 1] = value;
+            }
+            return value;
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class ByteSink {
+
+        private byte[] data;
+        private int size;
+
+        ByteSink(int capacity) {
+            this.data = new byte[Math.max(16, capacity)];
+        }
+
+        void write(int b) {
+            ensure(1);
+            data[size++] = (byte) b;
+        }
+
+        void write(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, data, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong(zigZag(value));
+        }
+
+        byte[] array() {
+            return data;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class ByteSource {
+
+        private final byte[] data;
+        private int pos;
+
+        ByteSource(byte[] data) {
+            this.data = data;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long readZigZag() {
+            return unZigZag(readVarLong());
+        }
+
+        /**
+         * length 바이트 건너뛰기
+         *
+         * @return 건너뛴 구간의 시작 위치
+         */
+        int skip(int length) {
+            int start = pos;
+            pos += length;
+            return start;
+        }
+    }
+}
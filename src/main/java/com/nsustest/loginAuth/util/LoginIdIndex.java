@@ -0,0 +1,190 @@
+package com.nsustest.loginAuth.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 로그인 아이디 정렬 인덱스 (front coding 압축, 읽기 전용)
+ *
+ * 정렬된 아이디를 BLOCK_SIZE개씩 블록으로 나누고, 블록의 첫 아이디만 전체를 저장하며
+ * 나머지는 앞 아이디와 겹치는 접두사 길이 + 나머지 바이트만 저장합니다.
+ * 조회는 블록 첫 아이디로 이진 탐색한 뒤 한 블록만 순차 복원합니다.
+ *
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 락 없이 조회할 수 있습니다.
+ *
+ * @author nsustest
+ */
+public final class LoginIdIndex {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private static final LoginIdIndex EMPTY = new LoginIdIndex(new byte[0], new int[0], 0);
+
+    private final byte[] data;
+    private final int[] blockOffsets;
+    private final int size;
+
+    private LoginIdIndex(byte[] data, int[] blockOffsets, int size) {
+        this.data = data;
+        this.blockOffsets = blockOffsets;
+        this.size = size;
+    }
+
+    /**
+     * 빈 인덱스
+     */
+    public static LoginIdIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 아이디 목록으로 인덱스 생성 (정렬/중복 제거는 내부에서 처리)
+     *
+     * @param loginIds 정규화된 로그인 아이디 목록
+     * @return 인덱스
+     */
+    public static LoginIdIndex build(Collection<String> loginIds) {
+        List<byte[]> keys = new ArrayList<>(loginIds.size());
+        for (String loginId : loginIds) {
+            keys.add(loginId.getBytes(StandardCharsets.UTF_8));
+        }
+        keys.sort(Arrays::compareUnsigned);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(keys.size() * 6);
+        int[] offsets = new int[(keys.size() + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        int blockCount = 0;
+        int count = 0;
+        byte[] prev = null;
+
+        for (byte[] key : keys) {
+            if (prev != null && Arrays.equals(prev, key)) {
+                continue;
+            }
+            if (count % BLOCK_SIZE == 0) {
+                offsets[blockCount++] = out.size();
+                writeVarInt(out, key.length);
+                out.write(key, 0, key.length);
+            } else {
+                int shared = Arrays.mismatch(prev, key);
+                writeVarInt(out, shared);
+                writeVarInt(out, key.length - shared);
+                out.write(key, shared, key.length - shared);
+            }
+            prev = key;
+            count++;
+        }
+
+        return new LoginIdIndex(out.toByteArray(), Arrays.copyOf(offsets, blockCount), count);
+    }
+
+    /**
+     * 아이디 포함 여부
+     *
+     * @param loginId 정규화된 로그인 아이디
+     * @return 포함 여부
+     */
+    public boolean contains(String loginId) {
+        if (size == 0) {
+            return false;
+        }
+        byte[] key = loginId.getBytes(StandardCharsets.UTF_8);
+
+        // key 이하인 첫 아이디를 가진 마지막 블록 탐색
+        int low = 0;
+        int high = blockOffsets.length - 1;
+        int block = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareHead(mid, key);
+            if (cmp == 0) {
+                return true;
+            }
+            if (cmp < 0) {
+                block = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return block >= 0 && scanBlock(block, key);
+    }
+
+    /**
+     * 저장된 아이디 수
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 압축된 데이터 크기 (바이트)
+     */
+    public int getDataBytes() {
+        return data.length + blockOffsets.length * Integer.BYTES;
+    }
+
+    // ==================== 내부 처리 ====================
+
+    private int compareHead(int block, byte[] key) {
+        int[] pos = {blockOffsets[block]};
+        int length = readVarInt(pos);
+        return Arrays.compareUnsigned(data, pos[0], pos[0] + length, key, 0, key.length);
+    }
+
+    private boolean scanBlock(int block, byte[] key) {
+        int[] pos = {blockOffsets[block]};
+        int end = block + 1 < blockOffsets.length ? blockOffsets[block + 1] : data.length;
+
+        byte[] current = new byte[Math.max(32, key.length)];
+        int length = readVarInt(pos);
+        current = ensureCapacity(current, length);
+        System.arraycopy(data, pos[0], current, 0, length);
+        pos[0] += length;
+
+        while (pos[0] < end) {
+            int shared = readVarInt(pos);
+            int suffix = readVarInt(pos);
+            length = shared + suffix;
+            current = ensureCapacity(current, length);
+            System.arraycopy(data, pos[0], current, shared, suffix);
+            pos[0] += suffix;
+
+            int cmp = Arrays.compareUnsigned(current, 0, length, key, 0, key.length);
+            if (cmp == 0) {
+                return true;
+            }
+            if (cmp > 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] ensureCapacity(byte[] buffer, int length) {
+        return buffer.length >= length ? buffer : Arrays.copyOf(buffer, Math.max(length, buffer.length * 2));
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private int readVarInt(int[] pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
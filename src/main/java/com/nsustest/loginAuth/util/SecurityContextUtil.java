@@ -44,6 +44,32 @@ public class SecurityContextUtil {
         }
     }
     
+    /**
+     * 현재 요청의 세션 식별자(Access Token의 sid)를 반환
+     * 
+     * @return 세션 식별자 (인증되지 않았거나 sid가 없는 토큰이면 null)
+     */
+    public String getCurrentSessionId() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return null;
+            }
+            
+            Object details = authentication.getDetails();
+            if (details instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> userDetailsMap = (Map<String, Object>) details;
+                Object sid = userDetailsMap.get("sid");
+                return sid instanceof String ? (String) sid : null;
+            }
+            
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
     /**
      * 현재 인증된 사용자의 로그인 ID를 반환
      * 
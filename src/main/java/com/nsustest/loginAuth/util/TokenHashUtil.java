@@ -0,0 +1,37 @@
+package com.nsustest.loginAuth.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 토큰 해시 유틸리티
+ *
+ * user_sessions에는 Refresh Token 원문 대신 SHA-256 다이제스트(BINARY(32))만 저장하고
+ * 다이제스트 인덱스로 세션을 조회합니다.
+ * MySQL의 UNHEX(SHA2(token, 256))과 같은 값이므로 기존 행 백필에 그대로 사용할 수 있습니다.
+ *
+ * @author nsustest
+ */
+public final class TokenHashUtil {
+
+    public static final int SHA256_LENGTH = 32;
+
+    private TokenHashUtil() {
+    }
+
+    /**
+     * 토큰의 SHA-256 다이제스트 (UTF-8 기준)
+     *
+     * @param token 토큰 원문
+     * @return 32바이트 다이제스트
+     */
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM은 SHA-256을 제공해야 함
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -62,6 +62,9 @@ async function checkIdDuplicate() {
             }
         } else {
             showIdCheckResult(data.message || getMessage('FRONT_008'), 'error');
+            if (data.data && data.data.suggestions && data.data.suggestions.length > 0) {
+                showIdSuggestions(data.data.suggestions);
+            }
         }
     } catch (error) {
         console.error('Error:', error);
@@ -94,6 +97,32 @@ function showIdCheckResult(message, type) {
     }
 }
 
+/**
+ * 사용 가능한 추천 아이디 표시 (클릭 시 입력란에 채우고 다시 확인)
+ * 
+ * @param {string[]} suggestions - 추천 아이디 목록
+ */
+function showIdSuggestions(suggestions) {
+    const resultDiv = document.getElementById('idCheckResult');
+    const list = document.createElement('div');
+    list.className = 'id-suggestions';
+    
+    suggestions.forEach(suggestion => {
+        const item = document.createElement('button');
+        item.type = 'button';
+        item.className = 'id-suggestion';
+        item.textContent = suggestion;
+        item.addEventListener('click', () => {
+            document.getElementById('usrLoginId').value = suggestion;
+            isIdChecked = false;
+            checkIdDuplicate();
+        });
+        list.appendChild(item);
+    });
+    
+    resultDiv.appendChild(list);
+}
+
 // 아이디 중복확인 결과 숨기기
 function hideIdCheckResult() {
     const resultDiv = document.getElementById('idCheckResult');
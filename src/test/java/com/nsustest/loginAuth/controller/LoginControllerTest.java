@@ -1,6 +1,15 @@
 package com.nsustest.loginAuth.controller;
 
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.IdCheckResponse;
+import com.nsustest.loginAuth.dto.LoginRequest;
+import com.nsustest.loginAuth.dto.RefreshRequest;
+import com.nsustest.loginAuth.dto.SessionInfo;
+import com.nsustest.loginAuth.dto.SignupRequest;
+import com.nsustest.loginAuth.dto.SignupResponse;
+import com.nsustest.loginAuth.dto.TokenResponse;
+import com.nsustest.loginAuth.dto.UserInfoResponse;
+import com.nsustest.loginAuth.dto.UserSummary;
 import com.nsustest.loginAuth.service.LoginService;
 import com.nsustest.loginAuth.util.SecurityContextUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,8 +24,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.HashMap;
-import java.util.Map;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,28 +53,21 @@ public class LoginControllerTest {
     @InjectMocks
     private LoginController loginController;
     
-    private Map<String, Object> validSignupData;
-    private Map<String, Object> validLoginData;
-    private Map<String, Object> validRefreshData;
+    private SignupRequest validSignupData;
+    private LoginRequest validLoginData;
+    private RefreshRequest validRefreshData;
     
     @BeforeEach
     void setUp() {
         // 유효한 회원가입 데이터
-        validSignupData = new HashMap<>();
-        validSignupData.put("usrLoginId", "testuser");
-        validSignupData.put("usrNm", "테스트사용자");
-        validSignupData.put("email", "test@example.com");
-        validSignupData.put("password", "Test123!@#");
-        validSignupData.put("phoneNum", "010-1234-5678");
-        
-        // 유효한 로그인 데이터
-        validLoginData = new HashMap<>();
-        validLoginData.put("usrLoginId", "testuser");
-        validLoginData.put("password", "Test123!@#");
+        validSignupData = new SignupRequest("testuser", "테스트사용자", "test@example.com",
+                "Test123!@#", "010-1234-5678");
+        
+        // 유효한 로그인 데이터 (IP/사용자 에이전트는 컨트롤러에서 채움)
+        validLoginData = new LoginRequest("testuser", "Test123!@#", null, null, null);
         
         // 유효한 토큰 재발급 데이터
-        validRefreshData = new HashMap<>();
-        validRefreshData.put("refreshToken", "valid.refresh.token");
+        validRefreshData = new RefreshRequest("valid.refresh.token");
     }
     
     /**
@@ -75,21 +77,19 @@ public class LoginControllerTest {
     void testCheckIdDuplicate_Success() {
         // Given
         String usrLoginId = "newuser";
-        Map<String, Object> responseData = new HashMap<>();
-        responseData.put("duplicate", false);
-        responseData.put("usrLoginId", usrLoginId);
+        IdCheckResponse responseData = new IdCheckResponse(false, usrLoginId, null);
         
-        ApiResponse<Map<String, Object>> successResponse = ApiResponse.success("사용 가능한 아이디입니다.", responseData);
+        ApiResponse<IdCheckResponse> successResponse = ApiResponse.success("사용 가능한 아이디입니다.", responseData);
         when(loginService.checkIdDuplicate(usrLoginId)).thenReturn(successResponse);
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.checkIdDuplicate(usrLoginId);
+        ResponseEntity<ApiResponse<IdCheckResponse>> response = loginController.checkIdDuplicate(usrLoginId);
         
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals("사용 가능한 아이디입니다.", response.getBody().getMessage());
-        assertFalse((Boolean) response.getBody().getData().get("duplicate"));
+        assertFalse(response.getBody().getData().duplicate());
         
         verify(loginService).checkIdDuplicate(usrLoginId);
     }
@@ -101,15 +101,11 @@ public class LoginControllerTest {
     void testCheckIdDuplicate_Duplicate() {
         // Given
         String usrLoginId = "existinguser";
-        Map<String, Object> responseData = new HashMap<>();
-        responseData.put("duplicate", true);
-        responseData.put("usrLoginId", usrLoginId);
-        
-        ApiResponse<Map<String, Object>> errorResponse = ApiResponse.error("이미 사용 중인 아이디입니다.", "USER_003");
+        ApiResponse<IdCheckResponse> errorResponse = ApiResponse.error("이미 사용 중인 아이디입니다.", "USER_003");
         when(loginService.checkIdDuplicate(usrLoginId)).thenReturn(errorResponse);
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.checkIdDuplicate(usrLoginId);
+        ResponseEntity<ApiResponse<IdCheckResponse>> response = loginController.checkIdDuplicate(usrLoginId);
         
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -126,22 +122,20 @@ public class LoginControllerTest {
     @Test
     void testSignup_Success() {
         // Given
-        Map<String, Object> responseData = new HashMap<>();
-        responseData.put("usrLoginId", "testuser");
-        responseData.put("email", "test@example.com");
+        SignupResponse responseData = new SignupResponse("testuser", "test@example.com");
         
-        ApiResponse<Map<String, Object>> successResponse = ApiResponse.success("회원가입이 완료되었습니다!", responseData);
+        ApiResponse<SignupResponse> successResponse = ApiResponse.success("회원가입이 완료되었습니다!", responseData);
         when(loginService.signup(validSignupData)).thenReturn(successResponse);
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.signup(validSignupData);
+        ResponseEntity<ApiResponse<SignupResponse>> response = loginController.signup(validSignupData);
         
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals("회원가입이 완료되었습니다!", response.getBody().getMessage());
-        assertEquals("testuser", response.getBody().getData().get("usrLoginId"));
-        assertEquals("test@example.com", response.getBody().getData().get("email"));
+        assertEquals("testuser", response.getBody().getData().usrLoginId());
+        assertEquals("test@example.com", response.getBody().getData().email());
         
         verify(loginService).signup(validSignupData);
     }
@@ -152,11 +146,11 @@ public class LoginControllerTest {
     @Test
     void testSignup_Failure() {
         // Given
-        ApiResponse<Map<String, Object>> errorResponse = ApiResponse.error("회원가입에 실패했습니다.", "SRV_001");
+        ApiResponse<SignupResponse> errorResponse = ApiResponse.error("회원가입에 실패했습니다.", "SRV_001");
         when(loginService.signup(validSignupData)).thenReturn(errorResponse);
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.signup(validSignupData);
+        ResponseEntity<ApiResponse<SignupResponse>> response = loginController.signup(validSignupData);
         
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -173,43 +167,34 @@ public class LoginControllerTest {
     @Test
     void testLogin_Success() {
         // Given
-        Map<String, Object> authData = new HashMap<>();
-        authData.put("accessToken", "access.token.here");
-        authData.put("refreshToken", "refresh.token.here");
-        authData.put("tokenType", "Bearer");
-        authData.put("expiresIn", 900L);
-        
-        Map<String, Object> userInfo = new HashMap<>();
-        userInfo.put("usrId", 1L);
-        userInfo.put("usrLoginId", "testuser");
-        userInfo.put("usrNm", "테스트사용자");
-        userInfo.put("email", "test@example.com");
-        authData.put("user", userInfo);
-        
-        ApiResponse<Map<String, Object>> successResponse = ApiResponse.success("로그인되었습니다.", authData);
-        when(loginService.login(any(Map.class))).thenReturn(successResponse);
+        TokenResponse authData = TokenResponse.bearer("access.token.here", "refresh.token.here", 900L,
+                new UserSummary(1L, "testuser", "테스트사용자", "test@example.com"));
+        
+        ApiResponse<TokenResponse> successResponse = ApiResponse.success("로그인되었습니다.", authData);
+        when(loginService.login(any(LoginRequest.class))).thenReturn(successResponse);
         when(request.getHeader("User-Agent")).thenReturn("Mozilla/5.0");
+        when(request.getRemoteAddr()).thenReturn("192.168.1.100");
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.login(validLoginData, request);
+        ResponseEntity<ApiResponse<TokenResponse>> response = loginController.login(validLoginData, request);
         
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals("로그인되었습니다.", response.getBody().getMessage());
         
-        Map<String, Object> responseData = response.getBody().getData();
-        assertEquals("access.token.here", responseData.get("accessToken"));
-        assertEquals("refresh.token.here", responseData.get("refreshToken"));
-        assertEquals("Bearer", responseData.get("tokenType"));
-        assertEquals(900L, responseData.get("expiresIn"));
-        assertNotNull(responseData.get("user"));
+        TokenResponse responseData = response.getBody().getData();
+        assertEquals("access.token.here", responseData.accessToken());
+        assertEquals("refresh.token.here", responseData.refreshToken());
+        assertEquals("Bearer", responseData.tokenType());
+        assertEquals(900L, responseData.expiresIn());
+        assertNotNull(responseData.user());
         
         verify(loginService).login(argThat(loginData -> 
-            loginData.containsKey("usrLoginId") &&
-            loginData.containsKey("password") &&
-            loginData.containsKey("ipAddr") &&
-            loginData.containsKey("userAgent")
+            "testuser".equals(loginData.usrLoginId()) &&
+            "Test123!@#".equals(loginData.password()) &&
+            "192.168.1.100".equals(loginData.ipAddr()) &&
+            "Mozilla/5.0".equals(loginData.userAgent())
         ));
     }
     
@@ -219,12 +204,12 @@ public class LoginControllerTest {
     @Test
     void testLogin_Failure() {
         // Given
-        ApiResponse<Map<String, Object>> errorResponse = ApiResponse.error("아이디 또는 비밀번호가 올바르지 않습니다.", "AUTH_001");
-        when(loginService.login(any(Map.class))).thenReturn(errorResponse);
+        ApiResponse<TokenResponse> errorResponse = ApiResponse.error("아이디 또는 비밀번호가 올바르지 않습니다.", "AUTH_001");
+        when(loginService.login(any(LoginRequest.class))).thenReturn(errorResponse);
         when(request.getHeader("User-Agent")).thenReturn("Mozilla/5.0");
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.login(validLoginData, request);
+        ResponseEntity<ApiResponse<TokenResponse>> response = loginController.login(validLoginData, request);
         
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -232,7 +217,7 @@ public class LoginControllerTest {
         assertEquals("아이디 또는 비밀번호가 올바르지 않습니다.", response.getBody().getMessage());
         assertEquals("AUTH_001", response.getBody().getErrorCode());
         
-        verify(loginService).login(any(Map.class));
+        verify(loginService).login(any(LoginRequest.class));
     }
     
     /**
@@ -241,28 +226,24 @@ public class LoginControllerTest {
     @Test
     void testRefreshToken_Success() {
         // Given
-        Map<String, Object> tokenData = new HashMap<>();
-        tokenData.put("accessToken", "new.access.token");
-        tokenData.put("refreshToken", "new.refresh.token");
-        tokenData.put("tokenType", "Bearer");
-        tokenData.put("expiresIn", 900L);
+        TokenResponse tokenData = TokenResponse.bearer("new.access.token", "new.refresh.token", 900L, null);
         
-        ApiResponse<Map<String, Object>> successResponse = ApiResponse.success("토큰이 재발급되었습니다.", tokenData);
+        ApiResponse<TokenResponse> successResponse = ApiResponse.success("토큰이 재발급되었습니다.", tokenData);
         when(loginService.refreshAccessToken("valid.refresh.token")).thenReturn(successResponse);
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.refreshToken(validRefreshData);
+        ResponseEntity<ApiResponse<TokenResponse>> response = loginController.refreshToken(validRefreshData);
         
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals("토큰이 재발급되었습니다.", response.getBody().getMessage());
         
-        Map<String, Object> responseData = response.getBody().getData();
-        assertEquals("new.access.token", responseData.get("accessToken"));
-        assertEquals("new.refresh.token", responseData.get("refreshToken"));
-        assertEquals("Bearer", responseData.get("tokenType"));
-        assertEquals(900L, responseData.get("expiresIn"));
+        TokenResponse responseData = response.getBody().getData();
+        assertEquals("new.access.token", responseData.accessToken());
+        assertEquals("new.refresh.token", responseData.refreshToken());
+        assertEquals("Bearer", responseData.tokenType());
+        assertEquals(900L, responseData.expiresIn());
         
         verify(loginService).refreshAccessToken("valid.refresh.token");
     }
@@ -273,11 +254,11 @@ public class LoginControllerTest {
     @Test
     void testRefreshToken_MissingRefreshToken() {
         // Given
-        Map<String, Object> invalidData = new HashMap<>();
+        RefreshRequest invalidData = new RefreshRequest(null);
         // refreshToken 누락
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.refreshToken(invalidData);
+        ResponseEntity<ApiResponse<TokenResponse>> response = loginController.refreshToken(invalidData);
         
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -294,11 +275,10 @@ public class LoginControllerTest {
     @Test
     void testRefreshToken_EmptyRefreshToken() {
         // Given
-        Map<String, Object> invalidData = new HashMap<>();
-        invalidData.put("refreshToken", "");
+        RefreshRequest invalidData = new RefreshRequest("");
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.refreshToken(invalidData);
+        ResponseEntity<ApiResponse<TokenResponse>> response = loginController.refreshToken(invalidData);
         
         // Then
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
@@ -316,8 +296,9 @@ public class LoginControllerTest {
     void testLogout_Success() {
         // Given
         when(securityContextUtil.getCurrentUserId()).thenReturn(1L);
+        when(securityContextUtil.getCurrentSessionId()).thenReturn("sid-1");
         ApiResponse<Object> successResponse = ApiResponse.success("로그아웃되었습니다.", null);
-        when(loginService.logout(1L)).thenReturn(successResponse);
+        when(loginService.logout(1L, "sid-1")).thenReturn(successResponse);
         
         // When
         ResponseEntity<ApiResponse<Object>> response = loginController.logout();
@@ -328,7 +309,7 @@ public class LoginControllerTest {
         assertEquals("로그아웃되었습니다.", response.getBody().getMessage());
         
         verify(securityContextUtil).getCurrentUserId();
-        verify(loginService).logout(1L);
+        verify(loginService).logout(1L, "sid-1");
     }
     
     /**
@@ -349,7 +330,83 @@ public class LoginControllerTest {
         assertEquals("AUTH_008", response.getBody().getErrorCode());
         
         verify(securityContextUtil).getCurrentUserId();
-        verify(loginService, never()).logout(anyLong());
+        verify(loginService, never()).logout(anyLong(), any());
+    }
+    
+    /**
+     * 세션 목록 조회 - 현재 세션 표시
+     */
+    @Test
+    void testGetSessions_Success() {
+        // Given
+        when(securityContextUtil.getCurrentUserId()).thenReturn(1L);
+        when(securityContextUtil.getCurrentSessionId()).thenReturn("sid-1");
+        List<SessionInfo> sessions = List.of(
+            new SessionInfo("sid-1", "device-1", "192.168.1.100", "Mozilla/5.0", null, null, true),
+            new SessionInfo("sid-2", "device-2", "192.168.1.101", "Mozilla/5.0", null, null, false));
+        when(loginService.listSessions(1L, "sid-1"))
+            .thenReturn(ApiResponse.success("로그인된 기기 목록을 조회했습니다.", sessions));
+        
+        // When
+        ResponseEntity<ApiResponse<List<SessionInfo>>> response = loginController.getSessions();
+        
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().getData().size());
+        assertTrue(response.getBody().getData().get(0).current());
+    }
+    
+    /**
+     * 세션 종료 - 성공
+     */
+    @Test
+    void testRevokeSession_Success() {
+        // Given
+        when(securityContextUtil.getCurrentUserId()).thenReturn(1L);
+        when(loginService.revokeSession(1L, "sid-2"))
+            .thenReturn(ApiResponse.success("선택한 기기에서 로그아웃되었습니다.", null));
+        
+        // When
+        ResponseEntity<ApiResponse<Object>> response = loginController.revokeSession("sid-2");
+        
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isSuccess());
+        verify(loginService).revokeSession(1L, "sid-2");
+    }
+    
+    /**
+     * 세션 종료 - 없는 세션
+     */
+    @Test
+    void testRevokeSession_NotFound() {
+        // Given
+        when(securityContextUtil.getCurrentUserId()).thenReturn(1L);
+        when(loginService.revokeSession(1L, "unknown"))
+            .thenReturn(ApiResponse.error("유효하지 않은 세션입니다.", "SES_002"));
+        
+        // When
+        ResponseEntity<ApiResponse<Object>> response = loginController.revokeSession("unknown");
+        
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("SES_002", response.getBody().getErrorCode());
+    }
+    
+    /**
+     * 세션 종료 - 인증되지 않은 사용자
+     */
+    @Test
+    void testRevokeSession_Unauthorized() {
+        // Given
+        when(securityContextUtil.getCurrentUserId()).thenReturn(null);
+        
+        // When
+        ResponseEntity<ApiResponse<Object>> response = loginController.revokeSession("sid-2");
+        
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verify(loginService, never()).revokeSession(anyLong(), anyString());
     }
     
     /**
@@ -360,31 +417,25 @@ public class LoginControllerTest {
         // Given
         when(securityContextUtil.getCurrentUserId()).thenReturn(1L);
         
-        Map<String, Object> userInfo = new HashMap<>();
-        userInfo.put("usrId", 1L);
-        userInfo.put("usrLoginId", "testuser");
-        userInfo.put("usrNm", "테스트사용자");
-        userInfo.put("email", "test@example.com");
-        userInfo.put("usrTpCd", "02");
-        userInfo.put("phoneNum", "010-1234-5678");
-        userInfo.put("isUse", true);
+        UserInfoResponse userInfo = new UserInfoResponse(1L, "testuser", "테스트사용자", "test@example.com",
+                "02", "010-1234-5678", true, null, null);
         
-        ApiResponse<Map<String, Object>> successResponse = ApiResponse.success("사용자 정보를 조회했습니다.", userInfo);
+        ApiResponse<UserInfoResponse> successResponse = ApiResponse.success("사용자 정보를 조회했습니다.", userInfo);
         when(loginService.getUserInfo(1L)).thenReturn(successResponse);
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.getUserInfo();
+        ResponseEntity<ApiResponse<UserInfoResponse>> response = loginController.getUserInfo();
         
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isSuccess());
         assertEquals("사용자 정보를 조회했습니다.", response.getBody().getMessage());
         
-        Map<String, Object> responseData = response.getBody().getData();
-        assertEquals(1L, responseData.get("usrId"));
-        assertEquals("testuser", responseData.get("usrLoginId"));
-        assertEquals("테스트사용자", responseData.get("usrNm"));
-        assertEquals("test@example.com", responseData.get("email"));
+        UserInfoResponse responseData = response.getBody().getData();
+        assertEquals(1L, responseData.usrId());
+        assertEquals("testuser", responseData.usrLoginId());
+        assertEquals("테스트사용자", responseData.usrNm());
+        assertEquals("test@example.com", responseData.email());
         
         verify(securityContextUtil).getCurrentUserId();
         verify(loginService).getUserInfo(1L);
@@ -399,7 +450,7 @@ public class LoginControllerTest {
         when(securityContextUtil.getCurrentUserId()).thenReturn(null);
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.getUserInfo();
+        ResponseEntity<ApiResponse<UserInfoResponse>> response = loginController.getUserInfo();
         
         // Then
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
@@ -421,7 +472,7 @@ public class LoginControllerTest {
         when(loginService.getUserInfo(1L)).thenThrow(new RuntimeException("서버 오류"));
         
         // When
-        ResponseEntity<ApiResponse<Map<String, Object>>> response = loginController.getUserInfo();
+        ResponseEntity<ApiResponse<UserInfoResponse>> response = loginController.getUserInfo();
         
         // Then
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
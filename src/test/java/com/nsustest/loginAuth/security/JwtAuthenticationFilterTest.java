@@ -1,5 +1,6 @@
 package com.nsustest.loginAuth.security;
 
+import com.nsustest.loginAuth.service.SessionActivityService;
 import com.nsustest.loginAuth.util.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,6 +34,9 @@ public class JwtAuthenticationFilterTest {
     @Mock
     private JwtUtil jwtUtil;
     
+    @Mock
+    private SessionActivityService sessionActivityService;
+    
     @InjectMocks
     private JwtAuthenticationFilter jwtAuthenticationFilter;
     
@@ -287,6 +291,44 @@ public class JwtAuthenticationFilterTest {
         assertEquals(expectedEmail, details.get("email"));
     }
     
+    /**
+     * 테스트 11: sid 클레임이 있으면 세션 활동 기록 (DB 쓰기 없이 메모리 기록만)
+     */
+    @Test
+    void testDoFilterInternal_ValidToken_TouchesSessionActivity() throws Exception {
+        // Given
+        String validToken = "valid.jwt.token";
+        Map<String, Object> userInfo = createMockUserInfo(1L, "testuser", "테스트사용자", "test@example.com", "02");
+        userInfo.put("sid", "sid-1");
+        
+        request.addHeader("Authorization", "Bearer " + validToken);
+        
+        when(jwtUtil.validateToken(validToken)).thenReturn(true);
+        when(jwtUtil.getUserInfoFromToken(validToken)).thenReturn(userInfo);
+        
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        // Then
+        verify(sessionActivityService).touch("sid-1");
+    }
+    
+    /**
+     * 테스트 12: 유효하지 않은 토큰은 세션 활동을 기록하지 않음
+     */
+    @Test
+    void testDoFilterInternal_InvalidToken_DoesNotTouchSessionActivity() throws Exception {
+        // Given
+        request.addHeader("Authorization", "Bearer invalid.jwt.token");
+        when(jwtUtil.validateToken("invalid.jwt.token")).thenReturn(false);
+        
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        
+        // Then
+        verifyNoInteractions(sessionActivityService);
+    }
+    
     /**
      * Mock 사용자 정보 생성 헬퍼 메서드
      * 
@@ -2,8 +2,14 @@ package com.nsustest.loginAuth.service;
 
 import com.nsustest.loginAuth.dao.LoginDao;
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.LoginRequest;
+import com.nsustest.loginAuth.dto.TokenResponse;
+import com.nsustest.loginAuth.model.User;
+import com.nsustest.loginAuth.model.UserProfile;
+import com.nsustest.loginAuth.model.UserSession;
 import com.nsustest.loginAuth.util.JwtUtil;
 import com.nsustest.loginAuth.util.MessageUtil;
+import com.nsustest.loginAuth.util.TokenHashUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -46,37 +52,37 @@ public class AuthServiceTest {
     @Mock
     private MessageUtil messageUtil;
     
+    @Mock
+    private LoginAuditService loginAuditService;
+    
+    @Mock
+    private LoginAttemptService loginAttemptService;
+    
+    @Mock
+    private LoginIdFilterService loginIdFilterService;
+    
+    @Mock
+    private UserProfileCacheService userProfileCacheService;
+    
     @InjectMocks
     private AuthService authService;
     
-    private Map<String, Object> validLoginData;
-    private Map<String, Object> mockUser;
-    private Map<String, Object> mockSession;
+    private LoginRequest validLoginData;
+    private User mockUser;
+    private UserSession mockSession;
     
     @BeforeEach
     void setUp() {
         // 유효한 로그인 데이터
-        validLoginData = new HashMap<>();
-        validLoginData.put("usrLoginId", "testuser");
-        validLoginData.put("password", "Test123!@#");
-        validLoginData.put("ipAddr", "192.168.1.100");
-        validLoginData.put("userAgent", "Mozilla/5.0");
+        validLoginData = new LoginRequest("testuser", "Test123!@#", "device-1", "192.168.1.100", "Mozilla/5.0");
         
         // Mock 사용자 정보
-        mockUser = new HashMap<>();
-        mockUser.put("usr_id", 1L);
-        mockUser.put("usr_login_id", "testuser");
-        mockUser.put("usr_nm", "테스트사용자");
-        mockUser.put("email", "test@example.com");
-        mockUser.put("pwd", "$2a$10$encodedPasswordHash");
-        mockUser.put("is_use", true);
+        mockUser = new User(1L, "testuser", "테스트사용자", "test@example.com",
+                "$2a$10$encodedPasswordHash", "01", null, true, null, null);
         
         // Mock 세션 정보
-        mockSession = new HashMap<>();
-        mockSession.put("usr_id", 1L);
-        mockSession.put("usr_login_id", "testuser");
-        mockSession.put("usr_nm", "테스트사용자");
-        mockSession.put("email", "test@example.com");
+        mockSession = UserSession.create("sid-1", 1L, "device-1", TokenHashUtil.sha256("valid.refresh.token"),
+                "192.168.1.100", "Mozilla/5.0", null);
     }
     
     /**
@@ -90,38 +96,40 @@ public class AuthServiceTest {
         
         String refreshToken = "refresh.token.here";
         
-        when(loginDao.checkIpBlocked("192.168.1.100")).thenReturn(null);
+        when(loginAttemptService.isBlocked("192.168.1.100")).thenReturn(false);
+        when(loginIdFilterService.mightExist("testuser")).thenReturn(true);
         when(loginDao.findByLoginId("testuser")).thenReturn(mockUser);
         when(passwordEncoder.matches("Test123!@#", "$2a$10$encodedPasswordHash")).thenReturn(true);
-        when(loginDao.resetIpBlock("192.168.1.100")).thenReturn(1);
-        when(jwtUtil.generateAccessToken(mockUser)).thenReturn(accessToken);
-        when(jwtUtil.generateRefreshToken(mockUser)).thenReturn(refreshToken);
+        when(jwtUtil.generateAccessToken(eq(UserProfile.of(mockUser)), anyString())).thenReturn(accessToken);
+        when(jwtUtil.generateRefreshToken(eq(UserProfile.of(mockUser)), anyString())).thenReturn(refreshToken);
         when(jwtUtil.getAccessTokenExpirationInSeconds()).thenReturn(900L);
         when(messageUtil.getMessage(anyString())).thenReturn("로그인되었습니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.login(validLoginData);
+        ApiResponse<TokenResponse> response = authService.login(validLoginData);
         
         // Then
         assertTrue(response.isSuccess());
         assertEquals("로그인되었습니다.", response.getMessage());
         assertNotNull(response.getData());
         
-        Map<String, Object> authData = response.getData();
-        assertEquals(accessToken, authData.get("accessToken"));
-        assertEquals(refreshToken, authData.get("refreshToken"));
-        assertEquals("Bearer", authData.get("tokenType"));
-        assertEquals(900L, authData.get("expiresIn"));
-        assertNotNull(authData.get("user"));
+        TokenResponse authData = response.getData();
+        assertEquals(accessToken, authData.accessToken());
+        assertEquals(refreshToken, authData.refreshToken());
+        assertEquals("Bearer", authData.tokenType());
+        assertEquals(900L, authData.expiresIn());
+        assertNotNull(authData.user());
+        assertEquals("testuser", authData.user().usrLoginId());
         
-        verify(loginDao).checkIpBlocked("192.168.1.100");
+        verify(loginAttemptService).isBlocked("192.168.1.100");
         verify(loginDao).findByLoginId("testuser");
         verify(passwordEncoder).matches("Test123!@#", "$2a$10$encodedPasswordHash");
-        verify(loginDao).resetIpBlock("192.168.1.100");
-        verify(jwtUtil).generateAccessToken(mockUser);
-        verify(jwtUtil).generateRefreshToken(mockUser);
-        verify(sessionService).saveLoginSuccess(eq(1L), eq("testuser"), eq("192.168.1.100"), any(Map.class));
-        verify(sessionService).saveUserSession(eq(1L), eq(accessToken), eq(refreshToken), eq("192.168.1.100"), any(Map.class));
+        verify(loginAttemptService).reset("192.168.1.100");
+        verify(jwtUtil).generateAccessToken(eq(UserProfile.of(mockUser)), anyString());
+        verify(jwtUtil).generateRefreshToken(eq(UserProfile.of(mockUser)), anyString());
+        verify(sessionService).saveLoginSuccess(1L, "testuser", "192.168.1.100", "Mozilla/5.0");
+        verify(sessionService).saveUserSession(eq(1L), anyString(), eq("device-1"), eq(refreshToken),
+                eq("192.168.1.100"), eq("Mozilla/5.0"));
     }
     
     /**
@@ -130,24 +138,56 @@ public class AuthServiceTest {
     @Test
     void testLogin_InvalidUserId() {
         // Given
-        when(loginDao.checkIpBlocked("192.168.1.100")).thenReturn(null);
+        when(loginAttemptService.isBlocked("192.168.1.100")).thenReturn(false);
+        when(loginIdFilterService.mightExist("testuser")).thenReturn(true);
         when(loginDao.findByLoginId("testuser")).thenReturn(null);
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$dummyPasswordHash");
+        when(loginAttemptService.recordFailure("192.168.1.100"))
+            .thenReturn(new LoginAttemptService.FailureResult(1, false, null));
         when(messageUtil.getMessage(anyString())).thenReturn("아이디 또는 비밀번호가 올바르지 않습니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.login(validLoginData);
+        ApiResponse<TokenResponse> response = authService.login(validLoginData);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("아이디 또는 비밀번호가 올바르지 않습니다.", response.getMessage());
         assertEquals("AUTH_001", response.getErrorCode());
         
-        verify(loginDao).checkIpBlocked("192.168.1.100");
+        verify(loginAttemptService).isBlocked("192.168.1.100");
         verify(loginDao).findByLoginId("testuser");
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtUtil, never()).generateAccessToken(any(Map.class));
-        verify(jwtUtil, never()).generateRefreshToken(any(Map.class));
-        verify(sessionService, never()).saveLoginSuccess(anyLong(), anyString(), anyString(), any(Map.class));
+        verify(passwordEncoder).matches("Test123!@#", "$2a$10$dummyPasswordHash");
+        verify(jwtUtil, never()).generateAccessToken(any(UserProfile.class), any());
+        verify(jwtUtil, never()).generateRefreshToken(any(UserProfile.class), any());
+        verify(sessionService, never()).saveLoginSuccess(anyLong(), anyString(), anyString(), any());
+        verify(loginAttemptService).recordFailure("192.168.1.100");
+        verify(loginAuditService).recordLoginFailure(eq("testuser"), eq("192.168.1.100"), eq("사용자 없음"), eq(1), eq(false), isNull());
+    }
+    
+    /**
+     * 로그인 - 필터에서 존재하지 않는 아이디로 판정 (DB 조회 없음, 더미 비밀번호 비교)
+     */
+    @Test
+    void testLogin_UnknownIdRejectedByFilter() {
+        // Given
+        when(loginAttemptService.isBlocked("192.168.1.100")).thenReturn(false);
+        when(loginIdFilterService.mightExist("testuser")).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$dummyPasswordHash");
+        when(loginAttemptService.recordFailure("192.168.1.100"))
+            .thenReturn(new LoginAttemptService.FailureResult(1, false, null));
+        when(messageUtil.getMessage(anyString())).thenReturn("아이디 또는 비밀번호가 올바르지 않습니다.");
+        
+        // When
+        ApiResponse<TokenResponse> response = authService.login(validLoginData);
+        
+        // Then
+        assertFalse(response.isSuccess());
+        assertEquals("AUTH_001", response.getErrorCode());
+        
+        verify(loginDao, never()).findByLoginId(anyString());
+        verify(passwordEncoder).matches("Test123!@#", "$2a$10$dummyPasswordHash");
+        verify(loginAuditService).recordLoginFailure(eq("testuser"), eq("192.168.1.100"), eq("사용자 없음"), eq(1), eq(false), isNull());
+        verify(jwtUtil, never()).generateAccessToken(any(UserProfile.class), any());
     }
     
     /**
@@ -156,25 +196,26 @@ public class AuthServiceTest {
     @Test
     void testLogin_InvalidPassword() {
         // Given
-        when(loginDao.checkIpBlocked("192.168.1.100")).thenReturn(null);
+        when(loginAttemptService.isBlocked("192.168.1.100")).thenReturn(false);
+        when(loginIdFilterService.mightExist("testuser")).thenReturn(true);
         when(loginDao.findByLoginId("testuser")).thenReturn(mockUser);
         when(passwordEncoder.matches("Test123!@#", "$2a$10$encodedPasswordHash")).thenReturn(false);
         when(messageUtil.getMessage(anyString())).thenReturn("아이디 또는 비밀번호가 올바르지 않습니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.login(validLoginData);
+        ApiResponse<TokenResponse> response = authService.login(validLoginData);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("아이디 또는 비밀번호가 올바르지 않습니다.", response.getMessage());
         assertEquals("AUTH_001", response.getErrorCode());
         
-        verify(loginDao).checkIpBlocked("192.168.1.100");
+        verify(loginAttemptService).isBlocked("192.168.1.100");
         verify(loginDao).findByLoginId("testuser");
         verify(passwordEncoder).matches("Test123!@#", "$2a$10$encodedPasswordHash");
-        verify(jwtUtil, never()).generateAccessToken(any(Map.class));
-        verify(jwtUtil, never()).generateRefreshToken(any(Map.class));
-        verify(sessionService, never()).saveLoginSuccess(anyLong(), anyString(), anyString(), any(Map.class));
+        verify(jwtUtil, never()).generateAccessToken(any(UserProfile.class), any());
+        verify(jwtUtil, never()).generateRefreshToken(any(UserProfile.class), any());
+        verify(sessionService, never()).saveLoginSuccess(anyLong(), anyString(), anyString(), any());
     }
     
     /**
@@ -183,26 +224,27 @@ public class AuthServiceTest {
     @Test
     void testLogin_DisabledAccount() {
         // Given
-        Map<String, Object> disabledUser = new HashMap<>(mockUser);
-        disabledUser.put("is_use", false);
+        User disabledUser = new User(1L, "testuser", "테스트사용자", "test@example.com",
+                "$2a$10$encodedPasswordHash", "01", null, false, null, null);
         
-        when(loginDao.checkIpBlocked("192.168.1.100")).thenReturn(null);
+        when(loginAttemptService.isBlocked("192.168.1.100")).thenReturn(false);
+        when(loginIdFilterService.mightExist("testuser")).thenReturn(true);
         when(loginDao.findByLoginId("testuser")).thenReturn(disabledUser);
         when(messageUtil.getMessage(anyString())).thenReturn("비활성화된 계정입니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.login(validLoginData);
+        ApiResponse<TokenResponse> response = authService.login(validLoginData);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("비활성화된 계정입니다.", response.getMessage());
         assertEquals("AUTH_003", response.getErrorCode());
         
-        verify(loginDao).checkIpBlocked("192.168.1.100");
+        verify(loginAttemptService).isBlocked("192.168.1.100");
         verify(loginDao).findByLoginId("testuser");
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtUtil, never()).generateAccessToken(any(Map.class));
-        verify(jwtUtil, never()).generateRefreshToken(any(Map.class));
+        verify(jwtUtil, never()).generateAccessToken(any(UserProfile.class), any());
+        verify(jwtUtil, never()).generateRefreshToken(any(UserProfile.class), any());
     }
     
     /**
@@ -211,26 +253,22 @@ public class AuthServiceTest {
     @Test
     void testLogin_IpBlocked() {
         // Given
-        Map<String, Object> blockedInfo = new HashMap<>();
-        blockedInfo.put("ip_addr", "192.168.1.100");
-        blockedInfo.put("is_blocked", true);
-        
-        when(loginDao.checkIpBlocked("192.168.1.100")).thenReturn(blockedInfo);
+        when(loginAttemptService.isBlocked("192.168.1.100")).thenReturn(true);
         when(messageUtil.getMessage(anyString())).thenReturn("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.");
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.login(validLoginData);
+        ApiResponse<TokenResponse> response = authService.login(validLoginData);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.", response.getMessage());
         assertEquals("AUTH_003", response.getErrorCode());
         
-        verify(loginDao).checkIpBlocked("192.168.1.100");
+        verify(loginAttemptService).isBlocked("192.168.1.100");
         verify(loginDao, never()).findByLoginId(anyString());
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtUtil, never()).generateAccessToken(any(Map.class));
-        verify(jwtUtil, never()).generateRefreshToken(any(Map.class));
+        verify(jwtUtil, never()).generateAccessToken(any(UserProfile.class), any());
+        verify(jwtUtil, never()).generateRefreshToken(any(UserProfile.class), any());
     }
     
     /**
@@ -239,22 +277,41 @@ public class AuthServiceTest {
     @Test
     void testLogin_MissingRequiredFields() {
         // Given
-        Map<String, Object> incompleteData = new HashMap<>();
-        incompleteData.put("usrLoginId", "testuser");
         // password 누락
+        LoginRequest incompleteData = new LoginRequest("testuser", null, null, null, null);
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.login(incompleteData);
+        ApiResponse<TokenResponse> response = authService.login(incompleteData);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("VAL_001", response.getErrorCode());
         
-        verify(loginDao, never()).checkIpBlocked(anyString());
+        verify(loginAttemptService, never()).isBlocked(anyString());
+        verify(loginDao, never()).findByLoginId(anyString());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(jwtUtil, never()).generateAccessToken(any(UserProfile.class), any());
+        verify(jwtUtil, never()).generateRefreshToken(any(UserProfile.class), any());
+    }
+    
+    /**
+     * 로그인 - 비정상적으로 긴 입력은 DB 조회/비밀번호 비교 없이 실패
+     */
+    @Test
+    void testLogin_InputTooLong() {
+        // Given
+        LoginRequest longData = new LoginRequest("testuser", "a".repeat(10_000), null, "192.168.1.100", "Mozilla/5.0");
+        when(messageUtil.getMessage(anyString())).thenReturn("입력 길이가 허용 범위를 초과했습니다.");
+        
+        // When
+        ApiResponse<TokenResponse> response = authService.login(longData);
+        
+        // Then
+        assertFalse(response.isSuccess());
+        assertEquals("VAL_003", response.getErrorCode());
+        
         verify(loginDao, never()).findByLoginId(anyString());
         verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtUtil, never()).generateAccessToken(any(Map.class));
-        verify(jwtUtil, never()).generateRefreshToken(any(Map.class));
     }
     
     /**
@@ -267,32 +324,57 @@ public class AuthServiceTest {
         String newAccessToken = "new.access.token";
         String newRefreshToken = "new.refresh.token";
         
-        when(loginDao.findSessionByRefreshToken(refreshToken)).thenReturn(mockSession);
-        when(loginDao.findById(1L)).thenReturn(mockUser);
-        when(jwtUtil.generateAccessToken(mockUser)).thenReturn(newAccessToken);
-        when(jwtUtil.generateRefreshToken(mockUser)).thenReturn(newRefreshToken);
+        when(sessionService.findActiveSession(refreshToken)).thenReturn(mockSession);
+        when(userProfileCacheService.getProfile(1L)).thenReturn(UserProfile.of(mockUser));
+        when(jwtUtil.generateAccessToken(UserProfile.of(mockUser), "sid-1")).thenReturn(newAccessToken);
+        when(jwtUtil.generateRefreshToken(UserProfile.of(mockUser), "sid-1")).thenReturn(newRefreshToken);
+        when(sessionService.rotateSession(mockSession, newRefreshToken)).thenReturn(true);
         when(jwtUtil.getAccessTokenExpirationInSeconds()).thenReturn(900L);
         when(messageUtil.getMessage(anyString())).thenReturn("토큰이 재발급되었습니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.refreshAccessToken(refreshToken);
+        ApiResponse<TokenResponse> response = authService.refreshAccessToken(refreshToken);
         
         // Then
         assertTrue(response.isSuccess());
         assertEquals("토큰이 재발급되었습니다.", response.getMessage());
         assertNotNull(response.getData());
         
-        Map<String, Object> tokenData = response.getData();
-        assertEquals(newAccessToken, tokenData.get("accessToken"));
-        assertEquals(newRefreshToken, tokenData.get("refreshToken"));
-        assertEquals("Bearer", tokenData.get("tokenType"));
-        assertEquals(900L, tokenData.get("expiresIn"));
-        
-        verify(loginDao).findSessionByRefreshToken(refreshToken);
-        verify(loginDao).findById(1L);
-        verify(jwtUtil).generateAccessToken(mockUser);
-        verify(jwtUtil).generateRefreshToken(mockUser);
-        verify(sessionService).saveUserSession(eq(1L), eq(newAccessToken), eq(newRefreshToken), isNull(), isNull());
+        TokenResponse tokenData = response.getData();
+        assertEquals(newAccessToken, tokenData.accessToken());
+        assertEquals(newRefreshToken, tokenData.refreshToken());
+        assertEquals("Bearer", tokenData.tokenType());
+        assertEquals(900L, tokenData.expiresIn());
+        assertNull(tokenData.user());
+        
+        verify(sessionService).findActiveSession(refreshToken);
+        verify(userProfileCacheService).getProfile(1L);
+        verify(jwtUtil).generateAccessToken(UserProfile.of(mockUser), "sid-1");
+        verify(jwtUtil).generateRefreshToken(UserProfile.of(mockUser), "sid-1");
+        verify(sessionService).rotateSession(mockSession, newRefreshToken);
+    }
+    
+    /**
+     * 토큰 재발급 - 같은 Refresh Token으로 이미 재발급된 세션
+     */
+    @Test
+    void testRefreshAccessToken_AlreadyRotated() {
+        // Given
+        String refreshToken = "valid.refresh.token";
+        when(sessionService.findActiveSession(refreshToken)).thenReturn(mockSession);
+        when(userProfileCacheService.getProfile(1L)).thenReturn(UserProfile.of(mockUser));
+        when(jwtUtil.generateAccessToken(UserProfile.of(mockUser), "sid-1")).thenReturn("new.access.token");
+        when(jwtUtil.generateRefreshToken(UserProfile.of(mockUser), "sid-1")).thenReturn("new.refresh.token");
+        when(sessionService.rotateSession(mockSession, "new.refresh.token")).thenReturn(false);
+        when(messageUtil.getMessage(anyString())).thenReturn("유효하지 않은 Refresh Token입니다.");
+        
+        // When
+        ApiResponse<TokenResponse> response = authService.refreshAccessToken(refreshToken);
+        
+        // Then
+        assertFalse(response.isSuccess());
+        assertEquals("AUTH_007", response.getErrorCode());
+        assertNull(response.getData());
     }
     
     /**
@@ -302,22 +384,22 @@ public class AuthServiceTest {
     void testRefreshAccessToken_InvalidRefreshToken() {
         // Given
         String invalidRefreshToken = "invalid.refresh.token";
-        when(loginDao.findSessionByRefreshToken(invalidRefreshToken)).thenReturn(null);
+        when(sessionService.findActiveSession(invalidRefreshToken)).thenReturn(null);
         when(messageUtil.getMessage(anyString())).thenReturn("유효하지 않은 Refresh Token입니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.refreshAccessToken(invalidRefreshToken);
+        ApiResponse<TokenResponse> response = authService.refreshAccessToken(invalidRefreshToken);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("유효하지 않은 Refresh Token입니다.", response.getMessage());
         assertEquals("AUTH_007", response.getErrorCode());
         
-        verify(loginDao).findSessionByRefreshToken(invalidRefreshToken);
-        verify(loginDao, never()).findById(anyLong());
-        verify(jwtUtil, never()).generateAccessToken(any(Map.class));
-        verify(jwtUtil, never()).generateRefreshToken(any(Map.class));
-        verify(sessionService, never()).saveUserSession(anyLong(), anyString(), anyString(), any(), any());
+        verify(sessionService).findActiveSession(invalidRefreshToken);
+        verify(userProfileCacheService, never()).getProfile(anyLong());
+        verify(jwtUtil, never()).generateAccessToken(any(UserProfile.class), any());
+        verify(jwtUtil, never()).generateRefreshToken(any(UserProfile.class), any());
+        verify(sessionService, never()).rotateSession(any(), any());
     }
     
     /**
@@ -327,23 +409,23 @@ public class AuthServiceTest {
     void testRefreshAccessToken_UserNotFound() {
         // Given
         String refreshToken = "valid.refresh.token";
-        when(loginDao.findSessionByRefreshToken(refreshToken)).thenReturn(mockSession);
-        when(loginDao.findById(1L)).thenReturn(null);
+        when(sessionService.findActiveSession(refreshToken)).thenReturn(mockSession);
+        when(userProfileCacheService.getProfile(1L)).thenReturn(null);
         when(messageUtil.getMessage(anyString())).thenReturn("사용자 정보를 찾을 수 없습니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.refreshAccessToken(refreshToken);
+        ApiResponse<TokenResponse> response = authService.refreshAccessToken(refreshToken);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("사용자 정보를 찾을 수 없습니다.", response.getMessage());
         assertEquals("USER_001", response.getErrorCode());
         
-        verify(loginDao).findSessionByRefreshToken(refreshToken);
-        verify(loginDao).findById(1L);
-        verify(jwtUtil, never()).generateAccessToken(any(Map.class));
-        verify(jwtUtil, never()).generateRefreshToken(any(Map.class));
-        verify(sessionService, never()).saveUserSession(anyLong(), anyString(), anyString(), any(), any());
+        verify(sessionService).findActiveSession(refreshToken);
+        verify(userProfileCacheService).getProfile(1L);
+        verify(jwtUtil, never()).generateAccessToken(any(UserProfile.class), any());
+        verify(jwtUtil, never()).generateRefreshToken(any(UserProfile.class), any());
+        verify(sessionService, never()).rotateSession(any(), any());
     }
     
     /**
@@ -353,21 +435,20 @@ public class AuthServiceTest {
     void testRefreshAccessToken_NullRefreshToken() {
         // Given
         String nullRefreshToken = null;
-        when(loginDao.findSessionByRefreshToken(null)).thenReturn(null);
         when(messageUtil.getMessage(anyString())).thenReturn("유효하지 않은 Refresh Token입니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = authService.refreshAccessToken(nullRefreshToken);
+        ApiResponse<TokenResponse> response = authService.refreshAccessToken(nullRefreshToken);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("AUTH_007", response.getErrorCode());
         
-        verify(loginDao).findSessionByRefreshToken(null);
-        verify(loginDao, never()).findById(anyLong());
-        verify(jwtUtil, never()).generateAccessToken(any(Map.class));
-        verify(jwtUtil, never()).generateRefreshToken(any(Map.class));
-        verify(sessionService, never()).saveUserSession(anyLong(), anyString(), anyString(), any(), any());
+        verify(sessionService).findActiveSession(null);
+        verify(userProfileCacheService, never()).getProfile(anyLong());
+        verify(jwtUtil, never()).generateAccessToken(any(UserProfile.class), any());
+        verify(jwtUtil, never()).generateRefreshToken(any(UserProfile.class), any());
+        verify(sessionService, never()).rotateSession(any(), any());
     }
     
     /**
@@ -0,0 +1,72 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * CacheCodecReportService 단위 테스트
+ * 요구사항: 실제 코드/메시지 데이터를 저장 단위별로 형식마다 인코딩하여 크기 비교
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class CacheCodecReportServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @Mock
+    private CacheCodecRegistry cacheCodecRegistry;
+
+    @InjectMocks
+    private CacheCodecReportService cacheCodecReportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cacheCodecReportService, "compressThreshold", 256);
+    }
+
+    /**
+     * 데이터셋(코드, 메시지, 타입별 메시지 목록)마다 형식별 크기와 JSON 대비 비율 보고
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBuildReport() {
+        // Given
+        List<Map<String, Object>> messages = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            messages.add(Map.of("msg_cd", "AUTH_0" + i, "msg_tp_cd", i % 2 == 0 ? "04" : "01",
+                    "msg_nm", "인증 메시지", "msg_cont", "아이디 또는 비밀번호가 올바르지 않습니다. (" + i + ")", "is_use", true));
+        }
+        when(loginDao.selectAllCommonCodes()).thenReturn(List.of(
+                Map.of("grp_cd", "USR_TP", "cd", "01", "cd_nm", "관리자", "sort_ord", 1)));
+        when(loginDao.selectAllMessageCodes()).thenReturn(messages);
+        when(cacheCodecRegistry.getFormats()).thenReturn(Map.of("message", "smile+deflate"));
+
+        // When
+        Map<String, Object> report = cacheCodecReportService.buildReport();
+
+        // Then
+        Map<String, Object> datasets = (Map<String, Object>) report.get("datasets");
+        assertEquals(List.of("common:code", "message:code", "message:type"), new ArrayList<>(datasets.keySet()));
+
+        Map<String, Map<String, Object>> byType = (Map<String, Map<String, Object>>) datasets.get("message:type");
+        assertEquals(2, byType.get("json").get("values"));
+        assertEquals(1.0, byType.get("json").get("ratioToJson"));
+        assertTrue((double) byType.get("smile").get("ratioToJson") < 1.0);
+        assertTrue((long) byType.get("smile+deflate").get("totalBytes") < (long) byType.get("smile").get("totalBytes"));
+    }
+}
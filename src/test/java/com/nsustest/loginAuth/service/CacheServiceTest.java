@@ -3,13 +3,16 @@ package com.nsustest.loginAuth.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.connection.RedisConnection;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -39,17 +42,29 @@ public class CacheServiceTest {
     private ValueOperations<String, Object> valueOperations;
     
     @Mock
-    private RedisConnectionFactory connectionFactory;
+    private HashOperations<String, Object, Object> hashOperations;
     
     @Mock
-    private RedisConnection connection;
+    private CacheCodecRegistry cacheCodecRegistry;
+    
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+    
+    @Mock
+    private ValueOperations<String, String> stringValueOperations;
+    
+    @Mock
+    private ClientSideCacheService clientSideCacheService;
     
     @InjectMocks
     private CacheService cacheService;
     
     @BeforeEach
     void setUp() {
+        lenient().when(cacheCodecRegistry.template(anyString())).thenReturn(redisTemplate);
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(stringValueOperations);
+        ReflectionTestUtils.setField(cacheService, "generationLocalTtlMs", 60000L);
     }
     
     /**
@@ -63,7 +78,7 @@ public class CacheServiceTest {
         groupInfo.put("grp_cd", grpCd);
         groupInfo.put("grp_nm", "사용자 타입");
         
-        String expectedKey = "common:code:group:" + grpCd;
+        String expectedKey = "common:code:v0:group:" + grpCd;
         when(valueOperations.get(expectedKey)).thenReturn(groupInfo);
         
         // When
@@ -78,31 +93,71 @@ public class CacheServiceTest {
     }
     
     /**
-     * 테스트 2: 공통코드 목록 저장 및 조회
+     * 테스트 2: 공통코드 목록 저장 및 조회 (그룹별 해시)
      */
     @Test
     void testSetAndGetCommonCodeList() {
         // Given
         String grpCd = "USR_TP";
-        List<Object> codeList = Arrays.asList(
-            createCode("USR_TP", "01", "관리자"),
-            createCode("USR_TP", "02", "일반사용자")
-        );
+        Map<String, Object> admin = createCode("USR_TP", "01", "관리자");
+        Map<String, Object> user = createCode("USR_TP", "02", "일반사용자");
+        List<Object> codeList = Arrays.asList(admin, user);
         
-        String expectedKey = "common:code:list:" + grpCd;
-        when(valueOperations.get(expectedKey)).thenReturn(codeList);
+        String expectedKey = "common:code:v0:hash:" + grpCd;
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(expectedKey)).thenReturn(Map.of("01", admin, "02", user));
+        when(redisTemplate.execute(any(SessionCallback.class)))
+                .thenAnswer(inv -> ((SessionCallback<?>) inv.getArgument(0)).execute(redisTemplate));
         
         // When
         cacheService.setCommonCodeList(grpCd, codeList);
         List<Object> result = cacheService.getCommonCodeList(grpCd);
         
-        // Then
-        verify(valueOperations).set(eq(expectedKey), eq(codeList), eq(3600L), eq(TimeUnit.SECONDS));
-        verify(valueOperations).get(expectedKey);
+        // Then: DEL/HSET/EXPIRE가 MULTI/EXEC 안에서 한 번에 실행됨
+        InOrder inOrder = inOrder(redisTemplate, hashOperations);
+        inOrder.verify(redisTemplate).multi();
+        inOrder.verify(redisTemplate).delete(expectedKey);
+        inOrder.verify(hashOperations).putAll(expectedKey, Map.of("01", admin, "02", user));
+        inOrder.verify(redisTemplate).expire(expectedKey, 3600L, TimeUnit.SECONDS);
+        inOrder.verify(redisTemplate).exec();
         assertNotNull(result);
         assertEquals(2, result.size());
     }
     
+    /**
+     * 테스트 2-1: 공통코드 단건은 해시 필드 하나만 조회 (HGET)
+     */
+    @Test
+    void testGetCommonCode_SingleField() {
+        // Given
+        Map<String, Object> admin = createCode("USR_TP", "01", "관리자");
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.get("common:code:v0:hash:USR_TP", "01")).thenReturn(admin);
+        
+        // When
+        Object result = cacheService.getCommonCode("USR_TP", "01");
+        
+        // Then
+        assertEquals(admin, result);
+        verify(hashOperations, never()).entries(anyString());
+    }
+    
+    /**
+     * 테스트 2-2: 캐시에 없는 그룹은 null (DB 조회 대상)
+     */
+    @Test
+    void testGetCommonCodeList_Missing_ReturnsNull() {
+        // Given
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("common:code:v0:hash:NONE")).thenReturn(Map.of());
+        
+        // When
+        List<Object> result = cacheService.getCommonCodeList("NONE");
+        
+        // Then
+        assertNull(result);
+    }
+    
     /**
      * 테스트 3: 메시지 코드 저장 및 조회
      */
@@ -114,7 +169,7 @@ public class CacheServiceTest {
         messageInfo.put("msg_cd", msgCd);
         messageInfo.put("msg_cont", "인증 실패");
         
-        String expectedKey = "message:code:" + msgCd;
+        String expectedKey = "message:v0:code:" + msgCd;
         when(valueOperations.get(expectedKey)).thenReturn(messageInfo);
         
         // When
@@ -140,7 +195,7 @@ public class CacheServiceTest {
             createMessage("AUTH_002", "04", "계정 잠금")
         );
         
-        String expectedKey = "message:type:" + msgTpCd;
+        String expectedKey = "message:v0:type:" + msgTpCd;
         when(valueOperations.get(expectedKey)).thenReturn(messageList);
         
         // When
@@ -155,82 +210,73 @@ public class CacheServiceTest {
     }
     
     /**
-     * 테스트 5: 패턴별 캐시 키 삭제
+     * 테스트 5: 세대 번호는 Redis 카운터에서 읽어 키에 포함
      */
     @Test
-    void testDeleteKeysByPattern() {
+    void testGeneration_ReadFromCounter() {
         // Given
-        String pattern = "common:code:*";
-        Set<String> keys = Set.of("common:code:group:USR_TP", "common:code:list:USR_TP");
-        
-        when(redisTemplate.keys(pattern)).thenReturn(keys);
-        when(redisTemplate.delete(keys)).thenReturn(2L);
+        when(stringValueOperations.get("cache_gen:common:code")).thenReturn("5");
         
         // When
-        long deletedCount = cacheService.deleteKeysByPattern(pattern);
+        cacheService.getCommonCodeGroup("USR_TP");
+        cacheService.getCommonCodeGroup("ADM_TP");
         
         // Then
-        verify(redisTemplate).keys(pattern);
-        verify(redisTemplate).delete(keys);
-        assertEquals(2, deletedCount);
+        verify(valueOperations).get("common:code:v5:group:USR_TP");
+        verify(valueOperations).get("common:code:v5:group:ADM_TP");
+        verify(stringValueOperations, times(1)).get("cache_gen:common:code");
     }
     
     /**
-     * 테스트 6: 공통코드 캐시 전체 삭제
+     * 테스트 6: 공통코드 캐시 초기화는 세대 번호 INCR 한 번 (KEYS/삭제 없음)
      */
     @Test
     void testClearCommonCodeCache() {
         // Given
-        Set<String> groupKeys = Set.of("common:code:group:USR_TP");
-        Set<String> listKeys = Set.of("common:code:list:USR_TP");
-        
-        when(redisTemplate.keys("common:code:group:*")).thenReturn(groupKeys);
-        when(redisTemplate.keys("common:code:list:*")).thenReturn(listKeys);
-        when(redisTemplate.delete(any(Set.class))).thenReturn(1L);
+        when(stringValueOperations.increment("cache_gen:common:code")).thenReturn(1L);
         
         // When
         cacheService.clearCommonCodeCache();
+        cacheService.getCommonCodeGroup("USR_TP");
         
         // Then
-        verify(redisTemplate, times(2)).keys(anyString());
-        verify(redisTemplate, times(2)).delete(any(Set.class));
+        verify(valueOperations).get("common:code:v1:group:USR_TP");
+        verify(redisTemplate, never()).keys(anyString());
+        verify(redisTemplate, never()).delete(any(Set.class));
     }
     
     /**
-     * 테스트 7: 메시지 코드 캐시 전체 삭제
+     * 테스트 7: 메시지 코드 캐시 초기화는 메시지 네임스페이스만 변경
      */
     @Test
     void testClearMessageCodeCache() {
         // Given
-        Set<String> messageKeys = Set.of("message:code:AUTH_001");
-        Set<String> typeKeys = Set.of("message:type:04");
-        
-        when(redisTemplate.keys("message:code:*")).thenReturn(messageKeys);
-        when(redisTemplate.keys("message:type:*")).thenReturn(typeKeys);
-        when(redisTemplate.delete(any(Set.class))).thenReturn(1L);
+        when(stringValueOperations.increment("cache_gen:message")).thenReturn(3L);
+        Map<String, Object> messageInfo = new HashMap<>();
         
         // When
         cacheService.clearMessageCodeCache();
+        cacheService.setMessageCode("AUTH_001", messageInfo);
+        cacheService.getCommonCodeGroup("USR_TP");
         
         // Then
-        verify(redisTemplate, times(2)).keys(anyString());
-        verify(redisTemplate, times(2)).delete(any(Set.class));
+        verify(valueOperations).set(eq("message:v3:code:AUTH_001"), eq(messageInfo), eq(1800L), eq(TimeUnit.SECONDS));
+        verify(valueOperations).get("common:code:v0:group:USR_TP");
+        verify(stringValueOperations, never()).increment("cache_gen:common:code");
     }
     
     /**
-     * 테스트 8: 전체 캐시 삭제
+     * 테스트 8: 전체 캐시 초기화는 캐시 네임스페이스만 변경 (FLUSHALL 사용 안 함)
      */
     @Test
     void testClearAllCache() {
-        // Given
-        when(redisTemplate.getConnectionFactory()).thenReturn(connectionFactory);
-        when(connectionFactory.getConnection()).thenReturn(connection);
-        
         // When
         cacheService.clearAllCache();
         
         // Then
-        verify(connection).flushAll();
+        verify(stringValueOperations).increment("cache_gen:common:code");
+        verify(stringValueOperations).increment("cache_gen:message");
+        verify(redisTemplate, never()).getConnectionFactory();
     }
     
     /**
@@ -240,7 +286,7 @@ public class CacheServiceTest {
     void testGetCommonCodeGroup_RedisException_ReturnsNull() {
         // Given
         String grpCd = "USR_TP";
-        String key = "common:code:group:" + grpCd;
+        String key = "common:code:v0:group:" + grpCd;
         when(valueOperations.get(key)).thenThrow(new RuntimeException("Redis 연결 오류"));
         
         // When
@@ -268,20 +314,78 @@ public class CacheServiceTest {
     }
     
     /**
-     * 테스트 11: 패턴 매칭 키가 없을 때
+     * 테스트 11: 다른 노드에서 초기화한 세대 번호를 무효화 메시지 수신 시 바로 반영
      */
     @Test
-    void testDeleteKeysByPattern_NoKeysFound_ReturnsZero() {
+    void testForgetGenerations_ReadsNewGeneration() {
         // Given
-        String pattern = "nonexistent:*";
-        when(redisTemplate.keys(pattern)).thenReturn(null);
+        when(stringValueOperations.get("cache_gen:common:code")).thenReturn("1", "2");
+        cacheService.getCommonCodeGroup("USR_TP");
         
         // When
-        long deletedCount = cacheService.deleteKeysByPattern(pattern);
+        cacheService.forgetGenerations();
+        cacheService.getCommonCodeGroup("USR_TP");
         
         // Then
-        assertEquals(0, deletedCount, "매칭되는 키가 없으면 0을 반환해야 함");
-        verify(redisTemplate, never()).delete(any(Set.class));
+        verify(valueOperations).get("common:code:v1:group:USR_TP");
+        verify(valueOperations).get("common:code:v2:group:USR_TP");
+    }
+    
+    /**
+     * 테스트 12: 클라이언트 캐시 추적 중이면 단건 조회는 추적 서비스(노드 메모리 → GET/HGET)로 조회
+     */
+    @Test
+    void testClientTracking_Active_ReadsThroughTrackingService() {
+        // Given
+        Map<String, Object> admin = createCode("USR_TP", "01", "관리자");
+        Map<String, Object> message = createMessage("AUTH_001", "04", "인증 실패");
+        when(clientSideCacheService.isActive()).thenReturn(true);
+        when(clientSideCacheService.getField("common:code", "common:code:v0:hash:USR_TP", "01")).thenReturn(admin);
+        when(clientSideCacheService.get("message", "message:v0:code:AUTH_001")).thenReturn(message);
+        
+        // When
+        Object code = cacheService.getCommonCode("USR_TP", "01");
+        Object result = cacheService.getMessageCode("AUTH_001");
+        
+        // Then
+        assertEquals(admin, code);
+        assertEquals(message, result);
+        verify(redisTemplate, never()).opsForHash();
+        verify(valueOperations, never()).get(anyString());
+    }
+    
+    /**
+     * 테스트 13: 추적 서비스 조회가 실패하면 일반 GET으로 조회
+     */
+    @Test
+    void testClientTracking_Failure_FallsBackToGet() {
+        // Given
+        Map<String, Object> message = createMessage("AUTH_001", "04", "인증 실패");
+        when(clientSideCacheService.isActive()).thenReturn(true);
+        when(clientSideCacheService.get("message", "message:v0:code:AUTH_001"))
+            .thenThrow(new RuntimeException("Connection closed"));
+        when(valueOperations.get("message:v0:code:AUTH_001")).thenReturn(message);
+        
+        // When
+        Object result = cacheService.getMessageCode("AUTH_001");
+        
+        // Then
+        assertEquals(message, result);
+    }
+    
+    /**
+     * 테스트 14: 캐시 초기화 시 추적 서비스의 노드 메모리 값도 삭제
+     */
+    @Test
+    void testClearMessageCodeCache_ClearsClientTrackingCache() {
+        // Given
+        when(stringValueOperations.increment("cache_gen:message")).thenReturn(1L);
+        
+        // When
+        cacheService.clearMessageCodeCache();
+        
+        // Then
+        verify(clientSideCacheService).clear();
     }
     
     // ========== 헬퍼 메서드 ==========
@@ -0,0 +1,154 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.util.CacheValueCodec;
+import io.lettuce.core.RedisConnectionException;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ClientSideCacheService 단위 테스트
+ * 요구사항: 추적 중에는 노드 메모리에서 조회하고, 서버 무효화 메시지로 삭제하며, 추적을 잃으면 일반 조회로 전환
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class ClientSideCacheServiceTest {
+
+    private static final CacheValueCodec CODEC = new CacheValueCodec(CacheValueCodec.Format.SMILE, 0);
+    private static final String KEY = "message:v0:code:AUTH_001";
+
+    @Mock
+    private CacheCodecRegistry cacheCodecRegistry;
+
+    @Mock
+    private RedisCommands<byte[], byte[]> commands;
+
+    @InjectMocks
+    private ClientSideCacheService clientSideCacheService;
+
+    private final Map<String, Object> message = Map.of("msg_cd", "AUTH_001", "msg_cont", "인증 실패");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clientSideCacheService, "commands", commands);
+        ReflectionTestUtils.setField(clientSideCacheService, "maxKeys", 100);
+        ReflectionTestUtils.setField(clientSideCacheService, "active", true);
+        lenient().when(cacheCodecRegistry.codec(anyString())).thenReturn(CODEC);
+    }
+
+    /**
+     * 첫 조회는 GET, 이후 조회는 노드 메모리에서 응답
+     */
+    @Test
+    void testGet_SecondReadServedLocally() {
+        // Given
+        when(commands.get(bytes(KEY))).thenReturn(CODEC.serialize(message));
+
+        // When
+        Object first = clientSideCacheService.get("message", KEY);
+        Object second = clientSideCacheService.get("message", KEY);
+
+        // Then
+        assertEquals(message, first);
+        assertEquals(message, second);
+        verify(commands, times(1)).get(any());
+        assertEquals(1L, clientSideCacheService.getStats().get("hits"));
+    }
+
+    /**
+     * 무효화 메시지를 받은 키는 다음 조회 시 다시 GET
+     */
+    @Test
+    void testInvalidate_RemovesKey() {
+        // Given
+        when(commands.get(bytes(KEY))).thenReturn(CODEC.serialize(message));
+        clientSideCacheService.get("message", KEY);
+
+        // When
+        clientSideCacheService.onPushMessage(invalidate(List.of(KEY)));
+        clientSideCacheService.get("message", KEY);
+
+        // Then
+        verify(commands, times(2)).get(any());
+        assertEquals(1L, clientSideCacheService.getStats().get("invalidations"));
+    }
+
+    /**
+     * 키 목록이 없는 무효화(FLUSHDB 등)는 전체 삭제
+     */
+    @Test
+    void testInvalidate_WithoutKeys_ClearsAll() {
+        // Given
+        when(commands.hget(any(), any())).thenReturn(CODEC.serialize(message));
+        clientSideCacheService.getField("common:code", "common:code:v0:hash:USR_TP", "01");
+
+        // When
+        clientSideCacheService.onPushMessage(invalidate(null));
+
+        // Then
+        assertEquals(0, clientSideCacheService.getStats().get("keys"));
+    }
+
+    /**
+     * 조회 도중 무효화가 오면 받은 값은 반환하되 저장하지 않음
+     */
+    @Test
+    void testGet_InvalidatedDuringRead_NotStored() {
+        // Given
+        PushMessage push = invalidate(List.of(KEY));
+        when(commands.get(bytes(KEY))).thenAnswer(invocation -> {
+            clientSideCacheService.onPushMessage(push);
+            return CODEC.serialize(message);
+        });
+
+        // When
+        Object result = clientSideCacheService.get("message", KEY);
+
+        // Then
+        assertEquals(message, result);
+        assertEquals(0, clientSideCacheService.getStats().get("keys"));
+    }
+
+    /**
+     * 명령이 실패하면 추적을 잃은 것으로 보고 예외를 그대로 던짐 (호출 측이 일반 조회)
+     */
+    @Test
+    void testGet_ConnectionFailure_DeactivatesTracking() {
+        // Given
+        when(commands.get(bytes(KEY))).thenThrow(new RedisConnectionException("Connection closed"));
+
+        // When & Then
+        assertThrows(RedisConnectionException.class, () -> clientSideCacheService.get("message", KEY));
+        assertFalse(clientSideCacheService.isActive());
+        assertEquals(1L, clientSideCacheService.getStats().get("trackingLosses"));
+    }
+
+    // ========== 헬퍼 메서드 ==========
+
+    private static byte[] bytes(String value) {
+        return argThat(actual -> Arrays.equals(actual, value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static PushMessage invalidate(List<?> keys) {
+        PushMessage push = mock(PushMessage.class);
+        when(push.getType()).thenReturn("invalidate");
+        when(push.getContent(any())).thenReturn(Arrays.<Object>asList("invalidate", keys));
+        return push;
+    }
+}
@@ -0,0 +1,197 @@
+package com.nsustest.loginAuth.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ClusterLeaseService 단위 테스트
+ * 요구사항: 작업별 임대는 한 인스턴스만 획득, 보유 값(임대 토큰 포함)이 일치할 때만 반납
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class ClusterLeaseServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private ClusterLeaseService clusterLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clusterLeaseService, "enabled", true);
+        ReflectionTestUtils.setField(clusterLeaseService, "ttlMs", 60000L);
+        ReflectionTestUtils.setField(clusterLeaseService, "minHoldMs", 0L);
+        ReflectionTestUtils.setField(clusterLeaseService, "instanceId", "node-a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        clusterLeaseService.stop();
+    }
+
+    /**
+     * 키가 비어 있으면 임대 토큰과 함께 획득하고, 닫으면 같은 값으로 반납
+     */
+    @Test
+    void testTryAcquire_AndRelease() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(7L);
+
+        // When
+        ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire("job");
+
+        // Then
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("lease:job", "lease_token:job")),
+                eq("node-a"), eq("60000"));
+        assertNotNull(lease);
+        assertEquals(7L, lease.getToken());
+        assertTrue(lease.isHeld());
+        assertEquals(Map.of("job", 7L), clusterLeaseService.getHeldLeases());
+
+        // When
+        lease.close();
+
+        // Then
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("lease:job")), eq("node-a:7"), eq("0"));
+        assertTrue(clusterLeaseService.getHeldLeases().isEmpty());
+    }
+
+    /**
+     * 다른 인스턴스가 보유 중이면 null
+     */
+    @Test
+    void testTryAcquire_HeldElsewhere() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(0L);
+
+        // When & Then
+        assertNull(clusterLeaseService.tryAcquire("job"));
+    }
+
+    /**
+     * Redis 오류 시 실행하지 않도록 null
+     */
+    @Test
+    void testTryAcquire_RedisError() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+            .thenThrow(new RuntimeException("Redis 연결 실패"));
+
+        // When & Then
+        assertNull(clusterLeaseService.tryAcquire("job"));
+    }
+
+    /**
+     * 최소 유지 시간이 남아 있으면 삭제하지 않고 남은 시간만큼 유지
+     */
+    @Test
+    void testRelease_KeepsMinHold() {
+        // Given
+        ReflectionTestUtils.setField(clusterLeaseService, "minHoldMs", 3600000L);
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1L);
+        ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire("job");
+
+        // When
+        lease.close();
+
+        // Then
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("lease:job")), eq("node-a:1"),
+                argThat(hold -> Long.parseLong((String) hold) > 3500000L));
+    }
+
+    /**
+     * 최소 유지 시간을 지정하면 기본값 대신 그 시간만큼만 유지 (자주 도는 작업)
+     */
+    @Test
+    void testRelease_CustomMinHold() {
+        // Given
+        ReflectionTestUtils.setField(clusterLeaseService, "minHoldMs", 3600000L);
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(1L);
+        ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire("job", 60000L);
+
+        // When
+        lease.close();
+
+        // Then
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("lease:job")), eq("node-a:1"),
+                argThat(hold -> Long.parseLong((String) hold) <= 60000L));
+    }
+
+    /**
+     * 비활성화 시 Redis 없이 항상 획득
+     */
+    @Test
+    void testTryAcquire_Disabled() {
+        // Given
+        ReflectionTestUtils.setField(clusterLeaseService, "enabled", false);
+
+        // When
+        ClusterLeaseService.Lease lease = clusterLeaseService.tryAcquire("job");
+        lease.close();
+
+        // Then
+        assertTrue(lease.isHeld());
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    /**
+     * 공유 값은 먼저 저장된 값을 사용
+     */
+    @Test
+    void testShare_UsesExistingValue() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent("lease_shared:plan", "1:500", Duration.ofMillis(1000L))).thenReturn(false);
+        when(valueOperations.get("lease_shared:plan")).thenReturn("1:400");
+
+        // When & Then
+        assertEquals("1:400", clusterLeaseService.share("plan", "1:500", 1000L));
+    }
+
+    /**
+     * 공유 값 조회 중 Redis 오류면 이 인스턴스의 값 사용
+     */
+    @Test
+    void testGetShared_RedisError_UsesFallback() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("lease_shared:purge:paused")).thenThrow(new RuntimeException("Redis timeout"));
+
+        // When & Then
+        assertEquals("1", clusterLeaseService.getShared("purge:paused", "1"));
+    }
+
+    /**
+     * null을 저장하면 공유 값 삭제
+     */
+    @Test
+    void testPutShared_NullDeletes() {
+        // When
+        clusterLeaseService.putShared("purge:paused", null);
+
+        // Then
+        verify(stringRedisTemplate).delete("lease_shared:purge:paused");
+    }
+}
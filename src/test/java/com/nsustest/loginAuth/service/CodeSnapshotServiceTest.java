@@ -0,0 +1,132 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.util.CodeSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * CodeSnapshotService 단위 테스트
+ * 요구사항: 시작 시 전체 로드, 버전 표식이 바뀔 때만 다시 로드, 실패 시 이전 스냅샷 유지
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class CodeSnapshotServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @InjectMocks
+    private CodeSnapshotService codeSnapshotService;
+
+    private final List<Map<String, Object>> groups = List.of(Map.of("grp_cd", "USR_TP", "grp_nm", "사용자 타입"));
+    private final List<Map<String, Object>> codes = List.of(
+            Map.of("grp_cd", "USR_TP", "cd", "01", "sort_ord", 1),
+            Map.of("grp_cd", "USR_TP", "cd", "02", "sort_ord", 2));
+    private final List<Map<String, Object>> messages = List.of(
+            Map.of("msg_cd", "AUTH_001", "msg_tp_cd", "02", "msg_cont", "인증 실패"));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(codeSnapshotService, "enabled", true);
+    }
+
+    private void stubLoad() {
+        when(loginDao.selectAllCommonCodeGroups()).thenReturn(groups);
+        when(loginDao.selectAllCommonCodes()).thenReturn(codes);
+        when(loginDao.selectAllMessageCodes()).thenReturn(messages);
+    }
+
+    /**
+     * 시작 시 전체 데이터를 읽어 키별로 조회 가능한 스냅샷 생성
+     */
+    @Test
+    void testInitialize_BuildsSnapshot() {
+        // Given
+        when(loginDao.selectCodeVersion()).thenReturn("v1");
+        stubLoad();
+
+        // When
+        codeSnapshotService.initialize();
+
+        // Then
+        CodeSnapshot snapshot = codeSnapshotService.current();
+        assertEquals("v1", snapshot.getVersion());
+        assertEquals("사용자 타입", snapshot.getGroup("USR_TP").get("grp_nm"));
+        assertEquals(List.of("01", "02"), snapshot.getCodeList("USR_TP").stream().map(c -> c.get("cd")).toList());
+        assertEquals("인증 실패", snapshot.getMessage("AUTH_001").get("msg_cont"));
+        assertEquals(1, snapshot.getMessagesByType("02").size());
+        assertNull(snapshot.getMessage("NONE_001"));
+    }
+
+    /**
+     * 버전 표식이 같으면 다시 로드하지 않고, 바뀌면 새 스냅샷으로 교체
+     */
+    @Test
+    void testRefreshIfChanged() {
+        // Given
+        when(loginDao.selectCodeVersion()).thenReturn("v1", "v1", "v2");
+        stubLoad();
+        codeSnapshotService.initialize();
+        CodeSnapshot first = codeSnapshotService.current();
+
+        // When
+        codeSnapshotService.refreshIfChanged();
+
+        // Then
+        assertSame(first, codeSnapshotService.current());
+
+        // When
+        codeSnapshotService.refreshIfChanged();
+
+        // Then
+        assertEquals("v2", codeSnapshotService.current().getVersion());
+        verify(loginDao, times(2)).selectAllMessageCodes();
+    }
+
+    /**
+     * 로드 실패 시 이전 스냅샷 유지
+     */
+    @Test
+    void testRefreshIfChanged_KeepsSnapshotOnFailure() {
+        // Given
+        when(loginDao.selectCodeVersion()).thenReturn("v1", "v2");
+        stubLoad();
+        codeSnapshotService.initialize();
+        when(loginDao.selectAllMessageCodes()).thenThrow(new RuntimeException("DB 연결 실패"));
+
+        // When
+        codeSnapshotService.refreshIfChanged();
+
+        // Then
+        assertEquals("v1", codeSnapshotService.current().getVersion());
+    }
+
+    /**
+     * 비활성화 시 로드하지 않음
+     */
+    @Test
+    void testInitialize_Disabled() {
+        // Given
+        ReflectionTestUtils.setField(codeSnapshotService, "enabled", false);
+
+        // When
+        codeSnapshotService.initialize();
+
+        // Then
+        assertTrue(codeSnapshotService.current().isEmpty());
+        verifyNoInteractions(loginDao);
+    }
+}
@@ -0,0 +1,322 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.util.CodeSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * CommonCodeService 단위 테스트
+ * 요구사항: 스냅샷 우선 조회, L1 메모리 → L2 Redis → DB 조회, 캐시 초기화 시 pub/sub으로 L1 무효화,
+ *          키별 단일 로드, XFetch 조기 갱신, 없는 코드 캐시
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class CommonCodeServiceTest {
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private LoginDao loginDao;
+
+    @Mock
+    private CodeSnapshotService codeSnapshotService;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @InjectMocks
+    private CommonCodeService commonCodeService;
+
+    private Map<String, Object> message;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(commonCodeService, "l1Enabled", true);
+        ReflectionTestUtils.setField(commonCodeService, "l1MaxSize", 100);
+        ReflectionTestUtils.setField(commonCodeService, "l1TtlMs", 60000L);
+        ReflectionTestUtils.setField(commonCodeService, "l1NegativeTtlMs", 60000L);
+        ReflectionTestUtils.setField(commonCodeService, "singleFlightWaitMs", 5000L);
+        lenient().when(codeSnapshotService.current()).thenReturn(CodeSnapshot.empty());
+
+        message = new HashMap<>();
+        message.put("msg_cd", "AUTH_001");
+        message.put("msg_cont", "아이디 또는 비밀번호가 일치하지 않습니다.");
+    }
+
+    /**
+     * 스냅샷에 있으면 캐시/DB를 거치지 않음
+     */
+    @Test
+    void testGetMessageCode_FromSnapshot() {
+        // Given
+        when(codeSnapshotService.current()).thenReturn(
+                CodeSnapshot.build("v1", List.of(), List.of(), List.of(message)));
+
+        // When
+        Map<String, Object> result = commonCodeService.getMessageCode("AUTH_001");
+
+        // Then
+        assertEquals(message, result);
+        verifyNoInteractions(cacheService, loginDao);
+    }
+
+    /**
+     * L2 적중 후 다음 조회는 L1에서 처리 (Redis 재조회 없음)
+     */
+    @Test
+    void testGetMessageCode_L1Hit() {
+        // Given
+        when(cacheService.getMessageCode("AUTH_001")).thenReturn(message);
+
+        // When
+        Map<String, Object> first = commonCodeService.getMessageCode("AUTH_001");
+        Map<String, Object> second = commonCodeService.getMessageCode("AUTH_001");
+
+        // Then
+        assertEquals(message, first);
+        assertSame(first, second);
+        verify(cacheService, times(1)).getMessageCode("AUTH_001");
+        verifyNoInteractions(loginDao);
+        assertEquals(1L, commonCodeService.getStats().get("l1Hits"));
+    }
+
+    /**
+     * L1 값은 공유되므로 읽기 전용
+     */
+    @Test
+    void testGetCommonCodeList_ReadOnly() {
+        // Given
+        Map<String, Object> code = new HashMap<>(Map.of("cd", "01", "cd_nm", "일반"));
+        when(cacheService.getCommonCodeList("USR_TP")).thenReturn(null);
+        when(loginDao.selectCommonCodeList("USR_TP")).thenReturn(List.of(code));
+
+        // When
+        List<Map<String, Object>> codes = commonCodeService.getCommonCodeList("USR_TP");
+
+        // Then
+        assertThrows(UnsupportedOperationException.class, () -> codes.get(0).put("cd_nm", "변경"));
+        verify(cacheService).setCommonCodeList(eq("USR_TP"), anyList());
+    }
+
+    /**
+     * 그룹을 한 번 로드하면 코드 단건은 L1 그룹 인덱스에서 조회 (Redis 재조회 없음)
+     */
+    @Test
+    void testGetCommonCode_FromL1Group() {
+        // Given
+        when(cacheService.getCommonCodeList("USR_TP")).thenReturn(List.of(
+                Map.of("cd", "02", "cd_nm", "관리자", "sort_ord", 2),
+                Map.of("cd", "01", "cd_nm", "일반", "sort_ord", 1)));
+        commonCodeService.getCommonCodeList("USR_TP");
+
+        // When
+        Map<String, Object> code = commonCodeService.getCommonCode("USR_TP", "02");
+
+        // Then
+        assertEquals("관리자", code.get("cd_nm"));
+        assertNull(commonCodeService.getCommonCode("USR_TP", "99"));
+        verify(cacheService, never()).getCommonCode(anyString(), anyString());
+        verifyNoInteractions(loginDao);
+    }
+
+    /**
+     * L1에 그룹이 없으면 L2 해시에서 필드 하나만 조회 (그룹 전체를 읽지 않음)
+     */
+    @Test
+    void testGetCommonCode_HashFieldFromL2() {
+        // Given
+        when(cacheService.getCommonCode("USR_TP", "01")).thenReturn(Map.of("cd", "01", "cd_nm", "일반"));
+
+        // When
+        Map<String, Object> code = commonCodeService.getCommonCode("USR_TP", "01");
+
+        // Then
+        assertEquals("일반", code.get("cd_nm"));
+        verify(cacheService, never()).getCommonCodeList(anyString());
+        verifyNoInteractions(loginDao);
+    }
+
+    /**
+     * 스냅샷의 그룹 인덱스에서 코드 단건 조회
+     */
+    @Test
+    void testGetCommonCode_FromSnapshot() {
+        // Given
+        when(codeSnapshotService.current()).thenReturn(CodeSnapshot.build("v1", List.of(),
+                List.of(Map.of("grp_cd", "USR_TP", "cd", "01", "cd_nm", "일반", "sort_ord", 1)), List.of()));
+
+        // When
+        Map<String, Object> code = commonCodeService.getCommonCode("USR_TP", "01");
+
+        // Then
+        assertEquals("일반", code.get("cd_nm"));
+        verifyNoInteractions(cacheService, loginDao);
+    }
+
+    /**
+     * 없는 코드는 짧은 TTL로 L1에 저장하여 반복 조회가 DB로 가지 않음
+     */
+    @Test
+    void testGetMessageCode_NegativeCache() {
+        // Given
+        when(cacheService.getMessageCode("NONE_001")).thenReturn(null);
+        when(loginDao.selectMessageCode("NONE_001")).thenReturn(null);
+
+        // When
+        Map<String, Object> first = commonCodeService.getMessageCode("NONE_001");
+        Map<String, Object> second = commonCodeService.getMessageCode("NONE_001");
+
+        // Then
+        assertNull(first);
+        assertNull(second);
+        verify(loginDao, times(1)).selectMessageCode("NONE_001");
+        assertEquals(1L, commonCodeService.getStats().get("l1NegativeHits"));
+    }
+
+    /**
+     * 같은 키를 동시에 조회하면 로드는 한 번만 실행하고 나머지는 결과를 기다림
+     */
+    @Test
+    void testGetMessageCode_SingleFlight() throws Exception {
+        // Given
+        int waiters = 4;
+        CountDownLatch release = new CountDownLatch(1);
+        when(cacheService.getMessageCode("AUTH_001")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return message;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(waiters + 1);
+
+        try {
+            // When
+            List<Future<Map<String, Object>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> commonCodeService.getMessageCode("AUTH_001")));
+            while ((int) commonCodeService.getStats().get("inFlight") == 0) {
+                Thread.sleep(5);
+            }
+            for (int i = 0; i < waiters; i++) {
+                results.add(executor.submit(() -> commonCodeService.getMessageCode("AUTH_001")));
+            }
+            while ((long) commonCodeService.getStats().get("coalescedLoads") < waiters) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Then
+            for (Future<Map<String, Object>> result : results) {
+                assertEquals(message, result.get(5, TimeUnit.SECONDS));
+            }
+            verify(cacheService, times(1)).getMessageCode("AUTH_001");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * XFetch: 조기 갱신 확률이 충분히 크면 만료 전에 한 요청이 다시 로드
+     */
+    @Test
+    void testGetMessageCode_EarlyRefresh() {
+        // Given
+        ReflectionTestUtils.setField(commonCodeService, "xfetchBeta", 1.0e15);
+        when(cacheService.getMessageCode("AUTH_001")).thenReturn(message);
+        commonCodeService.getMessageCode("AUTH_001");
+
+        // When
+        Map<String, Object> result = commonCodeService.getMessageCode("AUTH_001");
+
+        // Then
+        assertEquals(message, result);
+        verify(cacheService, times(2)).getMessageCode("AUTH_001");
+        assertEquals(1L, commonCodeService.getStats().get("earlyRefreshes"));
+    }
+
+    /**
+     * XFetch 조기 갱신이 실패해도 만료 전 L1 값을 반환
+     */
+    @Test
+    void testGetMessageCode_EarlyRefreshFailure_ReturnsCurrentValue() {
+        // Given
+        ReflectionTestUtils.setField(commonCodeService, "xfetchBeta", 1.0e15);
+        when(cacheService.getMessageCode("AUTH_001")).thenReturn(message).thenReturn(null);
+        when(loginDao.selectMessageCode("AUTH_001")).thenThrow(new RuntimeException("DB connection refused"));
+        commonCodeService.getMessageCode("AUTH_001");
+
+        // When
+        Map<String, Object> result = commonCodeService.getMessageCode("AUTH_001");
+
+        // Then
+        assertEquals(message, result);
+        verify(loginDao, times(1)).selectMessageCode("AUTH_001");
+        assertEquals(1L, commonCodeService.getStats().get("earlyRefreshes"));
+    }
+
+    /**
+     * 메시지 코드 캐시 초기화 시 L2 삭제, L1 무효화, 다른 노드에 전파
+     */
+    @Test
+    void testRefreshMessageCodeCache() {
+        // Given
+        when(cacheService.getMessageCode("AUTH_001")).thenReturn(message);
+        commonCodeService.getMessageCode("AUTH_001");
+
+        // When
+        commonCodeService.refreshMessageCodeCache();
+        commonCodeService.getMessageCode("AUTH_001");
+
+        // Then
+        verify(cacheService).clearMessageCodeCache();
+        verify(stringRedisTemplate).convertAndSend(CommonCodeService.INVALIDATION_CHANNEL, "message");
+        verify(codeSnapshotService).reload();
+        verify(cacheService, times(2)).getMessageCode("AUTH_001");
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지는 해당 범위의 L1만 비움
+     */
+    @Test
+    void testOnMessage_InvalidatesScope() {
+        // Given
+        Map<String, Object> group = Map.of("grp_cd", "USR_TP");
+        when(cacheService.getMessageCode("AUTH_001")).thenReturn(message);
+        when(cacheService.getCommonCodeGroup("USR_TP")).thenReturn(group);
+        commonCodeService.getMessageCode("AUTH_001");
+        commonCodeService.getCommonCodeGroup("USR_TP");
+
+        // When
+        commonCodeService.onMessage(new DefaultMessage(
+                CommonCodeService.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "common".getBytes(StandardCharsets.UTF_8)), null);
+        commonCodeService.getMessageCode("AUTH_001");
+        commonCodeService.getCommonCodeGroup("USR_TP");
+
+        // Then
+        verify(cacheService, times(1)).getMessageCode("AUTH_001");
+        verify(cacheService, times(2)).getCommonCodeGroup("USR_TP");
+    }
+}
@@ -0,0 +1,332 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.KeyRange;
+import com.nsustest.loginAuth.model.PurgeRunStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DataPurgeService 단위 테스트
+ * 요구사항: 기본 키 구간 단위 삭제, 실행 시간대/일시 정지 시 중단, 중단된 구간은 다음 실행에서 이어서 처리,
+ * 임대를 얻은 슬라이스만 실행, 일시 정지 여부와 이어서 처리할 키는 인스턴스 간 공유
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class DataPurgeServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @Mock
+    private ClusterLeaseService clusterLeaseService;
+
+    @InjectMocks
+    private DataPurgeService dataPurgeService;
+
+    // 인스턴스 간 공유 값 (Redis 대신)
+    private final Map<String, String> shared = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dataPurgeService, "batchSize", 1000);
+        ReflectionTestUtils.setField(dataPurgeService, "maxRowsPerSecond", 0);
+        ReflectionTestUtils.setField(dataPurgeService, "maxRunMinutes", 30L);
+        ReflectionTestUtils.setField(dataPurgeService, "maxChunkMs", 500L);
+        ReflectionTestUtils.setField(dataPurgeService, "windowStartHour", 1);
+        ReflectionTestUtils.setField(dataPurgeService, "windowEndHour", 6);
+        ReflectionTestUtils.setField(dataPurgeService, "sessionRetentionDays", 7);
+        ReflectionTestUtils.setField(dataPurgeService, "slices", 1);
+        setClockAt(3);
+        lenient().doAnswer(inv -> {
+            String value = inv.getArgument(1);
+            if (value == null) {
+                shared.remove(inv.<String>getArgument(0));
+            } else {
+                shared.put(inv.getArgument(0), value);
+            }
+            return null;
+        }).when(clusterLeaseService).putShared(anyString(), any());
+        lenient().when(clusterLeaseService.getShared(anyString(), any()))
+            .thenAnswer(inv -> shared.get(inv.<String>getArgument(0)));
+    }
+
+    private ClusterLeaseService.Lease lease(String name, boolean held) {
+        return new ClusterLeaseService.Lease(clusterLeaseService, name, null, 1L, 0L, held ? Long.MAX_VALUE : 0L);
+    }
+
+    private void grantLease() {
+        when(clusterLeaseService.tryAcquire("purge:" + DataPurgeService.JOB_SESSIONS))
+            .thenAnswer(inv -> lease(inv.getArgument(0), true));
+    }
+
+    private void setClockAt(int hour) {
+        ZoneId zone = ZoneId.systemDefault();
+        Clock clock = Clock.fixed(LocalDate.of(2026, 10, 18).atTime(LocalTime.of(hour, 0)).atZone(zone).toInstant(), zone);
+        ReflectionTestUtils.setField(dataPurgeService, "clock", clock);
+    }
+
+    /**
+     * 키 범위를 batch-size 구간으로 나누어 삭제
+     */
+    @Test
+    void testPurgeExpiredSessions_Chunks() {
+        // Given
+        grantLease();
+        when(loginDao.selectSessionKeyRange()).thenReturn(new KeyRange(1L, 2500L));
+        when(loginDao.purgeSessionsInRange(anyLong(), anyLong(), any(Date.class))).thenReturn(400, 300, 200);
+
+        // When
+        PurgeRunStats stats = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        InOrder inOrder = inOrder(loginDao);
+        inOrder.verify(loginDao).purgeSessionsInRange(eq(0L), eq(1000L), any(Date.class));
+        inOrder.verify(loginDao).purgeSessionsInRange(eq(1000L), eq(2000L), any(Date.class));
+        inOrder.verify(loginDao).purgeSessionsInRange(eq(2000L), eq(2500L), any(Date.class));
+        assertEquals(3, stats.chunks());
+        assertEquals(900L, stats.deletedRows());
+        assertTrue(stats.completed());
+        assertEquals("COMPLETED", stats.stopReason());
+    }
+
+    /**
+     * 정리 대상이 없으면 삭제하지 않음
+     */
+    @Test
+    void testPurgeExpiredSessions_NoRows() {
+        // Given
+        grantLease();
+        when(loginDao.selectSessionKeyRange()).thenReturn(null);
+
+        // When
+        PurgeRunStats stats = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertTrue(stats.completed());
+        verify(loginDao, never()).purgeSessionsInRange(anyLong(), anyLong(), any());
+    }
+
+    /**
+     * 실행 시간대 밖에서는 삭제하지 않고 다음 실행으로 미룸
+     */
+    @Test
+    void testPurge_OutsideWindow() {
+        // Given
+        grantLease();
+        setClockAt(12);
+        when(loginDao.selectSessionKeyRange()).thenReturn(new KeyRange(1L, 5000L));
+
+        // When
+        PurgeRunStats stats = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertFalse(stats.completed());
+        assertEquals("OUTSIDE_WINDOW", stats.stopReason());
+        verify(loginDao, never()).purgeSessionsInRange(anyLong(), anyLong(), any());
+    }
+
+    /**
+     * 자정을 넘는 실행 시간대 (22시 ~ 6시)
+     */
+    @Test
+    void testPurge_WindowAcrossMidnight() {
+        // Given
+        grantLease();
+        ReflectionTestUtils.setField(dataPurgeService, "windowStartHour", 22);
+        setClockAt(23);
+        when(loginDao.selectSessionKeyRange()).thenReturn(new KeyRange(1L, 10L));
+        when(loginDao.purgeSessionsInRange(eq(0L), eq(10L), any(Date.class))).thenReturn(10);
+
+        // When
+        PurgeRunStats stats = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertTrue(stats.completed());
+        assertEquals(10L, stats.deletedRows());
+    }
+
+    /**
+     * 일시 정지 중에는 삭제하지 않고, 재개 후 실행에서 처리
+     */
+    @Test
+    void testPauseAndResume() {
+        // Given
+        grantLease();
+        when(loginDao.selectSessionKeyRange()).thenReturn(new KeyRange(1L, 500L));
+        dataPurgeService.pause();
+
+        // When
+        PurgeRunStats paused = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertEquals("PAUSED", paused.stopReason());
+        verify(loginDao, never()).purgeSessionsInRange(anyLong(), anyLong(), any());
+
+        // When
+        dataPurgeService.resume();
+        when(loginDao.purgeSessionsInRange(eq(0L), eq(500L), any(Date.class))).thenReturn(50);
+        PurgeRunStats resumed = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertTrue(resumed.completed());
+        assertFalse(dataPurgeService.isPaused());
+    }
+
+    /**
+     * 다른 인스턴스에서 요청한 일시 정지도 청크마다 확인하여 중단
+     */
+    @Test
+    void testPause_RequestedOnAnotherInstance() {
+        // Given
+        grantLease();
+        when(loginDao.selectSessionKeyRange()).thenReturn(new KeyRange(1L, 3000L));
+        when(loginDao.purgeSessionsInRange(eq(0L), eq(1000L), any(Date.class))).thenAnswer(inv -> {
+            shared.put("purge:paused", "1");
+            return 1000;
+        });
+
+        // When
+        PurgeRunStats stats = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertEquals("PAUSED", stats.stopReason());
+        assertEquals(1000L, stats.lastKey());
+        assertTrue(dataPurgeService.isPaused());
+        assertEquals("1000", shared.get("purge:cursor:" + DataPurgeService.JOB_SESSIONS));
+        verify(loginDao, times(1)).purgeSessionsInRange(anyLong(), anyLong(), any());
+    }
+
+    /**
+     * 다른 인스턴스가 남긴 키부터 이어서 처리
+     */
+    @Test
+    void testPurge_ResumesFromSharedCursor() {
+        // Given
+        grantLease();
+        shared.put("purge:cursor:" + DataPurgeService.JOB_SESSIONS, "2000");
+        when(loginDao.selectSessionKeyRange()).thenReturn(new KeyRange(1L, 3000L));
+        when(loginDao.purgeSessionsInRange(eq(2000L), eq(3000L), any(Date.class))).thenReturn(1000);
+
+        // When
+        PurgeRunStats stats = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertTrue(stats.completed());
+        assertEquals(1, stats.chunks());
+        assertFalse(shared.containsKey("purge:cursor:" + DataPurgeService.JOB_SESSIONS));
+    }
+
+    /**
+     * 오류로 중단되면 마지막으로 처리한 키 다음부터 이어서 처리
+     */
+    @Test
+    void testPurge_ResumesFromLastKey() {
+        // Given
+        grantLease();
+        when(loginDao.selectSessionKeyRange()).thenReturn(new KeyRange(1L, 3000L));
+        when(loginDao.purgeSessionsInRange(eq(0L), eq(1000L), any(Date.class))).thenReturn(1000);
+        when(loginDao.purgeSessionsInRange(eq(1000L), eq(2000L), any(Date.class)))
+            .thenThrow(new RuntimeException("Lock wait timeout"))
+            .thenReturn(1000);
+        when(loginDao.purgeSessionsInRange(eq(2000L), eq(3000L), any(Date.class))).thenReturn(1000);
+
+        // When
+        PurgeRunStats failed = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertEquals("ERROR", failed.stopReason());
+        assertEquals(1000L, failed.lastKey());
+        @SuppressWarnings("unchecked")
+        Map<String, Long> cursors = (Map<String, Long>) dataPurgeService.getStats().get("cursors");
+        assertEquals(1000L, cursors.get(DataPurgeService.JOB_SESSIONS));
+
+        // When
+        PurgeRunStats retried = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertTrue(retried.completed());
+        assertEquals(2, retried.chunks());
+        verify(loginDao, times(1)).purgeSessionsInRange(eq(0L), eq(1000L), any(Date.class));
+    }
+
+    /**
+     * 다른 인스턴스가 임대를 보유 중이면 실행하지 않음
+     */
+    @Test
+    void testPurge_LeaseHeldElsewhere() {
+        // Given
+        when(clusterLeaseService.tryAcquire("purge:" + DataPurgeService.JOB_SESSIONS)).thenReturn(null);
+
+        // When
+        List<PurgeRunStats> results = dataPurgeService.purgeExpiredSessions();
+
+        // Then
+        assertTrue(results.isEmpty());
+        verifyNoInteractions(loginDao);
+    }
+
+    /**
+     * 임대를 잃으면 다음 청크를 실행하지 않고 중단
+     */
+    @Test
+    void testPurge_StopsWhenLeaseLost() {
+        // Given
+        when(clusterLeaseService.tryAcquire("purge:" + DataPurgeService.JOB_SESSIONS))
+            .thenReturn(lease("purge:" + DataPurgeService.JOB_SESSIONS, false));
+        when(loginDao.selectSessionKeyRange()).thenReturn(new KeyRange(1L, 5000L));
+
+        // When
+        PurgeRunStats stats = dataPurgeService.purgeExpiredSessions().get(0);
+
+        // Then
+        assertEquals("LEASE_LOST", stats.stopReason());
+        verify(loginDao, never()).purgeSessionsInRange(anyLong(), anyLong(), any());
+    }
+
+    /**
+     * 슬라이스 분할 시 공유된 키 범위를 나누고, 임대를 얻은 슬라이스만 처리
+     */
+    @Test
+    void testPurge_Slices() {
+        // Given
+        ReflectionTestUtils.setField(dataPurgeService, "slices", 2);
+        when(loginDao.selectSessionKeyRange()).thenReturn(new KeyRange(500L, 2000L));
+        // 먼저 시작한 인스턴스가 정한 범위 사용
+        when(clusterLeaseService.share(eq("purge:" + DataPurgeService.JOB_SESSIONS), eq("500:2000"), anyLong()))
+            .thenReturn("1:2000");
+        when(clusterLeaseService.tryAcquire("purge:user_sessions#0")).thenReturn(null);
+        when(clusterLeaseService.tryAcquire("purge:user_sessions#1"))
+            .thenAnswer(inv -> lease(inv.getArgument(0), true));
+        when(loginDao.purgeSessionsInRange(eq(1000L), eq(2000L), any(Date.class))).thenReturn(700);
+
+        // When
+        List<PurgeRunStats> results = dataPurgeService.purgeExpiredSessions();
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals("user_sessions#1", results.get(0).job());
+        assertEquals(700L, results.get(0).deletedRows());
+        verify(loginDao, times(1)).purgeSessionsInRange(anyLong(), anyLong(), any());
+    }
+}
@@ -0,0 +1,133 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.SessionEnd;
+import com.nsustest.loginAuth.model.UserSession;
+import com.nsustest.loginAuth.util.TokenHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * JdbcSessionStore 단위 테스트
+ * 요구사항: 같은 기기/상한 초과 세션 종료, 조건부 UPDATE 한 번으로 토큰 교체, 교체된 토큰 재사용 시 세션 종료
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class JdbcSessionStoreTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @InjectMocks
+    private JdbcSessionStore jdbcSessionStore;
+
+    private UserSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = createSession("sid-new", "device-1", "new.refresh.token");
+    }
+
+    /**
+     * 세션 추가 - 같은 기기 세션 종료 후 저장
+     */
+    @Test
+    void testAdd_SameDeviceReplaced() {
+        // Given
+        when(loginDao.lockActiveSessionsByUsrId(1L)).thenReturn(List.of(
+            createSession("sid-a", "device-1", "a.token"),
+            createSession("sid-b", "device-2", "b.token")));
+
+        // When
+        jdbcSessionStore.add(session, 5);
+
+        // Then
+        verify(loginDao).endUserSessionsBatch(argThat((List<SessionEnd> ends) ->
+            ends.size() == 1 && "sid-a".equals(ends.get(0).sid())));
+        verify(loginDao).insertUserSession(session);
+    }
+
+    /**
+     * 세션 추가 - 상한을 넘으면 가장 오래된 세션부터 종료
+     */
+    @Test
+    void testAdd_OldestEvictedOverCap() {
+        // Given
+        when(loginDao.lockActiveSessionsByUsrId(1L)).thenReturn(List.of(
+            createSession("sid-a", "device-a", "a.token"),
+            createSession("sid-b", "device-b", "b.token"),
+            createSession("sid-c", "device-c", "c.token")));
+
+        // When
+        jdbcSessionStore.add(session, 2);
+
+        // Then - 새 세션 포함 2개가 되도록 a, b 종료
+        verify(loginDao).endUserSessionsBatch(argThat((List<SessionEnd> ends) ->
+            ends.size() == 2 && "sid-a".equals(ends.get(0).sid()) && "sid-b".equals(ends.get(1).sid())));
+        verify(loginDao).insertUserSession(session);
+    }
+
+    /**
+     * 세션 추가 - 상한 이내면 종료 없음
+     */
+    @Test
+    void testAdd_UnderCap() {
+        // Given
+        when(loginDao.lockActiveSessionsByUsrId(1L)).thenReturn(List.of(
+            createSession("sid-a", "device-a", "a.token")));
+
+        // When
+        jdbcSessionStore.add(session, 5);
+
+        // Then
+        verify(loginDao, never()).endUserSessionsBatch(anyList());
+        verify(loginDao).insertUserSession(session);
+    }
+
+    /**
+     * 토큰 교체 - 조건부 UPDATE 한 번
+     */
+    @Test
+    void testRotate() {
+        // Given
+        byte[] newHash = TokenHashUtil.sha256("rotated.refresh.token");
+        when(loginDao.updateSessionRefreshToken(any(UserSession.class), eq(session.refreshTokenHash())))
+            .thenReturn(1);
+
+        // When & Then
+        assertTrue(jdbcSessionStore.rotate(session, newHash, new Date(System.currentTimeMillis() + 604800000L)));
+        verify(loginDao, never()).endSessionsByPrevRefreshTokenHash(any());
+    }
+
+    /**
+     * 토큰 교체 - 이미 교체된 토큰이면 세션 종료
+     */
+    @Test
+    void testRotate_ReuseRevokesSession() {
+        // Given
+        when(loginDao.updateSessionRefreshToken(any(UserSession.class), any())).thenReturn(0);
+        when(loginDao.endSessionsByPrevRefreshTokenHash(session.refreshTokenHash())).thenReturn(1);
+
+        // When & Then
+        assertFalse(jdbcSessionStore.rotate(session, TokenHashUtil.sha256("rotated.refresh.token"),
+                new Date(System.currentTimeMillis() + 604800000L)));
+        verify(loginDao).endSessionsByPrevRefreshTokenHash(session.refreshTokenHash());
+    }
+
+    private UserSession createSession(String sid, String deviceId, String refreshToken) {
+        return UserSession.create(sid, 1L, deviceId, TokenHashUtil.sha256(refreshToken),
+                "192.168.1.100", "Mozilla/5.0", new Date(System.currentTimeMillis() + 604800000L));
+    }
+}
@@ -0,0 +1,117 @@
+package com.nsustest.loginAuth.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LoginAttemptService 단위 테스트
+ * 요구사항: Redis 기반 IP 실패 카운터 및 차단 상태
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class LoginAttemptServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @InjectMocks
+    private LoginAttemptService loginAttemptService;
+
+    private final String testIp = "192.168.1.100";
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginAttemptService, "maxFailures", 5);
+        ReflectionTestUtils.setField(loginAttemptService, "windowMs", 3600000L);
+        ReflectionTestUtils.setField(loginAttemptService, "blockMs", 1800000L);
+    }
+
+    /**
+     * 차단 키에 TTL이 남아 있으면 차단
+     */
+    @Test
+    void testIsBlocked_Blocked() {
+        when(stringRedisTemplate.getExpire("login_block:" + testIp, TimeUnit.MILLISECONDS)).thenReturn(60000L);
+
+        assertTrue(loginAttemptService.isBlocked(testIp));
+    }
+
+    /**
+     * 차단 키가 없으면(-2) 허용
+     */
+    @Test
+    void testIsBlocked_NotBlocked() {
+        when(stringRedisTemplate.getExpire("login_block:" + testIp, TimeUnit.MILLISECONDS)).thenReturn(-2L);
+
+        assertFalse(loginAttemptService.isBlocked(testIp));
+    }
+
+    /**
+     * Redis 오류 시 안전하게 허용
+     */
+    @Test
+    void testIsBlocked_RedisError() {
+        when(stringRedisTemplate.getExpire(anyString(), any(TimeUnit.class))).thenThrow(new RuntimeException("Redis 연결 실패"));
+
+        assertFalse(loginAttemptService.isBlocked(testIp));
+    }
+
+    /**
+     * 실패 기록 - 임계치 미만
+     */
+    @Test
+    void testRecordFailure_BelowThreshold() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+            .thenReturn(List.of(3L, 0L));
+
+        LoginAttemptService.FailureResult result = loginAttemptService.recordFailure(testIp);
+
+        assertEquals(3, result.attemptCnt());
+        assertFalse(result.blocked());
+        assertNull(result.blockedUntilDt());
+        verify(stringRedisTemplate).execute(any(RedisScript.class),
+            eq(List.of("login_fail:" + testIp, "login_block:" + testIp)),
+            eq("3600000"), eq("5"), eq("1800000"));
+    }
+
+    /**
+     * 실패 기록 - 임계치 도달 시 차단
+     */
+    @Test
+    void testRecordFailure_Blocked() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+            .thenReturn(List.of(5L, 1800000L));
+
+        LoginAttemptService.FailureResult result = loginAttemptService.recordFailure(testIp);
+
+        assertEquals(5, result.attemptCnt());
+        assertTrue(result.blocked());
+        assertNotNull(result.blockedUntilDt());
+        assertTrue(result.blockedUntilDt().getTime() > System.currentTimeMillis());
+    }
+
+    /**
+     * 로그인 성공 시 카운터와 차단 키 삭제
+     */
+    @Test
+    void testReset() {
+        loginAttemptService.reset(testIp);
+
+        verify(stringRedisTemplate).delete(List.of("login_fail:" + testIp, "login_block:" + testIp));
+    }
+}
@@ -0,0 +1,268 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.LoginAuditEvent;
+import com.nsustest.loginAuth.model.UserStatsDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LoginAuditService 단위 테스트
+ * 요구사항: 로그인 이력 write-behind, 일괄 저장, 저널 재생, 역압, 재시도 시 중복 저장 방지, 실패 이벤트 격리
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class LoginAuditServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private LoginAuditService loginAuditService;
+
+    @TempDir
+    Path journalDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        configure(loginAuditService, 100);
+        loginAuditService.start();
+    }
+
+    /**
+     * 기록 시점에는 DB에 쓰지 않고 flush 시 일괄 저장
+     */
+    @Test
+    void testFlush_WritesBatchAndCoalescesStats() {
+        // Given
+        loginAuditService.recordLoginSuccess(1L, "testuser", "192.168.1.100", "Mozilla/5.0");
+        loginAuditService.recordLoginSuccess(1L, "testuser", "192.168.1.101", "Mozilla/5.0");
+        loginAuditService.recordLoginFailure("unknown", "192.168.1.102", "사용자 없음", 1, false, null);
+        verifyNoInteractions(loginDao);
+
+        // When
+        loginAuditService.flush();
+
+        // Then
+        ArgumentCaptor<List<LoginAuditEvent>> historyCaptor = ArgumentCaptor.forClass(List.class);
+        verify(loginDao).insertLoginHistoryBatch(historyCaptor.capture());
+        assertEquals(3, historyCaptor.getValue().size());
+
+        ArgumentCaptor<List<UserStatsDelta>> statsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(loginDao).incrementUserStatsBatch(statsCaptor.capture());
+        assertEquals(1, statsCaptor.getValue().size());
+        UserStatsDelta delta = statsCaptor.getValue().get(0);
+        assertEquals(1L, delta.usrId());
+        assertEquals(2, delta.loginCnt());
+        assertEquals("192.168.1.101", delta.lastLoginIp());
+
+        assertEquals(0, loginAuditService.getBacklogSize());
+    }
+
+    /**
+     * 저장 실패 시 다음 주기에 같은 이벤트를 재시도
+     */
+    @Test
+    void testFlush_RetriesAfterFailure() {
+        // Given
+        loginAuditService.recordLoginFailure("testuser", "192.168.1.100", "비밀번호 오류", 1, false, null);
+        when(loginDao.insertLoginHistoryBatch(anyList()))
+            .thenThrow(new RuntimeException("DB 연결 실패"))
+            .thenReturn(1);
+
+        // When
+        loginAuditService.flush();
+        assertEquals(1, loginAuditService.getBacklogSize());
+        loginAuditService.flush();
+
+        // Then
+        verify(loginDao, times(2)).insertLoginHistoryBatch(anyList());
+        verify(loginDao, never()).incrementUserStatsBatch(anyList());
+        assertEquals(0, loginAuditService.getBacklogSize());
+    }
+
+    /**
+     * 비정상 종료 후 재시작 시 저널 재생
+     */
+    @Test
+    void testStart_ReplaysJournalAfterCrash() throws Exception {
+        // Given - flush 없이 종료된 인스턴스
+        loginAuditService.recordLoginSuccess(1L, "testuser", "192.168.1.100", "Mozilla/5.0");
+        loginAuditService.recordLoginSuccess(2L, "otheruser", "192.168.1.101", "Mozilla/5.0");
+
+        LoginAuditService restarted = new LoginAuditService();
+        ReflectionTestUtils.setField(restarted, "loginDao", loginDao);
+        ReflectionTestUtils.setField(restarted, "transactionTemplate", transactionTemplate);
+        configure(restarted, 100);
+
+        // When
+        restarted.start();
+        restarted.flush();
+
+        // Then
+        ArgumentCaptor<List<LoginAuditEvent>> historyCaptor = ArgumentCaptor.forClass(List.class);
+        verify(loginDao).insertLoginHistoryBatch(historyCaptor.capture());
+        assertEquals(2, historyCaptor.getValue().size());
+        assertEquals("testuser", historyCaptor.getValue().get(0).usrLoginId());
+        verify(loginDao).incrementUserStatsBatch(argThat(deltas -> deltas.size() == 2));
+    }
+
+    /**
+     * 큐가 가득 차면 호출 스레드에서 직접 저장 (역압)
+     */
+    @Test
+    void testRecord_QueueFull_WritesInline() throws Exception {
+        // Given
+        LoginAuditService small = new LoginAuditService();
+        ReflectionTestUtils.setField(small, "loginDao", loginDao);
+        ReflectionTestUtils.setField(small, "transactionTemplate", transactionTemplate);
+        configure(small, 1);
+        small.start();
+
+        // When
+        small.recordLoginFailure("testuser", "192.168.1.100", "비밀번호 오류", 1, false, null);
+        small.recordLoginFailure("testuser", "192.168.1.100", "비밀번호 오류", 2, false, null);
+
+        // Then - 두 번째 이벤트만 즉시 저장됨
+        verify(loginDao).insertLoginHistoryBatch(argThat(events -> events.size() == 1 && events.get(0).attemptCnt() == 2));
+        assertEquals(1, small.getBacklogSize());
+    }
+
+    /**
+     * 일부 배치만 실패하면 커밋된 배치는 다시 쓰지 않고 실패한 배치만 재시도
+     */
+    @Test
+    void testFlush_PartialFailure_RetriesOnlyFailedBatch() {
+        // Given
+        ReflectionTestUtils.setField(loginAuditService, "batchSize", 1);
+        loginAuditService.recordLoginSuccess(1L, "testuser", "192.168.1.100", "Mozilla/5.0");
+        loginAuditService.recordLoginSuccess(2L, "otheruser", "192.168.1.101", "Mozilla/5.0");
+        when(loginDao.insertLoginHistoryBatch(anyList()))
+            .thenReturn(1)
+            .thenThrow(new RuntimeException("DB 연결 실패"))
+            .thenReturn(1);
+
+        // When
+        loginAuditService.flush();
+        assertEquals(1, loginAuditService.getBacklogSize());
+        loginAuditService.flush();
+
+        // Then
+        ArgumentCaptor<List<LoginAuditEvent>> historyCaptor = ArgumentCaptor.forClass(List.class);
+        verify(loginDao, times(3)).insertLoginHistoryBatch(historyCaptor.capture());
+        List<List<LoginAuditEvent>> batches = historyCaptor.getAllValues();
+        assertEquals("testuser", batches.get(0).get(0).usrLoginId());
+        assertEquals("otheruser", batches.get(1).get(0).usrLoginId());
+        assertEquals("otheruser", batches.get(2).get(0).usrLoginId());
+        verify(loginDao, times(2)).incrementUserStatsBatch(anyList());
+        assertEquals(0, loginAuditService.getBacklogSize());
+    }
+
+    /**
+     * 저장 후 저널 정리 전에 종료되어 재생되면 이미 저장된 이벤트는 건너뛰고 통계도 반영하지 않음
+     */
+    @Test
+    void testStart_ReplaySkipsWrittenEvents() throws Exception {
+        // Given - 첫 이벤트는 이전 실행에서 이미 커밋됨
+        loginAuditService.recordLoginSuccess(1L, "testuser", "192.168.1.100", "Mozilla/5.0");
+        loginAuditService.recordLoginSuccess(2L, "otheruser", "192.168.1.101", "Mozilla/5.0");
+
+        LoginAuditService restarted = new LoginAuditService();
+        ReflectionTestUtils.setField(restarted, "loginDao", loginDao);
+        ReflectionTestUtils.setField(restarted, "transactionTemplate", transactionTemplate);
+        configure(restarted, 100);
+        restarted.start();
+        when(loginDao.selectWrittenAuditEventIds(anyList(), any(), any())).thenAnswer(invocation -> {
+            List<String> eventIds = invocation.getArgument(0);
+            return List.of(eventIds.get(0));
+        });
+
+        // When
+        restarted.flush();
+
+        // Then
+        verify(loginDao).insertLoginHistoryBatch(argThat(events ->
+            events.size() == 1 && events.get(0).usrLoginId().equals("otheruser")));
+        verify(loginDao).incrementUserStatsBatch(argThat(deltas -> deltas.size() == 1 && deltas.get(0).usrId() == 2L));
+        assertEquals(0, restarted.getBacklogSize());
+    }
+
+    /**
+     * 계속 실패하는 이벤트는 시도 횟수를 넘으면 격리 테이블로 옮기고 나머지 이벤트는 저장
+     */
+    @Test
+    void testFlush_PoisonEvent_MovedToDeadLetter() {
+        // Given
+        ReflectionTestUtils.setField(loginAuditService, "maxAttempts", 2);
+        loginAuditService.recordLoginFailure("bad", "192.168.1.100", "비밀번호 오류", 1, false, null);
+        loginAuditService.recordLoginFailure("testuser", "192.168.1.101", "비밀번호 오류", 1, false, null);
+        when(loginDao.insertLoginHistoryBatch(anyList())).thenAnswer(invocation -> {
+            List<LoginAuditEvent> events = invocation.getArgument(0);
+            if (events.stream().anyMatch(event -> event.usrLoginId().equals("bad"))) {
+                throw new RuntimeException("Data too long for column");
+            }
+            return events.size();
+        });
+
+        // When
+        loginAuditService.flush();
+        loginAuditService.flush();
+
+        // Then
+        verify(loginDao).insertLoginAuditDeadLetter(anyString(), contains("\"bad\""), eq(2), eq("Data too long for column"));
+        verify(loginDao).insertLoginHistoryBatch(argThat(events ->
+            events.size() == 1 && events.get(0).usrLoginId().equals("testuser")));
+        assertEquals(0, loginAuditService.getBacklogSize());
+    }
+
+    /**
+     * 재시도 대기 중에도 새 이벤트는 큐에서 꺼내 저장 대상에 추가
+     */
+    @Test
+    void testFlush_DrainsQueueWhileRetrying() {
+        // Given
+        loginAuditService.recordLoginFailure("testuser", "192.168.1.100", "비밀번호 오류", 1, false, null);
+        when(loginDao.insertLoginHistoryBatch(anyList())).thenThrow(new RuntimeException("DB 연결 실패"));
+        loginAuditService.flush();
+
+        // When
+        loginAuditService.recordLoginFailure("testuser", "192.168.1.100", "비밀번호 오류", 2, false, null);
+        loginAuditService.flush();
+
+        // Then
+        Collection<?> pending = (Collection<?>) ReflectionTestUtils.getField(loginAuditService, "pending");
+        assertEquals(2, pending.size());
+        assertEquals(2, loginAuditService.getBacklogSize());
+    }
+
+    private void configure(LoginAuditService service, int capacity) {
+        ReflectionTestUtils.setField(service, "journalDir", journalDir.toString());
+        ReflectionTestUtils.setField(service, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(service, "batchSize", 500);
+        ReflectionTestUtils.setField(service, "fsync", false);
+        ReflectionTestUtils.setField(service, "maxAttempts", 5);
+    }
+}
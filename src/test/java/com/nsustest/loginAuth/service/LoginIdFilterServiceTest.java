@@ -0,0 +1,134 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.util.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LoginIdFilterService 단위 테스트
+ * 요구사항: 공유 비트맵 갱신 실패 시 오거절 없이 재시도로 복구
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class LoginIdFilterServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ClusterLeaseService clusterLeaseService;
+
+    @InjectMocks
+    private LoginIdFilterService loginIdFilterService;
+
+    @BeforeEach
+    void setUp() {
+        // 해시 함수 1개짜리 필터 (스크립트 인자가 항상 1개)
+        ReflectionTestUtils.setField(loginIdFilterService, "filter", BloomFilter.create(100000, 0.5));
+        ReflectionTestUtils.setField(loginIdFilterService, "ready", true);
+        ReflectionTestUtils.setField(loginIdFilterService, "syncIntervalMs", 30000L);
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    /**
+     * 공유 비트맵 확인 시 복구 표시 키도 함께 전달
+     */
+    @Test
+    void testMightExist_ChecksBitmapAndRepairMarker() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any())).thenReturn(0L);
+
+        // When
+        boolean result = loginIdFilterService.mightExist("unknown");
+
+        // Then
+        assertFalse(result);
+        verify(stringRedisTemplate).execute(any(RedisScript.class),
+                eq(List.of("login_id:bloom", "login_id:bloom:repair")), any());
+    }
+
+    /**
+     * 비트맵 갱신에 실패하면 복구 표시를 남기고, 복구 전까지 로컬에 없는 아이디도 DB 확인 대상
+     */
+    @Test
+    void testAdd_RedisFailure_MarksRepairAndTreatsMissAsMightExist() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any()))
+                .thenThrow(new RuntimeException("Redis timeout"));
+
+        // When
+        loginIdFilterService.add("newuser");
+        boolean result = loginIdFilterService.mightExist("someone-else");
+
+        // Then
+        assertTrue(result);
+        verify(valueOperations).set("login_id:bloom:repair", "1", Duration.ofMillis(60000));
+        verify(stringRedisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any());
+    }
+
+    /**
+     * 동기화 주기에 기록하지 못한 아이디를 다시 기록하고, 성공하면 공유 비트맵 확인으로 복귀
+     */
+    @Test
+    void testSync_RetriesUnsyncedIds() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any()))
+                .thenThrow(new RuntimeException("Redis timeout"))
+                .thenReturn(1L, 0L);
+        loginIdFilterService.add("newuser");
+
+        // When
+        loginIdFilterService.syncFromSnapshot();
+        boolean result = loginIdFilterService.mightExist("someone-else");
+
+        // Then
+        verify(stringRedisTemplate, times(2)).execute(any(RedisScript.class), eq(List.of("login_id:bloom")), any());
+        verify(stringRedisTemplate).execute(any(RedisCallback.class));
+        assertEquals(0, ((Set<?>) ReflectionTestUtils.getField(loginIdFilterService, "unsyncedIds")).size());
+        assertFalse(result);
+    }
+
+    /**
+     * 임대를 얻지 못하면 DB 재구성을 건너뜀
+     */
+    @Test
+    void testRebuild_SkipsWithoutLease() {
+        // Given
+        when(clusterLeaseService.tryAcquire(LoginIdFilterService.REBUILD_LEASE_NAME)).thenReturn(null);
+
+        // When
+        loginIdFilterService.rebuildFromDatabase();
+
+        // Then
+        verifyNoInteractions(transactionTemplate, loginDao);
+    }
+}
@@ -0,0 +1,116 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.LoginIdEntry;
+import com.nsustest.loginAuth.util.LoginIdIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LoginIdIndexService 단위 테스트
+ * 요구사항: 메모리 아이디 인덱스, 증분 갱신, 추천 아이디
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class LoginIdIndexServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @InjectMocks
+    private LoginIdIndexService loginIdIndexService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginIdIndexService, "index",
+            LoginIdIndex.build(List.of("testuser", "testuser1", "testuser2", "player9")));
+        ReflectionTestUtils.setField(loginIdIndexService, "lastSeenUsrId", 4L);
+        ReflectionTestUtils.setField(loginIdIndexService, "pollBatchSize", 1000);
+        ReflectionTestUtils.setField(loginIdIndexService, "ready", true);
+    }
+
+    /**
+     * 대소문자 구분 없이 조회
+     */
+    @Test
+    void testContains_CaseInsensitive() {
+        assertTrue(loginIdIndexService.contains("TestUser"));
+        assertFalse(loginIdIndexService.contains("newuser"));
+    }
+
+    /**
+     * 회원가입으로 추가된 아이디는 즉시 반영
+     */
+    @Test
+    void testAdd_VisibleImmediately() {
+        // When
+        loginIdIndexService.add("NewUser");
+
+        // Then
+        assertTrue(loginIdIndexService.contains("newuser"));
+    }
+
+    /**
+     * 다른 노드에서 가입한 아이디를 usr_id 기준으로 반영
+     */
+    @Test
+    void testPollNewUsers() {
+        // Given
+        when(loginDao.selectLoginIdsAfter(4L, 1000))
+            .thenReturn(List.of(new LoginIdEntry(5L, "otheruser")));
+
+        // When
+        loginIdIndexService.pollNewUsers();
+
+        // Then
+        assertTrue(loginIdIndexService.contains("otheruser"));
+        assertEquals(5L, ReflectionTestUtils.getField(loginIdIndexService, "lastSeenUsrId"));
+    }
+
+    /**
+     * 숫자를 붙여 가까운 사용 가능 아이디 추천 (사용 중인 후보는 건너뜀)
+     */
+    @Test
+    void testSuggestAvailable_AppendNumber() {
+        // When
+        List<String> suggestions = loginIdIndexService.suggestAvailable("TestUser", 3);
+
+        // Then
+        assertEquals(List.of("TestUser3", "TestUser4", "TestUser5"), suggestions);
+    }
+
+    /**
+     * 끝자리 숫자는 1씩 증가
+     */
+    @Test
+    void testSuggestAvailable_IncrementTrailingNumber() {
+        // When
+        List<String> suggestions = loginIdIndexService.suggestAvailable("player9", 2);
+
+        // Then
+        assertEquals(List.of("player10", "player11"), suggestions);
+    }
+
+    /**
+     * 최대 길이(20자)를 넘지 않도록 앞부분을 잘라 추천
+     */
+    @Test
+    void testSuggestAvailable_RespectsMaxLength() {
+        // When
+        List<String> suggestions = loginIdIndexService.suggestAvailable("abcdefghijklmnopqrst", 1);
+
+        // Then
+        assertEquals(List.of("abcdefghijklmnopqrs1"), suggestions);
+    }
+}
@@ -0,0 +1,159 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.TablePartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * PartitionMaintenanceService 단위 테스트
+ * 요구사항: 앞으로 쓰일 파티션 미리 생성, 보관 기간이 지난 파티션은 아카이브 후 DROP
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class PartitionMaintenanceServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @Mock
+    private LoginHistoryArchiveService loginHistoryArchiveService;
+
+    @InjectMocks
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(partitionMaintenanceService, "enabled", true);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "loginHistoryRetentionDays", 180);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "loginHistoryMonthsAhead", 3);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "rateLimitHistoryRetentionDays", 7);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "rateLimitHistoryDaysAhead", 7);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "clock",
+                Clock.fixed(LocalDate.of(2026, 10, 18).atTime(0, 30).atZone(zone).toInstant(), zone));
+    }
+
+    private long epoch(int year, int month, int day) {
+        return LocalDate.of(year, month, day).atStartOfDay(zone).toEpochSecond();
+    }
+
+    /**
+     * 파티션이 p_future뿐이면 보관 시작 기간부터 미래 기간까지 생성
+     */
+    @Test
+    void testMaintain_CreatesPartitions() {
+        // Given
+        List<TablePartition> futureOnly = List.of(new TablePartition("p_future", null));
+        when(loginDao.selectPartitions("login_history")).thenReturn(futureOnly);
+        when(loginDao.selectPartitions("rate_limit_history")).thenReturn(futureOnly);
+
+        // When
+        partitionMaintenanceService.maintain();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TablePartition>> monthly = ArgumentCaptor.forClass(List.class);
+        verify(loginDao).addPartitions(eq("login_history"), monthly.capture());
+        assertEquals(10, monthly.getValue().size());
+        assertEquals(new TablePartition("p202604", epoch(2026, 5, 1)), monthly.getValue().get(0));
+        assertEquals(new TablePartition("p202701", epoch(2027, 2, 1)), monthly.getValue().get(9));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TablePartition>> daily = ArgumentCaptor.forClass(List.class);
+        verify(loginDao).addPartitions(eq("rate_limit_history"), daily.capture());
+        assertEquals(15, daily.getValue().size());
+        assertEquals(new TablePartition("p20261011", epoch(2026, 10, 12)), daily.getValue().get(0));
+        assertEquals(new TablePartition("p20261025", epoch(2026, 10, 26)), daily.getValue().get(14));
+
+        verify(loginDao, never()).dropPartitions(anyString(), anyList());
+    }
+
+    /**
+     * 이미 있는 파티션 이후만 생성하고, 상한이 보관 기준 이전인 파티션은 아카이브 후 DROP
+     */
+    @Test
+    void testMaintain_ArchivesAndDropsExpiredPartitions() throws Exception {
+        // Given
+        when(loginDao.selectPartitions("login_history")).thenReturn(monthlyPartitionsFrom202603());
+        when(loginDao.selectPartitions("rate_limit_history")).thenReturn(List.of());
+        when(loginHistoryArchiveService.isEnabled()).thenReturn(true);
+        when(loginHistoryArchiveService.archivePartition("p202603")).thenReturn(1200L);
+
+        // When
+        partitionMaintenanceService.maintain();
+
+        // Then
+        InOrder inOrder = inOrder(loginHistoryArchiveService, loginDao);
+        inOrder.verify(loginHistoryArchiveService).archivePartition("p202603");
+        inOrder.verify(loginDao).dropPartitions("login_history", List.of("p202603"));
+        verify(loginDao).addPartitions("login_history", List.of(new TablePartition("p202701", epoch(2027, 2, 1))));
+        verify(loginDao, never()).addPartitions(eq("rate_limit_history"), anyList());
+        verify(loginDao, never()).dropPartitions(eq("rate_limit_history"), anyList());
+    }
+
+    /**
+     * 아카이브에 실패한 파티션은 DROP하지 않음
+     */
+    @Test
+    void testMaintain_KeepsPartitionWhenArchiveFails() throws Exception {
+        // Given
+        when(loginDao.selectPartitions("login_history")).thenReturn(monthlyPartitionsFrom202603());
+        when(loginDao.selectPartitions("rate_limit_history")).thenReturn(List.of());
+        when(loginHistoryArchiveService.isEnabled()).thenReturn(true);
+        when(loginHistoryArchiveService.archivePartition("p202603")).thenThrow(new IOException("No space left on device"));
+
+        // When
+        partitionMaintenanceService.maintain();
+
+        // Then
+        verify(loginDao, never()).dropPartitions(anyString(), anyList());
+    }
+
+    private List<TablePartition> monthlyPartitionsFrom202603() {
+        List<TablePartition> monthly = new ArrayList<>();
+        monthly.add(new TablePartition("p202603", epoch(2026, 4, 1)));
+        for (LocalDate month = LocalDate.of(2026, 4, 1); month.isBefore(LocalDate.of(2027, 1, 1)); month = month.plusMonths(1)) {
+            LocalDate next = month.plusMonths(1);
+            monthly.add(new TablePartition(String.format("p%04d%02d", month.getYear(), month.getMonthValue()),
+                    epoch(next.getYear(), next.getMonthValue(), 1)));
+        }
+        monthly.add(new TablePartition("p_future", null));
+        return monthly;
+    }
+
+    /**
+     * 비활성화 시 DB 작업 없음
+     */
+    @Test
+    void testMaintain_Disabled() {
+        // Given
+        ReflectionTestUtils.setField(partitionMaintenanceService, "enabled", false);
+
+        // When
+        partitionMaintenanceService.maintain();
+
+        // Then
+        verifyNoInteractions(loginDao);
+    }
+}
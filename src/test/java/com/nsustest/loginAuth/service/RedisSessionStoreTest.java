@@ -0,0 +1,323 @@
+package com.nsustest.loginAuth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nsustest.loginAuth.model.UserSession;
+import com.nsustest.loginAuth.util.TokenHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * RedisSessionStore 단위 테스트
+ * 요구사항: 기기별 세션 추가/교체/종료 각각 Redis 한 번 왕복, 교체된 토큰 재사용 시 세션 종료,
+ * 종료된 세션은 비동기 보관
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class RedisSessionStoreTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private SessionArchiveService sessionArchiveService;
+
+    @InjectMocks
+    private RedisSessionStore redisSessionStore;
+
+    private byte[] refreshTokenHash;
+    private String digest;
+    private String tokenKey;
+    private UserSession session;
+
+    private final List<String> userKeys = List.of("session:user:1", "session:user:1:login",
+            "session:user:1:exp", "session:user:1:device");
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenHash = TokenHashUtil.sha256("valid.refresh.token");
+        digest = HexFormat.of().formatHex(refreshTokenHash);
+        tokenKey = "session:token:" + digest;
+        session = UserSession.create("sid-1", 1L, "device-1", refreshTokenHash, "192.168.1.100", "Mozilla/5.0",
+                new Date(System.currentTimeMillis() + 604800000L));
+    }
+
+    /**
+     * 세션 추가 - 스크립트 한 번으로 저장, 같은 기기/상한 초과로 종료된 세션은 종료 이력으로 보관
+     */
+    @Test
+    void testAdd() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of("old-sid"));
+
+        // When
+        redisSessionStore.add(session, 5);
+
+        // Then
+        ArgumentCaptor<String> ttl = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(userKeys),
+            eq("sid-1"), eq(digest), eq("device-1"), anyString(), ttl.capture(), eq("session:token:"),
+            anyString(), eq(String.valueOf(session.expDt().getTime())), eq("5"));
+        assertTrue(Long.parseLong(ttl.getValue()) > 604000L);
+
+        verify(sessionArchiveService).recordStart(session);
+        verify(sessionArchiveService).recordEnd(eq("old-sid"), any(Date.class));
+    }
+
+    /**
+     * 세션 추가 - 기기 ID가 없으면 빈 문자열로 전달 (기기 교체 없음)
+     */
+    @Test
+    void testAdd_WithoutDevice() {
+        // Given
+        UserSession noDevice = UserSession.create("sid-2", 1L, null, refreshTokenHash, "192.168.1.100", null,
+                new Date(System.currentTimeMillis() + 604800000L));
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of());
+
+        // When
+        redisSessionStore.add(noDevice, 5);
+
+        // Then
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(userKeys),
+            eq("sid-2"), eq(digest), eq(""), anyString(), anyString(), anyString(),
+            anyString(), anyString(), anyString());
+        verify(sessionArchiveService, never()).recordEnd(any(), any());
+    }
+
+    /**
+     * Refresh Token 교체 - 스크립트 한 번으로 CAS, 기존 토큰은 사용된 토큰으로 기록
+     */
+    @Test
+    void testRotate() {
+        // Given
+        byte[] newHash = TokenHashUtil.sha256("new.refresh.token");
+        Date newExpDt = new Date(System.currentTimeMillis() + 604800000L);
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of("1"));
+
+        // When
+        boolean rotated = redisSessionStore.rotate(session, newHash, newExpDt);
+
+        // Then
+        assertTrue(rotated);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(userKeys),
+            eq("sid-1"), eq(digest), eq(HexFormat.of().formatHex(newHash)), anyString(), anyString(),
+            eq("session:token:"), eq(String.valueOf(newExpDt.getTime())), eq("session:used:"), eq("1"));
+        verify(sessionArchiveService).recordRotation("sid-1", newExpDt);
+        verify(sessionArchiveService, never()).recordEnd(any(), any());
+    }
+
+    /**
+     * Refresh Token 교체 - 이미 교체된 토큰(동시 재발급/재사용)이면 세션 종료
+     */
+    @Test
+    void testRotate_ReuseRevokesSession() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of("-1", "sid-1"));
+
+        // When
+        boolean rotated = redisSessionStore.rotate(session, TokenHashUtil.sha256("new.refresh.token"),
+                new Date(System.currentTimeMillis() + 604800000L));
+
+        // Then
+        assertFalse(rotated);
+        verify(sessionArchiveService).recordEnd(eq("sid-1"), any(Date.class));
+    }
+
+    /**
+     * Refresh Token 교체 - 이미 종료된 세션
+     */
+    @Test
+    void testRotate_SessionGone() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(),
+                any(), any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of("0"));
+
+        // When & Then
+        assertFalse(redisSessionStore.rotate(session, TokenHashUtil.sha256("new.refresh.token"),
+                new Date(System.currentTimeMillis() + 604800000L)));
+        verifyNoInteractions(sessionArchiveService);
+    }
+
+    /**
+     * 재사용 감지 - 교체된 토큰이 제시되면 세션 종료
+     */
+    @Test
+    void testRevokeIfReused() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+            .thenReturn(List.of("sid-1"));
+
+        // When
+        boolean reused = redisSessionStore.revokeIfReused(refreshTokenHash);
+
+        // Then
+        assertTrue(reused);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("session:used:" + digest)),
+            eq("session:user:"), eq("session:token:"));
+        verify(sessionArchiveService).recordEnd(eq("sid-1"), any(Date.class));
+    }
+
+    /**
+     * 재사용 감지 - 사용된 적 없는 토큰
+     */
+    @Test
+    void testRevokeIfReused_UnknownToken() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+            .thenReturn(List.of());
+
+        // When & Then
+        assertFalse(redisSessionStore.revokeIfReused(refreshTokenHash));
+        verifyNoInteractions(sessionArchiveService);
+    }
+
+    /**
+     * 토큰 다이제스트로 조회 - GET 한 번
+     */
+    @Test
+    void testFindByRefreshTokenHash() throws Exception {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(tokenKey)).thenReturn(new ObjectMapper().writeValueAsString(session));
+
+        // When
+        UserSession found = redisSessionStore.findByRefreshTokenHash(refreshTokenHash);
+
+        // Then
+        assertNotNull(found);
+        assertEquals("sid-1", found.sid());
+        assertEquals("device-1", found.deviceId());
+        assertEquals(1L, found.usrId());
+        assertArrayEquals(refreshTokenHash, found.refreshTokenHash());
+    }
+
+    /**
+     * 없는 토큰 조회
+     */
+    @Test
+    void testFindByRefreshTokenHash_NotFound() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(tokenKey)).thenReturn(null);
+
+        // When & Then
+        assertNull(redisSessionStore.findByRefreshTokenHash(refreshTokenHash));
+    }
+
+    /**
+     * 사용자 세션 목록 - 로그인 순 sid, HMGET, MGET 각 한 번 (만료된 세션 제외)
+     */
+    @Test
+    void testFindByUsrId() throws Exception {
+        // Given
+        byte[] expiredHash = TokenHashUtil.sha256("expired.refresh.token");
+        String expiredDigest = HexFormat.of().formatHex(expiredHash);
+
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.range("session:user:1:login", 0, -1))
+            .thenReturn(new LinkedHashSet<>(List.of("sid-0", "sid-1")));
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet("session:user:1", List.of("sid-0", "sid-1")))
+            .thenReturn(List.of(expiredDigest + ":", digest + ":device-1"));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("session:token:" + expiredDigest, tokenKey)))
+            .thenReturn(Arrays.asList(null, new ObjectMapper().writeValueAsString(session)));
+
+        // When
+        List<UserSession> sessions = redisSessionStore.findByUsrId(1L);
+
+        // Then
+        assertEquals(1, sessions.size());
+        assertEquals("sid-1", sessions.get(0).sid());
+    }
+
+    /**
+     * 세션 하나 종료 - 종료 이력 보관
+     */
+    @Test
+    void testRevoke() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+            .thenReturn(List.of("sid-1"));
+
+        // When
+        boolean revoked = redisSessionStore.revoke(1L, "sid-1");
+
+        // Then
+        assertTrue(revoked);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(userKeys),
+            eq("sid-1"), eq("session:token:"));
+        verify(sessionArchiveService).recordEnd(eq("sid-1"), any(Date.class));
+    }
+
+    /**
+     * 세션 하나 종료 - 없는 세션
+     */
+    @Test
+    void testRevoke_NotFound() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+            .thenReturn(List.of());
+
+        // When & Then
+        assertFalse(redisSessionStore.revoke(1L, "unknown"));
+        verify(sessionArchiveService, never()).recordEnd(any(), any());
+    }
+
+    /**
+     * 전체 세션 종료 - 종료된 세션 이력 보관
+     */
+    @Test
+    void testRevokeAll() {
+        // Given
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any()))
+            .thenReturn(List.of("sid-1", "sid-2"));
+
+        // When
+        redisSessionStore.revokeAll(1L);
+
+        // Then
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(userKeys), eq("session:token:"));
+        verify(sessionArchiveService).recordEnd(eq("sid-1"), any(Date.class));
+        verify(sessionArchiveService).recordEnd(eq("sid-2"), any(Date.class));
+        verify(sessionArchiveService, never()).recordStart(any());
+    }
+}
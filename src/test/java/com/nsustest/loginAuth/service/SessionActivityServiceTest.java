@@ -0,0 +1,168 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.SessionActivity;
+import com.nsustest.loginAuth.model.SessionEnd;
+import com.nsustest.loginAuth.model.UserSession;
+import com.nsustest.loginAuth.util.TokenHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SessionActivityService 단위 테스트
+ * 요구사항: 요청마다 DB에 쓰지 않고 세션별로 합쳐 주기적으로 일괄 저장, 유휴 세션 종료
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class SessionActivityServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @Mock
+    private SessionStore sessionStore;
+
+    @Mock
+    private ClusterLeaseService clusterLeaseService;
+
+    @InjectMocks
+    private SessionActivityService sessionActivityService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sessionActivityService, "batchSize", 500);
+        ReflectionTestUtils.setField(sessionActivityService, "idleTimeoutMinutes", 30L);
+        ReflectionTestUtils.setField(sessionActivityService, "idleSweepIntervalMs", 60000L);
+        lenient().when(clusterLeaseService.tryAcquire(SessionActivityService.LEASE_NAME, 60000L))
+            .thenAnswer(inv -> new ClusterLeaseService.Lease(clusterLeaseService, inv.getArgument(0), null, 1L, 0L, Long.MAX_VALUE));
+    }
+
+    /**
+     * 같은 세션의 여러 요청은 한 건으로 합쳐 UPDATE 한 번
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFlush_CoalescesPerSession() {
+        // Given
+        for (int i = 0; i < 1000; i++) {
+            sessionActivityService.touch("sid-1");
+            sessionActivityService.touch("sid-2");
+        }
+        sessionActivityService.touch(null);
+        verifyNoInteractions(loginDao);
+
+        // When
+        sessionActivityService.flush();
+
+        // Then
+        ArgumentCaptor<List<SessionActivity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(loginDao, times(1)).updateSessionActivityBatch(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(0, sessionActivityService.getPendingCount());
+
+        // 변경이 없으면 쓰지 않음
+        sessionActivityService.flush();
+        verifyNoMoreInteractions(loginDao);
+    }
+
+    /**
+     * 저장 실패 시 항목을 남겨 다음 주기에 재시도
+     */
+    @Test
+    void testFlush_RetryOnFailure() {
+        // Given
+        sessionActivityService.touch("sid-1");
+        when(loginDao.updateSessionActivityBatch(anyList()))
+            .thenThrow(new RuntimeException("DB 연결 실패"))
+            .thenReturn(1);
+
+        // When
+        sessionActivityService.flush();
+        assertEquals(1, sessionActivityService.getPendingCount());
+        sessionActivityService.flush();
+
+        // Then
+        verify(loginDao, times(2)).updateSessionActivityBatch(anyList());
+        assertEquals(0, sessionActivityService.getPendingCount());
+    }
+
+    /**
+     * 유휴 세션 종료 - 저장소에서 종료하고 이력도 종료 처리
+     */
+    @Test
+    void testRevokeIdleSessions() {
+        // Given
+        UserSession idle = UserSession.create("sid-idle", 1L, "device-1", TokenHashUtil.sha256("idle.token"),
+                "192.168.1.100", null, new Date(System.currentTimeMillis() + 604800000L));
+        when(loginDao.findIdleSessions(any(Date.class), eq(500))).thenReturn(List.of(idle));
+
+        // When
+        int revoked = sessionActivityService.revokeIdleSessions();
+
+        // Then
+        assertEquals(1, revoked);
+        verify(sessionStore).revoke(1L, "sid-idle");
+        verify(loginDao).endUserSessionsBatch(argThat((List<SessionEnd> ends) ->
+            ends.size() == 1 && "sid-idle".equals(ends.get(0).sid())));
+    }
+
+    /**
+     * 유휴 세션 종료 - 이 서버에 저장 전 활동이 있으면 제외
+     */
+    @Test
+    void testRevokeIdleSessions_SkipsPendingActivity() {
+        // Given
+        UserSession session = UserSession.create("sid-1", 1L, null, TokenHashUtil.sha256("token"),
+                "192.168.1.100", null, new Date(System.currentTimeMillis() + 604800000L));
+        when(loginDao.findIdleSessions(any(Date.class), anyInt())).thenReturn(List.of(session));
+        sessionActivityService.touch("sid-1");
+
+        // When
+        int revoked = sessionActivityService.revokeIdleSessions();
+
+        // Then
+        assertEquals(0, revoked);
+        verifyNoInteractions(sessionStore);
+        verify(loginDao, never()).endUserSessionsBatch(anyList());
+    }
+
+    /**
+     * 유휴 기준이 0이면 조회하지 않음
+     */
+    @Test
+    void testRevokeIdleSessions_Disabled() {
+        // Given
+        ReflectionTestUtils.setField(sessionActivityService, "idleTimeoutMinutes", 0L);
+
+        // When & Then
+        assertEquals(0, sessionActivityService.revokeIdleSessions());
+        verifyNoInteractions(loginDao, sessionStore);
+    }
+
+    /**
+     * 유휴 세션 종료 - 다른 인스턴스가 임대를 가지고 있으면 건너뜀
+     */
+    @Test
+    void testRevokeIdleSessions_SkipsWithoutLease() {
+        // Given
+        when(clusterLeaseService.tryAcquire(SessionActivityService.LEASE_NAME, 60000L)).thenReturn(null);
+
+        // When & Then
+        assertEquals(0, sessionActivityService.revokeIdleSessions());
+        verifyNoInteractions(loginDao, sessionStore);
+    }
+}
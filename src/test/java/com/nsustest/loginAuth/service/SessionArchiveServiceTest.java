@@ -0,0 +1,203 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.SessionEnd;
+import com.nsustest.loginAuth.model.SessionRotation;
+import com.nsustest.loginAuth.model.UserSession;
+import com.nsustest.loginAuth.util.TokenHashUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * SessionArchiveService 단위 테스트
+ * 요구사항: 세션 시작/교체/종료 이력을 일괄 저장, 실패 시 재시도
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class SessionArchiveServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @InjectMocks
+    private SessionArchiveService sessionArchiveService;
+
+    private UserSession session;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sessionArchiveService, "queueCapacity", 100);
+        ReflectionTestUtils.setField(sessionArchiveService, "batchSize", 500);
+        sessionArchiveService.start();
+
+        session = UserSession.create("sid-1", 1L, "device-1", TokenHashUtil.sha256("valid.refresh.token"),
+                "192.168.1.100", "Mozilla/5.0", new Date(System.currentTimeMillis() + 604800000L));
+    }
+
+    /**
+     * 요청 스레드에서는 저장하지 않고 flush 시 시작 → 종료 순서로 일괄 저장
+     */
+    @Test
+    void testFlush_StartBeforeEnd() {
+        // Given
+        Date logoutDt = new Date();
+        sessionArchiveService.recordStart(session);
+        sessionArchiveService.recordEnd(session.sid(), logoutDt);
+        verifyNoInteractions(loginDao);
+
+        // When
+        sessionArchiveService.flush();
+
+        // Then
+        InOrder inOrder = inOrder(loginDao);
+        inOrder.verify(loginDao).insertUserSessionBatch(List.of(session));
+        inOrder.verify(loginDao).endUserSessionsBatch(List.of(new SessionEnd(session.sid(), logoutDt)));
+        assertEquals(0, sessionArchiveService.getBacklogSize());
+    }
+
+    /**
+     * 교체 이력은 시작 뒤에 저장하고 같은 세션은 가장 늦은 만료 일시만 반영
+     */
+    @Test
+    void testFlush_RotationExtendsExpiry() {
+        // Given
+        Date firstExpDt = new Date(System.currentTimeMillis() + 604800000L);
+        Date secondExpDt = new Date(firstExpDt.getTime() + 60000L);
+        sessionArchiveService.recordStart(session);
+        sessionArchiveService.recordRotation(session.sid(), firstExpDt);
+        sessionArchiveService.recordRotation(session.sid(), secondExpDt);
+
+        // When
+        sessionArchiveService.flush();
+
+        // Then
+        InOrder inOrder = inOrder(loginDao);
+        inOrder.verify(loginDao).insertUserSessionBatch(List.of(session));
+        inOrder.verify(loginDao).extendUserSessionsBatch(List.of(new SessionRotation(session.sid(), secondExpDt)));
+        assertEquals(0, sessionArchiveService.getBacklogSize());
+    }
+
+    /**
+     * 저장 실패 시 다음 주기에 재시도
+     */
+    @Test
+    void testFlush_RetryOnFailure() {
+        // Given
+        sessionArchiveService.recordStart(session);
+        when(loginDao.insertUserSessionBatch(anyList()))
+            .thenThrow(new RuntimeException("DB 연결 실패"))
+            .thenReturn(1);
+
+        // When
+        sessionArchiveService.flush();
+        assertEquals(1, sessionArchiveService.getBacklogSize());
+        sessionArchiveService.flush();
+
+        // Then
+        verify(loginDao, times(2)).insertUserSessionBatch(List.of(session));
+        assertEquals(0, sessionArchiveService.getBacklogSize());
+    }
+
+    /**
+     * 큐가 가득 차면 호출 스레드에서 직접 저장 (역압)
+     */
+    @Test
+    void testRecordStart_QueueFull() {
+        // Given
+        ReflectionTestUtils.setField(sessionArchiveService, "queueCapacity", 1);
+        sessionArchiveService.start();
+        sessionArchiveService.recordStart(session);
+
+        UserSession second = UserSession.create("sid-2", 2L, null, TokenHashUtil.sha256("other.refresh.token"),
+                "192.168.1.101", null, new Date(System.currentTimeMillis() + 604800000L));
+
+        // When
+        sessionArchiveService.recordStart(second);
+
+        // Then
+        verify(loginDao).insertUserSessionBatch(List.of(second));
+    }
+
+    /**
+     * 종료 큐가 가득 차면 해당 항목만 직접 저장 (flush를 실행하지 않음)
+     */
+    @Test
+    void testRecordEnd_QueueFull_WritesOnlyOverflowingEnd() {
+        // Given
+        ReflectionTestUtils.setField(sessionArchiveService, "queueCapacity", 1);
+        sessionArchiveService.start();
+        sessionArchiveService.recordStart(session);
+        sessionArchiveService.recordEnd("sid-0", new Date());
+        SessionEnd overflow = new SessionEnd(session.sid(), new Date());
+        when(loginDao.endUserSession(overflow)).thenReturn(1);
+
+        // When
+        sessionArchiveService.recordEnd(overflow.sid(), overflow.logoutDt());
+
+        // Then
+        verify(loginDao).endUserSession(overflow);
+        verify(loginDao, never()).insertUserSessionBatch(anyList());
+        verify(loginDao, never()).endUserSessionsBatch(anyList());
+        assertEquals(2, sessionArchiveService.getBacklogSize());
+    }
+
+    /**
+     * 직접 저장한 종료가 시작 이력보다 먼저 도착하면 flush에서 시작 이력 다음에 다시 적용
+     */
+    @Test
+    void testRecordEnd_BeforeStartRow_ReappliedOnFlush() {
+        // Given
+        ReflectionTestUtils.setField(sessionArchiveService, "queueCapacity", 1);
+        sessionArchiveService.start();
+        sessionArchiveService.recordStart(session);
+        sessionArchiveService.recordEnd("sid-0", new Date());
+        Date logoutDt = new Date();
+        SessionEnd late = new SessionEnd(session.sid(), logoutDt);
+        when(loginDao.endUserSession(late)).thenReturn(0);
+        sessionArchiveService.recordEnd(session.sid(), logoutDt);
+
+        // When
+        sessionArchiveService.flush();
+
+        // Then
+        InOrder inOrder = inOrder(loginDao);
+        inOrder.verify(loginDao).insertUserSessionBatch(List.of(session));
+        inOrder.verify(loginDao).endUserSessionsBatch(argThat(ends -> ends.contains(late) && ends.size() == 2));
+        assertEquals(0, sessionArchiveService.getBacklogSize());
+    }
+
+    /**
+     * 재적용 대기열도 queue-capacity로 제한 (가득 차면 버림)
+     */
+    @Test
+    void testRecordEnd_BeforeStartRow_LateQueueBounded() {
+        // Given
+        ReflectionTestUtils.setField(sessionArchiveService, "queueCapacity", 1);
+        sessionArchiveService.start();
+        sessionArchiveService.recordStart(session);
+        sessionArchiveService.recordEnd("sid-0", new Date());
+        when(loginDao.endUserSession(any(SessionEnd.class))).thenReturn(0);
+
+        // When
+        sessionArchiveService.recordEnd("sid-1", new Date());
+        sessionArchiveService.recordEnd("sid-2", new Date());
+
+        // Then: 시작 1 + 종료 1 + 재적용 1 (sid-2는 버림)
+        verify(loginDao, times(2)).endUserSession(any(SessionEnd.class));
+        assertEquals(3, sessionArchiveService.getBacklogSize());
+    }
+}
@@ -2,17 +2,23 @@ package com.nsustest.loginAuth.service;
 
 import com.nsustest.loginAuth.dao.LoginDao;
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.SessionInfo;
+import com.nsustest.loginAuth.model.UserSession;
 import com.nsustest.loginAuth.util.JwtUtil;
 import com.nsustest.loginAuth.util.MessageUtil;
+import com.nsustest.loginAuth.util.TokenHashUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,7 +27,7 @@ import static org.mockito.Mockito.*;
 
 /**
  * SessionService 단위 테스트
- * 요구사항: 세션 관리, 로그아웃 시 Refresh Token 무효화
+ * 요구사항: 기기별 세션 관리, 로그아웃 시 현재 세션만 종료, 세션 목록/개별 종료
  * 
  * @author nsustest
  */
@@ -31,6 +37,9 @@ public class SessionServiceTest {
     @Mock
     private LoginDao loginDao;
     
+    @Mock
+    private SessionStore sessionStore;
+    
     @Mock
     private JwtUtil jwtUtil;
     
@@ -40,25 +49,29 @@ public class SessionServiceTest {
     @Mock
     private MessageUtil messageUtil;
     
+    @Mock
+    private LoginAuditService loginAuditService;
+    
+    @Mock
+    private SessionActivityService sessionActivityService;
+    
     @InjectMocks
     private SessionService sessionService;
     
     private Long testUserId;
-    private String testAccessToken;
     private String testRefreshToken;
     private String testIpAddr;
-    private Map<String, Object> testLoginData;
+    private String testUserAgent;
     
     @BeforeEach
     void setUp() {
         testUserId = 1L;
-        testAccessToken = "test.access.token";
         testRefreshToken = "test.refresh.token";
         testIpAddr = "192.168.1.100";
         
-        testLoginData = new HashMap<>();
-        testLoginData.put("userAgent", "Mozilla/5.0");
-        testLoginData.put("ipAddr", testIpAddr);
+        testUserAgent = "Mozilla/5.0";
+        
+        ReflectionTestUtils.setField(sessionService, "maxSessionsPerUser", 5);
     }
     
     /**
@@ -67,11 +80,10 @@ public class SessionServiceTest {
     @Test
     void testLogout_Success() {
         // Given
-        when(loginDao.updateSessionLogout(any(Map.class))).thenReturn(1);
         when(messageUtil.getMessage(anyString())).thenReturn("로그아웃되었습니다.");
         
         // When
-        ApiResponse<Object> response = sessionService.logout(testUserId);
+        ApiResponse<Object> response = sessionService.logout(testUserId, "sid-1");
         
         // Then
         assertTrue(response.isSuccess());
@@ -79,9 +91,25 @@ public class SessionServiceTest {
         assertNull(response.getData());
         assertNull(response.getErrorCode());
         
-        verify(loginDao).updateSessionLogout(argThat(logoutData -> 
-            testUserId.equals(logoutData.get("usrId"))
-        ));
+        verify(sessionStore).revoke(testUserId, "sid-1");
+        verify(sessionStore, never()).revokeAll(anyLong());
+    }
+    
+    /**
+     * 로그아웃 - sid 클레임이 없는 토큰은 모든 세션 종료
+     */
+    @Test
+    void testLogout_WithoutSid() {
+        // Given
+        when(messageUtil.getMessage(anyString())).thenReturn("로그아웃되었습니다.");
+        
+        // When
+        ApiResponse<Object> response = sessionService.logout(testUserId, null);
+        
+        // Then
+        assertTrue(response.isSuccess());
+        verify(sessionStore).revokeAll(testUserId);
+        verify(sessionStore, never()).revoke(anyLong(), any());
     }
     
     /**
@@ -90,18 +118,18 @@ public class SessionServiceTest {
     @Test
     void testLogout_DatabaseError() {
         // Given
-        when(loginDao.updateSessionLogout(any(Map.class))).thenThrow(new RuntimeException("DB 연결 실패"));
+        when(sessionStore.revoke(anyLong(), anyString())).thenThrow(new RuntimeException("Redis 연결 실패"));
         when(messageUtil.getMessage(anyString())).thenReturn("서버 오류가 발생했습니다.");
         
         // When
-        ApiResponse<Object> response = sessionService.logout(testUserId);
+        ApiResponse<Object> response = sessionService.logout(testUserId, "sid-1");
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("서버 오류가 발생했습니다.", response.getMessage());
         assertEquals("SRV_001", response.getErrorCode());
         
-        verify(loginDao).updateSessionLogout(any(Map.class));
+        verify(sessionStore).revoke(anyLong(), anyString());
     }
     
     /**
@@ -110,19 +138,23 @@ public class SessionServiceTest {
     @Test
     void testSaveUserSession_Success() {
         // Given
-        Date expirationDate = new Date(System.currentTimeMillis() + 604800000L); // 7일 후
-        when(loginDao.deleteActiveSessions(testUserId)).thenReturn(2);
-        when(loginDao.insertUserSession(any(Map.class))).thenReturn(1);
         when(jwtUtil.getRefreshTokenExpirationInSeconds()).thenReturn(604800L);
         
         // When
         assertDoesNotThrow(() -> {
-            sessionService.saveUserSession(testUserId, testAccessToken, testRefreshToken, testIpAddr, testLoginData);
+            sessionService.saveUserSession(testUserId, "sid-1", "device-1", testRefreshToken, testIpAddr, testUserAgent);
         });
         
         // Then
-        verify(loginDao).deleteActiveSessions(testUserId);
-        verify(loginDao).insertUserSession(any(Map.class));
+        verify(sessionStore).add(argThat(session ->
+            "sid-1".equals(session.sid())
+                && testUserId.equals(session.usrId())
+                && "device-1".equals(session.deviceId())
+                && Arrays.equals(TokenHashUtil.sha256(testRefreshToken), session.refreshTokenHash())
+                && testIpAddr.equals(session.ipAddr())
+                && testUserAgent.equals(session.userAgent())
+                && session.active()
+        ), eq(5));
     }
     
     /**
@@ -131,57 +163,157 @@ public class SessionServiceTest {
     @Test
     void testSaveUserSession_NullIp() {
         // Given
-        when(loginDao.deleteActiveSessions(testUserId)).thenReturn(0);
-        when(loginDao.insertUserSession(any(Map.class))).thenReturn(1);
         when(jwtUtil.getRefreshTokenExpirationInSeconds()).thenReturn(604800L);
         
         // When
         assertDoesNotThrow(() -> {
-            sessionService.saveUserSession(testUserId, testAccessToken, testRefreshToken, null, testLoginData);
+            sessionService.saveUserSession(testUserId, "sid-1", "device-1", testRefreshToken, null, testUserAgent);
         });
         
         // Then
-        verify(loginDao).deleteActiveSessions(testUserId);
-        verify(loginDao).insertUserSession(any(Map.class));
+        verify(sessionStore).add(argThat(session -> "127.0.0.1".equals(session.ipAddr())), eq(5));
     }
     
     /**
-     * 사용자 세션 저장 - null 로그인 데이터 처리
+     * 사용자 세션 저장 - null 사용자 에이전트 처리
      */
     @Test
-    void testSaveUserSession_NullLoginData() {
+    void testSaveUserSession_NullUserAgent() {
         // Given
-        when(loginDao.deleteActiveSessions(testUserId)).thenReturn(0);
-        when(loginDao.insertUserSession(any(Map.class))).thenReturn(1);
         when(jwtUtil.getRefreshTokenExpirationInSeconds()).thenReturn(604800L);
         
         // When
         assertDoesNotThrow(() -> {
-            sessionService.saveUserSession(testUserId, testAccessToken, testRefreshToken, testIpAddr, null);
+            sessionService.saveUserSession(testUserId, "sid-1", null, testRefreshToken, testIpAddr, null);
         });
         
         // Then
-        verify(loginDao).deleteActiveSessions(testUserId);
-        verify(loginDao).insertUserSession(any(Map.class));
+        verify(sessionStore).add(argThat(session -> session.userAgent() == null && session.deviceId() == null), eq(5));
     }
     
     /**
-     * 로그인 성공 처리 - 성공
+     * 활성 세션 조회 - Refresh Token 다이제스트로 조회
      */
     @Test
-    void testSaveLoginSuccess_Success() {
+    void testFindActiveSession() {
+        // Given
+        UserSession session = createSession("sid-1", "device-1");
+        when(sessionStore.findByRefreshTokenHash(TokenHashUtil.sha256(testRefreshToken))).thenReturn(session);
+        
+        // When & Then
+        assertSame(session, sessionService.findActiveSession(testRefreshToken));
+        verify(sessionStore, never()).revokeIfReused(any());
+    }
+    
+    /**
+     * 세션 Refresh Token 교체 - 새 토큰 다이제스트로 교체
+     */
+    @Test
+    void testRotateSession() {
+        // Given
+        UserSession session = createSession("sid-1", "device-1");
+        when(jwtUtil.getRefreshTokenExpirationInSeconds()).thenReturn(604800L);
+        when(sessionStore.rotate(eq(session), eq(TokenHashUtil.sha256("new.refresh.token")), any(Date.class)))
+            .thenReturn(true);
+        
+        // When & Then
+        assertTrue(sessionService.rotateSession(session, "new.refresh.token"));
+        verify(sessionActivityService).touch("sid-1");
+    }
+    
+    /**
+     * 세션 목록 조회 - 현재 세션 표시
+     */
+    @Test
+    void testListSessions() {
+        // Given
+        when(sessionStore.findByUsrId(testUserId))
+            .thenReturn(List.of(createSession("sid-1", "device-1"), createSession("sid-2", "device-2")));
+        when(messageUtil.getMessage("SERVICE_019")).thenReturn("로그인된 기기 목록을 조회했습니다.");
+        
+        // When
+        ApiResponse<List<SessionInfo>> response = sessionService.listSessions(testUserId, "sid-2");
+        
+        // Then
+        assertTrue(response.isSuccess());
+        List<SessionInfo> sessions = response.getData();
+        assertEquals(2, sessions.size());
+        assertEquals("device-1", sessions.get(0).deviceId());
+        assertFalse(sessions.get(0).current());
+        assertTrue(sessions.get(1).current());
+    }
+    
+    /**
+     * 세션 종료 - 성공
+     */
+    @Test
+    void testRevokeSession_Success() {
+        // Given
+        when(sessionStore.revoke(testUserId, "sid-2")).thenReturn(true);
+        when(messageUtil.getMessage("SERVICE_020")).thenReturn("선택한 기기에서 로그아웃되었습니다.");
+        
+        // When
+        ApiResponse<Object> response = sessionService.revokeSession(testUserId, "sid-2");
+        
+        // Then
+        assertTrue(response.isSuccess());
+    }
+    
+    /**
+     * 세션 종료 - 없거나 다른 사용자의 세션
+     */
+    @Test
+    void testRevokeSession_NotFound() {
         // Given
-        when(loginDao.updateUserStats(any(Map.class))).thenReturn(1);
-        when(loginDao.insertLoginHistory(any(Map.class))).thenReturn(1);
+        when(sessionStore.revoke(testUserId, "unknown")).thenReturn(false);
+        when(messageUtil.getMessage("SES_002")).thenReturn("유효하지 않은 세션입니다.");
         
+        // When
+        ApiResponse<Object> response = sessionService.revokeSession(testUserId, "unknown");
+        
+        // Then
+        assertFalse(response.isSuccess());
+        assertEquals("SES_002", response.getErrorCode());
+    }
+    
+    /**
+     * 활성 세션 조회 - 세션이 없으면 교체된 토큰 재사용 여부 확인
+     */
+    @Test
+    void testFindActiveSession_NotFoundChecksReuse() {
+        // Given
+        byte[] hash = TokenHashUtil.sha256(testRefreshToken);
+        when(sessionStore.findByRefreshTokenHash(hash)).thenReturn(null);
+        when(sessionStore.revokeIfReused(hash)).thenReturn(true);
+        
+        // When & Then
+        assertNull(sessionService.findActiveSession(testRefreshToken));
+        verify(sessionStore).revokeIfReused(hash);
+    }
+    
+    /**
+     * 활성 세션 조회 - null Refresh Token은 저장소 조회 없음
+     */
+    @Test
+    void testFindActiveSession_NullToken() {
+        assertNull(sessionService.findActiveSession(null));
+        verify(sessionStore, never()).findByRefreshTokenHash(any());
+    }
+    
+    /**
+     * 로그인 성공 처리 - 성공 (감사 파이프라인으로 위임)
+     */
+    @Test
+    void testSaveLoginSuccess_Success() {
         // When
         assertDoesNotThrow(() -> {
-            sessionService.saveLoginSuccess(testUserId, "testuser", testIpAddr, testLoginData);
+            sessionService.saveLoginSuccess(testUserId, "testuser", testIpAddr, testUserAgent);
         });
         
-        // Then
-        verify(loginDao).updateUserStats(any(Map.class));
-        verify(loginDao).insertLoginHistory(any(Map.class));
+        // Then - 요청 스레드에서 DB에 직접 쓰지 않음
+        verify(loginAuditService).recordLoginSuccess(testUserId, "testuser", testIpAddr, "Mozilla/5.0");
+        verify(loginDao, never()).incrementUserStatsBatch(anyList());
+        verify(loginDao, never()).insertLoginHistoryBatch(anyList());
     }
     
     /**
@@ -189,35 +321,38 @@ public class SessionServiceTest {
      */
     @Test
     void testSaveLoginSuccess_NullIp() {
-        // Given
-        when(loginDao.updateUserStats(any(Map.class))).thenReturn(1);
-        when(loginDao.insertLoginHistory(any(Map.class))).thenReturn(1);
-        
         // When
         assertDoesNotThrow(() -> {
-            sessionService.saveLoginSuccess(testUserId, "testuser", null, testLoginData);
+            sessionService.saveLoginSuccess(testUserId, "testuser", null, testUserAgent);
         });
         
         // Then
-        verify(loginDao).updateUserStats(any(Map.class));
-        verify(loginDao).insertLoginHistory(any(Map.class));
+        verify(loginAuditService).recordLoginSuccess(testUserId, "testuser", null, "Mozilla/5.0");
     }
     
     /**
-     * 로그인 성공 처리 - 데이터베이스 오류 (로그인 자체는 막지 않음)
+     * 로그인 성공 처리 - 감사 기록 오류 (로그인 자체는 막지 않음)
      */
     @Test
-    void testSaveLoginSuccess_DatabaseError() {
+    void testSaveLoginSuccess_AuditError() {
         // Given
-        when(loginDao.updateUserStats(any(Map.class))).thenThrow(new RuntimeException("DB 연결 실패"));
+        doThrow(new RuntimeException("저널 기록 실패"))
+            .when(loginAuditService).recordLoginSuccess(anyLong(), anyString(), anyString(), anyString());
         
         // When & Then - 예외가 발생해도 로그인 자체는 막지 않음
         assertDoesNotThrow(() -> {
-            sessionService.saveLoginSuccess(testUserId, "testuser", testIpAddr, testLoginData);
+            sessionService.saveLoginSuccess(testUserId, "testuser", testIpAddr, testUserAgent);
         });
         
-        verify(loginDao).updateUserStats(any(Map.class));
-        verify(loginDao, never()).insertLoginHistory(any(Map.class));
+        verify(loginAuditService).recordLoginSuccess(testUserId, "testuser", testIpAddr, "Mozilla/5.0");
+    }
+    
+    /**
+     * 테스트 세션 생성 헬퍼 메서드
+     */
+    private UserSession createSession(String sid, String deviceId) {
+        return UserSession.create(sid, testUserId, deviceId, TokenHashUtil.sha256(testRefreshToken),
+                testIpAddr, testUserAgent, new Date(System.currentTimeMillis() + 604800000L));
     }
     
     /**
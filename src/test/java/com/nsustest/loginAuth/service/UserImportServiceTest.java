@@ -0,0 +1,212 @@
+package com.nsustest.loginAuth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.SignupRequest;
+import com.nsustest.loginAuth.model.NewUser;
+import com.nsustest.loginAuth.util.MessageUtil;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserImportService 단위 테스트
+ * 요구사항: 스트리밍 일괄 등록, 병렬 해시, 배치 INSERT, 행별 결과
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class UserImportServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private LoginDao loginDao;
+
+    @Mock
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Mock
+    private SqlSession sqlSession;
+
+    @Mock
+    private LoginDao batchDao;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private MessageUtil messageUtil;
+
+    @Mock
+    private LoginIdFilterService loginIdFilterService;
+
+    @Mock
+    private LoginIdIndexService loginIdIndexService;
+
+    @InjectMocks
+    private UserImportService userImportService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userImportService, "chunkSize", 500);
+        ReflectionTestUtils.setField(userImportService, "hashParallelism", 2);
+        userImportService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.stop();
+    }
+
+    /**
+     * CSV 일괄 등록 - 검증 실패/파일 내 중복/DB 기존 이메일은 실패, 나머지는 배치 INSERT
+     */
+    @Test
+    void testImportUsers_Csv() throws Exception {
+        // Given
+        String csv = "usrLoginId,usrNm,email,password,phoneNum\n"
+            + "user0001,사용자1,user1@example.com,Test123!@#,010-0000-0001\n"
+            + "ab,사용자2,user2@example.com,Test123!@#,\n"
+            + "USER0001,사용자3,user3@example.com,Test123!@#,\n"
+            + "user0004,\"사용자, 4\",taken@example.com,Test123!@#,\n"
+            + "user0005,사용자5,user5@example.com,Test123!@#,\n";
+
+        when(userService.validateSignupData(any(SignupRequest.class))).thenAnswer(invocation -> {
+            SignupRequest data = invocation.getArgument(0);
+            return "ab".equals(data.usrLoginId())
+                ? ApiResponse.error("아이디 형식 오류", "VAL_002")
+                : ApiResponse.success("OK", null);
+        });
+        when(messageUtil.getMessage(anyString())).thenReturn("중복");
+        when(loginDao.selectExistingLoginIds(anyList())).thenReturn(List.of());
+        when(loginDao.selectExistingEmails(anyList())).thenReturn(List.of("taken@example.com"));
+        when(passwordEncoder.encode("Test123!@#")).thenReturn("$2a$10$encodedPasswordHash");
+        when(sqlSessionFactory.openSession(ExecutorType.BATCH, false)).thenReturn(sqlSession);
+        when(sqlSession.getMapper(LoginDao.class)).thenReturn(batchDao);
+
+        // When
+        List<Map<String, Object>> results = runImport(csv, UserImportService.FORMAT_CSV);
+
+        // Then
+        assertEquals(6, results.size());
+        assertResult(results, 2, "CREATED", null);
+        assertResult(results, 3, "FAILED", "VAL_002");
+        assertResult(results, 4, "FAILED", "USER_003");
+        assertResult(results, 5, "FAILED", "USER_004");
+        assertResult(results, 6, "CREATED", null);
+
+        Map<String, Object> summary = results.get(results.size() - 1);
+        assertEquals(true, summary.get("summary"));
+        assertEquals(2, summary.get("created"));
+        assertEquals(3, summary.get("failed"));
+
+        verify(batchDao).insertUser(new NewUser("user0001", "사용자1", "user1@example.com",
+            "$2a$10$encodedPasswordHash", "010-0000-0001"));
+        verify(batchDao).insertUser(new NewUser("user0005", "사용자5", "user5@example.com",
+            "$2a$10$encodedPasswordHash", null));
+        verify(sqlSession).flushStatements();
+        verify(sqlSession).commit();
+        verify(loginDao, never()).insertUser(any(NewUser.class));
+        verify(loginIdIndexService).add("user0001");
+        verify(loginIdIndexService).add("user0005");
+    }
+
+    /**
+     * 배치가 중복 키로 실패하면 롤백 후 행 단위로 재시도하여 행별 결과 보고
+     */
+    @Test
+    void testImportUsers_BatchFailureFallsBackToRows() throws Exception {
+        // Given
+        String ndjson = "{\"usrLoginId\":\"user0001\",\"usrNm\":\"사용자1\",\"email\":\"user1@example.com\",\"password\":\"Test123!@#\"}\n"
+            + "{\"usrLoginId\":\"user0002\",\"usrNm\":\"사용자2\",\"email\":\"user2@example.com\",\"password\":\"Test123!@#\"}\n";
+
+        when(userService.validateSignupData(any(SignupRequest.class))).thenReturn(ApiResponse.success("OK", null));
+        when(loginDao.selectExistingLoginIds(anyList())).thenReturn(List.of());
+        when(loginDao.selectExistingEmails(anyList())).thenReturn(List.of());
+        when(passwordEncoder.encode("Test123!@#")).thenReturn("$2a$10$encodedPasswordHash");
+        when(sqlSessionFactory.openSession(ExecutorType.BATCH, false)).thenReturn(sqlSession);
+        when(sqlSession.getMapper(LoginDao.class)).thenReturn(batchDao);
+        when(sqlSession.flushStatements()).thenThrow(new DuplicateKeyException("Duplicate entry"));
+
+        DuplicateKeyException duplicate = new DuplicateKeyException("Duplicate entry 'user0002' for key 'users.uk_users_login_id'");
+        when(loginDao.insertUser(any(NewUser.class))).thenReturn(1).thenThrow(duplicate);
+        when(userService.duplicateKeyResponse(duplicate)).thenReturn(ApiResponse.error("이미 사용 중인 아이디입니다.", "USER_003"));
+
+        // When
+        List<Map<String, Object>> results = runImport(ndjson, UserImportService.FORMAT_NDJSON);
+
+        // Then
+        assertResult(results, 1, "CREATED", null);
+        assertResult(results, 2, "FAILED", "USER_003");
+        verify(sqlSession).rollback();
+        verify(sqlSession, never()).commit();
+        verify(loginDao, times(2)).insertUser(any(NewUser.class));
+    }
+
+    /**
+     * 형식이 잘못된 행은 건너뛰고 결과로 보고
+     */
+    @Test
+    void testImportUsers_MalformedLine() throws Exception {
+        // When
+        List<Map<String, Object>> results = runImport("{not json}\n", UserImportService.FORMAT_NDJSON);
+
+        // Then
+        assertResult(results, 1, "FAILED", "VAL_002");
+        verifyNoInteractions(sqlSessionFactory);
+    }
+
+    /**
+     * CSV 따옴표/이스케이프 처리
+     */
+    @Test
+    void testParseCsvLine_Quoted() {
+        assertEquals(List.of("a", "b, c", "d \"e\"", ""), UserImportService.parseCsvLine("a,\"b, c\",\"d \"\"e\"\"\","));
+    }
+
+    private List<Map<String, Object>> runImport(String body, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userImportService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, out);
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            results.add(objectMapper.readValue(line, Map.class));
+        }
+        return results;
+    }
+
+    private void assertResult(List<Map<String, Object>> results, int lineNo, String status, String errorCode) {
+        Map<String, Object> result = results.stream()
+            .filter(r -> Integer.valueOf(lineNo).equals(r.get("line")))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(status, result.get("status"));
+        assertEquals(errorCode, result.get("errorCode"));
+    }
+}
@@ -0,0 +1,185 @@
+package com.nsustest.loginAuth.service;
+
+import com.nsustest.loginAuth.dao.LoginDao;
+import com.nsustest.loginAuth.model.User;
+import com.nsustest.loginAuth.model.UserProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserProfileCacheService 단위 테스트
+ * 요구사항: L1 메모리 → L2 Redis → DB 조회, pub/sub 무효화, 비밀번호 미저장
+ *
+ * @author nsustest
+ */
+@ExtendWith(MockitoExtension.class)
+public class UserProfileCacheServiceTest {
+
+    @Mock
+    private LoginDao loginDao;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private UserProfileCacheService userProfileCacheService;
+
+    private User mockUser;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userProfileCacheService, "enabled", true);
+        ReflectionTestUtils.setField(userProfileCacheService, "l1MaxSize", 100);
+        ReflectionTestUtils.setField(userProfileCacheService, "l1TtlMs", 60000L);
+        ReflectionTestUtils.setField(userProfileCacheService, "l2TtlSeconds", 300L);
+
+        mockUser = new User(1L, "testuser", "테스트사용자", "test@example.com",
+                "$2a$10$encodedPasswordHash", "02", "010-1234-5678", true, null, null);
+    }
+
+    /**
+     * 캐시 미스 - DB 조회 후 L2 저장, 다음 조회는 L1에서 처리
+     */
+    @Test
+    void testGetProfile_MissThenL1Hit() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("user:profile:1")).thenReturn(null);
+        when(loginDao.findById(1L)).thenReturn(mockUser);
+
+        // When
+        UserProfile first = userProfileCacheService.getProfile(1L);
+        UserProfile second = userProfileCacheService.getProfile(1L);
+
+        // Then
+        assertEquals(UserProfile.of(mockUser), first);
+        assertSame(first, second);
+        verify(loginDao, times(1)).findById(1L);
+
+        // L2에는 비밀번호가 저장되지 않아야 함
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(eq("user:profile:1"), json.capture(), eq(300L), eq(TimeUnit.SECONDS));
+        assertFalse(json.getValue().contains("pwd"));
+        assertFalse(json.getValue().contains("$2a$10$"));
+
+        Map<String, Object> stats = userProfileCacheService.getStats();
+        assertEquals(1L, stats.get("l1Hits"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(0.5, stats.get("hitRatio"));
+    }
+
+    /**
+     * L2 적중 - DB 조회 없음
+     */
+    @Test
+    void testGetProfile_L2Hit() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("user:profile:1")).thenReturn(
+                "{\"usrId\":1,\"usrLoginId\":\"testuser\",\"usrNm\":\"테스트사용자\",\"email\":\"test@example.com\","
+                + "\"usrTpCd\":\"02\",\"phoneNum\":\"010-1234-5678\",\"isUse\":true,\"creDt\":null,\"updDt\":null}");
+
+        // When
+        UserProfile profile = userProfileCacheService.getProfile(1L);
+
+        // Then
+        assertEquals(UserProfile.of(mockUser), profile);
+        verify(loginDao, never()).findById(anyLong());
+        assertEquals(1L, userProfileCacheService.getStats().get("l2Hits"));
+    }
+
+    /**
+     * 없는 사용자는 캐시하지 않음
+     */
+    @Test
+    void testGetProfile_NotFound() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(loginDao.findById(999L)).thenReturn(null);
+
+        // When
+        UserProfile profile = userProfileCacheService.getProfile(999L);
+
+        // Then
+        assertNull(profile);
+        verify(valueOperations, never()).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+    }
+
+    /**
+     * Redis 장애 시 DB 조회로 처리
+     */
+    @Test
+    void testGetProfile_RedisFailure() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("연결 실패"));
+        when(loginDao.findById(1L)).thenReturn(mockUser);
+
+        // When
+        UserProfile profile = userProfileCacheService.getProfile(1L);
+
+        // Then
+        assertEquals(UserProfile.of(mockUser), profile);
+    }
+
+    /**
+     * 무효화 - L1/L2 삭제 후 다른 노드에 전파
+     */
+    @Test
+    void testEvict() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(loginDao.findById(1L)).thenReturn(mockUser);
+        userProfileCacheService.getProfile(1L);
+
+        // When
+        userProfileCacheService.evict(1L);
+        userProfileCacheService.getProfile(1L);
+
+        // Then
+        verify(stringRedisTemplate).delete("user:profile:1");
+        verify(stringRedisTemplate).convertAndSend("user:profile:invalidate", "1");
+        verify(loginDao, times(2)).findById(1L);
+    }
+
+    /**
+     * 다른 노드의 무효화 메시지 수신 시 L1 삭제
+     */
+    @Test
+    void testOnMessage_InvalidatesL1() {
+        // Given
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(loginDao.findById(1L)).thenReturn(mockUser);
+        userProfileCacheService.getProfile(1L);
+
+        // When
+        userProfileCacheService.onMessage(new DefaultMessage(
+                "user:profile:invalidate".getBytes(StandardCharsets.UTF_8),
+                "1".getBytes(StandardCharsets.UTF_8)), null);
+        userProfileCacheService.getProfile(1L);
+
+        // Then
+        verify(loginDao, times(2)).findById(1L);
+        assertEquals(0L, userProfileCacheService.getStats().get("l1Hits"));
+    }
+}
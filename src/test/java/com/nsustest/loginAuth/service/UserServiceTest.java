@@ -2,6 +2,13 @@ package com.nsustest.loginAuth.service;
 
 import com.nsustest.loginAuth.dao.LoginDao;
 import com.nsustest.loginAuth.dto.ApiResponse;
+import com.nsustest.loginAuth.dto.IdCheckResponse;
+import com.nsustest.loginAuth.dto.SignupRequest;
+import com.nsustest.loginAuth.dto.SignupResponse;
+import com.nsustest.loginAuth.dto.UserInfoResponse;
+import com.nsustest.loginAuth.model.NewUser;
+import com.nsustest.loginAuth.model.User;
+import com.nsustest.loginAuth.model.UserProfile;
 import com.nsustest.loginAuth.service.CommonCodeService;
 import com.nsustest.loginAuth.util.MessageUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +17,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,31 +50,30 @@ public class UserServiceTest {
     @Mock
     private MessageUtil messageUtil;
     
+    @Mock
+    private LoginIdFilterService loginIdFilterService;
+    
+    @Mock
+    private LoginIdIndexService loginIdIndexService;
+    
+    @Mock
+    private UserProfileCacheService userProfileCacheService;
+    
     @InjectMocks
     private UserService userService;
     
-    private Map<String, Object> validSignupData;
-    private Map<String, Object> mockUser;
+    private SignupRequest validSignupData;
+    private User mockUser;
     
     @BeforeEach
     void setUp() {
         // 유효한 회원가입 데이터
-        validSignupData = new HashMap<>();
-        validSignupData.put("usrLoginId", "testuser");
-        validSignupData.put("usrNm", "테스트사용자");
-        validSignupData.put("email", "test@example.com");
-        validSignupData.put("password", "Test123!@#");
-        validSignupData.put("phoneNum", "010-1234-5678");
+        validSignupData = new SignupRequest("testuser", "테스트사용자", "test@example.com",
+                "Test123!@#", "010-1234-5678");
         
         // Mock 사용자 정보
-        mockUser = new HashMap<>();
-        mockUser.put("usr_id", 1L);
-        mockUser.put("usr_login_id", "testuser");
-        mockUser.put("usr_nm", "테스트사용자");
-        mockUser.put("email", "test@example.com");
-        mockUser.put("usr_tp_cd", "02");
-        mockUser.put("phone_num", "010-1234-5678");
-        mockUser.put("is_use", true);
+        mockUser = new User(1L, "testuser", "테스트사용자", "test@example.com",
+                "$2a$10$encodedPasswordHash", "02", "010-1234-5678", true, null, null);
     }
     
     /**
@@ -78,14 +87,14 @@ public class UserServiceTest {
         when(messageUtil.getMessage(anyString())).thenReturn("사용 가능한 아이디입니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.checkIdDuplicate(usrLoginId);
+        ApiResponse<IdCheckResponse> response = userService.checkIdDuplicate(usrLoginId);
         
         // Then
         assertTrue(response.isSuccess());
         assertEquals("사용 가능한 아이디입니다.", response.getMessage());
         assertNotNull(response.getData());
-        assertFalse((Boolean) response.getData().get("duplicate"));
-        assertEquals(usrLoginId, response.getData().get("usrLoginId"));
+        assertFalse(response.getData().duplicate());
+        assertEquals(usrLoginId, response.getData().usrLoginId());
         
         verify(loginDao).checkIdDuplicate(usrLoginId);
     }
@@ -101,7 +110,7 @@ public class UserServiceTest {
         when(messageUtil.getMessage(anyString())).thenReturn("이미 사용 중인 아이디입니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.checkIdDuplicate(usrLoginId);
+        ApiResponse<IdCheckResponse> response = userService.checkIdDuplicate(usrLoginId);
         
         // Then
         assertFalse(response.isSuccess());
@@ -111,6 +120,51 @@ public class UserServiceTest {
         verify(loginDao).checkIdDuplicate(usrLoginId);
     }
     
+    /**
+     * 아이디 중복 확인 - 메모리 인덱스로 사용 가능 판정 (DB 조회 없음)
+     */
+    @Test
+    void testCheckIdDuplicate_AvailableFromIndex() {
+        // Given
+        String usrLoginId = "newuser";
+        when(loginIdIndexService.isReady()).thenReturn(true);
+        when(loginIdIndexService.contains(usrLoginId)).thenReturn(false);
+        when(messageUtil.getMessage(anyString())).thenReturn("사용 가능한 아이디입니다.");
+        
+        // When
+        ApiResponse<IdCheckResponse> response = userService.checkIdDuplicate(usrLoginId);
+        
+        // Then
+        assertTrue(response.isSuccess());
+        assertFalse(response.getData().duplicate());
+        
+        verify(loginDao, never()).checkIdDuplicate(anyString());
+    }
+    
+    /**
+     * 아이디 중복 확인 - 메모리 인덱스로 중복 판정 시 추천 아이디 포함
+     */
+    @Test
+    void testCheckIdDuplicate_DuplicateFromIndexWithSuggestions() {
+        // Given
+        String usrLoginId = "existinguser";
+        when(loginIdIndexService.isReady()).thenReturn(true);
+        when(loginIdIndexService.contains(usrLoginId)).thenReturn(true);
+        when(loginIdIndexService.suggestAvailable(usrLoginId, 3))
+            .thenReturn(List.of("existinguser1", "existinguser2", "existinguser3"));
+        when(messageUtil.getMessage(anyString())).thenReturn("이미 사용 중인 아이디입니다.");
+        
+        // When
+        ApiResponse<IdCheckResponse> response = userService.checkIdDuplicate(usrLoginId);
+        
+        // Then
+        assertFalse(response.isSuccess());
+        assertEquals("USER_003", response.getErrorCode());
+        assertEquals(List.of("existinguser1", "existinguser2", "existinguser3"), response.getData().suggestions());
+        
+        verify(loginDao, never()).checkIdDuplicate(anyString());
+    }
+    
     /**
      * 아이디 중복 확인 - 잘못된 형식의 아이디
      */
@@ -120,7 +174,7 @@ public class UserServiceTest {
         String invalidId = "ab"; // 4자 미만
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.checkIdDuplicate(invalidId);
+        ApiResponse<IdCheckResponse> response = userService.checkIdDuplicate(invalidId);
         
         // Then
         assertFalse(response.isSuccess());
@@ -136,79 +190,114 @@ public class UserServiceTest {
     void testSignup_Success() {
         // Given
         String encodedPassword = "$2a$10$encodedPasswordHash";
-        when(loginDao.checkIdDuplicate("testuser")).thenReturn(0);
-        when(loginDao.checkEmailDuplicate("test@example.com")).thenReturn(0);
         when(passwordEncoder.encode("Test123!@#")).thenReturn(encodedPassword);
-        when(loginDao.insertUser(any(Map.class))).thenAnswer(invocation -> {
-            Map<String, Object> userData = invocation.getArgument(0);
-            userData.put("usrId", 1L); // MyBatis useGeneratedKeys 시뮬레이션
-            return 1;
-        });
-        when(loginDao.insertUserStats(any(Map.class))).thenReturn(1);
+        when(loginDao.insertUser(any(NewUser.class))).thenReturn(1);
         when(messageUtil.getMessage(anyString())).thenReturn("회원가입이 완료되었습니다!");
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.signup(validSignupData);
+        ApiResponse<SignupResponse> response = userService.signup(validSignupData);
         
         // Then
         assertTrue(response.isSuccess());
         assertEquals("회원가입이 완료되었습니다!", response.getMessage());
         assertNotNull(response.getData());
-        assertEquals("testuser", response.getData().get("usrLoginId"));
-        assertEquals("test@example.com", response.getData().get("email"));
+        assertEquals("testuser", response.getData().usrLoginId());
+        assertEquals("test@example.com", response.getData().email());
         
-        verify(loginDao).checkIdDuplicate("testuser");
-        verify(loginDao).checkEmailDuplicate("test@example.com");
+        // 중복 확인은 INSERT의 유니크 키로 처리 (사전 조회 없음)
+        verify(loginDao, never()).checkIdDuplicate(anyString());
         verify(passwordEncoder).encode("Test123!@#");
-        verify(loginDao).insertUser(any(Map.class));
-        verify(loginDao).insertUserStats(any(Map.class));
+        verify(loginDao).insertUser(new NewUser("testuser", "테스트사용자", "test@example.com",
+                encodedPassword, "010-1234-5678"));
+        verify(loginIdFilterService).add("testuser");
+        verify(loginIdIndexService).add("testuser");
     }
     
     /**
-     * 회원가입 - 아이디 중복으로 실패
+     * 회원가입 - 아이디 중복으로 실패 (유니크 키 위반)
      */
     @Test
     void testSignup_DuplicateId() {
         // Given
-        when(loginDao.checkIdDuplicate("testuser")).thenReturn(1);
+        when(passwordEncoder.encode("Test123!@#")).thenReturn("$2a$10$encodedPasswordHash");
+        when(loginDao.insertUser(any(NewUser.class))).thenThrow(new DuplicateKeyException(
+            "Duplicate entry 'testuser' for key 'users.uk_users_login_id'"));
         when(messageUtil.getMessage(anyString())).thenReturn("이미 사용 중인 아이디입니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.signup(validSignupData);
+        ApiResponse<SignupResponse> response = userService.signup(validSignupData);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("이미 사용 중인 아이디입니다.", response.getMessage());
         assertEquals("USER_003", response.getErrorCode());
         
-        verify(loginDao).checkIdDuplicate("testuser");
-        verify(loginDao, never()).checkEmailDuplicate(anyString());
+        verify(loginDao).insertUser(any(NewUser.class));
+        verify(loginIdFilterService, never()).add(anyString());
+        verify(loginIdIndexService, never()).add(anyString());
+    }
+    
+    /**
+     * 회원가입 - 메모리 인덱스에 있는 아이디는 암호화/INSERT 없이 실패
+     */
+    @Test
+    void testSignup_DuplicateIdFromIndex() {
+        // Given
+        when(loginIdIndexService.isReady()).thenReturn(true);
+        when(loginIdIndexService.contains("testuser")).thenReturn(true);
+        when(messageUtil.getMessage(anyString())).thenReturn("이미 사용 중인 아이디입니다.");
+        
+        // When
+        ApiResponse<SignupResponse> response = userService.signup(validSignupData);
+        
+        // Then
+        assertFalse(response.isSuccess());
+        assertEquals("USER_003", response.getErrorCode());
+        
         verify(passwordEncoder, never()).encode(anyString());
-        verify(loginDao, never()).insertUser(any(Map.class));
+        verify(loginDao, never()).insertUser(any(NewUser.class));
     }
     
     /**
-     * 회원가입 - 이메일 중복으로 실패
+     * 회원가입 - 이메일 중복으로 실패 (유니크 키 위반)
      */
     @Test
     void testSignup_DuplicateEmail() {
         // Given
-        when(loginDao.checkIdDuplicate("testuser")).thenReturn(0);
-        when(loginDao.checkEmailDuplicate("test@example.com")).thenReturn(1);
+        when(passwordEncoder.encode("Test123!@#")).thenReturn("$2a$10$encodedPasswordHash");
+        when(loginDao.insertUser(any(NewUser.class))).thenThrow(new DuplicateKeyException(
+            "Duplicate entry 'test@example.com' for key 'users.uk_users_email'"));
         when(messageUtil.getMessage(anyString())).thenReturn("이미 사용 중인 이메일입니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.signup(validSignupData);
+        ApiResponse<SignupResponse> response = userService.signup(validSignupData);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("이미 사용 중인 이메일입니다.", response.getMessage());
         assertEquals("USER_004", response.getErrorCode());
         
-        verify(loginDao).checkIdDuplicate("testuser");
-        verify(loginDao).checkEmailDuplicate("test@example.com");
-        verify(passwordEncoder, never()).encode(anyString());
-        verify(loginDao, never()).insertUser(any(Map.class));
+        verify(loginDao).insertUser(any(NewUser.class));
+    }
+    
+    /**
+     * 회원가입 - 아이디 값에 email이 포함되어도 키 이름으로 구분
+     */
+    @Test
+    void testSignup_DuplicateIdContainingEmailWord() {
+        // Given
+        SignupRequest signupData = new SignupRequest("emailuser", "테스트사용자", "test@example.com",
+                "Test123!@#", "010-1234-5678");
+        when(passwordEncoder.encode("Test123!@#")).thenReturn("$2a$10$encodedPasswordHash");
+        when(loginDao.insertUser(any(NewUser.class))).thenThrow(new DuplicateKeyException(
+            "Duplicate entry 'emailuser' for key 'users.uk_users_login_id'"));
+        when(messageUtil.getMessage(anyString())).thenReturn("이미 사용 중인 아이디입니다.");
+        
+        // When
+        ApiResponse<SignupResponse> response = userService.signup(signupData);
+        
+        // Then
+        assertEquals("USER_003", response.getErrorCode());
     }
     
     /**
@@ -217,12 +306,12 @@ public class UserServiceTest {
     @Test
     void testSignup_InvalidPassword() {
         // Given
-        Map<String, Object> invalidData = new HashMap<>(validSignupData);
-        invalidData.put("password", "weak"); // 약한 비밀번호
+        SignupRequest invalidData = new SignupRequest("testuser", "테스트사용자", "test@example.com",
+                "weak", "010-1234-5678"); // 약한 비밀번호
         when(messageUtil.getMessage(anyString())).thenReturn("비밀번호는 8자 이상, 영문+숫자+특수문자를 포함해야 합니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.signup(invalidData);
+        ApiResponse<SignupResponse> response = userService.signup(invalidData);
         
         // Then
         assertFalse(response.isSuccess());
@@ -230,9 +319,29 @@ public class UserServiceTest {
         assertEquals("PWD_002", response.getErrorCode());
         
         verify(loginDao, never()).checkIdDuplicate(anyString());
-        verify(loginDao, never()).checkEmailDuplicate(anyString());
         verify(passwordEncoder, never()).encode(anyString());
-        verify(loginDao, never()).insertUser(any(Map.class));
+        verify(loginDao, never()).insertUser(any(NewUser.class));
+    }
+    
+    /**
+     * 회원가입 - BCrypt 상한(72바이트)을 넘는 비밀번호는 형식 검사 전에 실패
+     */
+    @Test
+    void testSignup_PasswordTooLong() {
+        // Given
+        SignupRequest longPasswordData = new SignupRequest("testuser", "테스트사용자", "test@example.com",
+                "Test123!@#" + "a".repeat(63), "010-1234-5678");
+        when(messageUtil.getMessage(anyString())).thenReturn("입력 길이가 허용 범위를 초과했습니다.");
+        
+        // When
+        ApiResponse<SignupResponse> response = userService.signup(longPasswordData);
+        
+        // Then
+        assertFalse(response.isSuccess());
+        assertEquals("VAL_003", response.getErrorCode());
+        
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(loginDao, never()).insertUser(any(NewUser.class));
     }
     
     /**
@@ -242,30 +351,31 @@ public class UserServiceTest {
     void testGetUserInfo_Success() {
         // Given
         Long usrId = 1L;
-        when(loginDao.findById(usrId)).thenReturn(mockUser);
+        when(userProfileCacheService.getProfile(usrId)).thenReturn(UserProfile.of(mockUser));
         when(messageUtil.getMessage(anyString())).thenReturn("사용자 정보를 조회했습니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.getUserInfo(usrId);
+        ApiResponse<UserInfoResponse> response = userService.getUserInfo(usrId);
         
         // Then
         assertTrue(response.isSuccess());
         assertEquals("사용자 정보를 조회했습니다.", response.getMessage());
         assertNotNull(response.getData());
         
-        Map<String, Object> userInfo = response.getData();
-        assertEquals(1L, userInfo.get("usrId"));
-        assertEquals("testuser", userInfo.get("usrLoginId"));
-        assertEquals("테스트사용자", userInfo.get("usrNm"));
-        assertEquals("test@example.com", userInfo.get("email"));
-        assertEquals("02", userInfo.get("usrTpCd"));
-        assertEquals("010-1234-5678", userInfo.get("phoneNum"));
-        assertEquals(true, userInfo.get("isUse"));
+        UserInfoResponse userInfo = response.getData();
+        assertEquals(1L, userInfo.usrId());
+        assertEquals("testuser", userInfo.usrLoginId());
+        assertEquals("테스트사용자", userInfo.usrNm());
+        assertEquals("test@example.com", userInfo.email());
+        assertEquals("02", userInfo.usrTpCd());
+        assertEquals("010-1234-5678", userInfo.phoneNum());
+        assertTrue(userInfo.isUse());
         
         // 비밀번호는 포함되지 않아야 함 (보안)
-        assertFalse(userInfo.containsKey("pwd"));
+        assertTrue(Arrays.stream(UserInfoResponse.class.getRecordComponents())
+            .noneMatch(component -> component.getName().equals("pwd")));
         
-        verify(loginDao).findById(usrId);
+        verify(userProfileCacheService).getProfile(usrId);
     }
     
     /**
@@ -275,18 +385,18 @@ public class UserServiceTest {
     void testGetUserInfo_NotFound() {
         // Given
         Long usrId = 999L;
-        when(loginDao.findById(usrId)).thenReturn(null);
+        when(userProfileCacheService.getProfile(usrId)).thenReturn(null);
         when(messageUtil.getMessage(anyString())).thenReturn("사용자 정보를 찾을 수 없습니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.getUserInfo(usrId);
+        ApiResponse<UserInfoResponse> response = userService.getUserInfo(usrId);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("사용자 정보를 찾을 수 없습니다.", response.getMessage());
         assertEquals("USER_001", response.getErrorCode());
         
-        verify(loginDao).findById(usrId);
+        verify(userProfileCacheService).getProfile(usrId);
     }
     
     /**
@@ -295,21 +405,19 @@ public class UserServiceTest {
     @Test
     void testSignup_MissingRequiredFields() {
         // Given
-        Map<String, Object> incompleteData = new HashMap<>();
-        incompleteData.put("usrLoginId", "testuser");
         // usrNm, email, password 누락
+        SignupRequest incompleteData = new SignupRequest("testuser", null, null, null, null);
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.signup(incompleteData);
+        ApiResponse<SignupResponse> response = userService.signup(incompleteData);
         
         // Then
         assertFalse(response.isSuccess());
         assertEquals("VAL_001", response.getErrorCode());
         
         verify(loginDao, never()).checkIdDuplicate(anyString());
-        verify(loginDao, never()).checkEmailDuplicate(anyString());
         verify(passwordEncoder, never()).encode(anyString());
-        verify(loginDao, never()).insertUser(any(Map.class));
+        verify(loginDao, never()).insertUser(any(NewUser.class));
     }
     
     /**
@@ -318,12 +426,12 @@ public class UserServiceTest {
     @Test
     void testSignup_InvalidEmailFormat() {
         // Given
-        Map<String, Object> invalidEmailData = new HashMap<>(validSignupData);
-        invalidEmailData.put("email", "invalid-email");
+        SignupRequest invalidEmailData = new SignupRequest("testuser", "테스트사용자", "invalid-email",
+                "Test123!@#", "010-1234-5678");
         when(messageUtil.getMessage(anyString())).thenReturn("올바른 이메일 형식이 아닙니다.");
         
         // When
-        ApiResponse<Map<String, Object>> response = userService.signup(invalidEmailData);
+        ApiResponse<SignupResponse> response = userService.signup(invalidEmailData);
         
         // Then
         assertFalse(response.isSuccess());
@@ -331,9 +439,8 @@ public class UserServiceTest {
         assertEquals("VAL_002", response.getErrorCode());
         
         verify(loginDao, never()).checkIdDuplicate(anyString());
-        verify(loginDao, never()).checkEmailDuplicate(anyString());
         verify(passwordEncoder, never()).encode(anyString());
-        verify(loginDao, never()).insertUser(any(Map.class));
+        verify(loginDao, never()).insertUser(any(NewUser.class));
     }
     
     /**
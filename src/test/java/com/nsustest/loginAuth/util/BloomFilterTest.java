@@ -0,0 +1,94 @@
+package com.nsustest.loginAuth.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BloomFilter 단위 테스트
+ * 요구사항: false negative 없음, 오탐률 상한, Redis 비트맵 직렬화
+ *
+ * @author nsustest
+ */
+public class BloomFilterTest {
+
+    /**
+     * 추가한 값은 항상 존재 가능으로 판정
+     */
+    @Test
+    void testMightContain_NoFalseNegatives() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10000, 0.01);
+
+        // When
+        for (int i = 0; i < 10000; i++) {
+            filter.put("user" + i);
+        }
+
+        // Then
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+    }
+
+    /**
+     * 추가하지 않은 값의 오탐률은 설정값 근처로 유지
+     */
+    @Test
+    void testMightContain_FalsePositiveRate() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("user" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("unknown" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then - 1% 설정, 여유를 두고 3% 미만
+        assertTrue(falsePositives < 300, "오탐 수: " + falsePositives);
+    }
+
+    /**
+     * Redis 비트맵 바이트로 직렬화한 뒤 다른 필터에 합치면 같은 결과
+     */
+    @Test
+    void testRedisBytes_RoundTrip() {
+        // Given
+        BloomFilter source = BloomFilter.create(1000, 0.01);
+        source.put("testuser");
+        source.put("otheruser");
+
+        // When
+        BloomFilter target = new BloomFilter(source.getBitSize(), source.getHashCount());
+        target.mergeRedisBytes(source.toRedisBytes());
+
+        // Then
+        assertTrue(target.mightContain("testuser"));
+        assertTrue(target.mightContain("otheruser"));
+        assertArrayEquals(source.toRedisBytes(), target.toRedisBytes());
+    }
+
+    /**
+     * 비트 번호 0은 Redis 첫 바이트의 최상위 비트로 직렬화
+     */
+    @Test
+    void testToRedisBytes_BitOrder() {
+        // Given
+        BloomFilter filter = new BloomFilter(64, 1);
+        long index = filter.bitIndexes("testuser")[0];
+        filter.put("testuser");
+
+        // When
+        byte[] bytes = filter.toRedisBytes();
+
+        // Then
+        int expected = 0x80 >>> (int) (index & 7);
+        assertEquals(expected, bytes[(int) (index >>> 3)] & 0xFF);
+    }
+}
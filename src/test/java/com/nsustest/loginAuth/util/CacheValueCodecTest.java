@@ -0,0 +1,103 @@
+package com.nsustest.loginAuth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CacheValueCodec 단위 테스트
+ * 요구사항: 형식별 왕복 변환, 기준 크기 이상 압축, 저장 형식과 관계없이 읽기
+ *
+ * @author nsustest
+ */
+public class CacheValueCodecTest {
+
+    /**
+     * Smile로 저장한 코드 목록을 같은 값으로 복원하고, JSON보다 작게 저장
+     */
+    @Test
+    void testSmile_RoundTripAndSmallerThanJson() {
+        // Given
+        List<Object> codes = codeList(8);
+        CacheValueCodec smile = CacheValueCodec.of("smile", 0);
+        CacheValueCodec json = CacheValueCodec.of("json", 0);
+
+        // When
+        byte[] smileBytes = smile.serialize(codes);
+        byte[] jsonBytes = json.serialize(codes);
+
+        // Then
+        assertEquals(codes, smile.deserialize(smileBytes));
+        assertTrue(smileBytes.length < jsonBytes.length,
+                "smile=" + smileBytes.length + ", json=" + jsonBytes.length);
+    }
+
+    /**
+     * 기준 크기 이상만 압축하고, 압축된 값도 그대로 복원
+     */
+    @Test
+    void testCompressAboveThreshold() {
+        // Given
+        CacheValueCodec codec = CacheValueCodec.of("smile", 256);
+        Map<String, Object> small = code(1);
+        List<Object> large = codeList(50);
+
+        // When
+        byte[] smallBytes = codec.serialize(small);
+        byte[] largeBytes = codec.serialize(large);
+
+        // Then
+        assertEquals(':', smallBytes[0]);
+        assertEquals(0x78, largeBytes[0] & 0xFF);
+        assertTrue(largeBytes.length < CacheValueCodec.of("smile", 0).serialize(large).length);
+        assertEquals(small, codec.deserialize(smallBytes));
+        assertEquals(large, codec.deserialize(largeBytes));
+        assertEquals("smile+deflate", codec.getName());
+    }
+
+    /**
+     * 형식을 바꿔도 기존 형식으로 저장된 값을 읽음
+     */
+    @Test
+    void testDeserialize_DetectsStoredFormat() {
+        // Given
+        Map<String, Object> value = code(1);
+        byte[] storedAsJson = CacheValueCodec.of("json", 0).serialize(value);
+        byte[] storedAsCompressedJson = CacheValueCodec.of("json", 1).serialize(value);
+
+        // When
+        CacheValueCodec smile = CacheValueCodec.of("smile", 1024);
+
+        // Then
+        assertEquals(value, smile.deserialize(storedAsJson));
+        assertEquals(value, smile.deserialize(storedAsCompressedJson));
+        assertNull(smile.deserialize(new byte[0]));
+    }
+
+    // ========== 헬퍼 메서드 ==========
+
+    private List<Object> codeList(int size) {
+        List<Object> codes = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            codes.add(code(i));
+        }
+        return codes;
+    }
+
+    private Map<String, Object> code(int sortOrd) {
+        Map<String, Object> code = new LinkedHashMap<>();
+        code.put("grp_cd", "MSG_TP");
+        code.put("cd", String.format("%02d", sortOrd));
+        code.put("cd_nm", "메시지 타입 " + sortOrd);
+        code.put("cd_eng_nm", "MESSAGE_TYPE_" + sortOrd);
+        code.put("cd_desc", "메시지 분류 타입");
+        code.put("sort_ord", sortOrd);
+        code.put("is_use", true);
+        return code;
+    }
+}
@@ -0,0 +1,51 @@
+package com.nsustest.loginAuth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CodeGroup 단위 테스트
+ * 요구사항: 코드 단건 맵 조회, 정렬 순서 목록, 읽기 전용
+ *
+ * @author nsustest
+ */
+public class CodeGroupTest {
+
+    /**
+     * 입력 순서와 관계없이 sort_ord, cd 순으로 정렬하고 코드로 바로 조회
+     */
+    @Test
+    void testOf_SortsAndIndexes() {
+        // Given (Redis 해시에서 읽은 값처럼 순서 없음, sort_ord 타입도 섞임)
+        List<Map<String, Object>> rows = List.of(
+                Map.of("cd", "03", "cd_nm", "휴면", "sort_ord", 3),
+                Map.of("cd", "01", "cd_nm", "일반", "sort_ord", "1"),
+                Map.of("cd", "02", "cd_nm", "관리자", "sort_ord", 1L));
+
+        // When
+        CodeGroup group = CodeGroup.of(rows);
+
+        // Then
+        assertEquals(3, group.size());
+        assertEquals(List.of("01", "02", "03"), group.codes().stream().map(c -> c.get("cd")).toList());
+        assertEquals("관리자", group.get("02").get("cd_nm"));
+        assertNull(group.get("99"));
+    }
+
+    /**
+     * 공유되는 값이므로 목록과 항목 모두 읽기 전용
+     */
+    @Test
+    void testOf_ReadOnly() {
+        // Given
+        CodeGroup group = CodeGroup.of(List.of(Map.of("cd", "01", "sort_ord", 1)));
+
+        // When & Then
+        assertThrows(UnsupportedOperationException.class, () -> group.codes().add(Map.of()));
+        assertThrows(UnsupportedOperationException.class, () -> group.get("01").put("cd_nm", "변경"));
+    }
+}
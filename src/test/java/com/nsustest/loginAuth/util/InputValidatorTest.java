@@ -0,0 +1,101 @@
+package com.nsustest.loginAuth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InputValidator 단위 테스트
+ * 요구사항: 기존 정규식과 같은 판정, 길이 상한, 긴 입력에서도 선형 시간
+ *
+ * @author nsustest
+ */
+public class InputValidatorTest {
+
+    // 기존 UserService에서 사용하던 정규식 (판정 비교용)
+    private static final Pattern LOGIN_ID_REGEX = Pattern.compile("^[a-zA-Z0-9]{4,20}$");
+    private static final Pattern EMAIL_REGEX = Pattern.compile("^[^\\s@]+@[^\\s@]+\\.[^\\s@]+$");
+    private static final Pattern PASSWORD_REGEX = Pattern.compile("^(?=.*[a-zA-Z])(?=.*\\d)(?=.*[!@#$%^&*(),.?\":{}|<>]).{8,}$");
+
+    /**
+     * 아이디 - 정규식과 같은 판정
+     */
+    @Test
+    void testIsValidLoginId_MatchesRegex() {
+        List<String> inputs = List.of("user", "testuser", "User1234", "abc", "a".repeat(20), "a".repeat(21),
+                "user_01", "user 01", "사용자아이디", "user\n", "12345678", "");
+
+        for (String input : inputs) {
+            assertEquals(LOGIN_ID_REGEX.matcher(input).matches(), InputValidator.isValidLoginId(input), input);
+        }
+    }
+
+    /**
+     * 이메일 - 정규식과 같은 판정
+     */
+    @Test
+    void testIsValidEmail_MatchesRegex() {
+        List<String> inputs = List.of("test@example.com", "a@b.c", "a@b.", "a@.c", "@b.c", "a@b", "a@@b.c",
+                "a@b@c.d", "a b@c.d", "a@b.c\t", "a@b..c", "a.b@c.d.e", "a@b.c.", "ab.@c.d", "a@bc", ".a@b.c",
+                "a@b.c\u000B", "사용자@예시.한국", "");
+
+        for (String input : inputs) {
+            assertEquals(EMAIL_REGEX.matcher(input).matches(), InputValidator.isValidEmail(input), input);
+        }
+    }
+
+    /**
+     * 비밀번호 - 정규식과 같은 판정
+     */
+    @Test
+    void testIsStrongPassword_MatchesRegex() {
+        List<String> inputs = List.of("Test123!@#", "test123!", "Test1234", "Test!@#$", "12345!@#", "Te1!",
+                "Test123!\n", "Test 123!", "비밀번호Test1!", "Test123~", "Test123\"", "Test123 !", "");
+
+        for (String input : inputs) {
+            assertEquals(PASSWORD_REGEX.matcher(input).matches(), InputValidator.isStrongPassword(input), input);
+        }
+    }
+
+    /**
+     * 비밀번호 길이 상한 - UTF-8 72바이트 기준
+     */
+    @Test
+    void testIsPasswordWithinLimit() {
+        assertTrue(InputValidator.isPasswordWithinLimit("a".repeat(72)));
+        assertFalse(InputValidator.isPasswordWithinLimit("a".repeat(73)));
+        assertTrue(InputValidator.isPasswordWithinLimit("가".repeat(24)));
+        assertFalse(InputValidator.isPasswordWithinLimit("가".repeat(25)));
+        assertFalse(InputValidator.isPasswordWithinLimit("a".repeat(69) + "😀"));
+        assertTrue(InputValidator.isPasswordWithinLimit("a".repeat(68) + "😀"));
+    }
+
+    /**
+     * 공백 확인 - String.trim().isEmpty()와 같은 판정
+     */
+    @Test
+    void testIsBlank() {
+        assertTrue(InputValidator.isBlank(null));
+        assertTrue(InputValidator.isBlank(""));
+        assertTrue(InputValidator.isBlank(" \t\n"));
+        assertFalse(InputValidator.isBlank(" a "));
+    }
+
+    /**
+     * 백트래킹을 유발하는 긴 입력도 선형 시간에 처리
+     */
+    @Test
+    void testAdversarialInputs() {
+        String longEmail = "a@" + "b".repeat(1_000_000);
+        String longPassword = "a".repeat(1_000_000);
+
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(2), () -> {
+            assertFalse(InputValidator.isValidEmail(longEmail));
+            assertFalse(InputValidator.isStrongPassword(longPassword));
+            assertFalse(InputValidator.isValidLoginId(longPassword));
+        });
+    }
+}
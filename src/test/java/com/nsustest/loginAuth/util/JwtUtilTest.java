@@ -1,12 +1,12 @@
 package com.nsustest.loginAuth.util;
 
+import com.nsustest.loginAuth.model.UserProfile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,16 +27,13 @@ public class JwtUtilTest {
     @Autowired
     private JwtUtil jwtUtil;
     
-    private Map<String, Object> testUser;
+    private UserProfile testUser;
     
     @BeforeEach
     void setUp() {
         // 테스트용 사용자 정보 생성
-        testUser = new HashMap<>();
-        testUser.put("usr_id", 1L);
-        testUser.put("usr_login_id", "testuser");
-        testUser.put("usr_nm", "테스트사용자");
-        testUser.put("email", "test@example.com");
+        testUser = new UserProfile(1L, "testuser", "테스트사용자", "test@example.com",
+                null, null, true, null, null);
     }
     
     /**
@@ -0,0 +1,134 @@
+package com.nsustest.loginAuth.util;
+
+import com.nsustest.loginAuth.model.LoginHistoryRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginHistoryArchive 단위 테스트
+ * 요구사항: 열 지향 압축 파일로 저장한 이력을 그대로 복원, 조건 검색
+ *
+ * @author nsustest
+ */
+public class LoginHistoryArchiveTest {
+
+    private static final long BASE_MS = 1_775_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private List<LoginHistoryRecord> sampleRows(int count) {
+        List<LoginHistoryRecord> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            boolean success = i % 4 != 0;
+            long loginMs = BASE_MS + i * 1500L;
+            rows.add(new LoginHistoryRecord(
+                    1000 + i,
+                    success ? (long) (i % 50) : null,
+                    "user" + (i % 50),
+                    "10.0.0." + (i % 20),
+                    new Date(loginMs),
+                    success,
+                    success ? null : "INVALID_PASSWORD",
+                    i % 3 == 0 ? null : "Mozilla/5.0 (Windows NT 10.0; Win64; x64)",
+                    1 + i % 5,
+                    !success && i % 8 == 0,
+                    !success && i % 8 == 0 ? new Date(loginMs + 900_000L) : null));
+        }
+        return rows;
+    }
+
+    private Path write(List<LoginHistoryRecord> rows, int blockRows) throws IOException {
+        Path file = tempDir.resolve("login_history-p202604.lha");
+        try (LoginHistoryArchive.Writer writer = LoginHistoryArchive.create(file, blockRows)) {
+            for (LoginHistoryRecord row : rows) {
+                writer.append(row);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * 여러 블록에 걸쳐 저장한 행을 null 포함 그대로 복원
+     */
+    @Test
+    void testRoundTrip_AcrossBlocks() throws IOException {
+        // Given
+        List<LoginHistoryRecord> rows = sampleRows(1000);
+        Path file = write(rows, 128);
+
+        // When
+        List<LoginHistoryRecord> restored = new ArrayList<>();
+        try (LoginHistoryArchive.Reader reader = LoginHistoryArchive.open(file)) {
+            assertEquals(1000, reader.count());
+            reader.forEach(restored::add);
+        }
+
+        // Then
+        assertEquals(rows, restored);
+    }
+
+    /**
+     * 반복되는 값은 사전/차이 인코딩으로 원본보다 작게 저장
+     */
+    @Test
+    void testCompression() throws IOException {
+        // Given
+        List<LoginHistoryRecord> rows = sampleRows(10000);
+
+        // When
+        Path file = write(rows, LoginHistoryArchive.DEFAULT_BLOCK_ROWS);
+
+        // Then
+        assertTrue(Files.size(file) < rows.size() * 10L, "크기: " + Files.size(file));
+    }
+
+    /**
+     * IP/사용자/시각 조건 검색 및 최대 행 수 제한
+     */
+    @Test
+    void testSearch() throws IOException {
+        // Given
+        List<LoginHistoryRecord> rows = sampleRows(1000);
+        Path file = write(rows, 128);
+        Date from = new Date(BASE_MS + 300 * 1500L);
+        Date to = new Date(BASE_MS + 600 * 1500L);
+
+        try (LoginHistoryArchive.Reader reader = LoginHistoryArchive.open(file)) {
+            // When
+            List<LoginHistoryRecord> byIp = reader.search("10.0.0.7", null, null, null, 1000);
+            List<LoginHistoryRecord> byUserAndTime = reader.search(null, 5L, from, to, 1000);
+            List<LoginHistoryRecord> limited = reader.search(null, null, null, null, 10);
+            List<LoginHistoryRecord> unknownIp = reader.search("192.168.0.1", null, null, null, 1000);
+
+            // Then
+            assertEquals(rows.stream().filter(r -> r.ipAddr().equals("10.0.0.7")).toList(), byIp);
+            assertEquals(rows.subList(300, 600).stream().filter(r -> Long.valueOf(5L).equals(r.usrId())).toList(),
+                    byUserAndTime);
+            assertEquals(rows.subList(0, 10), limited);
+            assertTrue(unknownIp.isEmpty());
+        }
+    }
+
+    /**
+     * 아카이브 파일이 아니면 열지 않음
+     */
+    @Test
+    void testOpen_InvalidFile() throws IOException {
+        // Given
+        Path file = tempDir.resolve("invalid.lha");
+        Files.writeString(file, "not an archive");
+
+        // When & Then
+        assertThrows(IOException.class, () -> LoginHistoryArchive.open(file));
+    }
+}
@@ -0,0 +1,88 @@
+package com.nsustest.loginAuth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginIdIndex 단위 테스트
+ * 요구사항: front coding 압축 인덱스의 포함 여부 조회
+ *
+ * @author nsustest
+ */
+public class LoginIdIndexTest {
+
+    /**
+     * 여러 블록에 걸친 아이디를 모두 찾고, 사이 값은 찾지 않음
+     */
+    @Test
+    void testContains_AcrossBlocks() {
+        // Given
+        List<String> loginIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            loginIds.add("user" + (i * 2));
+        }
+
+        // When
+        LoginIdIndex index = LoginIdIndex.build(loginIds);
+
+        // Then
+        assertEquals(1000, index.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(index.contains("user" + (i * 2)));
+            assertFalse(index.contains("user" + (i * 2 + 1)));
+        }
+        assertFalse(index.contains("aaaa"));
+        assertFalse(index.contains("zzzz"));
+    }
+
+    /**
+     * 정렬되지 않은 입력과 중복 입력 처리
+     */
+    @Test
+    void testBuild_UnsortedWithDuplicates() {
+        // When
+        LoginIdIndex index = LoginIdIndex.build(List.of("testuser", "admin", "testuser", "tester", "test"));
+
+        // Then
+        assertEquals(4, index.size());
+        assertTrue(index.contains("test"));
+        assertTrue(index.contains("tester"));
+        assertTrue(index.contains("testuser"));
+        assertTrue(index.contains("admin"));
+        assertFalse(index.contains("testu"));
+    }
+
+    /**
+     * 공통 접두사가 많으면 원본보다 작게 저장
+     */
+    @Test
+    void testBuild_FrontCodingCompresses() {
+        // Given
+        List<String> loginIds = new ArrayList<>();
+        int rawBytes = 0;
+        for (int i = 0; i < 10000; i++) {
+            String loginId = "player" + String.format("%06d", i);
+            loginIds.add(loginId);
+            rawBytes += loginId.length();
+        }
+
+        // When
+        LoginIdIndex index = LoginIdIndex.build(loginIds);
+
+        // Then
+        assertTrue(index.getDataBytes() < rawBytes / 2, "압축 크기: " + index.getDataBytes());
+    }
+
+    /**
+     * 빈 인덱스
+     */
+    @Test
+    void testContains_Empty() {
+        assertFalse(LoginIdIndex.empty().contains("testuser"));
+        assertFalse(LoginIdIndex.build(List.of()).contains("testuser"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.nsustest.loginAuth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenHashUtil 단위 테스트
+ * 요구사항: 고정 길이(32바이트) SHA-256 다이제스트, MySQL UNHEX(SHA2(token, 256))과 같은 값
+ *
+ * @author nsustest
+ */
+public class TokenHashUtilTest {
+
+    /**
+     * 알려진 SHA-256 값과 일치
+     */
+    @Test
+    void testSha256_KnownVector() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                HexFormat.of().formatHex(TokenHashUtil.sha256("abc")));
+    }
+
+    /**
+     * 토큰 길이와 관계없이 32바이트
+     */
+    @Test
+    void testSha256_FixedLength() {
+        assertEquals(TokenHashUtil.SHA256_LENGTH, TokenHashUtil.sha256("").length);
+        assertEquals(TokenHashUtil.SHA256_LENGTH, TokenHashUtil.sha256("a".repeat(4096)).length);
+        assertArrayEquals(TokenHashUtil.sha256("refresh.token"), TokenHashUtil.sha256("refresh.token"));
+    }
+}